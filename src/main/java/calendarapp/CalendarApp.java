@@ -3,8 +3,16 @@ package calendarapp;
 import calendarapp.controller.CalendarController;
 import calendarapp.controller.CommandParser;
 import calendarapp.controller.ICalendarController;
+import calendarapp.model.CalendarJournal;
 import calendarapp.model.CalendarManager;
-import calendarapp.model.ICalendarManager;
+import calendarapp.model.CalendarSnapshot;
+import calendarapp.model.CalendarStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 
 /**
  * The main entry point for the Calendar application. This class initializes the core
@@ -13,6 +21,38 @@ import calendarapp.model.ICalendarManager;
  */
 public class CalendarApp {
 
+  /**
+   * The system property naming the journal file. When it is set, calendars are restored from
+   * the journal on start-up and every later change is appended to it.
+   */
+  public static final String JOURNAL_PROPERTY = "calendar.journal";
+
+  /**
+   * The system property naming the snapshot file. When it is set, calendars are loaded from
+   * the snapshot on start-up and saved to it when the application exits.
+   */
+  public static final String SNAPSHOT_PROPERTY = "calendar.snapshot";
+
+  /**
+   * The system property naming a directory that holds one file per calendar. When it is set,
+   * calendars are loaded on first use and idle calendars are written back to the directory
+   * once the loaded calendars outgrow the memory budget.
+   */
+  public static final String STORE_PROPERTY = "calendar.store";
+
+  /**
+   * The system property giving the memory budget of the calendar store, in megabytes.
+   */
+  public static final String STORE_BUDGET_PROPERTY = "calendar.store.budget";
+
+  /**
+   * The system property giving, in days, how long after they end events are moved to off-heap
+   * archive segments.
+   */
+  public static final String ARCHIVE_DAYS_PROPERTY = "calendar.archive.days";
+
+  private static final long DEFAULT_STORE_BUDGET_MB = 64;
+
   /**
    * The main method for the Calendar application. It initializes the necessary components and
    * starts the application by running the controller with the given arguments.
@@ -21,9 +61,117 @@ public class CalendarApp {
    * @see CalendarController run(String[])
    */
   public static void main(String[] args) {
-    ICalendarManager manager = new CalendarManager();
+    CalendarManager manager;
+    try {
+      String storePath = System.getProperty(STORE_PROPERTY);
+      if (storePath != null) {
+        manager = openStore(storePath, Long.getLong(STORE_BUDGET_PROPERTY,
+                DEFAULT_STORE_BUDGET_MB));
+      } else {
+        manager = new CalendarManager();
+        restore(manager, System.getProperty(SNAPSHOT_PROPERTY),
+                System.getProperty(JOURNAL_PROPERTY));
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      System.err.println("Failed to restore calendars: " + e.getMessage());
+      return;
+    }
+    Long archiveDays = Long.getLong(ARCHIVE_DAYS_PROPERTY);
+    if (archiveDays != null) {
+      manager.setArchiveHorizon(Duration.ofDays(archiveDays));
+    }
     CommandParser parser = new CommandParser(manager);
     ICalendarController controller = new CalendarController(manager, parser);
     controller.run(args);
   }
+
+  /**
+   * Creates a manager backed by a calendar store and writes the changed calendars back to the
+   * store when the application exits. The store replaces the snapshot and journal, which are
+   * not used together with it.
+   *
+   * @param storePath the directory of the store
+   * @param budgetMb  the memory budget in megabytes
+   * @return the manager
+   * @throws IOException if the store directory cannot be created
+   */
+  private static CalendarManager openStore(String storePath, long budgetMb) throws IOException {
+    if (System.getProperty(SNAPSHOT_PROPERTY) != null
+            || System.getProperty(JOURNAL_PROPERTY) != null) {
+      System.err.println("Ignoring " + SNAPSHOT_PROPERTY + " and " + JOURNAL_PROPERTY
+              + " because " + STORE_PROPERTY + " is set.");
+    }
+    CalendarManager manager = new CalendarManager(new CalendarStore(Paths.get(storePath),
+            budgetMb * 1024 * 1024));
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      try {
+        manager.flush();
+      } catch (IOException e) {
+        System.err.println("Failed to save calendars: " + e.getMessage());
+      }
+    }));
+    return manager;
+  }
+
+  /**
+   * Restores the calendars from the snapshot and then from the part of the journal written
+   * after it, and starts recording new changes to the journal. When the application exits,
+   * the calendars are saved to the snapshot and the journal is started over.
+   *
+   * @param manager      the manager to restore the calendars into
+   * @param snapshotPath the path of the snapshot file, or null if snapshots are not used
+   * @param journalPath  the path of the journal file, or null if no journal is kept
+   * @throws IOException if the snapshot or journal cannot be read
+   */
+  private static void restore(CalendarManager manager, String snapshotPath, String journalPath)
+          throws IOException {
+    Path snapshotFile = snapshotPath == null ? null : Paths.get(snapshotPath);
+    CalendarSnapshot snapshot = null;
+    if (snapshotFile != null && Files.exists(snapshotFile)) {
+      snapshot = CalendarSnapshot.load(snapshotFile, manager);
+    }
+
+    CalendarJournal journal = null;
+    if (journalPath != null) {
+      journal = new CalendarJournal(Paths.get(journalPath));
+      if (snapshot != null && snapshot.getJournalId() == journal.getJournalId()) {
+        journal.replay(manager, snapshot.getJournalOffset());
+      } else {
+        journal.replay(manager);
+      }
+      manager.addChangeListener(journal);
+    }
+
+    if (snapshotFile != null || journal != null) {
+      CalendarJournal openJournal = journal;
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> save(manager, snapshotFile,
+              openJournal)));
+    }
+  }
+
+  /**
+   * Saves the calendars to the snapshot, if any, and closes the journal, if any.
+   */
+  private static void save(CalendarManager manager, Path snapshotFile,
+                           CalendarJournal journal) {
+    try {
+      if (snapshotFile != null) {
+        long journalId = 0;
+        long journalOffset = 0;
+        if (journal != null) {
+          journalOffset = journal.checkpoint();
+          journalId = journal.getJournalId();
+        }
+        CalendarSnapshot.write(manager, snapshotFile, journalId, journalOffset);
+        if (journal != null) {
+          journal.reset();
+        }
+      }
+      if (journal != null) {
+        journal.close();
+      }
+    } catch (IOException e) {
+      System.err.println("Failed to save calendars: " + e.getMessage());
+    }
+  }
 }
@@ -3,7 +3,18 @@ package calendarapp.controller;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
+import calendarapp.controller.commands.BeginBatchCommand;
+import calendarapp.controller.commands.CommitBatchCommand;
 import calendarapp.controller.commands.ICommand;
 import calendarapp.controller.commands.ICalendarManagerCommand;
 import calendarapp.controller.commands.ICalendarModelCommand;
@@ -14,6 +25,7 @@ import calendarapp.view.CalendarGUIView;
 import calendarapp.view.HeadlessView;
 import calendarapp.view.ICalendarView;
 import calendarapp.view.InteractiveCLIView;
+import calendarapp.view.OutputFormat;
 
 /**
  * The Controller class is responsible for processing calendar-related commands.
@@ -22,6 +34,9 @@ public class CalendarController implements ICalendarController {
   private final ICalendarManager calendarManager;
   private ICalendarView view;
   private final CommandParser parser;
+  private CommandBatch batch;
+  private final ReadWriteLock commandLock = new ReentrantReadWriteLock();
+  private Executor executor;
 
   /**
    * Constructs a new instance of the `CalendarController` with the specified components.
@@ -71,38 +86,185 @@ public class CalendarController implements ICalendarController {
       view.displayError("Parsing Error: Command cannot be null or empty");
       return false;
     }
+    return process(keywordOf(commandInput), () -> parser.parse(commandInput), view);
+  }
 
-    try {
-      ICommand cmd = parser.parse(commandInput);
-      if (cmd == null) {
-        view.displayError("Parsing Error: Command parsing returned null");
-        return false;
-      }
-
-      if (cmd instanceof ICalendarManagerCommand) {
-        return ((ICalendarManagerCommand) cmd).execute(calendarManager, view);
+  /**
+   * Processes a command input on the controller's executor. The output of the command is
+   * collected into the returned result rather than written to the view, so many commands can
+   * be in flight at once. Queries run concurrently with each other, while commands that
+   * change calendars run one at a time.
+   *
+   * @param commandInput the command text to process
+   * @return a future completed with the result of the command
+   */
+  @Override
+  public CompletableFuture<CommandResult> processCommandAsync(String commandInput) {
+    return CompletableFuture.supplyAsync(() -> {
+      ResultCollectingView collector = new ResultCollectingView();
+      if (commandInput == null || commandInput.trim().isEmpty()) {
+        collector.displayError("Parsing Error: Command cannot be null or empty");
+        return collector.toResult(false);
       }
+      boolean success = process(keywordOf(commandInput), () -> parser.parse(commandInput),
+              collector);
+      return collector.toResult(success);
+    }, getExecutor());
+  }
 
-      if (cmd instanceof ICalendarModelCommand) {
-        ICalendarModel activeCalendar = calendarManager.getActiveCalendar();
-        if (activeCalendar == null) {
-          view.displayError("No active calendar selected. Use "
-                  + "'use calendar --name <calName>' first.");
-          return false;
-        }
-        return ((ICalendarModelCommand) cmd).execute(activeCalendar, view);
-      }
+  /**
+   * Sets the executor used by {@link #processCommandAsync(String)}.
+   *
+   * @param executor the executor to run asynchronous commands on
+   * @throws IllegalArgumentException if the executor is null
+   */
+  public synchronized void setExecutor(Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Executor cannot be null");
+    }
+    this.executor = executor;
+  }
 
-      view.displayError("Unsupported command type.");
-      return false;
+  /**
+   * Returns the executor used for asynchronous commands, creating the default one on first use.
+   *
+   * @return the executor
+   */
+  private synchronized Executor getExecutor() {
+    if (executor == null) {
+      executor = CommandExecutors.newDefaultExecutor();
+    }
+    return executor;
+  }
 
+  /**
+   * Parses and executes a command, writing its output to the given view. Queries hold the
+   * shared lock and all other commands hold the exclusive lock while they run, and the
+   * calendars a command looks up stay loaded until it finishes.
+   *
+   * @param keyword the first word of the command
+   * @param parse   parses the command
+   * @param target  the view receiving the command's output
+   * @return true if the command executed successfully; false otherwise
+   */
+  private boolean process(String keyword, Supplier<ICommand> parse, ICalendarView target) {
+    Lock lock = isQuery(keyword) ? commandLock.readLock() : commandLock.writeLock();
+    lock.lock();
+    try {
+      return calendarManager.withCalendarsPinned(() -> dispatch(parse.get(), target));
     } catch (IllegalArgumentException e) {
-      view.displayError("Parsing Error: " + e.getMessage());
+      target.displayError("Parsing Error: " + e.getMessage());
       return false;
     } catch (Exception e) {
-      view.displayError("Execution Error: " + e.getMessage());
+      target.displayError("Execution Error: " + e.getMessage());
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the first word of a command.
+   *
+   * @param commandInput the command text
+   * @return the first whitespace-separated word
+   */
+  private static String keywordOf(String commandInput) {
+    return commandInput.trim().split("\\s+", 2)[0];
+  }
+
+  /**
+   * Returns whether a command only reads calendars, based on its keyword.
+   *
+   * @param keyword the first word of the command
+   * @return true for print, show, export and find commands
+   */
+  private static boolean isQuery(String keyword) {
+    String lower = keyword.toLowerCase();
+    return lower.equals("print") || lower.equals("show") || lower.equals("export")
+            || lower.equals("find");
+  }
+
+  /**
+   * Executes a parsed command against the calendar manager or the active calendar.
+   *
+   * @param cmd    the parsed command
+   * @param target the view receiving the command's output
+   * @return true if the command executed successfully; false otherwise
+   */
+  private boolean dispatch(ICommand cmd, ICalendarView target) {
+    if (cmd == null) {
+      target.displayError("Parsing Error: Command parsing returned null");
+      return false;
+    }
+
+    if (cmd instanceof BeginBatchCommand) {
+      return beginBatch(target);
+    }
+
+    if (cmd instanceof CommitBatchCommand) {
+      return commitBatch(target);
+    }
+
+    if (batch != null && CommandBatch.isBatchable(cmd)) {
+      batch.add((ICalendarModelCommand) cmd);
+      return true;
+    }
+
+    if (cmd instanceof ICalendarManagerCommand) {
+      return ((ICalendarManagerCommand) cmd).execute(calendarManager, target);
+    }
+
+    if (cmd instanceof ICalendarModelCommand) {
+      ICalendarModel activeCalendar = calendarManager.getActiveCalendar();
+      if (activeCalendar == null) {
+        target.displayError("No active calendar selected. Use "
+                + "'use calendar --name <calName>' first.");
+        return false;
+      }
+      return ((ICalendarModelCommand) cmd).execute(activeCalendar, target);
+    }
+
+    target.displayError("Unsupported command type.");
+    return false;
+  }
+
+  /**
+   * Opens a batch block on the active calendar.
+   *
+   * @param target the view receiving the command's output
+   * @return true if the batch was opened, false otherwise
+   */
+  private boolean beginBatch(ICalendarView target) {
+    if (batch != null) {
+      target.displayError("A batch is already open. Use 'commit' first.");
+      return false;
+    }
+    ICalendarModel activeCalendar = calendarManager.getActiveCalendar();
+    if (activeCalendar == null) {
+      target.displayError("No active calendar selected. Use "
+              + "'use calendar --name <calName>' first.");
+      return false;
+    }
+    batch = new CommandBatch(calendarManager, activeCalendar.getName());
+    target.displayMessage("Batch started on calendar: " + activeCalendar.getName());
+    return true;
+  }
+
+  /**
+   * Applies the open batch block atomically and closes it.
+   *
+   * @param target the view receiving the command's output
+   * @return true if the batch was committed, false if it was rolled back or none was open
+   */
+  private boolean commitBatch(ICalendarView target) {
+    if (batch == null) {
+      target.displayError("No batch is open. Use 'begin batch' first.");
       return false;
     }
+    CommandBatch pending = batch;
+    batch = null;
+    return pending.commit(target);
   }
 
   /**
@@ -133,21 +295,46 @@ public class CalendarController implements ICalendarController {
   }
 
   /**
-   * Original run method for handling command-line args.
+   * Original run method for handling command-line args. The interactive and headless modes
+   * accept a trailing "--format text|tsv|json" option selecting how events are printed.
    */
   @Override
   public void run(String[] args) {
     try {
+      OutputFormat format = OutputFormat.TEXT;
+      if (args.length >= 4 && args[args.length - 2].equals("--format")) {
+        format = OutputFormat.fromName(args[args.length - 1]);
+        args = Arrays.copyOf(args, args.length - 2);
+      }
+
       if (args.length == 2 && args[0].equals("--mode") && args[1].equals("interactive")) {
         this.view = new InteractiveCLIView(this, new InputStreamReader(System.in),
                 System.out);
+        view.setOutputFormat(format);
         view.displayMessage("Starting in Interactive CLI mode...");
         view.run();
 
       } else if (args.length == 3 && args[0].equals("--mode") && args[1].equals("headless")) {
-        this.view = new HeadlessView(this, new FileReader(args[2]), System.out);
-        view.displayMessage("Running in Headless mode with script: " + args[2]);
-        view.run();
+        try (Reader reader = new FileReader(args[2])) {
+          this.view = new HeadlessView(this, reader, System.out);
+          view.setOutputFormat(format);
+          view.displayMessage("Running in Headless mode with script: " + args[2]);
+          view.run();
+        }
+
+      } else if ((args.length == 3 || args.length == 5) && args[0].equals("--mode")
+              && args[1].equals("headless-batch")) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length == 5) {
+          if (!args[3].equals("--threads")) {
+            throw new IllegalArgumentException("Expected --threads <count>");
+          }
+          threads = Integer.parseInt(args[4]);
+        }
+        System.out.println("Running headless scripts in " + args[2] + " on " + threads
+                + " thread(s)");
+        HeadlessBatchRunner runner = new HeadlessBatchRunner(threads);
+        HeadlessBatchRunner.printSummary(runner.run(Paths.get(args[2])), System.out);
 
       } else if (args.length == 0) {
         CalendarGUIView guiView = new CalendarGUIView(this);
@@ -159,8 +346,10 @@ public class CalendarController implements ICalendarController {
         System.err.println("Invalid arguments. Use:");
         System.err.println("--mode interactive");
         System.err.println("--mode headless <script-file>");
+        System.err.println("--mode headless-batch <script-dir> [--threads <count>]");
+        System.err.println("Optionally followed by: --format text|tsv|json");
       }
-    } catch (IOException e) {
+    } catch (IOException | IllegalArgumentException e) {
       System.err.println("Error: " + e.getMessage());
     }
   }
@@ -0,0 +1,162 @@
+package calendarapp.controller;
+
+import calendarapp.controller.commands.CreateEventCommand;
+import calendarapp.controller.commands.EditEventCommand;
+import calendarapp.controller.commands.EditRecurringEventCommand;
+import calendarapp.controller.commands.ICalendarModelCommand;
+import calendarapp.controller.commands.ICommand;
+import calendarapp.model.CalendarModel;
+import calendarapp.model.ICalendarManager;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.view.ICalendarView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the event creation and edit commands queued between a "begin batch" and a "commit"
+ * directive. On commit the commands run against the calendar with per-command conflict checks
+ * deferred, the calendar validates the whole batch in one sorted sweep, and the batch is
+ * rolled back if any command fails or any event conflicts.
+ *
+ * <p>The batch is bound to a calendar by name and looks the calendar up again on commit, so a
+ * calendar that was unloaded from memory while the batch was open is loaded back rather than
+ * changed through an instance that no longer belongs to the manager.</p>
+ */
+public class CommandBatch {
+  private final ICalendarManager manager;
+  private final String calendarName;
+  private final List<ICalendarModelCommand> commands = new ArrayList<>();
+
+  /**
+   * Creates an empty batch bound to the named calendar.
+   *
+   * @param manager      the manager holding the calendar
+   * @param calendarName the name of the calendar the batch will be applied to
+   */
+  public CommandBatch(ICalendarManager manager, String calendarName) {
+    this.manager = manager;
+    this.calendarName = calendarName;
+  }
+
+  /**
+   * Indicates whether a command may be queued in a batch. Only event creation and
+   * edit commands are batched; all other commands run immediately.
+   *
+   * @param cmd the command to check
+   * @return true if the command can be queued
+   */
+  public static boolean isBatchable(ICommand cmd) {
+    return cmd instanceof CreateEventCommand
+            || cmd instanceof EditEventCommand
+            || cmd instanceof EditRecurringEventCommand;
+  }
+
+  /**
+   * Queues a command for the next commit.
+   *
+   * @param cmd the command to queue
+   */
+  public void add(ICalendarModelCommand cmd) {
+    commands.add(cmd);
+  }
+
+  /**
+   * Returns the number of queued commands.
+   *
+   * @return the number of commands in the batch
+   */
+  public int size() {
+    return commands.size();
+  }
+
+  /**
+   * Returns the name of the calendar the batch is bound to.
+   *
+   * @return the name of the target calendar
+   */
+  public String getCalendarName() {
+    return calendarName;
+  }
+
+  /**
+   * Applies all queued commands atomically and reports the outcome through the view.
+   *
+   * @param view the view used to display the result
+   * @return true if every command was applied, false if the batch was rolled back
+   */
+  public boolean commit(ICalendarView view) {
+    ICalendarModel calendar = manager.getCalendar(calendarName);
+    if (calendar == null) {
+      view.displayError("Batch discarded: calendar " + calendarName + " no longer exists");
+      return false;
+    }
+    if (!(calendar instanceof CalendarModel)) {
+      view.displayError("Batch requires a concrete CalendarModel implementation.");
+      return false;
+    }
+    CalendarModel model = (CalendarModel) calendar;
+    ErrorCapturingView capture = new ErrorCapturingView();
+
+    boolean opened = false;
+    try {
+      model.beginBatch();
+      opened = true;
+      for (int i = 0; i < commands.size(); i++) {
+        boolean ok;
+        try {
+          ok = commands.get(i).execute(model, capture);
+        } catch (RuntimeException e) {
+          capture.displayError(e.getMessage());
+          ok = false;
+        }
+        if (!ok) {
+          view.displayError("Batch rolled back: command " + (i + 1) + " of "
+                  + commands.size() + " failed: " + capture.lastError);
+          return false;
+        }
+      }
+
+      if (!model.commitBatch()) {
+        view.displayError("Batch rolled back: events in the batch conflict with each other "
+                + "or with existing events");
+        return false;
+      }
+    } finally {
+      if (opened && model.isBatchOpen()) {
+        model.rollbackBatch();
+      }
+    }
+    view.displayMessage("Batch committed: " + commands.size() + " command(s) applied");
+    return true;
+  }
+
+  /**
+   * A view that discards output and remembers the last error, used while
+   * batched commands execute.
+   */
+  private static class ErrorCapturingView implements ICalendarView {
+    private String lastError;
+
+    @Override
+    public void displayEvents(List<ReadOnlyCalendarEvent> events) {
+      return;
+    }
+
+    @Override
+    public void displayMessage(String message) {
+      return;
+    }
+
+    @Override
+    public void displayError(String errorMessage) {
+      lastError = errorMessage;
+    }
+
+    @Override
+    public void run() {
+      return;
+    }
+  }
+}
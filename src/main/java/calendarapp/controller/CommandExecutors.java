@@ -0,0 +1,66 @@
+package calendarapp.controller;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors used to run asynchronous calendar commands. On Java 21 and later a
+ * virtual thread per task executor is used; on older runtimes a bounded pool of daemon threads
+ * is used instead, which runs tasks on the submitting thread once its queue is full.
+ */
+public final class CommandExecutors {
+
+  /**
+   * The number of tasks the bounded pool queues before callers run tasks themselves.
+   */
+  public static final int QUEUE_CAPACITY = 1024;
+
+  private CommandExecutors() {
+    // Utility class
+  }
+
+  /**
+   * Creates the default executor for the running Java version.
+   *
+   * @return a virtual thread executor if available, otherwise a bounded thread pool
+   */
+  public static ExecutorService newDefaultExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return newBoundedExecutor(Runtime.getRuntime().availableProcessors());
+    }
+  }
+
+  /**
+   * Creates a bounded pool of daemon threads. When the queue is full, tasks run on the
+   * submitting thread, which slows callers down instead of rejecting work.
+   *
+   * @param threads the number of worker threads
+   * @return the executor
+   * @throws IllegalArgumentException if the number of threads is not positive
+   */
+  public static ExecutorService newBoundedExecutor(int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive");
+    }
+    AtomicInteger counter = new AtomicInteger();
+    ThreadFactory factory = runnable -> {
+      Thread thread = new Thread(runnable, "calendar-command-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L,
+            TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), factory,
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
@@ -1,31 +1,51 @@
 package calendarapp.controller;
 
+import calendarapp.controller.commands.BeginBatchCommand;
 import calendarapp.controller.commands.BusyQueryCommand;
+import calendarapp.controller.commands.CancelOccurrenceCommand;
+import calendarapp.controller.commands.CommitBatchCommand;
 import calendarapp.controller.commands.CopyEventsBetweenDatesCommand;
 import calendarapp.controller.commands.CopyEventsOnDateCommand;
 import calendarapp.controller.commands.CopySingleEventCommand;
 import calendarapp.controller.commands.CreateCalendarCommand;
 import calendarapp.controller.commands.CreateEventCommand;
+import calendarapp.controller.commands.DryRunImportCommand;
 import calendarapp.controller.commands.EditCalendarCommand;
 import calendarapp.controller.commands.EditEventCommand;
 import calendarapp.controller.commands.EditRecurringEventCommand;
 import calendarapp.controller.commands.ExportCalendarCommand;
+import calendarapp.controller.commands.FindSlotCommand;
 import calendarapp.controller.commands.ICommand;
 import calendarapp.controller.commands.ImportCalendarCommand;
 import calendarapp.controller.commands.QueryByDateCommand;
 import calendarapp.controller.commands.QueryRangeDateTimeCommand;
+import calendarapp.controller.commands.ScheduleTasksCommand;
+import calendarapp.controller.commands.ShowConflictsCommand;
+import calendarapp.controller.commands.ShowNextCommand;
+import calendarapp.controller.commands.ShowStatsCommand;
 import calendarapp.controller.commands.UseCalendarCommand;
 import calendarapp.model.ICalendarManager;
-
+import calendarapp.model.event.RecurrenceRule;
+import calendarapp.utils.CSVImporter;
+import calendarapp.utils.DurationParser;
+import calendarapp.utils.ExporterFactory;
+import calendarapp.utils.ImporterFactory;
+import calendarapp.utils.PartitionedExporter;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -37,6 +57,11 @@ import java.util.regex.Pattern;
  */
 public class CommandParser {
 
+  private static final List<String> RULE_KEYWORDS =
+          Arrays.asList("every", "weekly", "monthly", "yearly");
+  private static final List<String> ORDINALS =
+          Arrays.asList("first", "second", "third", "fourth");
+
   private final ICalendarManager calendarManager;
   private final Map<String, Function<List<String>, ICommand>> parsers;
 
@@ -56,6 +81,154 @@ public class CommandParser {
     parsers.put("use", this::parseUseCommand);
     parsers.put("copy", this::parseCopyCommand);
     parsers.put("import", this::parseImportCommand);
+    parsers.put("begin", this::parseBeginCommand);
+    parsers.put("commit", this::parseCommitCommand);
+    parsers.put("find", this::parseFindCommand);
+    parsers.put("schedule", this::parseScheduleCommand);
+    parsers.put("cancel", this::parseCancelCommand);
+  }
+
+  /**
+   * Parses the "cancel event" command, which cancels one occurrence of a recurring event. The
+   * expected format is cancel event eventName on dateString.
+   *
+   * @param tokens the list of tokens representing the command
+   * @return the ICommand object that cancels the occurrence
+   * @throws IllegalArgumentException if the command format is invalid
+   */
+  private ICommand parseCancelCommand(List<String> tokens) {
+    if (tokens.size() != 5 || !"event".equalsIgnoreCase(tokens.get(1))
+            || !"on".equalsIgnoreCase(tokens.get(3))) {
+      throw new IllegalArgumentException("Invalid cancel command. Usage: cancel event "
+              + "<eventName> on <dateString>");
+    }
+    try {
+      return new CancelOccurrenceCommand(stripQuotes(tokens.get(2)),
+              LocalDate.parse(tokens.get(4)));
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid date format. Use YYYY-MM-DD");
+    }
+  }
+
+  /**
+   * Parses the "find slot" command, which lists the earliest windows in which several
+   * calendars are all free. The expected format is find slot --calendars A,B,C --duration 30m
+   * --between start and end [--limit n].
+   *
+   * @param tokens the list of tokens representing the command
+   * @return the ICommand object that finds the windows
+   * @throws IllegalArgumentException if the command format is invalid
+   */
+  private ICommand parseFindCommand(List<String> tokens) {
+    String usage = "Usage: find slot --calendars <name,name,...> --duration <30m|1h|1h30m>"
+            + " --between <start> and <end> [--limit <n>]";
+    if (tokens.size() < 2 || !"slot".equalsIgnoreCase(tokens.get(1))) {
+      throw new IllegalArgumentException("Invalid find command. " + usage);
+    }
+    List<String> calendarNames = new ArrayList<>();
+    Duration duration = null;
+    LocalDateTime from = null;
+    LocalDateTime to = null;
+    int limit = 5;
+    int i = 2;
+    try {
+      while (i < tokens.size()) {
+        String option = tokens.get(i).toLowerCase();
+        switch (option) {
+          case "--calendars":
+            for (String name : stripQuotes(tokens.get(i + 1)).split(",")) {
+              if (!name.trim().isEmpty()) {
+                calendarNames.add(name.trim());
+              }
+            }
+            i += 2;
+            break;
+          case "--duration":
+            duration = DurationParser.parse(tokens.get(i + 1));
+            i += 2;
+            break;
+          case "--between":
+            if (!"and".equalsIgnoreCase(tokens.get(i + 2))) {
+              throw new IllegalArgumentException("Invalid find command. " + usage);
+            }
+            from = parseLocalDateTime(tokens.get(i + 1));
+            to = parseLocalDateTime(tokens.get(i + 3));
+            i += 4;
+            break;
+          case "--limit":
+            limit = Integer.parseInt(tokens.get(i + 1));
+            i += 2;
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown option " + tokens.get(i) + ". " + usage);
+        }
+      }
+    } catch (IndexOutOfBoundsException | NumberFormatException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid find command. " + usage);
+    }
+    if (calendarNames.isEmpty() || duration == null || from == null) {
+      throw new IllegalArgumentException("Invalid find command. " + usage);
+    }
+    return new FindSlotCommand(calendarNames, duration, from, to, limit);
+  }
+
+  /**
+   * Parses the "schedule tasks" command, which places the tasks listed in a CSV file into the
+   * free time of the active calendar. The expected format is schedule tasks filePath.
+   *
+   * @param tokens the list of tokens representing the command
+   * @return the ICommand object that schedules the tasks
+   * @throws IllegalArgumentException if the command format is invalid
+   */
+  private ICommand parseScheduleCommand(List<String> tokens) {
+    if (tokens.size() != 3 || !"tasks".equalsIgnoreCase(tokens.get(1))) {
+      throw new IllegalArgumentException("Invalid schedule command. Usage: schedule tasks "
+              + "<filePath.csv>");
+    }
+    String filePath = stripQuotes(tokens.get(2));
+    if (!filePath.toLowerCase().endsWith(".csv")) {
+      throw new IllegalArgumentException("Task file must have a .csv extension");
+    }
+    return new ScheduleTasksCommand(filePath);
+  }
+
+  /**
+   * Parses a date-time, or a date meaning its start, without a timezone.
+   */
+  private static LocalDateTime parseLocalDateTime(String token) {
+    try {
+      return LocalDateTime.parse(token);
+    } catch (DateTimeParseException e) {
+      return LocalDate.parse(token).atStartOfDay();
+    }
+  }
+
+  /**
+   * Parses the "begin batch" directive that opens a batch block.
+   *
+   * @param tokens the list of tokens representing the command
+   * @return the ICommand object that opens the batch
+   * @throws IllegalArgumentException if the command format is invalid
+   */
+  private ICommand parseBeginCommand(List<String> tokens) {
+    if (tokens.size() != 2 || !"batch".equalsIgnoreCase(tokens.get(1))) {
+      throw new IllegalArgumentException("Invalid begin command. Usage: begin batch");
+    }
+    return new BeginBatchCommand();
+  }
+
+  /**
+   * Parses the "commit" directive that applies the open batch block.
+   *
+   * @param tokens the list of tokens representing the command
+   * @return the ICommand object that commits the batch
+   * @throws IllegalArgumentException if the command format is invalid
+   */
+  private ICommand parseCommitCommand(List<String> tokens) {
+    if (tokens.size() != 1) {
+      throw new IllegalArgumentException("Invalid commit command. Usage: commit");
+    }
+    return new CommitBatchCommand();
   }
 
   /**
@@ -72,13 +245,41 @@ public class CommandParser {
    */
   private ICommand parseImportCommand(List<String> tokens) {
     if (tokens.size() < 3 || !"cal".equalsIgnoreCase(tokens.get(1))) {
-      throw new IllegalArgumentException("Invalid import format. Usage: import cal <filePath.csv>");
+      throw new IllegalArgumentException("Invalid import format. Usage: import cal "
+              + "<filePath.csv|.csv.gz|.ics> [--on-error skip|abort] [--resume] [--dry-run]");
+    }
+
+    int pathEnd = tokens.size();
+    CSVImporter.ErrorPolicy errorPolicy = null;
+    boolean resume = false;
+    boolean dryRun = false;
+    while (pathEnd > 3) {
+      if ("--resume".equalsIgnoreCase(tokens.get(pathEnd - 1))) {
+        resume = true;
+        pathEnd--;
+      } else if ("--dry-run".equalsIgnoreCase(tokens.get(pathEnd - 1))) {
+        dryRun = true;
+        pathEnd--;
+      } else if (pathEnd > 4 && "--on-error".equalsIgnoreCase(tokens.get(pathEnd - 2))) {
+        String policy = tokens.get(pathEnd - 1);
+        if ("skip".equalsIgnoreCase(policy)) {
+          errorPolicy = CSVImporter.ErrorPolicy.SKIP;
+        } else if ("abort".equalsIgnoreCase(policy)) {
+          errorPolicy = CSVImporter.ErrorPolicy.ABORT;
+        } else {
+          throw new IllegalArgumentException("Invalid error policy: " + policy
+                  + ". Use skip or abort");
+        }
+        pathEnd -= 2;
+      } else {
+        break;
+      }
     }
 
     StringBuilder pathBuilder = new StringBuilder();
-    for (int i = 2; i < tokens.size(); i++) {
+    for (int i = 2; i < pathEnd; i++) {
       pathBuilder.append(tokens.get(i));
-      if (i != tokens.size() - 1) {
+      if (i != pathEnd - 1) {
         pathBuilder.append(" ");
       }
     }
@@ -87,10 +288,26 @@ public class CommandParser {
     String filePath = (raw.startsWith("\"") && raw.endsWith("\""))
             ? raw.substring(1, raw.length() - 1) : raw;
 
-    if (!filePath.toLowerCase().endsWith(".csv")) {
-      throw new IllegalArgumentException("Imported file must have a .csv extension");
+    if (!ImporterFactory.isSupported(filePath)) {
+      throw new IllegalArgumentException("Imported file must have a .csv extension, a .csv.gz"
+              + " extension or an .ics extension");
     }
 
+    if (dryRun) {
+      if (errorPolicy != null || resume) {
+        throw new IllegalArgumentException("--dry-run cannot be combined with --on-error or"
+                + " --resume");
+      }
+      return new DryRunImportCommand(filePath);
+    }
+    if (errorPolicy != null || resume) {
+      if (!(ImporterFactory.getImporter(filePath) instanceof CSVImporter)) {
+        throw new IllegalArgumentException("--on-error and --resume are only supported for"
+                + " CSV imports");
+      }
+      return new ImportCalendarCommand(filePath,
+              errorPolicy == null ? CSVImporter.ErrorPolicy.ABORT : errorPolicy, resume);
+    }
     return new ImportCalendarCommand(filePath);
   }
 
@@ -199,11 +416,10 @@ public class CommandParser {
     ZoneId zone = calendarManager.getActiveCalendar().getTimezone();
 
     ZonedDateTime sourceDate = LocalDate.parse(tokens.get(3)).atStartOfDay(zone);
-    String targetCalendar = stripQuotes(tokens.get(5)).trim();
-    ZonedDateTime targetDate = LocalDate.parse(tokens.get(7)).atStartOfDay(
-            calendarManager.getCalendar(targetCalendar).getTimezone());
+    List<String> targetCalendars = parseTargetCalendars(tokens.get(5));
+    LocalDate targetDate = LocalDate.parse(tokens.get(7));
 
-    return new CopyEventsOnDateCommand(sourceDate, targetCalendar, targetDate);
+    return new CopyEventsOnDateCommand(sourceDate, targetCalendars, targetDate);
   }
 
 
@@ -227,11 +443,32 @@ public class CommandParser {
     ZonedDateTime startDate = LocalDate.parse(tokens.get(3)).atStartOfDay(activeZone);
     ZonedDateTime endDate = LocalDate.parse(tokens.get(5)).atStartOfDay(activeZone);
 
-    String targetCalendar = stripQuotes(tokens.get(7)).trim();
-    ZoneId targetZone = calendarManager.getCalendar(targetCalendar).getTimezone();
-    ZonedDateTime targetStartDate = LocalDate.parse(tokens.get(9)).atStartOfDay(targetZone);
+    List<String> targetCalendars = parseTargetCalendars(tokens.get(7));
+    LocalDate targetStartDate = LocalDate.parse(tokens.get(9));
 
-    return new CopyEventsBetweenDatesCommand(startDate, endDate, targetCalendar, targetStartDate);
+    return new CopyEventsBetweenDatesCommand(startDate, endDate, targetCalendars,
+            targetStartDate);
+  }
+
+  /**
+   * Parses the target of a copy events command, which is one calendar name or several
+   * separated by commas. Repeated names are kept once.
+   *
+   * @param token the target token
+   * @return the distinct target calendar names, in the given order
+   * @throws IllegalArgumentException if no name is given
+   */
+  private List<String> parseTargetCalendars(String token) {
+    Set<String> names = new LinkedHashSet<>();
+    for (String name : stripQuotes(token).split(",")) {
+      if (!name.trim().isEmpty()) {
+        names.add(name.trim());
+      }
+    }
+    if (names.isEmpty()) {
+      throw new IllegalArgumentException("No target calendar given");
+    }
+    return new ArrayList<>(names);
   }
 
   /**
@@ -362,13 +599,34 @@ public class CommandParser {
    */
   private ICommand parseExportCommand(List<String> tokens) {
     if (tokens.size() < 3 || !"cal".equalsIgnoreCase(tokens.get(1))) {
-      throw new IllegalArgumentException("Invalid export format. Usage: export cal <filePath.csv>");
+      throw new IllegalArgumentException("Invalid export format. Usage: export cal "
+              + "<filePath.csv|.csv.gz|.ics> [--since <sequence> | --partition <period>]");
+    }
+
+    int pathEnd = tokens.size();
+    Long since = null;
+    PartitionedExporter.Period period = null;
+    if (tokens.size() >= 5 && "--partition".equalsIgnoreCase(tokens.get(tokens.size() - 2))) {
+      period = PartitionedExporter.Period.parse(tokens.get(tokens.size() - 1));
+      pathEnd -= 2;
+    } else if (tokens.size() >= 5
+            && "--since".equalsIgnoreCase(tokens.get(tokens.size() - 2))) {
+      try {
+        since = Long.parseLong(tokens.get(tokens.size() - 1));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid sequence number: "
+                + tokens.get(tokens.size() - 1));
+      }
+      if (since < 0) {
+        throw new IllegalArgumentException("Sequence number must not be negative: " + since);
+      }
+      pathEnd -= 2;
     }
 
     StringBuilder pathBuilder = new StringBuilder();
-    for (int i = 2; i < tokens.size(); i++) {
+    for (int i = 2; i < pathEnd; i++) {
       pathBuilder.append(tokens.get(i));
-      if (i != tokens.size() - 1) {
+      if (i != pathEnd - 1) {
         pathBuilder.append(" ");
       }
     }
@@ -382,11 +640,12 @@ public class CommandParser {
       filePath = filePathRaw;
     }
 
-    if (!filePath.toLowerCase().endsWith(".csv")) {
-      throw new IllegalArgumentException("Exported file must have a .csv extension");
+    if (!ExporterFactory.isSupported(filePath)) {
+      throw new IllegalArgumentException("Exported file must have a .csv extension, a .csv.gz"
+              + " extension or an .ics extension");
     }
 
-    return new ExportCalendarCommand(filePath);
+    return new ExportCalendarCommand(filePath, since, period);
   }
 
 
@@ -455,13 +714,119 @@ public class CommandParser {
    * @throws IllegalArgumentException if the command format is invalid
    */
   private ICommand parseShowCommand(List<String> tokens) {
+    if (tokens.size() >= 2 && "conflicts".equalsIgnoreCase(tokens.get(1))) {
+      return parseShowConflictsCommand(tokens);
+    }
+    if (tokens.size() >= 2 && "stats".equalsIgnoreCase(tokens.get(1))) {
+      return parseShowStatsCommand(tokens);
+    }
+    if (tokens.size() >= 2 && "next".equalsIgnoreCase(tokens.get(1))) {
+      return parseShowNextCommand(tokens);
+    }
     if (tokens.size() < 4 || !"status".equalsIgnoreCase(tokens.get(1))
             || !"on".equalsIgnoreCase(tokens.get(2))) {
-      throw new IllegalArgumentException("Invalid show command. Usage: show status on <datetime>");
+      throw new IllegalArgumentException("Invalid show command. Usage: show status on <datetime>"
+              + ", show conflicts, show stats or show next");
     }
     return new BusyQueryCommand(parseDateTime(tokens.get(3)));
   }
 
+  /**
+   * Parses the "show conflicts" command, which lists overlapping events. The expected format is
+   * show conflicts [from start to end] [--calendars A,B,C]; without calendars the active
+   * calendar is audited.
+   *
+   * @param tokens the list of tokens representing the command
+   * @return the ICommand object that lists the conflicts
+   * @throws IllegalArgumentException if the command format is invalid
+   */
+  private ICommand parseShowConflictsCommand(List<String> tokens) {
+    String usage = "Usage: show conflicts [from <dateStringTtimeString> to "
+            + "<dateStringTtimeString>] [--calendars <name,name,...>]";
+    List<String> calendarNames = new ArrayList<>();
+    LocalDateTime from = null;
+    LocalDateTime to = null;
+    try {
+      int i = 2;
+      while (i < tokens.size()) {
+        if ("from".equalsIgnoreCase(tokens.get(i)) && from == null) {
+          if (!"to".equalsIgnoreCase(tokens.get(i + 2))) {
+            throw new IllegalArgumentException("Invalid show conflicts command. " + usage);
+          }
+          from = parseLocalDateTime(tokens.get(i + 1));
+          to = parseLocalDateTime(tokens.get(i + 3));
+          i += 4;
+        } else if ("--calendars".equalsIgnoreCase(tokens.get(i)) && calendarNames.isEmpty()) {
+          for (String name : tokens.get(i + 1).split(",")) {
+            if (!name.trim().isEmpty()) {
+              calendarNames.add(stripQuotes(name.trim()));
+            }
+          }
+          if (calendarNames.isEmpty()) {
+            throw new IllegalArgumentException("Invalid show conflicts command. " + usage);
+          }
+          i += 2;
+        } else {
+          throw new IllegalArgumentException("Unknown option " + tokens.get(i) + ". " + usage);
+        }
+      }
+    } catch (IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid show conflicts command. " + usage);
+    }
+    return new ShowConflictsCommand(calendarNames, from, to);
+  }
+
+  /**
+   * Parses the "show next" command, which lists the next events across all calendars. The
+   * expected format is show next [n], where n defaults to 10.
+   *
+   * @param tokens the list of tokens representing the command
+   * @return the ICommand object that lists the events
+   * @throws IllegalArgumentException if the command format is invalid
+   */
+  private ICommand parseShowNextCommand(List<String> tokens) {
+    if (tokens.size() == 2) {
+      return new ShowNextCommand(10);
+    }
+    if (tokens.size() != 3) {
+      throw new IllegalArgumentException("Invalid show next command. Usage: show next [<count>]");
+    }
+    int count;
+    try {
+      count = Integer.parseInt(tokens.get(2));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid event count: " + tokens.get(2));
+    }
+    if (count <= 0) {
+      throw new IllegalArgumentException("Event count must be positive: " + count);
+    }
+    return new ShowNextCommand(count);
+  }
+
+  /**
+   * Parses the "show stats" command, which shows utilization statistics of the active
+   * calendar. The expected format is show stats from start to end, where a date alone means
+   * the start of that day.
+   *
+   * @param tokens the list of tokens representing the command
+   * @return the ICommand object that shows the statistics
+   * @throws IllegalArgumentException if the command format is invalid
+   */
+  private ICommand parseShowStatsCommand(List<String> tokens) {
+    String usage = "Usage: show stats from <dateString|dateStringTtimeString> to "
+            + "<dateString|dateStringTtimeString>";
+    if (tokens.size() != 6 || !"from".equalsIgnoreCase(tokens.get(2))
+            || !"to".equalsIgnoreCase(tokens.get(4))) {
+      throw new IllegalArgumentException("Invalid show stats command. " + usage);
+    }
+    try {
+      return new ShowStatsCommand(parseLocalDateTime(tokens.get(3)),
+              parseLocalDateTime(tokens.get(5)));
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid show stats command. " + usage);
+    }
+  }
+
   /**
    * Parses the "edit event" command to edit a specific event.
    *
@@ -653,12 +1018,17 @@ public class CommandParser {
       if (index >= tokens.size()) {
         throw new IllegalArgumentException("Missing weekdays after 'repeats'");
       }
-      String weekdaysStr = stripQuotes(tokens.get(index++)).toUpperCase();
-
-      if (weekdaysStr.isEmpty()) {
-        result.weekdays = "MTWRFSU";
+      String frequency = tokens.get(index).toLowerCase();
+      if (RULE_KEYWORDS.contains(frequency)) {
+        index = parseRecurrenceRule(tokens, index, result);
       } else {
-        result.weekdays = weekdaysStr;
+        String weekdaysStr = stripQuotes(tokens.get(index++)).toUpperCase();
+
+        if (weekdaysStr.isEmpty()) {
+          result.weekdays = "MTWRFSU";
+        } else {
+          result.weekdays = weekdaysStr;
+        }
       }
 
       if (index < tokens.size() && "for".equalsIgnoreCase(tokens.get(index))) {
@@ -681,6 +1051,100 @@ public class CommandParser {
     return result;
   }
 
+  /**
+   * Parses a recurrence rule given in words after 'repeats': "weekly", "monthly" or "yearly",
+   * or "every N weeks", "every N months" or "every N years". A weekly rule may be followed by
+   * "on" and day letters, and a monthly rule by "on day D" or "on" an ordinal (first to
+   * fourth, or last) and a weekday name; otherwise the rule repeats on the start's weekday or
+   * day of the month.
+   *
+   * @param tokens the list of tokens representing the command
+   * @param index  the index of the first word of the rule
+   * @param result the parsed recurrence, whose weekdays are set to the rule's text form
+   * @return the index after the rule
+   * @throws IllegalArgumentException if the rule is incomplete or invalid
+   */
+  private int parseRecurrenceRule(List<String> tokens, int index,
+                                  ParsedRecurringEvent result) {
+    String unit = tokens.get(index++).toLowerCase();
+    int interval = 1;
+    if ("every".equals(unit)) {
+      if (index + 1 >= tokens.size()) {
+        throw new IllegalArgumentException("Usage: repeats every <n> weeks|months|years");
+      }
+      try {
+        interval = Integer.parseInt(tokens.get(index++));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid interval: " + tokens.get(index - 1));
+      }
+      if (interval <= 0) {
+        throw new IllegalArgumentException("Interval must be positive: " + interval);
+      }
+      unit = tokens.get(index++).toLowerCase();
+      unit = unit.endsWith("s") ? unit.substring(0, unit.length() - 1) : unit;
+      unit = unit.equals("week") ? "weekly" : unit.equals("month") ? "monthly"
+              : unit.equals("year") ? "yearly" : unit;
+    }
+    boolean on = index < tokens.size() && "on".equalsIgnoreCase(tokens.get(index));
+
+    RecurrenceRule rule;
+    switch (unit) {
+      case "weekly":
+        String days = "";
+        if (on) {
+          if (index + 1 >= tokens.size()) {
+            throw new IllegalArgumentException("Missing weekdays after 'on'");
+          }
+          days = stripQuotes(tokens.get(index + 1)).toUpperCase();
+          index += 2;
+        }
+        rule = RecurrenceRule.weekly(interval, days);
+        break;
+      case "monthly":
+        rule = RecurrenceRule.monthlyOnDay(interval, 0);
+        if (on) {
+          if (index + 2 >= tokens.size()) {
+            throw new IllegalArgumentException(
+                    "Usage: repeats monthly on day <d> | on <first..fourth|last> <weekday>");
+          }
+          String what = tokens.get(index + 1).toLowerCase();
+          String value = tokens.get(index + 2);
+          index += 3;
+          if ("day".equals(what)) {
+            int day;
+            try {
+              day = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+              throw new IllegalArgumentException("Invalid day of the month: " + value);
+            }
+            if (day < 1 || day > 31) {
+              throw new IllegalArgumentException("Invalid day of the month: " + value);
+            }
+            rule = RecurrenceRule.monthlyOnDay(interval, day);
+          } else {
+            int ordinal = ORDINALS.indexOf(what) + 1;
+            if (ordinal == 0 && !"last".equals(what)) {
+              throw new IllegalArgumentException("Invalid weekday ordinal: " + what);
+            }
+            try {
+              rule = RecurrenceRule.monthlyOnWeekday(interval, ordinal == 0 ? -1 : ordinal,
+                      DayOfWeek.valueOf(value.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+              throw new IllegalArgumentException("Invalid weekday: " + value);
+            }
+          }
+        }
+        break;
+      case "yearly":
+        rule = RecurrenceRule.yearly(interval);
+        break;
+      default:
+        throw new IllegalArgumentException("Expected weeks, months or years, got: " + unit);
+    }
+    result.weekdays = rule.toString();
+    return index;
+  }
+
   /**
    * Parses additional event properties like description, location, and visibility (public/private).
    *
@@ -0,0 +1,103 @@
+package calendarapp.controller;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The structured outcome of a command processed through
+ * {@link ICalendarController#processCommandAsync(String)}. Instead of being written to a view,
+ * the events, busy status, messages and errors produced by the command are collected here.
+ */
+public class CommandResult {
+  private final boolean success;
+  private final List<ReadOnlyCalendarEvent> events;
+  private final Boolean busy;
+  private final List<String> messages;
+  private final List<String> errors;
+
+  /**
+   * Constructs a command result.
+   *
+   * @param success  whether the command succeeded
+   * @param events   the events displayed by the command, empty if none
+   * @param busy     the busy status reported by a busy query, or null for other commands
+   * @param messages the informational messages produced by the command
+   * @param errors   the error messages produced by the command
+   */
+  public CommandResult(boolean success, List<ReadOnlyCalendarEvent> events, Boolean busy,
+                       List<String> messages, List<String> errors) {
+    this.success = success;
+    this.events = Collections.unmodifiableList(new ArrayList<>(events));
+    this.busy = busy;
+    this.messages = Collections.unmodifiableList(new ArrayList<>(messages));
+    this.errors = Collections.unmodifiableList(new ArrayList<>(errors));
+  }
+
+  /**
+   * Creates a result that carries only the success flag of a command.
+   *
+   * @param success whether the command succeeded
+   * @return the result
+   */
+  public static CommandResult of(boolean success) {
+    return new CommandResult(success, Collections.emptyList(), null,
+            Collections.emptyList(), Collections.emptyList());
+  }
+
+  /**
+   * Returns whether the command succeeded.
+   *
+   * @return true if the command succeeded
+   */
+  public boolean isSuccess() {
+    return success;
+  }
+
+  /**
+   * Returns the events displayed by the command, for example by a print query.
+   *
+   * @return an unmodifiable list of events, empty if the command displayed none
+   */
+  public List<ReadOnlyCalendarEvent> getEvents() {
+    return events;
+  }
+
+  /**
+   * Returns the busy status reported by a busy query.
+   *
+   * @return true if busy, false if available, or null if the command was not a busy query
+   */
+  public Boolean getBusy() {
+    return busy;
+  }
+
+  /**
+   * Returns the informational messages produced by the command.
+   *
+   * @return an unmodifiable list of messages
+   */
+  public List<String> getMessages() {
+    return messages;
+  }
+
+  /**
+   * Returns the error messages produced by the command.
+   *
+   * @return an unmodifiable list of errors
+   */
+  public List<String> getErrors() {
+    return errors;
+  }
+
+  /**
+   * Returns the first error produced by the command.
+   *
+   * @return the first error message, or null if there was none
+   */
+  public String getError() {
+    return errors.isEmpty() ? null : errors.get(0);
+  }
+}
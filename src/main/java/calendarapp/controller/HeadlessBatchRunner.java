@@ -0,0 +1,232 @@
+package calendarapp.controller;
+
+import calendarapp.model.CalendarManager;
+import calendarapp.view.HeadlessView;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs every headless script in a directory concurrently on a fixed-size thread pool.
+ * Each script gets its own CalendarManager, parser, controller and view, so scripts are fully
+ * isolated from one another, and writes its output to a sibling file with an ".out" suffix.
+ */
+public class HeadlessBatchRunner {
+
+  /**
+   * The file extension of scripts picked up from the directory.
+   */
+  public static final String SCRIPT_SUFFIX = ".txt";
+
+  /**
+   * The suffix appended to a script's file name for its output file.
+   */
+  public static final String OUTPUT_SUFFIX = ".out";
+
+  private final int threads;
+
+  /**
+   * Constructs a runner that executes scripts on the given number of threads.
+   *
+   * @param threads the size of the thread pool
+   * @throws IllegalArgumentException if threads is not positive
+   */
+  public HeadlessBatchRunner(int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Thread count must be positive");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Runs all scripts in the directory and waits for them to finish.
+   *
+   * @param directory the directory containing the scripts
+   * @return one result per script, ordered by script file name
+   * @throws IOException if the directory cannot be listed
+   * @throws IllegalArgumentException if the path is not a directory
+   */
+  public List<ScriptResult> run(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      throw new IllegalArgumentException("Not a directory: " + directory);
+    }
+    List<Path> scripts = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+            "*" + SCRIPT_SUFFIX)) {
+      for (Path script : stream) {
+        if (Files.isRegularFile(script)) {
+          scripts.add(script);
+        }
+      }
+    }
+    scripts.sort(null);
+
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1,
+            Math.min(threads, scripts.size())));
+    try {
+      List<Future<ScriptResult>> futures = new ArrayList<>();
+      for (Path script : scripts) {
+        futures.add(pool.submit(task(script)));
+      }
+      List<ScriptResult> results = new ArrayList<>();
+      for (int i = 0; i < futures.size(); i++) {
+        results.add(await(futures.get(i), scripts.get(i)));
+      }
+      return results;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Writes a per-script summary followed by totals.
+   *
+   * @param results the results returned by {@link #run(Path)}
+   * @param out     the destination for the summary
+   * @throws IOException if writing fails
+   */
+  public static void printSummary(List<ScriptResult> results, Appendable out) throws IOException {
+    int commands = 0;
+    int failures = 0;
+    int crashed = 0;
+    long totalMillis = 0;
+    for (ScriptResult result : results) {
+      out.append(String.format("%-40s %8d ms %8d commands %6d failures%s%n",
+              result.getScript().getFileName(), result.getDurationMillis(),
+              result.getCommandCount(), result.getFailureCount(),
+              result.getError() == null ? "" : "  ERROR: " + result.getError()));
+      commands += result.getCommandCount();
+      failures += result.getFailureCount();
+      totalMillis += result.getDurationMillis();
+      if (result.getError() != null) {
+        crashed++;
+      }
+    }
+    out.append(String.format("Total: %d scripts, %d commands, %d failures, %d scripts aborted, "
+            + "%d ms of script time%n", results.size(), commands, failures, crashed,
+            totalMillis));
+  }
+
+  private Callable<ScriptResult> task(Path script) {
+    return () -> {
+      long start = System.nanoTime();
+      Path output = script.resolveSibling(script.getFileName() + OUTPUT_SUFFIX);
+      try (BufferedReader reader = Files.newBufferedReader(script, StandardCharsets.UTF_8);
+           Writer writer = new BufferedWriter(Files.newBufferedWriter(output,
+                   StandardCharsets.UTF_8))) {
+        CalendarManager manager = new CalendarManager();
+        CalendarController controller = new CalendarController(manager,
+                new CommandParser(manager));
+        HeadlessView view = new HeadlessView(controller, reader, writer);
+        controller.setView(view);
+        view.run();
+        return new ScriptResult(script, elapsedMillis(start), view.getCommandCount(),
+                view.getFailureCount(), null);
+      } catch (IOException | RuntimeException e) {
+        return new ScriptResult(script, elapsedMillis(start), 0, 0, e.toString());
+      }
+    };
+  }
+
+  private static ScriptResult await(Future<ScriptResult> future, Path script) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new ScriptResult(script, 0, 0, 0, "interrupted");
+    } catch (ExecutionException e) {
+      return new ScriptResult(script, 0, 0, 0, String.valueOf(e.getCause()));
+    }
+  }
+
+  private static long elapsedMillis(long startNanos) {
+    return (System.nanoTime() - startNanos) / 1_000_000;
+  }
+
+  /**
+   * The outcome of running a single script.
+   */
+  public static class ScriptResult {
+    private final Path script;
+    private final long durationMillis;
+    private final int commandCount;
+    private final int failureCount;
+    private final String error;
+
+    /**
+     * Constructs a script result.
+     *
+     * @param script         the script that was run
+     * @param durationMillis the wall-clock time spent running the script
+     * @param commandCount   the number of commands processed
+     * @param failureCount   the number of commands that failed
+     * @param error          the error that aborted the script, or null if it ran to completion
+     */
+    public ScriptResult(Path script, long durationMillis, int commandCount, int failureCount,
+                        String error) {
+      this.script = script;
+      this.durationMillis = durationMillis;
+      this.commandCount = commandCount;
+      this.failureCount = failureCount;
+      this.error = error;
+    }
+
+    /**
+     * Returns the script that was run.
+     *
+     * @return the script path
+     */
+    public Path getScript() {
+      return script;
+    }
+
+    /**
+     * Returns the wall-clock time spent running the script.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getDurationMillis() {
+      return durationMillis;
+    }
+
+    /**
+     * Returns the number of commands processed.
+     *
+     * @return the command count
+     */
+    public int getCommandCount() {
+      return commandCount;
+    }
+
+    /**
+     * Returns the number of commands that failed.
+     *
+     * @return the failure count
+     */
+    public int getFailureCount() {
+      return failureCount;
+    }
+
+    /**
+     * Returns the error that aborted the script.
+     *
+     * @return the error description, or null if the script ran to completion
+     */
+    public String getError() {
+      return error;
+    }
+  }
+}
@@ -2,6 +2,8 @@ package calendarapp.controller;
 
 import calendarapp.view.ICalendarView;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The ICalendarController interface defines the method required to process a single command input.
  */
@@ -15,6 +17,17 @@ public interface ICalendarController {
    */
   public boolean processCommand(String commandInput);
 
+  /**
+   * Processes a command input asynchronously. The returned future completes with the
+   * structured output of the command instead of writing it to the view. By default the
+   * command is processed synchronously and the result only carries its success flag.
+   *
+   * @param commandInput the command text to process
+   * @return a future completed with the result of the command
+   */
+  default CompletableFuture<CommandResult> processCommandAsync(String commandInput) {
+    return CompletableFuture.completedFuture(CommandResult.of(processCommand(commandInput)));
+  }
 
   /**
    * Runs the application, starting it with the given arguments.
@@ -0,0 +1,55 @@
+package calendarapp.controller;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.view.ICalendarView;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A view that records everything a single command displays, so that it can be returned to
+ * the caller as a {@link CommandResult}. A new instance is used for every command.
+ */
+class ResultCollectingView implements ICalendarView {
+  private final List<ReadOnlyCalendarEvent> events = new ArrayList<>();
+  private final List<String> messages = new ArrayList<>();
+  private final List<String> errors = new ArrayList<>();
+  private Boolean busy;
+
+  @Override
+  public void displayEvents(List<ReadOnlyCalendarEvent> events) {
+    this.events.addAll(events);
+  }
+
+  @Override
+  public void displayMessage(String message) {
+    messages.add(message);
+  }
+
+  @Override
+  public void displayError(String errorMessage) {
+    errors.add(errorMessage);
+  }
+
+  @Override
+  public void displayBusyStatus(ZonedDateTime time, boolean busy) {
+    this.busy = busy;
+    ICalendarView.super.displayBusyStatus(time, busy);
+  }
+
+  @Override
+  public void run() {
+    return;
+  }
+
+  /**
+   * Builds the result of the command from the collected output.
+   *
+   * @param success whether the command succeeded
+   * @return the command result
+   */
+  CommandResult toResult(boolean success) {
+    return new CommandResult(success, events, busy, messages, errors);
+  }
+}
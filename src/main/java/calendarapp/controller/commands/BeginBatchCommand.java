@@ -0,0 +1,10 @@
+package calendarapp.controller.commands;
+
+/**
+ * Script directive that opens a batch block ("begin batch"). Event creation and edit commands
+ * that follow are queued by the controller until a matching "commit" directive, at which point
+ * they are validated together and applied atomically to the active calendar.
+ */
+public class BeginBatchCommand implements ICommand {
+  //Directive handled by the controller
+}
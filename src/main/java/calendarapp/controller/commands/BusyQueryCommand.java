@@ -1,7 +1,6 @@
 package calendarapp.controller.commands;
 
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
@@ -31,15 +30,7 @@ public class BusyQueryCommand implements ICalendarModelCommand {
    */
   @Override
   public boolean execute(ICalendarModel model, ICalendarView view) {
-    boolean busy = model.isBusyAt(queryTime);
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
-    String formattedTime = queryTime.format(formatter);
-
-    if (busy) {
-      view.displayMessage("Busy at " + formattedTime);
-    } else {
-      view.displayMessage("Available at " + formattedTime);
-    }
+    view.displayBusyStatus(queryTime, model.isBusyAt(queryTime));
     return true;
   }
 
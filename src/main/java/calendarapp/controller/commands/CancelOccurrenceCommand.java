@@ -0,0 +1,44 @@
+package calendarapp.controller.commands;
+
+import calendarapp.model.ICalendarModel;
+import calendarapp.view.ICalendarView;
+
+import java.time.LocalDate;
+
+/**
+ * Command to cancel a single occurrence of a recurring event. The rest of the series is left
+ * as it is, and later edits to the whole series keep the occurrence cancelled.
+ */
+public class CancelOccurrenceCommand implements ICalendarModelCommand {
+
+  private final String eventName;
+  private final LocalDate date;
+
+  /**
+   * Constructs a CancelOccurrenceCommand.
+   *
+   * @param eventName the subject of the recurring event
+   * @param date      the date of the occurrence to cancel
+   */
+  public CancelOccurrenceCommand(String eventName, LocalDate date) {
+    this.eventName = eventName;
+    this.date = date;
+  }
+
+  /**
+   * Cancels the occurrence in the calendar.
+   *
+   * @param model the calendar model holding the recurring event
+   * @param view  the view used to display messages
+   * @return true if the occurrence was cancelled, false if there was none on the date
+   */
+  @Override
+  public boolean execute(ICalendarModel model, ICalendarView view) {
+    if (!model.cancelOccurrence(eventName, date)) {
+      view.displayError("No occurrence of " + eventName + " on " + date);
+      return false;
+    }
+    view.displayMessage("Occurrence cancelled successfully");
+    return true;
+  }
+}
@@ -0,0 +1,10 @@
+package calendarapp.controller.commands;
+
+/**
+ * Script directive that closes a batch block ("commit"). All commands queued since the matching
+ * "begin batch" directive are applied to the calendar together, or not at all if any of them
+ * fails or conflicts.
+ */
+public class CommitBatchCommand implements ICommand {
+  //Directive handled by the controller
+}
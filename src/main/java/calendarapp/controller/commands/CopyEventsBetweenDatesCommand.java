@@ -1,21 +1,27 @@
 package calendarapp.controller.commands;
 
 import calendarapp.model.CalendarModel;
+import calendarapp.model.CopyOutcome;
 import calendarapp.model.ICalendarManager;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
- * Command to copy all events between two dates to another calendar.
+ * Command to copy all events between two dates to another calendar, or to several calendars
+ * at once.
  */
 public class CopyEventsBetweenDatesCommand implements ICalendarManagerCommand {
 
   private final ZonedDateTime startDate;
   private final ZonedDateTime endDate;
-  private final String targetCalendarName;
-  private final ZonedDateTime targetStartDate;
+  private final List<String> targetCalendarNames;
+  private final LocalDate targetStartDate;
 
   /**
    * Constructs the command.
@@ -27,14 +33,30 @@ public class CopyEventsBetweenDatesCommand implements ICalendarManagerCommand {
    */
   public CopyEventsBetweenDatesCommand(ZonedDateTime startDate, ZonedDateTime endDate,
                                        String targetCalendarName, ZonedDateTime targetStartDate) {
+    this(startDate, endDate, Collections.singletonList(targetCalendarName),
+            targetStartDate.toLocalDate());
+  }
+
+  /**
+   * Constructs the command for several target calendars.
+   *
+   * @param startDate           the start of the date range
+   * @param endDate             the end of the date range
+   * @param targetCalendarNames the distinct names of the calendars to copy events to
+   * @param targetStartDate     the starting date, taken in the timezone of each target
+   *                            calendar
+   */
+  public CopyEventsBetweenDatesCommand(ZonedDateTime startDate, ZonedDateTime endDate,
+                                       List<String> targetCalendarNames,
+                                       LocalDate targetStartDate) {
     this.startDate = startDate;
     this.endDate = endDate;
-    this.targetCalendarName = targetCalendarName;
+    this.targetCalendarNames = targetCalendarNames;
     this.targetStartDate = targetStartDate;
   }
 
   /**
-   * Copies events between two dates from the active calendar to the target calendar,
+   * Copies events between two dates from the active calendar to the target calendars,
    * starting at the specified target date. Displays success or error messages based on the result.
    *
    * @param calendarManager the calendar manager handling calendars
@@ -44,23 +66,51 @@ public class CopyEventsBetweenDatesCommand implements ICalendarManagerCommand {
   @Override
   public boolean execute(ICalendarManager calendarManager, ICalendarView view) {
     ICalendarModel source = calendarManager.getActiveCalendar();
-    ICalendarModel target = calendarManager.getCalendar(targetCalendarName);
+    List<ICalendarModel> targets = new ArrayList<>();
+    for (String name : targetCalendarNames) {
+      targets.add(calendarManager.getCalendar(name));
+    }
 
-    if (!(source instanceof CalendarModel) || !(target instanceof CalendarModel)) {
+    if (!(source instanceof CalendarModel) || targets.stream()
+            .anyMatch(target -> !(target instanceof CalendarModel))) {
       view.displayError("Copy requires concrete CalendarModel implementations.");
       return false;
     }
 
-    boolean success = ((CalendarModel) source).copyEventsBetweenTo(
-            (CalendarModel) source, startDate, endDate, (CalendarModel) target, targetStartDate
-    );
+    List<CopyOutcome> outcomes = ((CalendarModel) source).copyEventsBetweenToAll(
+            source, startDate, endDate, targets, targetStartDate);
+    return report(targetCalendarNames, outcomes,
+            "Some or all events failed to copy due to conflicts.", view);
+  }
 
-    if (success) {
-      view.displayMessage("Events copied successfully to calendar: " + targetCalendarName);
-    } else {
-      view.displayError("Some or all events failed to copy due to conflicts.");
+  /**
+   * Displays the outcome of a copy, one line per target calendar. A copy to one calendar that
+   * skipped some events is reported with the given message; a copy to several calendars names
+   * each calendar. Either way the numbers of conflicting and duplicate events skipped follow.
+   *
+   * @param names         the names of the target calendars
+   * @param outcomes      the outcome of the copy for each target calendar, in the same order
+   * @param singleFailure the message for a copy to one calendar that skipped some events
+   * @param view          the view for displaying messages
+   * @return true if every event was copied to every target calendar
+   */
+  static boolean report(List<String> names, List<CopyOutcome> outcomes, String singleFailure,
+                        ICalendarView view) {
+    boolean complete = true;
+    for (int i = 0; i < outcomes.size(); i++) {
+      CopyOutcome outcome = outcomes.get(i);
+      String name = names.get(i);
+      if (outcome.isComplete()) {
+        view.displayMessage("Events copied successfully to calendar: " + name);
+        continue;
+      }
+      complete = false;
+      String failure = outcomes.size() == 1 ? singleFailure
+              : "Some or all events could not be copied to calendar: " + name
+              + " due to conflicts.";
+      view.displayError(failure + " Skipped " + outcome.getConflicts() + " conflicting and "
+              + outcome.getDuplicates() + " duplicate event(s).");
     }
-
-    return success;
+    return complete;
   }
 }
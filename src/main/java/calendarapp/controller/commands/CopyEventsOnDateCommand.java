@@ -1,20 +1,26 @@
 package calendarapp.controller.commands;
 
 import calendarapp.model.CalendarModel;
+import calendarapp.model.CopyOutcome;
 import calendarapp.model.ICalendarManager;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
- * Command to copy all events on a specific date to another calendar.
+ * Command to copy all events on a specific date to another calendar, or to several calendars
+ * at once.
  */
 public class CopyEventsOnDateCommand implements ICalendarManagerCommand {
 
   private final ZonedDateTime sourceDate;
-  private final String targetCalendarName;
-  private final ZonedDateTime targetDate;
+  private final List<String> targetCalendarNames;
+  private final LocalDate targetDate;
 
   /**
    * Constructs a CopyEventsOnDateCommand.
@@ -25,13 +31,26 @@ public class CopyEventsOnDateCommand implements ICalendarManagerCommand {
    */
   public CopyEventsOnDateCommand(ZonedDateTime sourceDate, String targetCalendarName,
                                  ZonedDateTime targetDate) {
+    this(sourceDate, Collections.singletonList(targetCalendarName), targetDate.toLocalDate());
+  }
+
+  /**
+   * Constructs a CopyEventsOnDateCommand that copies to several calendars.
+   *
+   * @param sourceDate          the date on which events are copied from
+   * @param targetCalendarNames the distinct names of the target calendars
+   * @param targetDate          the date to set for the copied events, taken in the timezone
+   *                            of each target calendar
+   */
+  public CopyEventsOnDateCommand(ZonedDateTime sourceDate, List<String> targetCalendarNames,
+                                 LocalDate targetDate) {
     this.sourceDate = sourceDate;
-    this.targetCalendarName = targetCalendarName;
+    this.targetCalendarNames = targetCalendarNames;
     this.targetDate = targetDate;
   }
 
   /**
-   * Executes the command by copying events from the active calendar to the target calendar.
+   * Executes the command by copying events from the active calendar to the target calendars.
    *
    * @param calendarManager the calendar manager used to access calendars
    * @param view            the view used to display messages
@@ -40,25 +59,21 @@ public class CopyEventsOnDateCommand implements ICalendarManagerCommand {
   @Override
   public boolean execute(ICalendarManager calendarManager, ICalendarView view) {
     ICalendarModel source = calendarManager.getActiveCalendar();
-    ICalendarModel target = calendarManager.getCalendar(targetCalendarName);
+    List<ICalendarModel> targets = new ArrayList<>();
+    for (String name : targetCalendarNames) {
+      targets.add(calendarManager.getCalendar(name));
+    }
 
-    if (!(source instanceof CalendarModel) || !(target instanceof CalendarModel)) {
+    if (!(source instanceof CalendarModel) || targets.stream()
+            .anyMatch(target -> !(target instanceof CalendarModel))) {
       view.displayError("Copy requires concrete CalendarModel implementations.");
       return false;
     }
 
-    boolean success = ((CalendarModel) source).copyEventsOnDateTo(
-            (CalendarModel) source, sourceDate, (CalendarModel) target, targetDate
-    );
-
-    if (success) {
-      view.displayMessage("Events copied successfully to calendar: " + targetCalendarName);
-    } else {
-      view.displayError("Some or all events could not be copied due to conflicts.");
-    }
-
-    return success;
+    List<CopyOutcome> outcomes = ((CalendarModel) source).copyEventsOnDateToAll(
+            source, sourceDate.toLocalDate(), targets, targetDate);
+    return CopyEventsBetweenDatesCommand.report(targetCalendarNames, outcomes,
+            "Some or all events could not be copied due to conflicts.", view);
   }
 
-
 }
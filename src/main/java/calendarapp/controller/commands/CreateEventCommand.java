@@ -1,6 +1,8 @@
 package calendarapp.controller.commands;
 
+import calendarapp.model.ConflictExplanation;
 import calendarapp.model.ICalendarModel;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
 import calendarapp.model.event.RecurringEvent;
 import calendarapp.model.event.SingleEvent;
 import calendarapp.view.ICalendarView;
@@ -213,6 +215,9 @@ public class CreateEventCommand implements ICalendarModelCommand {
         view.displayMessage("Event created successfully");
       } else {
         view.displayError("Event creation failed due to conflict");
+        if (!isRecurring) {
+          explainConflict(model, view, adjustedStart, adjustedEnd);
+        }
       }
       return success;
     } catch (IllegalArgumentException ex) {
@@ -220,4 +225,23 @@ public class CreateEventCommand implements ICalendarModelCommand {
       return false;
     }
   }
+
+  /**
+   * Shows the events the declined event conflicts with and the nearest free slots of the same
+   * length before and after it, so the user can pick another time.
+   */
+  private static void explainConflict(ICalendarModel model, ICalendarView view,
+                                      ZonedDateTime start, ZonedDateTime end) {
+    ConflictExplanation explanation = model.explainConflict(start, end);
+    if (explanation.getConflicts().isEmpty()) {
+      return;
+    }
+    for (ReadOnlyCalendarEvent conflict : explanation.getConflicts()) {
+      view.displayError("Conflicts with " + conflict.getSubject() + " ("
+              + conflict.getStartDateTime().toLocalDateTime() + " to "
+              + conflict.getEndDateTime().toLocalDateTime() + ")");
+    }
+    view.displayMessage("Free slots nearest the conflicting time: before "
+            + explanation.getSlotBefore() + ", after " + explanation.getSlotAfter());
+  }
 }
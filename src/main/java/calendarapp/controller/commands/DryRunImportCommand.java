@@ -0,0 +1,99 @@
+package calendarapp.controller.commands;
+
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.ImportConflictReport;
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.utils.ImporterFactory;
+import calendarapp.view.ICalendarView;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command that checks what importing a file would do, without changing the calendar. The
+ * file's events are compared with the calendar's events and with each other, and every
+ * duplicate, conflict and malformed entry is written to a report file next to the imported
+ * file, named after it with a ".report.csv" suffix.
+ */
+public class DryRunImportCommand implements ICalendarModelCommand {
+
+  private final String filePath;
+
+  /**
+   * Creates a dry run of importing the given file.
+   *
+   * @param filePath the path of the file that would be imported
+   */
+  public DryRunImportCommand(String filePath) {
+    this.filePath = filePath;
+  }
+
+  /**
+   * Reads the file, analyzes its events against the calendar and writes the report.
+   *
+   * @param model the calendar the file would be imported into
+   * @param view  the view used to display the summary or an error
+   * @return true if the report was written, false otherwise
+   */
+  @Override
+  public boolean execute(ICalendarModel model, ICalendarView view) {
+    try {
+      List<String> problems = new ArrayList<>();
+      List<ICalendarEvent> candidates = ImporterFactory.getImporter(filePath)
+              .readEvents(filePath, model.getTimezone(), problems);
+      ImportConflictReport report = ImportConflictReport.analyze(model.getEvents(),
+              candidates);
+      String reportPath = filePath + ".report.csv";
+      writeReport(report, problems, reportPath);
+
+      view.displayMessage("Dry run of " + filePath + ": " + report.getCandidateCount()
+              + " events, " + report.getCleanCount() + " without conflicts, "
+              + report.count(ImportConflictReport.Status.DUPLICATE) + " duplicates, "
+              + report.count(ImportConflictReport.Status.CONFLICTS_WITH_CALENDAR)
+              + " conflicting with the calendar, "
+              + report.count(ImportConflictReport.Status.CONFLICTS_WITHIN_FILE)
+              + " conflicting within the file, " + problems.size()
+              + " malformed. Report: " + reportPath);
+      return true;
+    } catch (IOException | IllegalArgumentException e) {
+      view.displayError("Dry run failed: " + e.getMessage());
+      return false;
+    }
+  }
+
+  private static void writeReport(ImportConflictReport report, List<String> problems,
+                                  String reportPath) throws IOException {
+    try (Writer writer = new BufferedWriter(new FileWriter(reportPath))) {
+      writer.append("Status,Subject,Start,End,Other Subject,Other Start,Other End\n");
+      for (ImportConflictReport.Finding finding : report.getFindings()) {
+        writer.append(finding.getStatus().name().toLowerCase()).append(',');
+        appendEvent(writer, finding.getEvent());
+        writer.append(',');
+        appendEvent(writer, finding.getOther());
+        writer.append('\n');
+      }
+      for (String problem : problems) {
+        writer.append("malformed,").append(escape(problem)).append(",,,,,\n");
+      }
+    }
+  }
+
+  private static void appendEvent(Writer writer, ReadOnlyCalendarEvent event)
+          throws IOException {
+    writer.append(escape(event.getSubject())).append(',')
+            .append(event.getStartDateTime().toLocalDateTime().toString()).append(',')
+            .append(event.getEndDateTime().toLocalDateTime().toString());
+  }
+
+  private static String escape(String value) {
+    if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+}
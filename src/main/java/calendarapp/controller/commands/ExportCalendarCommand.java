@@ -1,8 +1,10 @@
 package calendarapp.controller.commands;
 
+import calendarapp.model.EventDelta;
 import calendarapp.model.ICalendarModel;
 import calendarapp.utils.ExporterFactory;
 import calendarapp.utils.IExporter;
+import calendarapp.utils.PartitionedExporter;
 import calendarapp.view.ICalendarView;
 
 import java.io.IOException;
@@ -10,10 +12,15 @@ import java.io.IOException;
 /**
  * Command to export the calendar's events to a specified file.
  * Uses the ExporterFactory to choose the correct exporter based on the file path.
+ * When a change sequence number is given, only the events added, changed or deleted since
+ * then are exported, together with the sequence number to use for the next export. When a
+ * partition period is given, the events are written to one file per period in parallel.
  */
 public class ExportCalendarCommand implements ICalendarModelCommand {
 
   private final String filePath;
+  private final Long since;
+  private final PartitionedExporter.Period period;
 
   /**
    * Constructs an ExportCalendarCommand to export the calendar's events to the given file path.
@@ -21,7 +28,33 @@ public class ExportCalendarCommand implements ICalendarModelCommand {
    * @param filePath the path where the calendar events will be exported
    */
   public ExportCalendarCommand(String filePath) {
+    this(filePath, null, null);
+  }
+
+  /**
+   * Constructs an ExportCalendarCommand that exports only the changes after a change sequence
+   * number.
+   *
+   * @param filePath the path where the changes will be exported
+   * @param since    the sequence number of the last exported change, or null for a full export
+   */
+  public ExportCalendarCommand(String filePath, Long since) {
+    this(filePath, since, null);
+  }
+
+  /**
+   * Constructs an ExportCalendarCommand that exports either the changes after a change sequence
+   * number, or every event split into one file per period.
+   *
+   * @param filePath the path where the events will be exported, or that the partition file
+   *                 names are derived from
+   * @param since    the sequence number of the last exported change, or null
+   * @param period   the period each partition file covers, or null for a single file
+   */
+  public ExportCalendarCommand(String filePath, Long since, PartitionedExporter.Period period) {
     this.filePath = filePath;
+    this.since = since;
+    this.period = period;
   }
 
   /**
@@ -36,7 +69,21 @@ public class ExportCalendarCommand implements ICalendarModelCommand {
   @Override
   public boolean execute(ICalendarModel model, ICalendarView view) {
     try {
+      if (period != null) {
+        String manifestPath = new PartitionedExporter(period).export(model.getEvents(),
+                filePath);
+        view.displayMessage("Calendar exported by " + period.name().toLowerCase()
+                + " successfully. Manifest: " + manifestPath);
+        return true;
+      }
       IExporter exporter = ExporterFactory.getExporter(filePath);
+      if (since != null) {
+        EventDelta delta = model.getChangesSince(since);
+        String outputPath = exporter.exportDelta(delta, filePath);
+        view.displayMessage("Calendar changes exported successfully to: " + outputPath
+                + " (sequence " + delta.getSequence() + ")");
+        return true;
+      }
       String outputPath = exporter.export(model.getEvents(), filePath);
       view.displayMessage("Calendar exported successfully to: " + outputPath);
       return true;
@@ -0,0 +1,85 @@
+package calendarapp.controller.commands;
+
+import calendarapp.model.ICalendarManager;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.TimeSlot;
+import calendarapp.view.ICalendarView;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Command to find the earliest windows in which several calendars are all free for a given
+ * duration. The range is read in the timezone of the active calendar, or of the first listed
+ * calendar when no calendar is active.
+ */
+public class FindSlotCommand implements ICalendarManagerCommand {
+
+  private final List<String> calendarNames;
+  private final Duration duration;
+  private final LocalDateTime from;
+  private final LocalDateTime to;
+  private final int limit;
+
+  /**
+   * Constructs a FindSlotCommand.
+   *
+   * @param calendarNames the calendars that must all be free
+   * @param duration      the minimum length of a window
+   * @param from          the start of the searched range
+   * @param to            the end of the searched range
+   * @param limit         the maximum number of windows to list
+   * @throws IllegalArgumentException if no calendar is given
+   */
+  public FindSlotCommand(List<String> calendarNames, Duration duration, LocalDateTime from,
+                         LocalDateTime to, int limit) {
+    if (calendarNames.isEmpty()) {
+      throw new IllegalArgumentException("At least one calendar is required");
+    }
+    this.calendarNames = calendarNames;
+    this.duration = duration;
+    this.from = from;
+    this.to = to;
+    this.limit = limit;
+  }
+
+  /**
+   * Finds and displays the free windows, one per line.
+   *
+   * @param calendarManager the calendar manager holding the calendars
+   * @param view            the view used to display the windows
+   * @return true if the search ran, false if a calendar does not exist or the range is invalid
+   */
+  @Override
+  public boolean execute(ICalendarManager calendarManager, ICalendarView view) {
+    try {
+      ICalendarModel reference = calendarManager.getActiveCalendar();
+      if (reference == null) {
+        reference = calendarManager.getCalendar(calendarNames.get(0));
+      }
+      if (reference == null) {
+        view.displayError("Calendar not found: " + calendarNames.get(0));
+        return false;
+      }
+      ZoneId zone = reference.getTimezone();
+      List<TimeSlot> slots = calendarManager.findFreeSlots(calendarNames, from.atZone(zone),
+              to.atZone(zone), duration, limit);
+      if (slots.isEmpty()) {
+        view.displayMessage("No common free slot of " + duration.toMinutes() + " minutes between "
+                + from + " and " + to);
+        return true;
+      }
+      for (TimeSlot slot : slots) {
+        view.displayMessage("Free from " + slot.getStart().toLocalDateTime() + " to "
+                + slot.getEnd().toLocalDateTime() + " (" + slot.getDuration().toMinutes()
+                + " minutes)");
+      }
+      return true;
+    } catch (IllegalArgumentException e) {
+      view.displayError(e.getMessage());
+      return false;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package calendarapp.controller.commands;
 
 import calendarapp.model.ICalendarModel;
+import calendarapp.utils.CSVImporter;
 import calendarapp.utils.IImporter;
 import calendarapp.utils.ImporterFactory;
 import calendarapp.view.ICalendarView;
@@ -10,10 +11,14 @@ import calendarapp.view.ICalendarView;
  * It uses the ImporterFactory to determine the correct importer based on the file type.
  * If the import is successful, a success message is displayed through the view.
  * If an error occurs during import, an error message is displayed instead.
+ * When an error policy is given, the CSV file is imported with checkpoints, so that a failed
+ * import can be resumed, and malformed rows are either skipped or stop the import.
  */
 public class ImportCalendarCommand implements ICalendarModelCommand {
 
   protected final String filePath;
+  private final CSVImporter.ErrorPolicy errorPolicy;
+  private final boolean resume;
 
   /**
    * Creates a new ImportCalendarCommand with the specified file path.
@@ -21,7 +26,21 @@ public class ImportCalendarCommand implements ICalendarModelCommand {
    * @param filePath the path of the file to import calendar events from
    */
   public ImportCalendarCommand(String filePath) {
+    this(filePath, null, false);
+  }
+
+  /**
+   * Creates a new ImportCalendarCommand that imports a CSV file with checkpoints.
+   *
+   * @param filePath    the path of the CSV file to import calendar events from
+   * @param errorPolicy what to do with malformed rows, or null for a regular import
+   * @param resume      whether to continue from the checkpoint of an earlier import
+   */
+  public ImportCalendarCommand(String filePath, CSVImporter.ErrorPolicy errorPolicy,
+                               boolean resume) {
     this.filePath = filePath;
+    this.errorPolicy = errorPolicy;
+    this.resume = resume;
   }
 
   /**
@@ -37,6 +56,22 @@ public class ImportCalendarCommand implements ICalendarModelCommand {
   @Override
   public boolean execute(ICalendarModel model, ICalendarView view) {
     try {
+      if (errorPolicy != null) {
+        CSVImporter importer = new CSVImporter(errorPolicy, resume);
+        importer.importInto(model, filePath);
+        StringBuilder message = new StringBuilder("Calendar imported successfully from: ")
+                .append(filePath).append(" (").append(importer.getRowsImported())
+                .append(" events imported");
+        if (importer.getRowsResumed() > 0) {
+          message.append(", resumed after ").append(importer.getRowsResumed()).append(" rows");
+        }
+        if (importer.getRowsRejected() > 0) {
+          message.append(", ").append(importer.getRowsRejected())
+                  .append(" rows rejected to ").append(filePath).append(".rejects");
+        }
+        view.displayMessage(message.append(')').toString());
+        return true;
+      }
       IImporter importer = ImporterFactory.getImporter(filePath);
       importer.importInto(model, filePath);
       view.displayMessage("Calendar imported successfully from: " + filePath);
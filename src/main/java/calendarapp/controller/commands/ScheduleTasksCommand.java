@@ -0,0 +1,70 @@
+package calendarapp.controller.commands;
+
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.TaskScheduler;
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.SingleEvent;
+import calendarapp.utils.TaskFileReader;
+import calendarapp.view.ICalendarView;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command that reads tasks from a file and places them into the free time of the active
+ * calendar. Every placed task becomes an event, and all of them are added in one batch.
+ */
+public class ScheduleTasksCommand implements ICalendarModelCommand {
+
+  private final String filePath;
+
+  /**
+   * Creates a command that schedules the tasks in the given file.
+   *
+   * @param filePath the path of the task file
+   */
+  public ScheduleTasksCommand(String filePath) {
+    this.filePath = filePath;
+  }
+
+  /**
+   * Plans the tasks, adds the placed ones as events and reports the tasks that found no place.
+   *
+   * @param model the calendar to schedule the tasks into
+   * @param view  the view used to display the outcome or an error
+   * @return true if the placed tasks were added, false otherwise
+   */
+  @Override
+  public boolean execute(ICalendarModel model, ICalendarView view) {
+    TaskScheduler.Schedule schedule;
+    try {
+      List<TaskScheduler.Task> tasks = TaskFileReader.read(filePath, model.getTimezone());
+      schedule = TaskScheduler.plan(model, tasks);
+    } catch (IOException | IllegalArgumentException e) {
+      view.displayError("Scheduling failed: " + e.getMessage());
+      return false;
+    }
+
+    List<ICalendarEvent> events = new ArrayList<>(schedule.getPlacements().size());
+    for (TaskScheduler.Placement placement : schedule.getPlacements()) {
+      events.add(new SingleEvent(placement.getTask().getSubject(),
+              placement.getSlot().getStart(), placement.getSlot().getEnd(),
+              "Scheduled task", null, true, false, null));
+    }
+    if (model.addEvents(events, false) != events.size()) {
+      view.displayError("Scheduling failed: the planned tasks conflict with the calendar");
+      return false;
+    }
+
+    int total = events.size() + schedule.getUnscheduled().size();
+    view.displayMessage("Scheduled " + events.size() + " of " + total + " tasks from "
+            + filePath);
+    for (TaskScheduler.Task task : schedule.getUnscheduled()) {
+      view.displayMessage("Not scheduled: " + task.getSubject() + " (due "
+              + task.getDeadline().toLocalDateTime() + ")");
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,98 @@
+package calendarapp.controller.commands;
+
+import calendarapp.model.ConflictAudit;
+import calendarapp.model.ICalendarManager;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.view.ICalendarView;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command to list every pair of overlapping events in the active calendar, or among several
+ * calendars, optionally only within a range. Each pair is displayed as soon as the sweep finds
+ * it. When several calendars are audited, each event is shown with its calendar's name. The
+ * range is read in the timezone of the active calendar, or of the first listed calendar when no
+ * calendar is active.
+ */
+public class ShowConflictsCommand implements ICalendarManagerCommand {
+
+  private final List<String> calendarNames;
+  private final LocalDateTime from;
+  private final LocalDateTime to;
+
+  /**
+   * Constructs a ShowConflictsCommand.
+   *
+   * @param calendarNames the calendars to audit, or an empty list for the active calendar
+   * @param from          the start of the audited range, or null for all events
+   * @param to            the end of the audited range, or null for all events
+   */
+  public ShowConflictsCommand(List<String> calendarNames, LocalDateTime from, LocalDateTime to) {
+    this.calendarNames = calendarNames;
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * Finds and displays the overlapping pairs, one per line, followed by their number.
+   *
+   * @param calendarManager the calendar manager holding the calendars
+   * @param view            the view used to display the pairs
+   * @return true if the audit ran, false if a calendar does not exist or the range is invalid
+   */
+  @Override
+  public boolean execute(ICalendarManager calendarManager, ICalendarView view) {
+    List<ICalendarModel> calendars = new ArrayList<>();
+    if (calendarNames.isEmpty()) {
+      ICalendarModel active = calendarManager.getActiveCalendar();
+      if (active == null) {
+        view.displayError("No active calendar selected. Use "
+                + "'use calendar --name <calName>' first.");
+        return false;
+      }
+      calendars.add(active);
+    } else {
+      for (String name : calendarNames) {
+        ICalendarModel calendar = calendarManager.getCalendar(name);
+        if (calendar == null) {
+          view.displayError("Calendar not found: " + name);
+          return false;
+        }
+        calendars.add(calendar);
+      }
+    }
+    if (from != null && !to.isAfter(from)) {
+      view.displayError("The end of the range must be after its start");
+      return false;
+    }
+
+    ICalendarModel reference = calendarManager.getActiveCalendar() != null
+            ? calendarManager.getActiveCalendar() : calendars.get(0);
+    ZoneId zone = reference.getTimezone();
+    List<List<ReadOnlyCalendarEvent>> events = new ArrayList<>(calendars.size());
+    for (ICalendarModel calendar : calendars) {
+      events.add(from == null ? calendar.getEvents()
+              : calendar.getEventsBetween(from.atZone(zone), to.atZone(zone)));
+    }
+    List<String> prefixes = new ArrayList<>(calendars.size());
+    for (ICalendarModel calendar : calendars) {
+      prefixes.add(calendars.size() > 1 ? calendar.getName() + "/" : "");
+    }
+
+    long pairs = ConflictAudit.sweep(events, (firstCalendar, first, secondCalendar, second) ->
+            view.displayMessage("Conflict: " + describe(prefixes.get(firstCalendar), first)
+                    + " overlaps " + describe(prefixes.get(secondCalendar), second)));
+    view.displayMessage(pairs == 0 ? "No conflicts found"
+            : "Found " + pairs + (pairs == 1 ? " conflict" : " conflicts"));
+    return true;
+  }
+
+  private static String describe(String prefix, ReadOnlyCalendarEvent event) {
+    return prefix + event.getSubject() + " (" + event.getStartDateTime().toLocalDateTime()
+            + " to " + event.getEndDateTime().toLocalDateTime() + ")";
+  }
+}
@@ -0,0 +1,63 @@
+package calendarapp.controller.commands;
+
+import calendarapp.model.AgendaService;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.ICalendarManager;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.view.ICalendarView;
+
+import java.util.List;
+
+/**
+ * Command to list the next events across all calendars, in start order, from the manager's
+ * agenda. Each event is shown with its calendar's name and in its calendar's timezone.
+ */
+public class ShowNextCommand implements ICalendarManagerCommand {
+
+  private final int count;
+
+  /**
+   * Constructs a ShowNextCommand.
+   *
+   * @param count the maximum number of events to list
+   */
+  public ShowNextCommand(int count) {
+    this.count = count;
+  }
+
+  /**
+   * Displays the upcoming events, one per line.
+   *
+   * @param calendarManager the calendar manager holding the calendars
+   * @param view            the view used to display the events
+   * @return true if the agenda was listed, false if the manager has no agenda
+   */
+  @Override
+  public boolean execute(ICalendarManager calendarManager, ICalendarView view) {
+    if (!(calendarManager instanceof CalendarManager)) {
+      view.displayError("The agenda requires a concrete CalendarManager implementation.");
+      return false;
+    }
+    List<AgendaService.Item> items = ((CalendarManager) calendarManager).getAgenda().next(count);
+    if (items.isEmpty()) {
+      view.displayMessage("No upcoming events");
+      return true;
+    }
+    for (AgendaService.Item item : items) {
+      ReadOnlyCalendarEvent event = item.getEvent();
+      view.displayMessage(event.getStartDateTime().toLocalDateTime() + " to "
+              + event.getEndDateTime().toLocalDateTime() + " " + item.getCalendarName() + "/"
+              + event.getSubject());
+    }
+    return true;
+  }
+
+  /**
+   * Returns the maximum number of events listed.
+   *
+   * @return the number of events
+   */
+  public int getCount() {
+    return count;
+  }
+}
@@ -0,0 +1,90 @@
+package calendarapp.controller.commands;
+
+import calendarapp.model.CalendarStats;
+import calendarapp.model.ICalendarModel;
+import calendarapp.view.ICalendarView;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.TextStyle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Command to show utilization statistics of the active calendar over a range: busy time per
+ * day, week and month, the longest free block, event counts by weekday and hour, and the time
+ * booked at each location. The range is read in the calendar's timezone.
+ */
+public class ShowStatsCommand implements ICalendarModelCommand {
+
+  private final LocalDateTime from;
+  private final LocalDateTime to;
+
+  /**
+   * Constructs a ShowStatsCommand.
+   *
+   * @param from the start of the range
+   * @param to   the exclusive end of the range
+   */
+  public ShowStatsCommand(LocalDateTime from, LocalDateTime to) {
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * Computes and displays the statistics, one section per line.
+   *
+   * @param model the calendar to analyze
+   * @param view  the view used to display the statistics
+   * @return true if the statistics were shown, false if the range is invalid
+   */
+  @Override
+  public boolean execute(ICalendarModel model, ICalendarView view) {
+    ZoneId zone = model.getTimezone();
+    CalendarStats stats;
+    try {
+      stats = CalendarStats.compute(model, from.atZone(zone), to.atZone(zone));
+    } catch (IllegalArgumentException e) {
+      view.displayError(e.getMessage());
+      return false;
+    }
+
+    view.displayMessage("Stats from " + from + " to " + to + ": " + stats.getEventCount()
+            + (stats.getEventCount() == 1 ? " event, " : " events, ")
+            + format(stats.getBusyTime()) + " busy");
+    view.displayMessage("Busy per day: " + join(stats.getBusyByDay()));
+    view.displayMessage("Busy per week: " + join(stats.getBusyByWeek()));
+    view.displayMessage("Busy per month: " + join(stats.getBusyByMonth()));
+    view.displayMessage("Longest free block: " + stats.getLongestFreeBlock() + " ("
+            + format(stats.getLongestFreeBlock().getDuration()) + ")");
+
+    StringJoiner weekdays = new StringJoiner(", ");
+    for (Map.Entry<DayOfWeek, Long> entry : stats.getEventsByWeekday().entrySet()) {
+      weekdays.add(entry.getKey().getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " "
+              + entry.getValue());
+    }
+    view.displayMessage("Events by weekday: " + weekdays);
+    StringJoiner hours = new StringJoiner(", ").setEmptyValue("none");
+    for (Map.Entry<Integer, Long> entry : stats.getEventsByHour().entrySet()) {
+      hours.add(String.format("%02d:00 %d", entry.getKey(), entry.getValue()));
+    }
+    view.displayMessage("Events by hour: " + hours);
+    view.displayMessage("Busy per location: " + join(stats.getBusyByLocation()));
+    return true;
+  }
+
+  private static String join(Map<?, Duration> busy) {
+    StringJoiner joiner = new StringJoiner(", ").setEmptyValue("none");
+    for (Map.Entry<?, Duration> entry : busy.entrySet()) {
+      joiner.add(entry.getKey() + " " + format(entry.getValue()));
+    }
+    return joiner.toString();
+  }
+
+  private static String format(Duration duration) {
+    return duration.toHours() + "h" + String.format("%02d", duration.toMinutes() % 60) + "m";
+  }
+}
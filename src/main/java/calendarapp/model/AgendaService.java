@@ -0,0 +1,512 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.RecurringEvent;
+import calendarapp.model.event.SingleEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.StreamSupport;
+
+/**
+ * Keeps the upcoming events of every calendar of a {@link CalendarManager} in one index ordered
+ * by start, so the next events across all calendars can be listed, and reminders fired,
+ * without scanning the calendars.
+ *
+ * <p>The service listens to the manager's calendars and updates the index as events are added
+ * and removed, in O(log n) per change. The index is a tree used as a priority queue that also
+ * supports removal: listing the next k events costs O(k log n), and firing a reminder takes
+ * the event off the front of the queue. A recurring series is indexed from its rule, which the
+ * calendar reports apart from the occurrences it stores, and is expanded lazily, starting from
+ * its occurrences around the current time: only its occurrences up to the first one whose
+ * reminder has not fired yet are indexed, and each later occurrence is added when the one
+ * before it is reached. The stored occurrences of a series are not indexed on their own.
+ * Events that have started are dropped from the index.</p>
+ *
+ * <p>Calendars are indexed once, when the service is created or a calendar is loaded from the
+ * manager's store, and again when a calendar's timezone changes. The clock must not go
+ * backwards.</p>
+ */
+public class AgendaService implements ICalendarChangeListener {
+
+  private static final Comparator<Entry> ORDER =
+          Comparator.comparing((Entry e) -> e.start).thenComparingLong(e -> e.sequence);
+
+  /**
+   * Receives reminders for upcoming events.
+   */
+  public interface Listener {
+    /**
+     * Called once for each event when its reminder is due.
+     *
+     * @param calendarName the name of the calendar holding the event
+     * @param event        the event that is about to start
+     */
+    void due(String calendarName, ReadOnlyCalendarEvent event);
+  }
+
+  /**
+   * An upcoming event and the calendar it belongs to.
+   */
+  public static final class Item {
+    private final String calendarName;
+    private final ReadOnlyCalendarEvent event;
+
+    private Item(String calendarName, ReadOnlyCalendarEvent event) {
+      this.calendarName = calendarName;
+      this.event = event;
+    }
+
+    /**
+     * Returns the name of the calendar holding the event.
+     *
+     * @return the calendar name
+     */
+    public String getCalendarName() {
+      return calendarName;
+    }
+
+    /**
+     * Returns the event.
+     *
+     * @return the upcoming event
+     */
+    public ReadOnlyCalendarEvent getEvent() {
+      return event;
+    }
+  }
+
+  private final CalendarManager manager;
+  private final TreeSet<Entry> upcoming = new TreeSet<>(ORDER);
+  private final Map<String, CalendarIndex> calendars = new HashMap<>();
+  private final List<Entry> late = new ArrayList<>();
+  private final List<Listener> listeners = new ArrayList<>();
+  private Clock clock = Clock.systemUTC();
+  private Duration reminderLead = Duration.ZERO;
+  private Instant remindedThrough;
+  private long sequence;
+
+  /**
+   * Creates an agenda for a manager. The manager registers the agenda as its change listener
+   * and indexes its loaded calendars; use {@link CalendarManager#getAgenda()} instead of
+   * calling this directly.
+   *
+   * @param manager the manager whose calendars are followed
+   */
+  AgendaService(CalendarManager manager) {
+    this.manager = manager;
+    this.remindedThrough = clock.instant();
+  }
+
+  /**
+   * Registers a listener that is told when an event's reminder is due.
+   *
+   * @param listener the listener to add
+   */
+  public synchronized void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Sets how long before an event starts its reminder fires. Reminders already fired are not
+   * fired again, and shortening the lead does not delay reminders that were due.
+   *
+   * @param lead the time between a reminder and the start of its event, not negative
+   * @throws IllegalArgumentException if the lead is negative
+   */
+  public synchronized void setReminderLead(Duration lead) {
+    if (lead.isNegative()) {
+      throw new IllegalArgumentException("Reminder lead must not be negative");
+    }
+    this.reminderLead = lead;
+  }
+
+  /**
+   * Sets the clock that decides which events are upcoming, and indexes the loaded calendars
+   * again as of the new time. Reminders for events starting before the new time are not fired.
+   *
+   * @param clock the clock to use
+   */
+  public void setClock(Clock clock) {
+    synchronized (this) {
+      this.clock = clock;
+      this.remindedThrough = clock.instant();
+      upcoming.clear();
+      calendars.clear();
+      late.clear();
+    }
+    manager.reindexAgenda();
+  }
+
+  /**
+   * Returns the next events across all calendars, in start order, starting no earlier than
+   * the current time. Reminders that are due are fired first.
+   *
+   * @param count the maximum number of events to return
+   * @return the upcoming events
+   */
+  public synchronized List<Item> next(int count) {
+    tick();
+    List<Item> result = new ArrayList<>(Math.min(count, upcoming.size()));
+    Entry entry = upcoming.isEmpty() ? null : upcoming.first();
+    while (entry != null && result.size() < count) {
+      result.add(new Item(entry.calendar.name, entry.event));
+      expandAfter(entry);
+      entry = upcoming.higher(entry);
+    }
+    return result;
+  }
+
+  /**
+   * Fires the reminders that are due at the current time, in start order, and drops the events
+   * that have started.
+   *
+   * @return the number of reminders fired
+   */
+  public synchronized int tick() {
+    Instant now = clock.instant();
+    Instant horizon = now.plus(reminderLead);
+    List<Entry> due = new ArrayList<>(late);
+    late.clear();
+    if (horizon.isAfter(remindedThrough)) {
+      Entry entry = upcoming.higher(probe(remindedThrough));
+      while (entry != null && !entry.start.isAfter(horizon)) {
+        due.add(entry);
+        expandAfter(entry);
+        entry = upcoming.higher(entry);
+      }
+      remindedThrough = horizon;
+    }
+    while (!upcoming.isEmpty() && upcoming.first().start.isBefore(now)) {
+      Entry started = upcoming.pollFirst();
+      started.calendar.forget(started);
+    }
+    for (Entry entry : due) {
+      for (Listener listener : listeners) {
+        listener.due(entry.calendar.name, entry.event);
+      }
+    }
+    return due.size();
+  }
+
+  /**
+   * Returns the number of occurrences currently indexed.
+   *
+   * @return the number of indexed events
+   */
+  public synchronized int size() {
+    return upcoming.size();
+  }
+
+  /**
+   * Replaces everything indexed for a calendar with its current upcoming events.
+   *
+   * @param name     the name of the calendar
+   * @param calendar the calendar, or null to only drop what was indexed
+   */
+  synchronized void index(String name, ICalendarModel calendar) {
+    CalendarIndex previous = calendars.remove(name);
+    if (previous != null) {
+      previous.clear();
+    }
+    if (calendar == null) {
+      return;
+    }
+    Instant now = clock.instant();
+    CalendarIndex index = indexOf(name);
+    if (calendar instanceof CalendarModel) {
+      for (Map.Entry<String, RecurringEvent> rule
+              : ((CalendarModel) calendar).recurringRules().entrySet()) {
+        index.addRule(rule.getKey(), rule.getValue(), now);
+      }
+    }
+    for (ReadOnlyCalendarEvent event : calendar.getEvents()) {
+      if ((event instanceof RecurringEvent || !event.getStartDateTime().toInstant()
+              .isBefore(now)) && !index.isOccurrence(event)) {
+        index.add((ICalendarEvent) event, now);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void calendarRenamed(String oldName, String newName) {
+    CalendarIndex index = calendars.remove(oldName);
+    if (index != null) {
+      index.name = newName;
+      calendars.put(newName, index);
+    }
+  }
+
+  @Override
+  public void timezoneChanged(String calendarName, ZoneId timezone) {
+    index(calendarName, manager.getCalendar(calendarName));
+  }
+
+  @Override
+  public synchronized void eventAdded(String calendarName, ICalendarEvent event) {
+    Instant now = clock.instant();
+    if (event instanceof RecurringEvent || !event.getStartDateTime().toInstant().isBefore(now)) {
+      CalendarIndex index = indexOf(calendarName);
+      if (!index.isOccurrence(event)) {
+        index.add(event, now);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void recurringRuleChanged(String calendarName, String subject,
+                                                RecurringEvent rule) {
+    indexOf(calendarName).addRule(subject, rule, clock.instant());
+  }
+
+  @Override
+  public synchronized void eventRemoved(String calendarName, ICalendarEvent event) {
+    CalendarIndex index = calendars.get(calendarName);
+    if (index != null) {
+      index.remove(event);
+    }
+  }
+
+  private CalendarIndex indexOf(String name) {
+    return calendars.computeIfAbsent(name, CalendarIndex::new);
+  }
+
+  /**
+   * Adds an occurrence to the queue. One whose reminder time has already been passed is fired
+   * by the next tick.
+   */
+  private Entry insert(CalendarIndex calendar, ReadOnlyCalendarEvent event, Series series) {
+    Entry entry = new Entry(calendar, event, series, sequence++);
+    upcoming.add(entry);
+    if (!entry.start.isAfter(remindedThrough)) {
+      late.add(entry);
+    }
+    return entry;
+  }
+
+  /**
+   * Adds the next occurrence of a series when its last indexed occurrence is reached.
+   */
+  private void expandAfter(Entry entry) {
+    Series series = entry.series;
+    if (series != null && series.last == entry && series.rest.hasNext()) {
+      series.last = insert(entry.calendar, series.rest.next(), series);
+      series.entries.add(series.last);
+    }
+  }
+
+  private static Entry probe(Instant start) {
+    return new Entry(null, start, null, null, Long.MAX_VALUE);
+  }
+
+  private static List<Object> keyOf(ReadOnlyCalendarEvent event) {
+    return Arrays.asList(event.getSubject(), event.getStartDateTime().toInstant(),
+            event.getEndDateTime().toInstant());
+  }
+
+  /**
+   * The indexed events of one calendar, by subject, start and end, so removals find them.
+   */
+  private final class CalendarIndex {
+    private String name;
+    private final Map<List<Object>, Entry> singles = new HashMap<>();
+    private final Map<List<Object>, Series> series = new HashMap<>();
+    private final Map<String, Series> rules = new HashMap<>();
+
+    CalendarIndex(String name) {
+      this.name = name;
+    }
+
+    void add(ICalendarEvent event, Instant now) {
+      remove(event);
+      if (!(event instanceof RecurringEvent)) {
+        singles.put(keyOf(event), insert(this, event, null));
+        return;
+      }
+      series.put(keyOf(event), expand((RecurringEvent) event, now));
+    }
+
+    /**
+     * Indexes the rule the calendar stores for a subject in place of the one before, and
+     * drops the occurrences of the rule that were indexed as single events.
+     */
+    void addRule(String subject, RecurringEvent rule, Instant now) {
+      Series previous = rules.remove(subject);
+      if (previous != null) {
+        drop(previous);
+      }
+      Iterator<Entry> entries = singles.values().iterator();
+      while (entries.hasNext()) {
+        Entry entry = entries.next();
+        if (rule.originalDateOf(entry.event) != null) {
+          upcoming.remove(entry);
+          late.remove(entry);
+          entries.remove();
+        }
+      }
+      rules.put(subject, expand(rule, now));
+    }
+
+    /**
+     * Returns whether an event is one of the occurrences of an indexed rule, which the rule
+     * already stands for.
+     */
+    boolean isOccurrence(ReadOnlyCalendarEvent event) {
+      if (!(event instanceof SingleEvent) || rules.isEmpty()) {
+        return false;
+      }
+      Series own = rules.get(event.getSubject());
+      if (own != null && own.rule.originalDateOf(event) != null) {
+        return true;
+      }
+      for (Series other : rules.values()) {
+        if (!other.rule.getOverrides().isEmpty() && other.rule.originalDateOf(event) != null) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Indexes the occurrences of a rule up to the first one whose reminder has not fired, so
+     * the rest can be added one at a time as they are reached. The events replacing single
+     * occurrences may have been moved anywhere, so they are all indexed by their own start
+     * right away and the rest of the rule is walked without them.
+     */
+    private Series expand(RecurringEvent rule, Instant now) {
+      Iterator<SingleEvent> occurrences = rule.occurrences(null, rule.firstIndexEndingAtOrAfter(
+              now.atZone(rule.getStartDateTime().getZone())));
+      Series added;
+      if (rule.getOverrides().isEmpty()) {
+        added = new Series(rule, occurrences);
+      } else {
+        Set<SingleEvent> replacing = Collections.newSetFromMap(new IdentityHashMap<>());
+        LocalDate first = rule.getStartDateTime().toLocalDate();
+        long count = rule.getOccurrenceCount();
+        for (Map.Entry<LocalDate, SingleEvent> replacement : rule.getOverrides().entrySet()) {
+          if (rule.getRule().countBefore(first, replacement.getKey()) < count) {
+            replacing.add(replacement.getValue());
+          }
+        }
+        added = new Series(rule, StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                occurrences, Spliterator.ORDERED), false)
+                .filter(occurrence -> !replacing.contains(occurrence)).iterator());
+        for (SingleEvent replacement : replacing) {
+          if (!replacement.getStartDateTime().toInstant().isBefore(now)) {
+            added.entries.add(insert(this, replacement, added));
+          }
+        }
+      }
+      while (added.rest.hasNext()
+              && (added.last == null || !added.last.start.isAfter(remindedThrough))) {
+        SingleEvent occurrence = added.rest.next();
+        if (!occurrence.getStartDateTime().toInstant().isBefore(now)) {
+          added.last = insert(this, occurrence, added);
+          added.entries.add(added.last);
+        }
+      }
+      return added;
+    }
+
+    private void drop(Series removed) {
+      upcoming.removeAll(removed.entries);
+      late.removeAll(removed.entries);
+    }
+
+    void remove(ICalendarEvent event) {
+      if (!(event instanceof RecurringEvent)) {
+        Entry entry = singles.remove(keyOf(event));
+        if (entry != null) {
+          upcoming.remove(entry);
+          late.remove(entry);
+        }
+        return;
+      }
+      Series removed = series.remove(keyOf(event));
+      if (removed != null) {
+        drop(removed);
+      }
+    }
+
+    void forget(Entry entry) {
+      if (entry.series == null) {
+        singles.remove(keyOf(entry.event), entry);
+      } else {
+        entry.series.entries.remove(entry);
+      }
+    }
+
+    void clear() {
+      for (Entry entry : singles.values()) {
+        upcoming.remove(entry);
+        late.remove(entry);
+      }
+      for (Series removed : series.values()) {
+        drop(removed);
+      }
+      for (Series removed : rules.values()) {
+        drop(removed);
+      }
+      singles.clear();
+      series.clear();
+      rules.clear();
+    }
+  }
+
+  /**
+   * The lazily expanded occurrences of a recurring rule. The rest of the rule excludes the
+   * replacing events, which are indexed up front.
+   */
+  private static final class Series {
+    private final RecurringEvent rule;
+    private final Iterator<SingleEvent> rest;
+    private final List<Entry> entries = new ArrayList<>();
+    private Entry last;
+
+    Series(RecurringEvent rule, Iterator<SingleEvent> rest) {
+      this.rule = rule;
+      this.rest = rest;
+    }
+  }
+
+  /**
+   * One indexed occurrence.
+   */
+  private static final class Entry {
+    private final CalendarIndex calendar;
+    private final ReadOnlyCalendarEvent event;
+    private final Instant start;
+    private final Series series;
+    private final long sequence;
+
+    Entry(CalendarIndex calendar, ReadOnlyCalendarEvent event, Series series, long sequence) {
+      this(calendar, event.getStartDateTime().toInstant(), event, series, sequence);
+    }
+
+    Entry(CalendarIndex calendar, Instant start, ReadOnlyCalendarEvent event, Series series,
+          long sequence) {
+      this.calendar = calendar;
+      this.event = event;
+      this.start = start;
+      this.series = series;
+      this.sequence = sequence;
+    }
+  }
+}
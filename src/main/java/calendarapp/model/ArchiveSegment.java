@@ -0,0 +1,249 @@
+package calendarapp.model;
+
+import calendarapp.model.event.SingleEvent;
+import calendarapp.utils.BinaryCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, start-sorted run of archived events held outside the Java heap.
+ *
+ * <p>The segment is one direct buffer: a fixed-width index of (start second, end second,
+ * record offset) entries sorted by start, followed by variable-length records that refer to a
+ * small on-heap dictionary of the segment's distinct strings. Range queries binary-search the
+ * index and only decode the events they return.</p>
+ */
+final class ArchiveSegment {
+
+  private static final int ENTRY_SIZE = 20;
+
+  private static final int PUBLIC_FLAG = 1;
+  private static final int ALL_DAY_FLAG = 2;
+  private static final int NANOS_FLAG = 4;
+
+  private final ByteBuffer buffer;
+  private final int count;
+  private final String[] strings;
+  private final ZoneId[] zones;
+  private final Set<String> subjects;
+  private final long maxDurationSeconds;
+  private final Instant end;
+
+  private ArchiveSegment(ByteBuffer buffer, int count, String[] strings, ZoneId[] zones,
+                         Set<String> subjects, long maxDurationSeconds, Instant end) {
+    this.buffer = buffer;
+    this.count = count;
+    this.strings = strings;
+    this.zones = zones;
+    this.subjects = subjects;
+    this.maxDurationSeconds = maxDurationSeconds;
+    this.end = end;
+  }
+
+  /**
+   * Builds a segment holding the given events.
+   *
+   * @param events the events to archive; must not be empty
+   * @return the segment
+   */
+  static ArchiveSegment of(List<SingleEvent> events) {
+    List<SingleEvent> sorted = new ArrayList<>(events);
+    sorted.sort(ConflictChecker.BY_START);
+
+    Map<String, Integer> indexes = new HashMap<>();
+    List<String> strings = new ArrayList<>();
+    List<ZoneId> zones = new ArrayList<>();
+    strings.add(null);
+    zones.add(null);
+    Set<String> subjects = new HashSet<>();
+    int[] offsets = new int[sorted.size()];
+    long maxDuration = 0;
+    Instant latestEnd = Instant.MIN;
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(sorted.size() * 8);
+    DataOutputStream out = new DataOutputStream(bytes);
+    try {
+      for (int i = 0; i < sorted.size(); i++) {
+        SingleEvent event = sorted.get(i);
+        Instant start = event.getStartDateTime().toInstant();
+        Instant finish = event.getEndDateTime().toInstant();
+        maxDuration = Math.max(maxDuration, finish.getEpochSecond() - start.getEpochSecond());
+        if (finish.isAfter(latestEnd)) {
+          latestEnd = finish;
+        }
+        subjects.add(event.getSubject());
+
+        offsets[i] = out.size();
+        BinaryCodec.writeVarInt(out, index(event.getSubject(), indexes, strings, zones, null));
+        BinaryCodec.writeVarInt(out, index(event.getDescription(), indexes, strings, zones, null));
+        BinaryCodec.writeVarInt(out, index(event.getLocation(), indexes, strings, zones, null));
+        BinaryCodec.writeVarInt(out, index(event.getSeriesId(), indexes, strings, zones, null));
+        ZoneId startZone = event.getStartDateTime().getZone();
+        ZoneId endZone = event.getEndDateTime().getZone();
+        BinaryCodec.writeVarInt(out, index(startZone.getId(), indexes, strings, zones,
+                startZone));
+        BinaryCodec.writeVarInt(out, index(endZone.getId(), indexes, strings, zones, endZone));
+        boolean nanos = start.getNano() != 0 || finish.getNano() != 0;
+        out.writeByte((event.isPublic() ? PUBLIC_FLAG : 0) | (event.isAllDay() ? ALL_DAY_FLAG : 0)
+                | (nanos ? NANOS_FLAG : 0));
+        if (nanos) {
+          BinaryCodec.writeVarInt(out, start.getNano());
+          BinaryCodec.writeVarInt(out, finish.getNano());
+        }
+      }
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    int recordsStart = sorted.size() * ENTRY_SIZE;
+    ByteBuffer buffer = ByteBuffer.allocateDirect(recordsStart + bytes.size());
+    for (int i = 0; i < sorted.size(); i++) {
+      SingleEvent event = sorted.get(i);
+      buffer.putLong(event.getStartDateTime().toEpochSecond());
+      buffer.putLong(event.getEndDateTime().toEpochSecond());
+      buffer.putInt(recordsStart + offsets[i]);
+    }
+    buffer.put(bytes.toByteArray());
+    buffer.flip();
+    return new ArchiveSegment(buffer.asReadOnlyBuffer(), sorted.size(),
+            strings.toArray(new String[0]), zones.toArray(new ZoneId[0]),
+            Collections.unmodifiableSet(subjects), maxDuration, latestEnd);
+  }
+
+  /**
+   * Builds one segment holding the events of several segments.
+   *
+   * @param segments the segments to merge
+   * @return the merged segment
+   */
+  static ArchiveSegment merge(List<ArchiveSegment> segments) {
+    List<SingleEvent> all = new ArrayList<>();
+    for (ArchiveSegment segment : segments) {
+      segment.forEach(all::add);
+    }
+    return of(all);
+  }
+
+  private static int index(String value, Map<String, Integer> indexes, List<String> strings,
+                           List<ZoneId> zones, ZoneId zone) {
+    if (value == null) {
+      return 0;
+    }
+    Integer index = indexes.get(value);
+    if (index == null) {
+      index = strings.size();
+      indexes.put(value, index);
+      strings.add(value);
+      zones.add(zone);
+    } else if (zone != null && zones.get(index) == null) {
+      zones.set(index, zone);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the number of events in the segment.
+   */
+  int size() {
+    return count;
+  }
+
+  /**
+   * Returns the latest end time of any event in the segment.
+   */
+  Instant getEnd() {
+    return end;
+  }
+
+  /**
+   * Returns whether any event in the segment has the given subject.
+   */
+  boolean containsSubject(String subject) {
+    return subjects.contains(subject);
+  }
+
+  /**
+   * Passes every event to the action, in start order.
+   */
+  void forEach(Consumer<SingleEvent> action) {
+    ByteBuffer in = buffer.duplicate();
+    for (int i = 0; i < count; i++) {
+      action.accept(decode(in, i));
+    }
+  }
+
+  /**
+   * Passes every event that starts before {@code to} and ends after {@code from} to the action,
+   * in start order.
+   */
+  void forEachOverlapping(Instant from, Instant to, Consumer<SingleEvent> action) {
+    ByteBuffer in = buffer.duplicate();
+    long fromSecond = from.getEpochSecond();
+    long toSecond = to.getEpochSecond();
+    for (int i = firstStartingAtOrAfter(in, fromSecond - maxDurationSeconds - 1);
+         i < count && in.getLong(i * ENTRY_SIZE) <= toSecond; i++) {
+      if (in.getLong(i * ENTRY_SIZE + 8) < fromSecond) {
+        continue;
+      }
+      SingleEvent event = decode(in, i);
+      if (event.getStartDateTime().toInstant().isBefore(to)
+              && event.getEndDateTime().toInstant().isAfter(from)) {
+        action.accept(event);
+      }
+    }
+  }
+
+  private int firstStartingAtOrAfter(ByteBuffer in, long second) {
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (in.getLong(mid * ENTRY_SIZE) < second) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private SingleEvent decode(ByteBuffer in, int i) {
+    int base = i * ENTRY_SIZE;
+    long startSecond = in.getLong(base);
+    long endSecond = in.getLong(base + 8);
+    in.position(in.getInt(base + 16));
+    String subject = strings[BinaryCodec.readVarInt(in)];
+    String description = strings[BinaryCodec.readVarInt(in)];
+    String location = strings[BinaryCodec.readVarInt(in)];
+    String seriesId = strings[BinaryCodec.readVarInt(in)];
+    ZoneId startZone = zones[BinaryCodec.readVarInt(in)];
+    ZoneId endZone = zones[BinaryCodec.readVarInt(in)];
+    int flags = in.get();
+    int startNanos = 0;
+    int endNanos = 0;
+    if ((flags & NANOS_FLAG) != 0) {
+      startNanos = BinaryCodec.readVarInt(in);
+      endNanos = BinaryCodec.readVarInt(in);
+    }
+    ZonedDateTime start = Instant.ofEpochSecond(startSecond, startNanos).atZone(startZone);
+    ZonedDateTime finish = Instant.ofEpochSecond(endSecond, endNanos).atZone(endZone);
+    return new SingleEvent(subject, start, finish, description, location,
+            (flags & PUBLIC_FLAG) != 0, (flags & ALL_DAY_FLAG) != 0, seriesId);
+  }
+}
@@ -0,0 +1,154 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.security.SecureRandom;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Numbers every event added to or removed from one calendar, so that the net changes since
+ * any recent sequence number can be computed without comparing whole calendars.
+ *
+ * <p>The log is registered as a change listener of its calendar, so changes made inside a batch
+ * are logged only once the batch commits. It keeps a bounded number of entries; a request
+ * reaching back beyond the oldest retained entry, or beyond a change that rewrote every event
+ * such as a timezone change, is answered with a full delta.</p>
+ *
+ * <p>The log lives only in memory and starts over whenever its calendar is loaded. So that a
+ * sequence number from before a load is never mistaken for a recent one, the high bits of
+ * every sequence number hold a random epoch chosen when the log is created, in the same way
+ * that {@link CalendarJournal} identifies itself. A number from another epoch is answered with
+ * a full delta.</p>
+ */
+final class CalendarChangeLog implements ICalendarChangeListener {
+
+  private static final int MAX_ENTRIES = 1 << 16;
+  private static final int COUNTER_BITS = 36;
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+  private static final SecureRandom EPOCHS = new SecureRandom();
+
+  private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+  private final long epoch = (1L + EPOCHS.nextInt((1 << 26) - 1)) << COUNTER_BITS;
+  private long sequence = epoch;
+  private long floor = epoch;
+
+  @Override
+  public void eventAdded(String calendarName, ICalendarEvent event) {
+    append(true, event);
+  }
+
+  @Override
+  public void eventRemoved(String calendarName, ICalendarEvent event) {
+    append(false, event);
+  }
+
+  @Override
+  public void timezoneChanged(String calendarName, ZoneId timezone) {
+    reset();
+  }
+
+  /**
+   * Forgets every entry, so that the next delta for any earlier sequence number is full.
+   */
+  void reset() {
+    entries.clear();
+    sequence++;
+    floor = sequence;
+  }
+
+  long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Returns the net changes after the given sequence number.
+   *
+   * @param since  the sequence number of the last change the caller has seen
+   * @param events supplies every current event, for a full delta
+   * @return the delta
+   */
+  EventDelta changesSince(long since, Supplier<List<ReadOnlyCalendarEvent>> events) {
+    if ((since & ~COUNTER_MASK) != epoch || since < floor || since > sequence) {
+      return EventDelta.full(since, sequence, events.get());
+    }
+    Map<String, NetChange> net = new LinkedHashMap<>();
+    Iterator<Entry> newestFirst = entries.descendingIterator();
+    List<Entry> newer = new ArrayList<>();
+    while (newestFirst.hasNext()) {
+      Entry entry = newestFirst.next();
+      if (entry.sequence <= since) {
+        break;
+      }
+      newer.add(entry);
+    }
+    for (int i = newer.size() - 1; i >= 0; i--) {
+      Entry entry = newer.get(i);
+      NetChange change = net.computeIfAbsent(key(entry.event), k -> new NetChange(entry.added));
+      change.lastAdded = entry.added;
+      change.event = entry.event;
+    }
+
+    List<ReadOnlyCalendarEvent> added = new ArrayList<>();
+    List<ReadOnlyCalendarEvent> changed = new ArrayList<>();
+    List<ReadOnlyCalendarEvent> deleted = new ArrayList<>();
+    for (NetChange change : net.values()) {
+      ReadOnlyCalendarEvent event = (ReadOnlyCalendarEvent) change.event;
+      if (change.firstAdded && change.lastAdded) {
+        added.add(event);
+      } else if (!change.firstAdded && change.lastAdded) {
+        changed.add(event);
+      } else if (!change.firstAdded) {
+        deleted.add(event);
+      }
+    }
+    return new EventDelta(since, sequence, added, changed, deleted);
+  }
+
+  private void append(boolean added, ICalendarEvent event) {
+    entries.addLast(new Entry(++sequence, added, event));
+    if (entries.size() > MAX_ENTRIES) {
+      floor = entries.removeFirst().sequence;
+    }
+  }
+
+  /**
+   * Identifies an event by subject, start and end, the same way duplicates are detected.
+   */
+  private static String key(ICalendarEvent event) {
+    return event.getSubject() + '\u0000' + event.getStartDateTime().toInstant() + '\u0000'
+            + event.getEndDateTime().toInstant();
+  }
+
+  private static final class Entry {
+    private final long sequence;
+    private final boolean added;
+    private final ICalendarEvent event;
+
+    Entry(long sequence, boolean added, ICalendarEvent event) {
+      this.sequence = sequence;
+      this.added = added;
+      this.event = event;
+    }
+  }
+
+  /**
+   * The first and last logged operation on one event, and its latest state.
+   */
+  private static final class NetChange {
+    private final boolean firstAdded;
+    private boolean lastAdded;
+    private ICalendarEvent event;
+
+    NetChange(boolean firstAdded) {
+      this.firstAdded = firstAdded;
+    }
+  }
+}
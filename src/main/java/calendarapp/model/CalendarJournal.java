@@ -0,0 +1,597 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.RecurringEvent;
+import calendarapp.model.event.SingleEvent;
+import calendarapp.utils.BinaryCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.security.SecureRandom;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only binary journal of every change applied to the calendars of a
+ * {@link CalendarManager}. The journal listens for changes, encodes each one as a small
+ * checksummed record and appends it to an in-memory buffer. A background thread writes the
+ * buffer to disk and forces it to stable storage at most once per commit interval, so many
+ * changes share a single fsync and recording a change costs only the time to encode it.
+ *
+ * <p>On start-up, {@link #replay(CalendarManager)} rebuilds the calendars by applying the
+ * recorded changes directly, without validating them again. A record cut short by a crash is
+ * detected by its length or checksum and discarded together with anything after it.</p>
+ *
+ * <p>Changes made within the last commit interval before a crash may be lost; call
+ * {@link #flush()} to make all recorded changes durable immediately.</p>
+ */
+public class CalendarJournal implements ICalendarChangeListener, Flushable, Closeable {
+
+  /**
+   * The default time, in milliseconds, that changes are collected before being forced to disk.
+   */
+  public static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 5;
+
+  private static final int MAGIC = 0x43414C4A;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+
+  private static final byte CALENDAR_ADDED = 1;
+  private static final byte CALENDAR_RENAMED = 2;
+  private static final byte TIMEZONE_CHANGED = 3;
+  private static final byte EVENT_ADDED = 4;
+  private static final byte EVENT_REMOVED = 5;
+  private static final byte RULE_CHANGED = 6;
+
+  private static final int PUBLIC_FLAG = 1;
+  private static final int ALL_DAY_FLAG = 2;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final long commitIntervalMillis;
+  private final Thread flusher;
+
+  private final Object bufferLock = new Object();
+  private final Object fileLock = new Object();
+  private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+  private final DataOutputStream recordOut = new DataOutputStream(record);
+  private final CRC32 crc = new CRC32();
+  private ByteArrayOutputStream pending = new ByteArrayOutputStream(64 * 1024);
+  private volatile boolean replayed;
+  private volatile long journalId;
+  private volatile boolean closed;
+  private volatile IOException failure;
+
+  /**
+   * Opens the journal at the given path with the default commit interval, creating it if it
+   * does not exist.
+   *
+   * @param file the journal file
+   * @throws IOException if the file cannot be opened or is not a journal
+   */
+  public CalendarJournal(Path file) throws IOException {
+    this(file, DEFAULT_COMMIT_INTERVAL_MILLIS);
+  }
+
+  /**
+   * Opens the journal at the given path, creating it if it does not exist.
+   *
+   * @param file                 the journal file
+   * @param commitIntervalMillis the time changes are collected before being forced to disk
+   * @throws IOException              if the file cannot be opened or is not a journal
+   * @throws IllegalArgumentException if the commit interval is negative
+   */
+  public CalendarJournal(Path file, long commitIntervalMillis) throws IOException {
+    if (commitIntervalMillis < 0) {
+      throw new IllegalArgumentException("Commit interval cannot be negative");
+    }
+    this.file = file;
+    this.commitIntervalMillis = commitIntervalMillis;
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    try {
+      if (channel.size() == 0) {
+        writeHeader();
+        replayed = true;
+      } else {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header) >= 0) {
+          // keep reading
+        }
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC
+                || header.getInt() != VERSION) {
+          throw new IOException("Not a calendar journal: " + file);
+        }
+        journalId = header.getLong();
+      }
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+
+    this.flusher = new Thread(this::flushLoop, "calendar-journal-flusher");
+    this.flusher.setDaemon(true);
+    this.flusher.start();
+  }
+
+  /**
+   * Returns the file this journal writes to.
+   *
+   * @return the journal file
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Returns the identifier of this journal. A new identifier is chosen whenever the journal
+   * is created or {@link #reset()}, so that a snapshot can tell whether a journal offset it
+   * recorded still refers to the same records.
+   *
+   * @return the journal identifier
+   */
+  public long getJournalId() {
+    return journalId;
+  }
+
+  /**
+   * Makes every recorded change durable and returns the offset just past the last record.
+   * Replaying from this offset applies only the changes recorded afterwards.
+   *
+   * @return the offset of the end of the journal
+   * @throws IOException if flushing fails
+   */
+  public long checkpoint() throws IOException {
+    synchronized (fileLock) {
+      flush();
+      return channel.size();
+    }
+  }
+
+  /**
+   * Discards every record and starts the journal over with a new identifier. This is used
+   * once the current state has been saved elsewhere, for example in a snapshot.
+   *
+   * @throws IOException if the journal cannot be rewritten
+   */
+  public void reset() throws IOException {
+    synchronized (fileLock) {
+      synchronized (bufferLock) {
+        pending.reset();
+      }
+      channel.truncate(0);
+      channel.position(0);
+      writeHeader();
+      replayed = true;
+    }
+  }
+
+  /**
+   * Rebuilds calendars by applying every complete record in the journal to the manager, and
+   * discards a trailing record that was only partly written. An existing journal must be
+   * replayed before new changes can be recorded, and before the journal is registered as a
+   * listener, so that replayed changes are not recorded again.
+   *
+   * @param manager the manager to restore the calendars into
+   * @return the number of records applied
+   * @throws IOException if the journal cannot be read or refers to an unknown calendar
+   */
+  public int replay(CalendarManager manager) throws IOException {
+    return replay(manager, HEADER_SIZE);
+  }
+
+  /**
+   * Rebuilds calendars by applying the records that start at the given offset, as returned by
+   * {@link #checkpoint()}. Records before the offset are assumed to be reflected in the
+   * manager already, for example because it was loaded from a snapshot.
+   *
+   * @param manager    the manager to restore the calendars into
+   * @param fromOffset the offset of the first record to apply
+   * @return the number of records applied
+   * @throws IOException if the journal cannot be read or refers to an unknown calendar
+   */
+  public int replay(CalendarManager manager, long fromOffset) throws IOException {
+    synchronized (fileLock) {
+      long size = channel.size();
+      long start = Math.min(Math.max(fromOffset, HEADER_SIZE), size);
+      ByteBuffer data = ByteBuffer.allocate((int) (size - start));
+      channel.position(start);
+      while (data.hasRemaining() && channel.read(data) >= 0) {
+        // keep reading
+      }
+      data.flip();
+
+      int applied = 0;
+      long validEnd = start;
+      CRC32 check = new CRC32();
+      while (data.remaining() >= 8) {
+        int length = data.getInt();
+        int checksum = data.getInt();
+        if (length < 0 || length > data.remaining()) {
+          break;
+        }
+        check.reset();
+        check.update(data.array(), data.arrayOffset() + data.position(), length);
+        if ((int) check.getValue() != checksum) {
+          break;
+        }
+        ByteBuffer payload = data.slice();
+        payload.limit(length);
+        data.position(data.position() + length);
+        apply(payload, manager);
+        applied++;
+        validEnd = start + data.position();
+      }
+
+      if (validEnd < size) {
+        channel.truncate(validEnd);
+        channel.force(true);
+      }
+      channel.position(validEnd);
+      replayed = true;
+      return applied;
+    }
+  }
+
+  @Override
+  public void calendarAdded(String calendarName, ZoneId timezone) {
+    synchronized (bufferLock) {
+      try {
+        startRecord(CALENDAR_ADDED, calendarName);
+        BinaryCodec.writeString(recordOut, timezone.getId());
+        endRecord();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  @Override
+  public void calendarRenamed(String oldName, String newName) {
+    synchronized (bufferLock) {
+      try {
+        startRecord(CALENDAR_RENAMED, oldName);
+        BinaryCodec.writeString(recordOut, newName);
+        endRecord();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  @Override
+  public void timezoneChanged(String calendarName, ZoneId timezone) {
+    synchronized (bufferLock) {
+      try {
+        startRecord(TIMEZONE_CHANGED, calendarName);
+        BinaryCodec.writeString(recordOut, timezone.getId());
+        endRecord();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  @Override
+  public void eventAdded(String calendarName, ICalendarEvent event) {
+    writeEventRecord(EVENT_ADDED, calendarName, event);
+  }
+
+  @Override
+  public void eventRemoved(String calendarName, ICalendarEvent event) {
+    writeEventRecord(EVENT_REMOVED, calendarName, event);
+  }
+
+  @Override
+  public void recurringRuleChanged(String calendarName, String subject, RecurringEvent rule) {
+    synchronized (bufferLock) {
+      try {
+        startRecord(RULE_CHANGED, calendarName);
+        BinaryCodec.writeString(recordOut, subject);
+        BinaryCodec.writeString(recordOut, rule.getSubject());
+        writeTime(rule.getStartDateTime());
+        writeTime(rule.getEndDateTime());
+        BinaryCodec.writeString(recordOut, rule.getWeekdays());
+        BinaryCodec.writeVarInt(recordOut, rule.getRepeatCount());
+        recordOut.writeBoolean(rule.repeatUntil() != null);
+        if (rule.repeatUntil() != null) {
+          writeTime(rule.repeatUntil());
+        }
+        BinaryCodec.writeString(recordOut, rule.getDescription());
+        BinaryCodec.writeString(recordOut, rule.getLocation());
+        recordOut.writeByte(flags(rule));
+        writeExceptions(rule);
+        endRecord();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Writes every buffered record to the journal file and forces it to stable storage.
+   *
+   * @throws IOException if writing fails
+   */
+  @Override
+  public void flush() throws IOException {
+    synchronized (fileLock) {
+      ByteArrayOutputStream batch;
+      synchronized (bufferLock) {
+        if (pending.size() == 0) {
+          return;
+        }
+        batch = pending;
+        pending = new ByteArrayOutputStream(Math.max(64 * 1024, batch.size()));
+      }
+      writeFully(ByteBuffer.wrap(batch.toByteArray()));
+      channel.force(false);
+    }
+  }
+
+  /**
+   * Stops the background writer, makes all buffered records durable and closes the file.
+   *
+   * @throws IOException if the final write fails
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    synchronized (bufferLock) {
+      bufferLock.notifyAll();
+    }
+    try {
+      flusher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void writeEventRecord(byte type, String calendarName, ICalendarEvent event) {
+    synchronized (bufferLock) {
+      try {
+        startRecord(type, calendarName);
+        writeEvent(event);
+        endRecord();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private void writeEvent(ICalendarEvent event) throws IOException {
+    BinaryCodec.writeString(recordOut, event.getSubject());
+    writeTime(event.getStartDateTime());
+    writeTime(event.getEndDateTime());
+    BinaryCodec.writeString(recordOut, event.getDescription());
+    BinaryCodec.writeString(recordOut, event.getLocation());
+    recordOut.writeByte(flags(event));
+    BinaryCodec.writeString(recordOut, event instanceof SingleEvent
+            ? ((SingleEvent) event).getSeriesId() : null);
+  }
+
+  /**
+   * Writes the cancelled and replaced occurrences of a rule after its other fields. Records
+   * written before rules had exceptions simply end without them.
+   */
+  private void writeExceptions(RecurringEvent rule) throws IOException {
+    BinaryCodec.writeVarInt(recordOut, rule.getCancelledDates().size());
+    for (LocalDate date : rule.getCancelledDates()) {
+      BinaryCodec.writeSignedVarLong(recordOut, date.toEpochDay());
+    }
+    BinaryCodec.writeVarInt(recordOut, rule.getOverrides().size());
+    for (Map.Entry<LocalDate, SingleEvent> entry : rule.getOverrides().entrySet()) {
+      BinaryCodec.writeSignedVarLong(recordOut, entry.getKey().toEpochDay());
+      writeEvent(entry.getValue());
+    }
+  }
+
+  /**
+   * Starts a new record in the scratch buffer. Must be called while holding the buffer lock.
+   */
+  private void startRecord(byte type, String calendarName) throws IOException {
+    if (closed) {
+      throw new IOException("Journal is closed: " + file);
+    }
+    if (!replayed) {
+      throw new IOException("Journal must be replayed before recording changes: " + file);
+    }
+    if (failure != null) {
+      throw new IOException("Journal is unusable after a write failure", failure);
+    }
+    record.reset();
+    recordOut.writeByte(type);
+    BinaryCodec.writeString(recordOut, calendarName);
+  }
+
+  /**
+   * Frames the record in the scratch buffer with its length and checksum, appends it to the
+   * pending buffer and wakes the background writer. Must be called while holding the buffer
+   * lock.
+   */
+  private void endRecord() throws IOException {
+    recordOut.flush();
+    byte[] bytes = record.toByteArray();
+    crc.reset();
+    crc.update(bytes, 0, bytes.length);
+    writeInt(pending, bytes.length);
+    writeInt(pending, (int) crc.getValue());
+    pending.write(bytes, 0, bytes.length);
+    bufferLock.notifyAll();
+  }
+
+  private static void writeInt(ByteArrayOutputStream out, int value) {
+    out.write(value >>> 24);
+    out.write(value >>> 16);
+    out.write(value >>> 8);
+    out.write(value);
+  }
+
+  private void writeTime(ZonedDateTime time) throws IOException {
+    Instant instant = time.toInstant();
+    BinaryCodec.writeSignedVarLong(recordOut, instant.getEpochSecond());
+    BinaryCodec.writeVarInt(recordOut, instant.getNano());
+    BinaryCodec.writeString(recordOut, time.getZone().getId());
+  }
+
+  private static int flags(ICalendarEvent event) {
+    return (event.isPublic() ? PUBLIC_FLAG : 0) | (event.isAllDay() ? ALL_DAY_FLAG : 0);
+  }
+
+  /**
+   * Writes a header with a fresh identifier at the current position and forces it to disk.
+   */
+  private void writeHeader() throws IOException {
+    journalId = new SecureRandom().nextLong();
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION)
+            .putLong(journalId);
+    header.flip();
+    writeFully(header);
+    channel.force(true);
+  }
+
+  private void writeFully(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Waits for records to arrive, lets more collect for one commit interval, then writes them
+   * all with a single fsync.
+   */
+  private void flushLoop() {
+    while (!closed) {
+      try {
+        synchronized (bufferLock) {
+          while (pending.size() == 0 && !closed) {
+            bufferLock.wait();
+          }
+        }
+        if (commitIntervalMillis > 0 && !closed) {
+          Thread.sleep(commitIntervalMillis);
+        }
+        flush();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (IOException e) {
+        failure = e;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Applies a single record to the manager.
+   */
+  private static void apply(ByteBuffer in, CalendarManager manager) throws IOException {
+    byte type = in.get();
+    String calendarName = BinaryCodec.readString(in);
+    switch (type) {
+      case CALENDAR_ADDED:
+        manager.addCalendar(calendarName, ZoneId.of(BinaryCodec.readString(in)));
+        break;
+      case CALENDAR_RENAMED:
+        manager.editCalendar(calendarName, "name", BinaryCodec.readString(in));
+        break;
+      case TIMEZONE_CHANGED:
+        calendarFor(manager, calendarName).updateTimezone(
+                ZoneId.of(BinaryCodec.readString(in)));
+        break;
+      case EVENT_ADDED:
+        calendarFor(manager, calendarName).restoreEvent(readEvent(in));
+        break;
+      case EVENT_REMOVED:
+        calendarFor(manager, calendarName).restoreRemoval(readEvent(in));
+        break;
+      case RULE_CHANGED:
+        String key = BinaryCodec.readString(in);
+        calendarFor(manager, calendarName).restoreRecurringRule(key, readRule(in));
+        break;
+      default:
+        throw new IOException("Unknown journal record type: " + type);
+    }
+  }
+
+  private static CalendarModel calendarFor(CalendarManager manager, String calendarName)
+          throws IOException {
+    ICalendarModel calendar = manager.getCalendar(calendarName);
+    if (!(calendar instanceof CalendarModel)) {
+      throw new IOException("Journal refers to unknown calendar: " + calendarName);
+    }
+    return (CalendarModel) calendar;
+  }
+
+  private static SingleEvent readEvent(ByteBuffer in) {
+    String subject = BinaryCodec.readString(in);
+    ZonedDateTime start = readTime(in);
+    ZonedDateTime end = readTime(in);
+    String description = BinaryCodec.readString(in);
+    String location = BinaryCodec.readString(in);
+    int flags = in.get();
+    String seriesId = BinaryCodec.readString(in);
+    return new SingleEvent(subject, start, end, description, location,
+            (flags & PUBLIC_FLAG) != 0, (flags & ALL_DAY_FLAG) != 0, seriesId);
+  }
+
+  private static RecurringEvent readRule(ByteBuffer in) {
+    String subject = BinaryCodec.readString(in);
+    ZonedDateTime start = readTime(in);
+    ZonedDateTime end = readTime(in);
+    String weekdays = BinaryCodec.readString(in);
+    int repeatCount = BinaryCodec.readVarInt(in);
+    ZonedDateTime repeatUntil = in.get() != 0 ? readTime(in) : null;
+    String description = BinaryCodec.readString(in);
+    String location = BinaryCodec.readString(in);
+    int flags = in.get();
+    RecurringEvent rule = new RecurringEvent(subject, start, end, weekdays, repeatCount,
+            repeatUntil, description, location, (flags & PUBLIC_FLAG) != 0,
+            (flags & ALL_DAY_FLAG) != 0);
+    if (!in.hasRemaining()) {
+      return rule;
+    }
+    SortedSet<LocalDate> cancelled = new TreeSet<>();
+    for (int i = BinaryCodec.readVarInt(in); i > 0; i--) {
+      cancelled.add(LocalDate.ofEpochDay(BinaryCodec.readSignedVarLong(in)));
+    }
+    SortedMap<LocalDate, SingleEvent> overrides = new TreeMap<>();
+    for (int i = BinaryCodec.readVarInt(in); i > 0; i--) {
+      LocalDate date = LocalDate.ofEpochDay(BinaryCodec.readSignedVarLong(in));
+      overrides.put(date, readEvent(in));
+    }
+    return rule.withExceptions(cancelled, overrides);
+  }
+
+  private static ZonedDateTime readTime(ByteBuffer in) {
+    long seconds = BinaryCodec.readSignedVarLong(in);
+    int nanos = BinaryCodec.readVarInt(in);
+    ZoneId zone = ZoneId.of(BinaryCodec.readString(in));
+    return Instant.ofEpochSecond(seconds, nanos).atZone(zone);
+  }
+}
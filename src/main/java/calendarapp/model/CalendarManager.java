@@ -1,26 +1,81 @@
 package calendarapp.model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 /**
  * Manages multiple calendars by name and tracks the active calendar.
  * Provides methods to add, edit, use, and retrieve calendars. Also supports
  * copying events between calendars, either on specific dates or within date ranges.
+ *
+ * <p>A manager created with a {@link CalendarStore} keeps calendars on disk and loads each one
+ * the first time it is used. When the loaded calendars outgrow the store's memory budget, the
+ * least recently used ones are written back and dropped; the active calendar and calendars
+ * with an open batch are never dropped. While an action runs under
+ * {@link #withCalendarsPinned(Supplier)}, nothing is dropped until the action finishes, so a
+ * command never ends up writing to a calendar that was unloaded under it. A dropped instance
+ * rejects further changes.</p>
  */
 public class CalendarManager implements ICalendarManager {
   private final Map<String, ICalendarModel> calendars;
+  private final CalendarStore store;
   private ICalendarModel activeCalendar;
+  private final List<ICalendarChangeListener> listeners = new ArrayList<>();
+  private Duration archiveHorizon;
+  private AgendaService agenda;
+  private int pinDepth;
 
   /**
    * Initializes the calendar manager with an empty set of calendars.
    * The active calendar is set to null initially.
    */
   public CalendarManager() {
-    calendars = new HashMap<>();
+    this(null);
+  }
+
+  /**
+   * Initializes a calendar manager that loads calendars from the store on first use and
+   * evicts idle calendars back to it.
+   *
+   * @param store the store holding the calendars, or null to keep every calendar in memory
+   */
+  public CalendarManager(CalendarStore store) {
+    this.store = store;
+    this.calendars = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Sets the archive horizon of every calendar, including calendars added or loaded later.
+   *
+   * @param horizon the age at which events are archived, or null to stop archiving
+   * @see CalendarModel#setArchiveHorizon(Duration)
+   */
+  public synchronized void setArchiveHorizon(Duration horizon) {
+    this.archiveHorizon = horizon;
+    for (ICalendarModel calendar : calendars.values()) {
+      ((CalendarModel) calendar).setArchiveHorizon(horizon);
+    }
+  }
+
+  /**
+   * Returns the store backing this manager.
+   *
+   * @return the store, or null if every calendar is kept in memory
+   */
+  public CalendarStore getStore() {
+    return store;
   }
 
   /**
@@ -30,13 +85,33 @@ public class CalendarManager implements ICalendarManager {
    * @param timezone the timezone of the calendar
    * @return true if the calendar was added successfully, false if a calendar already exists
    */
-  public boolean addCalendar(String name, ZoneId timezone) {
+  public synchronized boolean addCalendar(String name, ZoneId timezone) {
     String cleanName = name.trim();
-    if (calendars.containsKey(cleanName)) {
+    if (exists(cleanName)) {
       return false;
     }
-    ICalendarModel model = new CalendarModel(cleanName, timezone);
-    calendars.put(cleanName, model);
+    CalendarModel model = new CalendarModel(cleanName, timezone);
+    attach(model, true);
+    for (ICalendarChangeListener listener : listeners) {
+      listener.calendarAdded(cleanName, timezone);
+    }
+    evictIfNeeded();
+    return true;
+  }
+
+  /**
+   * Adds an already populated calendar without notifying listeners, for calendars restored
+   * from a snapshot.
+   *
+   * @param calendar the calendar to add
+   * @return true if the calendar was added, false if a calendar with its name already exists
+   */
+  synchronized boolean restoreCalendar(CalendarModel calendar) {
+    if (exists(calendar.getName())) {
+      return false;
+    }
+    attach(calendar, true);
+    evictIfNeeded();
     return true;
   }
 
@@ -49,22 +124,32 @@ public class CalendarManager implements ICalendarManager {
    * @return true if the calendar was edited successfully
    * @throws IllegalArgumentException if the calendar is not found or for an unsupported property
    */
-  public boolean editCalendar(String name, String property, String newValue) {
-    ICalendarModel cal = calendars.get(name.trim());
+  public synchronized boolean editCalendar(String name, String property, String newValue) {
+    ICalendarModel cal = lookup(name.trim());
     if (cal == null) {
       throw new IllegalArgumentException("Calendar not found: " + name);
     }
     switch (property.toLowerCase()) {
       case "name":
-        if (calendars.containsKey(newValue.trim())) {
+        if (exists(newValue.trim())) {
           throw new IllegalArgumentException("Calendar name already exists: " + newValue);
         }
         calendars.remove(name.trim());
         ((CalendarModel) cal).setName(newValue.trim());
         calendars.put(newValue.trim(), cal);
+        if (store != null) {
+          try {
+            store.renamed((CalendarModel) cal, name.trim());
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
         if (activeCalendar == cal) {
           activeCalendar = cal;
         }
+        for (ICalendarChangeListener listener : listeners) {
+          listener.calendarRenamed(name.trim(), newValue.trim());
+        }
         break;
       case "timezone":
         try {
@@ -86,8 +171,8 @@ public class CalendarManager implements ICalendarManager {
    * @param name the name of the calendar to use as active
    * @return true if the calendar was successfully set as active, false otherwise
    */
-  public boolean useCalendar(String name) {
-    ICalendarModel cal = calendars.get(name.trim());
+  public synchronized boolean useCalendar(String name) {
+    ICalendarModel cal = lookup(name.trim());
     if (cal == null) {
       return false;
     }
@@ -110,12 +195,233 @@ public class CalendarManager implements ICalendarManager {
    * @param name the name of the calendar to retrieve
    * @return the calendar with the specified name, or null if no such calendar exists
    */
-  public ICalendarModel getCalendar(String name) {
+  public synchronized ICalendarModel getCalendar(String name) {
     String cleanName = name.trim();
     if (cleanName.startsWith("\"") && cleanName.endsWith("\"")) {
       cleanName = cleanName.substring(1, cleanName.length() - 1).trim();
     }
-    return calendars.get(cleanName);
+    return lookup(cleanName);
+  }
+
+  /**
+   * Returns the earliest windows in which all of the named calendars are free, holding the
+   * manager's lock so no calendar is loaded or evicted while the windows are computed.
+   *
+   * @param calendarNames the calendars that must all be free
+   * @param from          the start of the searched range
+   * @param to            the end of the searched range
+   * @param duration      the minimum length of a window
+   * @param limit         the maximum number of windows to return
+   * @return the free windows in start order
+   * @throws IllegalArgumentException if a calendar does not exist or the arguments are invalid
+   */
+  @Override
+  public synchronized List<TimeSlot> findFreeSlots(List<String> calendarNames,
+                                                   ZonedDateTime from, ZonedDateTime to,
+                                                   Duration duration, int limit) {
+    return ICalendarManager.super.findFreeSlots(calendarNames, from, to, duration, limit);
+  }
+
+  /**
+   * Returns the names of all calendars, in alphabetical order, including calendars that are
+   * stored but not loaded.
+   *
+   * @return the calendar names
+   */
+  public synchronized List<String> getCalendarNames() {
+    Set<String> names = new TreeSet<>(calendars.keySet());
+    if (store != null) {
+      try {
+        names.addAll(store.names());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return new ArrayList<>(names);
+  }
+
+  /**
+   * Returns the names of the calendars currently held in memory, least recently used first.
+   *
+   * @return the loaded calendar names
+   */
+  public synchronized List<String> getLoadedCalendarNames() {
+    return new ArrayList<>(calendars.keySet());
+  }
+
+  /**
+   * Writes every loaded calendar that changed since it was loaded back to the store. Does
+   * nothing if the manager has no store.
+   *
+   * @throws IOException if a calendar cannot be written
+   */
+  public synchronized void flush() throws IOException {
+    if (store == null) {
+      return;
+    }
+    for (ICalendarModel calendar : calendars.values()) {
+      store.save((CalendarModel) calendar);
+    }
+  }
+
+  private boolean exists(String cleanName) {
+    return calendars.containsKey(cleanName) || (store != null && store.contains(cleanName));
+  }
+
+  private ICalendarModel lookup(String cleanName) {
+    ICalendarModel cal = calendars.get(cleanName);
+    if (store == null) {
+      return cal;
+    }
+    if (cal != null) {
+      store.recordHit();
+      return cal;
+    }
+    CalendarModel loaded;
+    try {
+      loaded = store.load(cleanName);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (loaded == null) {
+      return null;
+    }
+    attach(loaded, false);
+    evictIfNeeded();
+    return loaded;
+  }
+
+  /**
+   * Makes a calendar resident and registers the manager's listeners with it.
+   */
+  private void attach(CalendarModel calendar, boolean isNew) {
+    for (ICalendarChangeListener listener : listeners) {
+      calendar.addChangeListener(listener);
+    }
+    if (store != null && isNew) {
+      store.track(calendar, true);
+    }
+    if (archiveHorizon != null) {
+      calendar.setArchiveHorizon(archiveHorizon);
+    }
+    calendars.put(calendar.getName(), calendar);
+    if (agenda != null && !isNew) {
+      agenda.index(calendar.getName(), calendar);
+    }
+  }
+
+  /**
+   * Returns the agenda of upcoming events across all calendars, creating it on first use. The
+   * agenda indexes the loaded calendars once and then follows their changes; calendars loaded
+   * from the store later are indexed as they are loaded.
+   *
+   * @return the agenda of this manager
+   */
+  public synchronized AgendaService getAgenda() {
+    if (agenda == null) {
+      agenda = new AgendaService(this);
+      addChangeListener(agenda);
+      reindexAgenda();
+    }
+    return agenda;
+  }
+
+  /**
+   * Indexes every loaded calendar in the agenda again.
+   */
+  synchronized void reindexAgenda() {
+    for (ICalendarModel calendar : calendars.values()) {
+      agenda.index(calendar.getName(), calendar);
+    }
+  }
+
+  /**
+   * Runs the action with every calendar it looks up kept in memory. Calendars loaded during
+   * the action are only written back and dropped once the outermost pinned action finishes.
+   *
+   * @param action the action to run
+   * @param <T>    the result type of the action
+   * @return the result of the action
+   */
+  @Override
+  public <T> T withCalendarsPinned(Supplier<T> action) {
+    synchronized (this) {
+      pinDepth++;
+    }
+    try {
+      return action.get();
+    } finally {
+      synchronized (this) {
+        if (--pinDepth == 0) {
+          evictIfNeeded();
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes back and drops the least recently used calendars until the loaded calendars fit
+   * the store's memory budget. The most recently used calendar is always kept, and nothing is
+   * dropped while a pinned action is running. Dropped instances are detached so that they
+   * reject further changes.
+   */
+  private void evictIfNeeded() {
+    if (store == null || pinDepth > 0) {
+      return;
+    }
+    long total = 0;
+    for (ICalendarModel calendar : calendars.values()) {
+      total += CalendarStore.estimateSize((CalendarModel) calendar);
+    }
+    Iterator<ICalendarModel> lru = calendars.values().iterator();
+    for (int remaining = calendars.size(); remaining > 1 && total > store.getMemoryBudget();
+         remaining--) {
+      CalendarModel calendar = (CalendarModel) lru.next();
+      if (calendar == activeCalendar || calendar.isBatchOpen()) {
+        continue;
+      }
+      long size = CalendarStore.estimateSize(calendar);
+      try {
+        store.evict(calendar);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      for (ICalendarChangeListener listener : listeners) {
+        calendar.removeChangeListener(listener);
+      }
+      calendar.detach();
+      lru.remove();
+      total -= size;
+    }
+  }
+
+  /**
+   * Registers a listener that is told about calendars being added or renamed and about every
+   * change applied to any calendar, including calendars added later.
+   *
+   * @param listener the listener to add
+   */
+  public synchronized void addChangeListener(ICalendarChangeListener listener) {
+    listeners.add(listener);
+    for (ICalendarModel calendar : calendars.values()) {
+      if (calendar instanceof CalendarModel) {
+        ((CalendarModel) calendar).addChangeListener(listener);
+      }
+    }
+  }
+
+  /**
+   * Unregisters a listener from the manager and from all of its calendars.
+   *
+   * @param listener the listener to remove
+   */
+  public synchronized void removeChangeListener(ICalendarChangeListener listener) {
+    listeners.remove(listener);
+    for (ICalendarModel calendar : calendars.values()) {
+      if (calendar instanceof CalendarModel) {
+        ((CalendarModel) calendar).removeChangeListener(listener);
+      }
+    }
   }
 
   /**
@@ -5,28 +5,73 @@ import calendarapp.model.event.ReadOnlyCalendarEvent;
 import calendarapp.model.event.RecurringEvent;
 import calendarapp.model.event.SingleEvent;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Represents a calendar model that stores events, supports adding, editing, and copying events,
  * and handles recurring events with the ability to update timezones.
+ *
+ * <p>Events that ended long ago can be moved out of the event list into immutable off-heap
+ * {@link ArchiveSegment}s, either explicitly with {@link #archiveBefore(ZonedDateTime)} or
+ * automatically by setting an archive horizon. Queries and exports see archived and current
+ * events alike. A change that could touch an archived event, such as adding an event in the
+ * archived period or editing a subject that appears in the archive, first brings the archived
+ * events back into the event list.</p>
  */
 public class CalendarModel implements ICalendarModel {
+  private static final int MAX_ARCHIVE_SEGMENTS = 8;
+  private static final int ARCHIVE_CHECK_INTERVAL = 4096;
+  private static final Set<String> SERIES_PROPERTIES =
+          Set.of("description", "location", "public", "starttime", "endtime");
+
   private final List<ICalendarEvent> events = new ArrayList<>();
   private final Map<String, RecurringEvent> recurringMap = new HashMap<>();
+  private final OccupancyIndex occupancy = new OccupancyIndex(() -> events);
+
+  private final List<ArchiveSegment> archive = new ArrayList<>();
+  private Instant archivedEnd;
+  private int archivedCount;
+  private Duration archiveHorizon;
+  private Clock clock = Clock.systemUTC();
+  private int eventsAtLastArchivePass;
 
   private String name;
   private ZoneId timezone;
 
+  private boolean batchOpen;
+  private List<ICalendarEvent> batchEventsSnapshot;
+  private Map<String, RecurringEvent> batchRecurringSnapshot;
+  private ZoneId batchTimezoneSnapshot;
+  private final Set<ICalendarEvent> batchChanged =
+          Collections.newSetFromMap(new IdentityHashMap<>());
+  private final List<Consumer<ICalendarChangeListener>> batchNotifications = new ArrayList<>();
+
+  private final List<ICalendarChangeListener> listeners = new ArrayList<>();
+  private final CalendarChangeLog changeLog = new CalendarChangeLog();
+  private volatile boolean detached;
+
   /**
    * Constructs a new calendar model with the specified name and timezone.
    *
@@ -36,6 +81,7 @@ public class CalendarModel implements ICalendarModel {
   public CalendarModel(String name, ZoneId timezone) {
     this.name = name;
     this.timezone = timezone;
+    listeners.add(changeLog);
   }
 
   /**
@@ -53,6 +99,7 @@ public class CalendarModel implements ICalendarModel {
    * @param name the new name for the calendar
    */
   public void setName(String name) {
+    checkAttached();
     this.name = name;
   }
 
@@ -71,6 +118,7 @@ public class CalendarModel implements ICalendarModel {
    * @param timezone the new timezone for the calendar
    */
   public void setTimezone(ZoneId timezone) {
+    checkAttached();
     this.timezone = timezone;
   }
 
@@ -82,6 +130,8 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public void updateTimezone(ZoneId newTimezone) {
+    checkAttached();
+    thawArchive();
     ZoneId oldTimezone = this.timezone;
     this.timezone = newTimezone;
 
@@ -108,9 +158,11 @@ public class CalendarModel implements ICalendarModel {
     for (Map.Entry<String, RecurringEvent> entry : recurringMap.entrySet()) {
       RecurringEvent recurringEvent = entry.getValue();
 
+      Set<List<Object>> replacements = occurrenceKeys(recurringEvent.getOverrides().values());
       events.removeIf(e -> e instanceof SingleEvent
-              && e.getSubject().equals(entry.getKey())
-              && ((SingleEvent) e).getSeriesId() != null);
+              && ((e.getSubject().equals(entry.getKey())
+              && ((SingleEvent) e).getSeriesId() != null)
+              || replacements.contains(occurrenceKey(e))));
 
       RecurringEvent updatedRecurringEvent = recurringEvent.withUpdatedTimezone(newTimezone);
       List<SingleEvent> newOccurrences =
@@ -122,6 +174,9 @@ public class CalendarModel implements ICalendarModel {
 
     recurringMap.clear();
     recurringMap.putAll(updatedRecurringMap);
+    occupancy.invalidate();
+    String calendarName = name;
+    notifyListeners(l -> l.timezoneChanged(calendarName, newTimezone));
   }
 
   /**
@@ -156,6 +211,8 @@ public class CalendarModel implements ICalendarModel {
 
   /**
    * Copies all events on a specific date from the source calendar to the target calendar.
+   * Events that would conflict with or duplicate an event of the target calendar are skipped;
+   * the others are added together after one sorted sweep against the target's events.
    *
    * @param sourceCalendar the source calendar to copy from
    * @param sourceDate     the date to copy events from in the source calendar
@@ -166,42 +223,15 @@ public class CalendarModel implements ICalendarModel {
   @Override
   public boolean copyEventsOnDateTo(ICalendarModel sourceCalendar, ZonedDateTime sourceDate,
                                     ICalendarModel targetCalendar, ZonedDateTime targetDate) {
-    boolean allCopied = true;
-    LocalDate sourceLocalDate = sourceDate.toLocalDate();
-    LocalDate targetLocalDate = targetDate.toLocalDate();
-    ZoneId targetZone = targetCalendar.getTimezone();
-
-    for (ReadOnlyCalendarEvent event : sourceCalendar.getEventsOnDate(sourceLocalDate)) {
-      ICalendarEvent editable = (ICalendarEvent) event;
-      ZonedDateTime sourceEventStart = event.getStartDateTime();
-      ZonedDateTime sourceEventEnd = event.getEndDateTime();
-
-      ZonedDateTime shiftedStart = sourceEventStart.withZoneSameInstant(targetZone);
-      long dayOffset = Duration.between(sourceLocalDate.atStartOfDay(targetZone),
-              shiftedStart.toLocalDate().atStartOfDay(targetZone)
-      ).toDays();
-
-      ZonedDateTime newStart = ZonedDateTime.of(targetLocalDate.plusDays(dayOffset),
-              shiftedStart.toLocalTime(), targetZone
-      );
-
-      long durationMinutes = Duration.between(sourceEventStart, sourceEventEnd).toMinutes();
-      ZonedDateTime newEnd = newStart.plusMinutes(durationMinutes);
-
-      ICalendarEvent copiedEvent = new SingleEvent(event.getSubject(), newStart, newEnd,
-              event.getDescription(), event.getLocation(),
-              event.isPublic(), event.isAllDay(), null
-      );
-
-      if (!targetCalendar.addEvent(copiedEvent, false)) {
-        allCopied = false;
-      }
-    }
-    return allCopied;
+    return copyEventsOnDateToAll(sourceCalendar, sourceDate.toLocalDate(),
+            Collections.singletonList(targetCalendar), targetDate.toLocalDate()).get(0)
+            .isComplete();
   }
 
   /**
-   * Copies all events within a specific date range from the source calendar to the target calendar.
+   * Copies all events within a specific date range from the source calendar to the target
+   * calendar. Events that would conflict with or duplicate an event of the target calendar are
+   * skipped; the others are added together after one sorted sweep against the target's events.
    *
    * @param sourceCalendar  the source calendar to copy from
    * @param startDate       the start date of the range to copy events from
@@ -214,30 +244,204 @@ public class CalendarModel implements ICalendarModel {
   public boolean copyEventsBetweenTo(ICalendarModel sourceCalendar, ZonedDateTime startDate,
                                      ZonedDateTime endDate, ICalendarModel targetCalendar,
                                      ZonedDateTime targetStartDate) {
-    boolean allCopied = true;
+    return copyEventsBetweenToAll(sourceCalendar, startDate, endDate,
+            Collections.singletonList(targetCalendar), targetStartDate.toLocalDate()).get(0)
+            .isComplete();
+  }
 
-    long daysOffset = ChronoUnit.DAYS.between(startDate.toLocalDate(),
-            targetStartDate.toLocalDate());
+  /**
+   * Copies all events on a specific date from the source calendar to several target calendars.
+   * The source events are read once. The copies for each target are checked against it in
+   * parallel, one target per task, and then added target by target on the calling thread, so
+   * listeners are never called concurrently. Each copied event lands on the target date at
+   * the time it has in that target's own timezone.
+   *
+   * @param sourceCalendar  the source calendar to copy from
+   * @param sourceDate      the date to copy events from in the source calendar
+   * @param targetCalendars the distinct calendars to copy to
+   * @param targetDate      the date for the copied events in every target calendar
+   * @return the outcome of the copy for each target calendar, in the given order
+   */
+  public List<CopyOutcome> copyEventsOnDateToAll(ICalendarModel sourceCalendar,
+                                                 LocalDate sourceDate,
+                                                 List<? extends ICalendarModel> targetCalendars,
+                                                 LocalDate targetDate) {
+    List<ReadOnlyCalendarEvent> sourceEvents = sourceCalendar.getEventsOnDate(sourceDate);
+    List<List<ICalendarEvent>> copies = new ArrayList<>(targetCalendars.size());
+    for (ICalendarModel target : targetCalendars) {
+      ZoneId targetZone = target.getTimezone();
+      List<ICalendarEvent> shifted = new ArrayList<>(sourceEvents.size());
+      for (ReadOnlyCalendarEvent event : sourceEvents) {
+        ZonedDateTime shiftedStart = event.getStartDateTime().withZoneSameInstant(targetZone);
+        long dayOffset = Duration.between(sourceDate.atStartOfDay(targetZone),
+                shiftedStart.toLocalDate().atStartOfDay(targetZone)
+        ).toDays();
+        ZonedDateTime newStart = ZonedDateTime.of(targetDate.plusDays(dayOffset),
+                shiftedStart.toLocalTime(), targetZone
+        );
+        shifted.add(copyOf(event, newStart));
+      }
+      copies.add(shifted);
+    }
+    return addCopies(targetCalendars, copies);
+  }
 
-    for (ReadOnlyCalendarEvent event : sourceCalendar.getEventsBetween(startDate, endDate)) {
-      ICalendarEvent editable = (ICalendarEvent) event;
-      long durationMinutes = Duration.between(event.getStartDateTime(),
-              event.getEndDateTime()).toMinutes();
-      ZonedDateTime newStart = event.getStartDateTime().plusDays(daysOffset)
-              .withZoneSameInstant(targetCalendar.getTimezone());
-      ZonedDateTime newEnd = newStart.plusMinutes(durationMinutes);
+  /**
+   * Copies all events within a date range from the source calendar to several target
+   * calendars, in the same way as {@link #copyEventsOnDateToAll}.
+   *
+   * @param sourceCalendar  the source calendar to copy from
+   * @param startDate       the start date of the range to copy events from
+   * @param endDate         the end date of the range to copy events from
+   * @param targetCalendars the distinct calendars to copy to
+   * @param targetStartDate the date in every target calendar matching the start of the range
+   * @return the outcome of the copy for each target calendar, in the given order
+   */
+  public List<CopyOutcome> copyEventsBetweenToAll(ICalendarModel sourceCalendar,
+                                                  ZonedDateTime startDate,
+                                                  ZonedDateTime endDate,
+                                                  List<? extends ICalendarModel> targetCalendars,
+                                                  LocalDate targetStartDate) {
+    long daysOffset = ChronoUnit.DAYS.between(startDate.toLocalDate(), targetStartDate);
+    List<ReadOnlyCalendarEvent> sourceEvents = sourceCalendar.getEventsBetween(startDate,
+            endDate);
+    List<List<ICalendarEvent>> copies = new ArrayList<>(targetCalendars.size());
+    for (ICalendarModel target : targetCalendars) {
+      List<ICalendarEvent> shifted = new ArrayList<>(sourceEvents.size());
+      for (ReadOnlyCalendarEvent event : sourceEvents) {
+        shifted.add(copyOf(event, event.getStartDateTime().plusDays(daysOffset)
+                .withZoneSameInstant(target.getTimezone())));
+      }
+      copies.add(shifted);
+    }
+    return addCopies(targetCalendars, copies);
+  }
 
-      ICalendarEvent copiedEvent = new SingleEvent(
-              event.getSubject(), newStart, newEnd,
-              event.getDescription(), event.getLocation(),
-              event.isPublic(), event.isAllDay(), null
-      );
+  private static ICalendarEvent copyOf(ReadOnlyCalendarEvent event, ZonedDateTime newStart) {
+    long durationMinutes = Duration.between(event.getStartDateTime(),
+            event.getEndDateTime()).toMinutes();
+    return new SingleEvent(event.getSubject(), newStart, newStart.plusMinutes(durationMinutes),
+            event.getDescription(), event.getLocation(),
+            event.isPublic(), event.isAllDay(), null
+    );
+  }
 
-      if (!targetCalendar.addEvent(copiedEvent, false)) {
-        allCopied = false;
+  /**
+   * Adds each list of copies to its target calendar and returns how many each target took
+   * and declined. Calendars without an open batch take the bulk path; any other calendar gets
+   * the copies one by one through {@link ICalendarModel#addEvent}.
+   */
+  private static List<CopyOutcome> addCopies(List<? extends ICalendarModel> targets,
+                                             List<List<ICalendarEvent>> copies) {
+    List<Integer> bulk = new ArrayList<>();
+    for (int i = 0; i < targets.size(); i++) {
+      ICalendarModel target = targets.get(i);
+      if (target instanceof CalendarModel && !((CalendarModel) target).batchOpen) {
+        ((CalendarModel) target).thawIfOverlapping(copies.get(i));
+        bulk.add(i);
+      }
+    }
+    Map<Integer, List<ICalendarEvent>> accepted = new HashMap<>();
+    for (int i : bulk) {
+      accepted.put(i, new ArrayList<>());
+    }
+    Map<Integer, Integer> duplicates = (bulk.size() > 1 ? bulk.parallelStream()
+            : bulk.stream()).collect(Collectors.toMap(i -> i,
+                i -> ((CalendarModel) targets.get(i)).acceptCopies(copies.get(i),
+                        accepted.get(i))));
+
+    List<CopyOutcome> outcomes = new ArrayList<>(targets.size());
+    for (int i = 0; i < targets.size(); i++) {
+      ICalendarModel target = targets.get(i);
+      int copied = 0;
+      int duplicated = 0;
+      if (accepted.containsKey(i)) {
+        CalendarModel model = (CalendarModel) target;
+        model.insertEvents(accepted.get(i));
+        model.archiveIfDue();
+        copied = accepted.get(i).size();
+        duplicated = duplicates.get(i);
+      } else {
+        for (ICalendarEvent copy : copies.get(i)) {
+          try {
+            if (target.addEvent(copy, false)) {
+              copied++;
+            }
+          } catch (IllegalArgumentException e) {
+            duplicated++;
+          }
+        }
       }
+      outcomes.add(new CopyOutcome(target, copied, copies.get(i).size() - copied - duplicated,
+              duplicated));
     }
-    return allCopied;
+    return outcomes;
+  }
+
+  /**
+   * Collects the copies that can be added to this calendar, in start order, without changing
+   * it. The copies are sorted and swept together with this calendar's events in their span,
+   * which marks every copy that conflicts with one of those events. A second pass over the
+   * copies skips each one that duplicates an event or a copy kept before it, or that
+   * conflicts with one, so a copy that would have been declined by {@link #addEvent} is
+   * skipped here as well.
+   *
+   * @param copies   the copies to check
+   * @param accepted the list the copies that can be added are appended to
+   * @return the number of copies skipped as duplicates
+   */
+  private int acceptCopies(List<ICalendarEvent> copies, List<ICalendarEvent> accepted) {
+    if (copies.isEmpty()) {
+      return 0;
+    }
+    List<ICalendarEvent> sorted = new ArrayList<>(copies);
+    sorted.sort(ConflictChecker.BY_START);
+    ZonedDateTime from = sorted.get(0).getStartDateTime();
+    ZonedDateTime to = from;
+    for (ICalendarEvent copy : sorted) {
+      if (copy.getEndDateTime().isAfter(to)) {
+        to = copy.getEndDateTime();
+      }
+    }
+    List<ICalendarEvent> existing = new ArrayList<>();
+    Set<List<Object>> keys = new HashSet<>();
+    for (ICalendarEvent event : events) {
+      if (!event.getEndDateTime().isBefore(from) && !event.getStartDateTime().isAfter(to)) {
+        existing.add(event);
+        keys.add(duplicateKey(event));
+      }
+    }
+
+    Set<ReadOnlyCalendarEvent> declined = Collections.newSetFromMap(new IdentityHashMap<>());
+    ConflictAudit.sweep(Arrays.asList(existing, sorted), (firstCalendar, first, secondCalendar,
+        second) -> {
+      if (firstCalendar != secondCalendar) {
+        declined.add(firstCalendar == 1 ? first : second);
+      }
+    });
+
+    int duplicates = 0;
+    ICalendarEvent latest = null;
+    for (ICalendarEvent copy : sorted) {
+      if (keys.contains(duplicateKey(copy))) {
+        duplicates++;
+        continue;
+      }
+      if (declined.contains(copy)
+              || (latest != null && ConflictChecker.hasConflict(latest, copy))) {
+        continue;
+      }
+      keys.add(duplicateKey(copy));
+      accepted.add(copy);
+      if (latest == null || copy.getEndDateTime().isAfter(latest.getEndDateTime())) {
+        latest = copy;
+      }
+    }
+    return duplicates;
+  }
+
+  private static List<Object> duplicateKey(ICalendarEvent event) {
+    return Arrays.asList(event.getSubject(), event.getStartDateTime(), event.getEndDateTime());
   }
 
 
@@ -250,6 +454,12 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public boolean addEvent(ICalendarEvent event, boolean autoDecline) {
+    thawIfOverlapping(event);
+    if (batchOpen) {
+      insertEvent(event);
+      batchChanged.add(event);
+      return true;
+    }
     if (duplicateExists(event)) {
       throw new IllegalArgumentException("Duplicate event detected.");
     }
@@ -258,7 +468,8 @@ public class CalendarModel implements ICalendarModel {
         return false;
       }
     }
-    events.add(event);
+    insertEvent(event);
+    archiveIfDue();
     return true;
   }
 
@@ -273,22 +484,60 @@ public class CalendarModel implements ICalendarModel {
   public boolean addRecurringEvent(RecurringEvent recurringEvent, boolean autoDecline) {
     String seriesId = UUID.randomUUID().toString();
     List<SingleEvent> occurrences = recurringEvent.generateOccurrences(seriesId);
-
     for (SingleEvent occurrence : occurrences) {
-      if (duplicateExists(occurrence)) {
-        throw new IllegalArgumentException("Duplicate event in recurring series.");
-      }
-      for (ICalendarEvent existingEvent : events) {
-        if (ConflictChecker.hasConflict(existingEvent, occurrence)) {
-          return false;
-        }
-      }
+      thawIfOverlapping(occurrence);
     }
-    events.addAll(occurrences);
-    recurringMap.put(recurringEvent.getSubject(), recurringEvent);
+
+    if (batchOpen) {
+      putRecurringRule(recurringEvent.getSubject(), recurringEvent);
+      insertEvents(occurrences);
+      batchChanged.addAll(occurrences);
+      return true;
+    }
+    long duplicate = firstClash(recurringEvent, 0, (existing, occurrence) ->
+            existing.getSubject().equals(occurrence.getSubject())
+                    && existing.getStartDateTime().equals(occurrence.getStartDateTime())
+                    && existing.getEndDateTime().equals(occurrence.getEndDateTime()));
+    long conflict = firstClash(recurringEvent, 0, ConflictChecker::hasConflict);
+    if (duplicate != Long.MAX_VALUE && duplicate <= conflict) {
+      throw new IllegalArgumentException("Duplicate event in recurring series.");
+    } else if (conflict != Long.MAX_VALUE) {
+      return false;
+    }
+    putRecurringRule(recurringEvent.getSubject(), recurringEvent);
+    insertEvents(occurrences);
+    archiveIfDue();
     return true;
   }
 
+  /**
+   * Adds several events as one batch, so they are checked for conflicts in a single sorted
+   * sweep. When a batch is already open the events simply join it.
+   *
+   * @param events          the events to add
+   * @param skipConflicting if true and the batch conflicts, the events are added one at a time
+   *                        so only the conflicting ones are left out; if false, nothing is added
+   * @return the number of events added
+   */
+  @Override
+  public int addEvents(List<? extends ICalendarEvent> events, boolean skipConflicting) {
+    if (events.isEmpty() || batchOpen) {
+      return ICalendarModel.super.addEvents(events, skipConflicting);
+    }
+    beginBatch();
+    int added;
+    try {
+      added = ICalendarModel.super.addEvents(events, skipConflicting);
+    } catch (RuntimeException e) {
+      rollbackBatch();
+      throw e;
+    }
+    if (commitBatch()) {
+      return added;
+    }
+    return skipConflicting ? ICalendarModel.super.addEvents(events, true) : 0;
+  }
+
   /**
    * Gets all events in the calendar.
    *
@@ -296,7 +545,12 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public List<ReadOnlyCalendarEvent> getEvents() {
-    return new ArrayList<>(events);
+    List<ReadOnlyCalendarEvent> result = new ArrayList<>(archivedCount + events.size());
+    for (ArchiveSegment segment : archive) {
+      segment.forEach(result::add);
+    }
+    result.addAll(events);
+    return result;
   }
 
   /**
@@ -307,7 +561,7 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public List<ReadOnlyCalendarEvent> getEventsOnDate(LocalDate date) {
-    List<ReadOnlyCalendarEvent> result = new ArrayList<>();
+    List<ReadOnlyCalendarEvent> result = archivedOnDate(date);
 
     for (ICalendarEvent event : events) {
       LocalDate startDate = event.getStartDateTime().toLocalDate();
@@ -321,7 +575,10 @@ public class CalendarModel implements ICalendarModel {
   }
 
   /**
-   * Gets all events that occur between a specific start and end date.
+   * Gets all events that occur between a specific start and end date. A series added with
+   * {@link #addRecurringEvent(RecurringEvent, boolean)} is stored as its occurrences, which
+   * are matched like any other event; only a recurring event added as a single event is
+   * expanded here, and then only for the range.
    *
    * @param start the start date/time of the range
    * @param end   the end date/time of the range
@@ -330,19 +587,13 @@ public class CalendarModel implements ICalendarModel {
   @Override
   public List<ReadOnlyCalendarEvent> getEventsBetween(ZonedDateTime start, ZonedDateTime end) {
     List<ReadOnlyCalendarEvent> result = new ArrayList<>();
+    for (ArchiveSegment segment : archive) {
+      segment.forEachOverlapping(start.toInstant(), end.toInstant(), result::add);
+    }
 
     for (ICalendarEvent event : events) {
       if (event instanceof RecurringEvent) {
-        RecurringEvent recurring = (RecurringEvent) event;
-        List<SingleEvent> occurrences = recurring.generateOccurrences(null);
-
-        for (SingleEvent occurrence : occurrences) {
-          ZonedDateTime occurrenceStart = occurrence.getStartDateTime();
-          ZonedDateTime occurrenceEnd = occurrence.getEndDateTime();
-          if (occurrenceStart.isBefore(end) && occurrenceEnd.isAfter(start)) {
-            result.add(occurrence);
-          }
-        }
+        result.addAll(((RecurringEvent) event).occurrencesBetween(start, end, null));
       } else {
         ZonedDateTime eventStart = event.getStartDateTime();
         ZonedDateTime eventEnd = event.getEndDateTime();
@@ -357,22 +608,82 @@ public class CalendarModel implements ICalendarModel {
   /**
    * Checks if there is a conflicting event at the specified time.
    *
+   * The answer comes from per-day minute bitmaps of the events, so it does not scan the
+   * calendar.
+   *
    * @param dateTime the date and time to check
    * @return true if there is a conflict, false otherwise
    */
   @Override
   public boolean isBusyAt(ZonedDateTime dateTime) {
-    for (ICalendarEvent event : events) {
-      ZonedDateTime startZoned = event.getStartDateTime();
-      ZonedDateTime endZoned = event.getEndDateTime();
+    Instant instant = dateTime.toInstant();
+    return isArchivedBusy(instant, instant.plusNanos(1)) || occupancy.isBusyAt(instant);
+  }
 
-      if (!dateTime.isBefore(startZoned) && dateTime.isBefore(endZoned)) {
+  /**
+   * Checks whether any event overlaps the given range, using the per-day minute bitmaps of
+   * the events so that the range is checked a word of minutes at a time. An empty range is
+   * never busy.
+   *
+   * @param start the start of the range
+   * @param end   the end of the range
+   * @return true if an event starts before the end of the range and ends after its start
+   */
+  @Override
+  public boolean isBusyBetween(ZonedDateTime start, ZonedDateTime end) {
+    Instant from = start.toInstant();
+    Instant to = end.toInstant();
+    if (!from.isBefore(to)) {
+      return false;
+    }
+    return isArchivedBusy(from, to) || occupancy.isBusyBetween(from, to);
+  }
+
+  private boolean isArchivedBusy(Instant from, Instant to) {
+    List<SingleEvent> archived = new ArrayList<>(1);
+    for (ArchiveSegment segment : archive) {
+      segment.forEachOverlapping(from, to, archived::add);
+      if (!archived.isEmpty()) {
         return true;
       }
     }
     return false;
   }
 
+  /**
+   * Returns the index of the first occurrence of a series that clashes with an event of the
+   * calendar. Each event is compared only with the occurrences around it, which the series
+   * locates directly, so checking a long series costs the events plus the occurrences near
+   * them rather than every occurrence times every event.
+   *
+   * @param series    the series to check; its cancelled and replaced occurrences are skipped
+   * @param fromIndex the index of the first occurrence to check
+   * @param clash     whether an event and an occurrence overlapping or touching it clash
+   * @return the index of the first clashing occurrence, or Long.MAX_VALUE if none clashes
+   */
+  private long firstClash(RecurringEvent series, long fromIndex,
+                          BiPredicate<ICalendarEvent, SingleEvent> clash) {
+    long count = series.getOccurrenceCount();
+    long first = Long.MAX_VALUE;
+    for (ICalendarEvent existing : events) {
+      long index = Math.max(fromIndex,
+              series.firstIndexEndingAtOrAfter(existing.getStartDateTime()));
+      for (; index < Math.min(count, first); index++) {
+        SingleEvent occurrence = series.getOccurrence(index, null);
+        if (occurrence == null) {
+          continue;
+        }
+        if (occurrence.getStartDateTime().isAfter(existing.getEndDateTime())) {
+          break;
+        }
+        if (clash.test(existing, occurrence)) {
+          first = index;
+        }
+      }
+    }
+    return first;
+  }
+
   /**
    * Checks if an event with the same name, start time, and end time already exists in the calendar.
    *
@@ -399,14 +710,22 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public boolean editEvent(ICalendarEvent oldEvent, ICalendarEvent newEvent) {
-    events.remove(oldEvent);
-    for (ICalendarEvent event : events) {
-      if (ConflictChecker.hasConflict(event, newEvent)) {
-        events.add(oldEvent);
-        return false;
+    if (!archive.isEmpty() && !containsIdentical(oldEvent)) {
+      thawArchive();
+      oldEvent = findMatching(oldEvent);
+    }
+    thawIfOverlapping(newEvent);
+    if (!batchOpen) {
+      for (ICalendarEvent event : events) {
+        if (event != oldEvent && ConflictChecker.hasConflict(event, newEvent)) {
+          return false;
+        }
       }
     }
-    events.add(newEvent);
+    deleteEvent(oldEvent);
+    insertEvent(newEvent);
+    markChanged(newEvent);
+    recordOverrides(Collections.singletonList(oldEvent), Collections.singletonList(newEvent));
     return true;
   }
 
@@ -424,6 +743,9 @@ public class CalendarModel implements ICalendarModel {
   public boolean editSingleEvent(String property, String eventName,
                                  ZonedDateTime originalStart, ZonedDateTime originalEnd,
                                  String newValue) {
+    if (archivedEnd != null && originalStart.toInstant().isBefore(archivedEnd)) {
+      thawArchive();
+    }
     for (ICalendarEvent event : events) {
       if (event instanceof SingleEvent &&
               event.getSubject().equals(eventName) &&
@@ -431,14 +753,17 @@ public class CalendarModel implements ICalendarModel {
               event.getEndDateTime().equals(originalEnd)) {
 
         SingleEvent updated = ((SingleEvent) event).withUpdatedProperty(property, newValue);
+        thawIfOverlapping(updated);
 
         if (updated.getStartDateTime().isAfter(updated.getEndDateTime()) ||
-                ConflictChecker.hasConflictExcept(event, updated, events)) {
+                (!batchOpen && ConflictChecker.hasConflictExcept(event, updated, events))) {
           return false;
         }
 
-        events.remove(event);
-        events.add(updated);
+        deleteEvent(event);
+        insertEvent(updated);
+        markChanged(updated);
+        recordOverrides(Collections.singletonList(event), Collections.singletonList(updated));
         return true;
       }
     }
@@ -457,6 +782,7 @@ public class CalendarModel implements ICalendarModel {
   @Override
   public boolean editEventsFrom(String property, String eventName, ZonedDateTime fromDateTime,
                                 String newValue) {
+    thawIfSubjectArchived(eventName);
     List<SingleEvent> toUpdate = new ArrayList<>();
 
     for (ICalendarEvent event : events) {
@@ -472,14 +798,17 @@ public class CalendarModel implements ICalendarModel {
     List<SingleEvent> updatedEvents = new ArrayList<>();
     for (SingleEvent event : toUpdate) {
       SingleEvent updated = event.withUpdatedProperty(property, newValue);
+      thawIfOverlapping(updated);
       if (updated.getStartDateTime().isAfter(updated.getEndDateTime()) ||
-              ConflictChecker.hasConflictExcept(event, updated, events)) {
+              (!batchOpen && ConflictChecker.hasConflictExcept(event, updated, events))) {
         return false;
       }
       updatedEvents.add(updated);
     }
-    events.removeAll(toUpdate);
-    events.addAll(updatedEvents);
+    deleteEvents(toUpdate);
+    insertEvents(updatedEvents);
+    markChanged(updatedEvents);
+    recordOverrides(toUpdate, updatedEvents);
     return true;
   }
 
@@ -497,6 +826,7 @@ public class CalendarModel implements ICalendarModel {
       return editRecurringEvent(eventName, property, newValue);
     }
 
+    thawIfSubjectArchived(eventName);
     List<SingleEvent> toUpdate = new ArrayList<>();
     for (ICalendarEvent event : events) {
       if (event instanceof SingleEvent && event.getSubject().equals(eventName)) {
@@ -511,20 +841,65 @@ public class CalendarModel implements ICalendarModel {
     List<SingleEvent> updatedEvents = new ArrayList<>();
     for (SingleEvent event : toUpdate) {
       SingleEvent updated = event.withUpdatedProperty(property, newValue);
+      thawIfOverlapping(updated);
       if (updated.getStartDateTime().isAfter(updated.getEndDateTime()) ||
-              ConflictChecker.hasConflictExcept(event, updated, events)) {
+              (!batchOpen && ConflictChecker.hasConflictExcept(event, updated, events))) {
         return false;
       }
       updatedEvents.add(updated);
     }
 
-    events.removeAll(toUpdate);
-    events.addAll(updatedEvents);
+    deleteEvents(toUpdate);
+    insertEvents(updatedEvents);
+    markChanged(updatedEvents);
+    applyToSeries(eventName, property, newValue, toUpdate, updatedEvents);
     return true;
   }
 
   /**
-   * Edits a recurring event's property.
+   * Carries an edit of every event of a subject over to the series of that subject, so that
+   * later edits of the series keep it. A property the series itself holds, such as the
+   * location or the time of day, is changed on the series and on its replacing events; any
+   * other edit, such as a new date, makes each edited occurrence replace its original one.
+   *
+   * @param eventName the subject of the edited events
+   * @param property  the edited property
+   * @param newValue  the new value of the property
+   * @param before    the events as they were before the edit
+   * @param after     the edited events, in the same order
+   */
+  private void applyToSeries(String eventName, String property, String newValue,
+                             List<SingleEvent> before, List<SingleEvent> after) {
+    RecurringEvent series = recurringMap.get(eventName);
+    if (series == null) {
+      return;
+    }
+    if (!SERIES_PROPERTIES.contains(property.toLowerCase().trim())) {
+      recordOverrides(before, after);
+      return;
+    }
+    Map<List<Object>, LocalDate> replacedDates = new HashMap<>();
+    for (Map.Entry<LocalDate, SingleEvent> entry : series.getOverrides().entrySet()) {
+      replacedDates.put(occurrenceKey(entry.getValue()), entry.getKey());
+    }
+    Map<LocalDate, SingleEvent> replacements = new HashMap<>();
+    for (int i = 0; i < before.size() && !replacedDates.isEmpty(); i++) {
+      LocalDate date = replacedDates.remove(occurrenceKey(before.get(i)));
+      if (date != null) {
+        replacements.put(date, after.get(i));
+      }
+    }
+    SingleEvent first = new SingleEvent(series.getSubject(), series.getStartDateTime(),
+            series.getEndDateTime(), series.getDescription(), series.getLocation(),
+            series.isPublic(), series.isAllDay(), null).withUpdatedProperty(property, newValue);
+    putRecurringRule(eventName, series.withFirstOccurrence(first).withOverrides(replacements));
+  }
+
+  /**
+   * Edits a recurring event's property. A new length only adds or removes the occurrences at
+   * the end of the series, and a new description, location or visibility only swaps the
+   * generated occurrences for updated copies; edits that move the occurrences recompute the
+   * series. Cancelled and replaced occurrences are kept either way.
    *
    * @param eventName the name of the recurring event
    * @param property  the property to update
@@ -539,22 +914,731 @@ public class CalendarModel implements ICalendarModel {
     }
 
     RecurringEvent updatedEvent = existingEvent.withUpdatedProperty(property, newValue);
-    List<SingleEvent> newOccurrences =
-            updatedEvent.generateOccurrences(UUID.randomUUID().toString());
+    thawIfSubjectArchived(eventName);
+    switch (property.toLowerCase().trim()) {
+      case "repeattimes":
+      case "repeatuntil":
+        return resizeSeries(eventName, existingEvent, updatedEvent);
+      case "description":
+      case "location":
+      case "public":
+      case "private":
+        return restyleSeries(eventName, existingEvent, updatedEvent);
+      default:
+        return replaceSeries(eventName, existingEvent, updatedEvent);
+    }
+  }
+
+  /**
+   * Applies a new length to a series. The occurrences keep their dates, so only those past
+   * the shorter of the two lengths are computed, and then added or removed.
+   */
+  private boolean resizeSeries(String eventName, RecurringEvent existingEvent,
+                               RecurringEvent updatedEvent) {
+    long oldCount = existingEvent.getOccurrenceCount();
+    long newCount = updatedEvent.getOccurrenceCount();
+    List<SingleEvent> added = new ArrayList<>();
+    if (newCount > oldCount) {
+      Iterator<SingleEvent> tail =
+              updatedEvent.occurrences(seriesIdOf(eventName, existingEvent), oldCount);
+      tail.forEachRemaining(added::add);
+      for (SingleEvent occurrence : added) {
+        thawIfOverlapping(occurrence);
+      }
+      if (!batchOpen && firstClash(updatedEvent, oldCount, (existing, occurrence) ->
+              !existing.getSubject().equals(eventName)
+                      && ConflictChecker.hasConflict(existing, occurrence)) != Long.MAX_VALUE) {
+        return false;
+      }
+    }
+    putRecurringRule(eventName, updatedEvent);
+    if (newCount < oldCount) {
+      Set<List<Object>> tail = new HashSet<>();
+      existingEvent.occurrences(null, newCount)
+              .forEachRemaining(occurrence -> tail.add(occurrenceKey(occurrence)));
+      List<ICalendarEvent> removed = new ArrayList<>();
+      for (ICalendarEvent e : events) {
+        if (e instanceof SingleEvent && tail.remove(occurrenceKey(e))) {
+          removed.add(e);
+        }
+      }
+      deleteEvents(removed);
+    }
+    insertEvents(added);
+    markChanged(added);
+    return true;
+  }
+
+  /**
+   * Applies a new description, location or visibility to a series. The occurrences keep
+   * their times, so each one the series generates is swapped for an updated copy, while the
+   * replacing events stay as they are.
+   */
+  private boolean restyleSeries(String eventName, RecurringEvent existingEvent,
+                                RecurringEvent updatedEvent) {
+    Set<List<Object>> replacements = occurrenceKeys(existingEvent.getOverrides().values());
+    List<SingleEvent> before = new ArrayList<>();
+    List<SingleEvent> after = new ArrayList<>();
+    for (ICalendarEvent e : events) {
+      if (e instanceof SingleEvent && eventName.equals(e.getSubject())
+              && ((SingleEvent) e).getSeriesId() != null
+              && !replacements.contains(occurrenceKey(e))) {
+        before.add((SingleEvent) e);
+        after.add(new SingleEvent(e.getSubject(), e.getStartDateTime(), e.getEndDateTime(),
+                updatedEvent.getDescription(), updatedEvent.getLocation(),
+                updatedEvent.isPublic(), e.isAllDay(), ((SingleEvent) e).getSeriesId()));
+      }
+    }
+    putRecurringRule(eventName, updatedEvent);
+    deleteEvents(before);
+    insertEvents(after);
+    markChanged(after);
+    return true;
+  }
 
+  /**
+   * Returns the series ID the generated occurrences of a series carry, or a new one if none
+   * of them is in the calendar.
+   */
+  private String seriesIdOf(String eventName, RecurringEvent series) {
+    Set<List<Object>> replacements = occurrenceKeys(series.getOverrides().values());
+    for (ICalendarEvent e : events) {
+      if (e instanceof SingleEvent && eventName.equals(e.getSubject())
+              && ((SingleEvent) e).getSeriesId() != null
+              && !replacements.contains(occurrenceKey(e))) {
+        return ((SingleEvent) e).getSeriesId();
+      }
+    }
+    return UUID.randomUUID().toString();
+  }
+
+  /**
+   * Applies an edit that moves the occurrences of a series, such as a new start or new
+   * weekdays. Every occurrence the series now gives is computed and matched against the
+   * current ones; unchanged occurrences and the exceptions are kept.
+   */
+  private boolean replaceSeries(String eventName, RecurringEvent existingEvent,
+                                RecurringEvent updatedEvent) {
+    Set<List<Object>> replacements = occurrenceKeys(existingEvent.getOverrides().values());
+    Map<List<Object>, List<ICalendarEvent>> oldOccurrences = new HashMap<>();
+    String seriesId = null;
+    for (ICalendarEvent e : events) {
+      List<Object> key = occurrenceKey(e);
+      if (e instanceof SingleEvent && ((eventName.equals(e.getSubject())
+              && ((SingleEvent) e).getSeriesId() != null) || replacements.contains(key))) {
+        oldOccurrences.computeIfAbsent(key, k -> new ArrayList<>()).add(e);
+        if (seriesId == null && !replacements.contains(key)) {
+          seriesId = ((SingleEvent) e).getSeriesId();
+        }
+      }
+    }
+    List<SingleEvent> newOccurrences = updatedEvent.generateOccurrences(
+            seriesId != null ? seriesId : UUID.randomUUID().toString());
     for (SingleEvent newOccurrence : newOccurrences) {
-      if (newOccurrence.getStartDateTime().isAfter(newOccurrence.getEndDateTime()) ||
-              ConflictChecker.hasConflictExceptRecurring(eventName, newOccurrence, events)) {
+      thawIfOverlapping(newOccurrence);
+    }
+
+    for (SingleEvent newOccurrence : newOccurrences) {
+      if (newOccurrence.getStartDateTime().isAfter(newOccurrence.getEndDateTime())) {
         return false;
       }
     }
-    events.removeIf(e -> e instanceof SingleEvent &&
-            eventName.equals(e.getSubject()) && ((SingleEvent) e).getSeriesId() != null);
-    events.addAll(newOccurrences);
-    recurringMap.put(eventName, updatedEvent);
+    if (!batchOpen && firstClash(updatedEvent, 0, (existing, occurrence) ->
+            !existing.getSubject().equals(eventName)
+                    && ConflictChecker.hasConflict(existing, occurrence)) != Long.MAX_VALUE) {
+      return false;
+    }
+    List<SingleEvent> added = new ArrayList<>();
+    for (SingleEvent newOccurrence : newOccurrences) {
+      List<ICalendarEvent> same = oldOccurrences.get(occurrenceKey(newOccurrence));
+      if (same != null && !same.isEmpty()) {
+        same.remove(same.size() - 1);
+      } else {
+        added.add(newOccurrence);
+      }
+    }
+    List<ICalendarEvent> removed = new ArrayList<>();
+    for (List<ICalendarEvent> unmatched : oldOccurrences.values()) {
+      removed.addAll(unmatched);
+    }
+    putRecurringRule(eventName, updatedEvent);
+    deleteEvents(removed);
+    insertEvents(added);
+    markChanged(added);
     return true;
   }
 
+  /**
+   * Cancels one occurrence of a recurring event. The cancellation is kept with the series,
+   * so later edits of the whole series do not bring the occurrence back. Only the occurrence
+   * on the given date is looked up; the rest of the series is not expanded.
+   *
+   * @param eventName the name of the recurring event
+   * @param date      the date the series gives the occurrence, even if it was moved since
+   * @return true if the occurrence was cancelled, false if the series has no current
+   *         occurrence on that date
+   */
+  @Override
+  public boolean cancelOccurrence(String eventName, LocalDate date) {
+    RecurringEvent series = recurringMap.get(eventName);
+    if (series == null || series.getCancelledDates().contains(date)) {
+      return false;
+    }
+    SingleEvent current = series.getOverrides().get(date);
+    if (current == null && series.getRule() != null) {
+      LocalDate first = series.getStartDateTime().toLocalDate();
+      long index = series.getRule().countBefore(first, date);
+      if (index < series.getOccurrenceCount()
+              && series.getRule().occurrence(first, index).equals(date)) {
+        current = series.getOccurrence(index, null);
+      }
+    }
+    if (current == null) {
+      return false;
+    }
+    thawIfSubjectArchived(current.getSubject());
+    List<Object> key = occurrenceKey(current);
+    for (ICalendarEvent event : events) {
+      if (event instanceof SingleEvent && key.equals(occurrenceKey(event))) {
+        deleteEvent(event);
+        break;
+      }
+    }
+    putRecurringRule(eventName, series.withCancelled(date));
+    return true;
+  }
+
+  /**
+   * Records edited occurrences of recurring series as replacing their occurrences, keyed by
+   * the date each occurrence was generated for, so that later edits of the whole series keep
+   * them. Events that are not occurrences of a series are left alone.
+   *
+   * @param before the events as they were before the edit
+   * @param after  the edited events, in the same order
+   */
+  private void recordOverrides(List<? extends ICalendarEvent> before,
+                               List<? extends ICalendarEvent> after) {
+    Map<String, Map<LocalDate, SingleEvent>> bySeries = new HashMap<>();
+    for (int i = 0; i < before.size(); i++) {
+      ICalendarEvent old = before.get(i);
+      if (!(old instanceof SingleEvent) || ((SingleEvent) old).getSeriesId() == null
+              || !(after.get(i) instanceof SingleEvent)) {
+        continue;
+      }
+      String seriesName = seriesOf((SingleEvent) old);
+      if (seriesName != null) {
+        LocalDate date = recurringMap.get(seriesName).originalDateOf((SingleEvent) old);
+        bySeries.computeIfAbsent(seriesName, k -> new HashMap<>())
+                .put(date, (SingleEvent) after.get(i));
+      }
+    }
+    for (Map.Entry<String, Map<LocalDate, SingleEvent>> entry : bySeries.entrySet()) {
+      putRecurringRule(entry.getKey(),
+              recurringMap.get(entry.getKey()).withOverrides(entry.getValue()));
+    }
+  }
+
+  /**
+   * Returns the name of the series an occurrence belongs to: the one of its subject, or the
+   * one it replaces an occurrence of, or null if no series holds it.
+   */
+  private String seriesOf(SingleEvent occurrence) {
+    RecurringEvent series = recurringMap.get(occurrence.getSubject());
+    if (series != null && series.originalDateOf(occurrence) != null) {
+      return occurrence.getSubject();
+    }
+    for (Map.Entry<String, RecurringEvent> entry : recurringMap.entrySet()) {
+      if (!entry.getValue().getOverrides().isEmpty()
+              && entry.getValue().originalDateOf(occurrence) != null) {
+        return entry.getKey();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns what tells occurrences apart when a series is edited: the subject, the start and
+   * end instants and the other properties of an event.
+   */
+  private static List<Object> occurrenceKey(ICalendarEvent event) {
+    return Arrays.asList(event.getSubject(), event.getStartDateTime().toInstant(),
+            event.getEndDateTime().toInstant(), event.getDescription(), event.getLocation(),
+            event.isPublic(), event.isAllDay());
+  }
+
+  private static Set<List<Object>> occurrenceKeys(Collection<? extends ICalendarEvent> events) {
+    Set<List<Object>> keys = new HashSet<>();
+    for (ICalendarEvent event : events) {
+      keys.add(occurrenceKey(event));
+    }
+    return keys;
+  }
+
+  /**
+   * Opens a batch on this calendar. While a batch is open, adds and edits are applied without
+   * the per-event conflict and duplicate scans; instead the whole batch is validated once by
+   * {@link #commitBatch()} using a single sorted sweep, and rolled back if it conflicts.
+   *
+   * @throws IllegalStateException if a batch is already open
+   */
+  public void beginBatch() {
+    checkAttached();
+    if (batchOpen) {
+      throw new IllegalStateException("A batch is already open on calendar: " + name);
+    }
+    batchEventsSnapshot = new ArrayList<>(events);
+    batchRecurringSnapshot = new HashMap<>(recurringMap);
+    batchTimezoneSnapshot = timezone;
+    batchChanged.clear();
+    batchOpen = true;
+  }
+
+  /**
+   * Validates every event added or modified since {@link #beginBatch()} against the rest of
+   * the calendar in one sorted sweep. If any of them conflicts with another event or is a
+   * duplicate, the calendar is restored to its state before the batch.
+   *
+   * @return true if the batch was applied, false if it was rolled back due to a conflict
+   * @throws IllegalStateException if no batch is open
+   */
+  public boolean commitBatch() {
+    if (!batchOpen) {
+      throw new IllegalStateException("No batch is open on calendar: " + name);
+    }
+    if (ConflictChecker.findConflictInvolving(events, batchChanged) != null) {
+      rollbackBatch();
+      return false;
+    }
+    List<Consumer<ICalendarChangeListener>> notifications = new ArrayList<>(batchNotifications);
+    closeBatch();
+    for (Consumer<ICalendarChangeListener> notification : notifications) {
+      notifyListeners(notification);
+    }
+    archiveIfDue();
+    return true;
+  }
+
+  /**
+   * Discards every change made since {@link #beginBatch()}.
+   *
+   * @throws IllegalStateException if no batch is open
+   */
+  public void rollbackBatch() {
+    if (!batchOpen) {
+      throw new IllegalStateException("No batch is open on calendar: " + name);
+    }
+    events.clear();
+    events.addAll(batchEventsSnapshot);
+    occupancy.invalidate();
+    recurringMap.clear();
+    recurringMap.putAll(batchRecurringSnapshot);
+    timezone = batchTimezoneSnapshot;
+    closeBatch();
+  }
+
+  /**
+   * Indicates whether a batch is currently open on this calendar.
+   *
+   * @return true if a batch is open, false otherwise
+   */
+  public boolean isBatchOpen() {
+    return batchOpen;
+  }
+
+  /**
+   * Marks this calendar as unloaded by its manager. The calendar has been written back to the
+   * store and is no longer tracked, so every later change to this instance is rejected rather
+   * than silently lost; the calendar has to be looked up again to change it.
+   */
+  void detach() {
+    detached = true;
+  }
+
+  /**
+   * Indicates whether this calendar was unloaded by its manager.
+   *
+   * @return true if the calendar no longer accepts changes
+   */
+  public boolean isDetached() {
+    return detached;
+  }
+
+  private void checkAttached() {
+    if (detached) {
+      throw new IllegalStateException("Calendar " + name
+              + " was unloaded from memory; look it up again to change it");
+    }
+  }
+
+  private void closeBatch() {
+    batchOpen = false;
+    batchEventsSnapshot = null;
+    batchRecurringSnapshot = null;
+    batchTimezoneSnapshot = null;
+    batchChanged.clear();
+    batchNotifications.clear();
+  }
+
+  /**
+   * Registers a listener that is told about every change applied to this calendar.
+   *
+   * @param listener the listener to add
+   */
+  public void addChangeListener(ICalendarChangeListener listener) {
+    if (!listeners.contains(listener)) {
+      listeners.add(listener);
+    }
+  }
+
+  /**
+   * Unregisters a previously added listener.
+   *
+   * @param listener the listener to remove
+   */
+  public void removeChangeListener(ICalendarChangeListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Adds an event as part of restoring persisted state. The event is neither validated nor
+   * reported to listeners.
+   *
+   * @param event the event to restore
+   */
+  void restoreEvent(ICalendarEvent event) {
+    checkAttached();
+    changeLog.reset();
+    events.add(event);
+    occupancy.add(event);
+  }
+
+  /**
+   * Removes the first event with the same subject, start and end as the given one, as part of
+   * restoring persisted state. The removal is not reported to listeners.
+   *
+   * @param event an event equal in subject, start and end to the one to remove
+   * @return true if a matching event was removed
+   */
+  boolean restoreRemoval(ICalendarEvent event) {
+    checkAttached();
+    changeLog.reset();
+    if (archivedEnd != null && event.getStartDateTime().toInstant().isBefore(archivedEnd)) {
+      thawArchive();
+    }
+    for (int i = 0; i < events.size(); i++) {
+      ICalendarEvent candidate = events.get(i);
+      if (candidate.getSubject().equals(event.getSubject())
+              && candidate.getStartDateTime().isEqual(event.getStartDateTime())
+              && candidate.getEndDateTime().isEqual(event.getEndDateTime())) {
+        occupancy.remove(events.remove(i));
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Stores a recurring rule as part of restoring persisted state, without notifying listeners.
+   *
+   * @param subject the subject the rule is stored under
+   * @param rule    the rule to store
+   */
+  void restoreRecurringRule(String subject, RecurringEvent rule) {
+    checkAttached();
+    changeLog.reset();
+    recurringMap.put(subject, rule);
+  }
+
+  /**
+   * Makes room for the given number of additional events, so that restoring a large calendar
+   * does not repeatedly grow the event list.
+   *
+   * @param additional the number of events about to be restored
+   */
+  void reserve(int additional) {
+    ((ArrayList<ICalendarEvent>) events).ensureCapacity(events.size() + additional);
+  }
+
+  /**
+   * Returns the number of events in this calendar without copying them.
+   *
+   * @return the number of events
+   */
+  int eventCount() {
+    return archivedCount + events.size();
+  }
+
+  /**
+   * Returns the recurring rules of this calendar, keyed by the subject they are stored under.
+   *
+   * @return an unmodifiable view of the recurring rules
+   */
+  Map<String, RecurringEvent> recurringRules() {
+    return Collections.unmodifiableMap(recurringMap);
+  }
+
+  /**
+   * Returns the sequence number of the latest change to this calendar's events.
+   *
+   * @return the current change sequence number
+   */
+  public long getChangeSequence() {
+    return changeLog.getSequence();
+  }
+
+  /**
+   * Returns the events added, changed and deleted after the given change sequence number.
+   * Changes are only remembered for a while, and restoring persisted state or changing the
+   * timezone starts the log over; a request reaching back further is answered with all events.
+   * Sequence numbers include an epoch chosen when the calendar is created or loaded, so a
+   * number taken before the calendar was last loaded from the store, a snapshot or the journal
+   * is also answered with all events.
+   *
+   * @param sequence the sequence number of the last change the caller has seen
+   * @return the net changes since then
+   */
+  @Override
+  public EventDelta getChangesSince(long sequence) {
+    return changeLog.changesSince(sequence, this::getEvents);
+  }
+
+  /**
+   * Moves every single event that ends at or before the cutoff into a new off-heap archive
+   * segment. Archived events are still returned by every query.
+   *
+   * @param cutoff the time before which events are archived
+   * @return the number of events archived
+   * @throws IllegalStateException if a batch is open
+   */
+  public int archiveBefore(ZonedDateTime cutoff) {
+    if (batchOpen) {
+      throw new IllegalStateException("Cannot archive while a batch is open on calendar: "
+              + name);
+    }
+    Instant limit = cutoff.toInstant();
+    List<SingleEvent> old = new ArrayList<>();
+    events.removeIf(e -> {
+      if (e instanceof SingleEvent && !e.getEndDateTime().toInstant().isAfter(limit)) {
+        old.add((SingleEvent) e);
+        return true;
+      }
+      return false;
+    });
+    eventsAtLastArchivePass = events.size();
+    if (old.isEmpty()) {
+      return 0;
+    }
+    occupancy.invalidate();
+    ArchiveSegment segment = ArchiveSegment.of(old);
+    archive.add(segment);
+    if (archive.size() > MAX_ARCHIVE_SEGMENTS) {
+      ArchiveSegment merged = ArchiveSegment.merge(archive);
+      archive.clear();
+      archive.add(merged);
+    }
+    archivedCount += old.size();
+    if (archivedEnd == null || segment.getEnd().isAfter(archivedEnd)) {
+      archivedEnd = segment.getEnd();
+    }
+    return old.size();
+  }
+
+  /**
+   * Sets how long after they end events are archived automatically. The check runs right away
+   * and then again each time several thousand events have been added.
+   *
+   * @param horizon the age at which events are archived, or null to stop archiving
+   */
+  public void setArchiveHorizon(Duration horizon) {
+    this.archiveHorizon = horizon;
+    if (horizon != null && !batchOpen) {
+      archiveBefore(ZonedDateTime.now(clock).minus(horizon));
+    }
+  }
+
+  /**
+   * Sets the clock used to decide which events are older than the archive horizon.
+   *
+   * @param clock the clock
+   */
+  public void setClock(Clock clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the number of events currently held in archive segments.
+   *
+   * @return the number of archived events
+   */
+  public int getArchivedEventCount() {
+    return archivedCount;
+  }
+
+  private void archiveIfDue() {
+    if (archiveHorizon != null && !batchOpen
+            && events.size() >= eventsAtLastArchivePass + ARCHIVE_CHECK_INTERVAL) {
+      archiveBefore(ZonedDateTime.now(clock).minus(archiveHorizon));
+    }
+  }
+
+  /**
+   * Brings every archived event back into the event list. Events brought back while a batch is
+   * open are kept if the batch is rolled back.
+   */
+  private void thawArchive() {
+    if (archive.isEmpty()) {
+      return;
+    }
+    List<SingleEvent> thawed = new ArrayList<>(archivedCount);
+    for (ArchiveSegment segment : archive) {
+      segment.forEach(thawed::add);
+    }
+    archive.clear();
+    archivedCount = 0;
+    archivedEnd = null;
+    events.addAll(thawed);
+    for (SingleEvent event : thawed) {
+      occupancy.add(event);
+    }
+    if (batchOpen) {
+      batchEventsSnapshot.addAll(thawed);
+    }
+  }
+
+  private void thawIfOverlapping(ICalendarEvent event) {
+    if (archivedEnd != null && event.getStartDateTime().toInstant().isBefore(archivedEnd)) {
+      thawArchive();
+    }
+  }
+
+  private void thawIfOverlapping(List<ICalendarEvent> added) {
+    for (ICalendarEvent event : added) {
+      thawIfOverlapping(event);
+    }
+  }
+
+  private void thawIfSubjectArchived(String subject) {
+    for (ArchiveSegment segment : archive) {
+      if (segment.containsSubject(subject)) {
+        thawArchive();
+        return;
+      }
+    }
+  }
+
+  private boolean containsIdentical(ICalendarEvent event) {
+    for (ICalendarEvent e : events) {
+      if (e == event) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the event in the list with the same subject, start and end as the given one, or the
+   * given event itself if there is none.
+   */
+  private ICalendarEvent findMatching(ICalendarEvent event) {
+    for (ICalendarEvent e : events) {
+      if (e.getSubject().equals(event.getSubject())
+              && e.getStartDateTime().isEqual(event.getStartDateTime())
+              && e.getEndDateTime().isEqual(event.getEndDateTime())) {
+        return e;
+      }
+    }
+    return event;
+  }
+
+  /**
+   * Returns the archived events whose local start or end date, or any date in between, is the
+   * given date.
+   */
+  private List<ReadOnlyCalendarEvent> archivedOnDate(LocalDate date) {
+    List<ReadOnlyCalendarEvent> result = new ArrayList<>();
+    if (archive.isEmpty()) {
+      return result;
+    }
+    Instant from = date.minusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    Instant to = date.plusDays(2).atStartOfDay(ZoneOffset.UTC).toInstant();
+    for (ArchiveSegment segment : archive) {
+      segment.forEachOverlapping(from, to, event -> {
+        if (!event.getStartDateTime().toLocalDate().isAfter(date)
+                && !event.getEndDateTime().toLocalDate().isBefore(date)) {
+          result.add(event);
+        }
+      });
+    }
+    return result;
+  }
+
+  private void insertEvent(ICalendarEvent event) {
+    checkAttached();
+    events.add(event);
+    occupancy.add(event);
+    String calendarName = name;
+    notifyListeners(l -> l.eventAdded(calendarName, event));
+  }
+
+  private void insertEvents(List<? extends ICalendarEvent> added) {
+    for (ICalendarEvent event : added) {
+      insertEvent(event);
+    }
+  }
+
+  private void deleteEvent(ICalendarEvent event) {
+    checkAttached();
+    if (events.remove(event)) {
+      occupancy.remove(event);
+      String calendarName = name;
+      notifyListeners(l -> l.eventRemoved(calendarName, event));
+    }
+  }
+
+  private void deleteEvents(Collection<? extends ICalendarEvent> removed) {
+    checkAttached();
+    Set<ICalendarEvent> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+    targets.addAll(removed);
+    events.removeIf(targets::contains);
+    String calendarName = name;
+    for (ICalendarEvent event : removed) {
+      occupancy.remove(event);
+      notifyListeners(l -> l.eventRemoved(calendarName, event));
+    }
+  }
+
+  private void putRecurringRule(String subject, RecurringEvent rule) {
+    checkAttached();
+    recurringMap.put(subject, rule);
+    String calendarName = name;
+    notifyListeners(l -> l.recurringRuleChanged(calendarName, subject, rule));
+  }
+
+  /**
+   * Reports a change to every listener, or holds it back until the open batch is committed.
+   */
+  private void notifyListeners(Consumer<ICalendarChangeListener> notification) {
+    if (batchOpen) {
+      batchNotifications.add(notification);
+      return;
+    }
+    for (ICalendarChangeListener listener : listeners) {
+      notification.accept(listener);
+    }
+  }
+
+  private void markChanged(ICalendarEvent event) {
+    if (batchOpen) {
+      batchChanged.add(event);
+    }
+  }
+
+  private void markChanged(List<? extends ICalendarEvent> changed) {
+    if (batchOpen) {
+      batchChanged.addAll(changed);
+    }
+  }
+
   /**
    * Determines if a given property is related to a recurring event.
    * This method checks if the specified property is one of the key attributes associated
@@ -578,7 +1662,7 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public List<ReadOnlyCalendarEvent> getReadOnlyEventsOnDate(LocalDate date) {
-    List<ReadOnlyCalendarEvent> result = new ArrayList<>();
+    List<ReadOnlyCalendarEvent> result = archivedOnDate(date);
     for (ICalendarEvent event : events) {
       LocalDate startDate = event.getStartDateTime().toLocalDate();
       LocalDate endDate = event.getEndDateTime().toLocalDate();
@@ -600,7 +1684,10 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public List<ReadOnlyCalendarEvent> getAllReadOnlyEvents() {
-    List<ReadOnlyCalendarEvent> readOnly = new ArrayList<>();
+    List<ReadOnlyCalendarEvent> readOnly = new ArrayList<>(archivedCount + events.size());
+    for (ArchiveSegment segment : archive) {
+      segment.forEach(readOnly::add);
+    }
     for (ICalendarEvent e : events) {
       if (e instanceof ReadOnlyCalendarEvent) {
         readOnly.add((ReadOnlyCalendarEvent) e);
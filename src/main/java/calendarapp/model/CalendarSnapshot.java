@@ -0,0 +1,651 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.RecurringEvent;
+import calendarapp.model.event.SingleEvent;
+import calendarapp.utils.BinaryCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Reads and writes compact binary snapshots of all calendars in a {@link CalendarManager}.
+ *
+ * <p>Every distinct string (names, subjects, descriptions, locations, zone ids and series ids)
+ * is stored once in a dictionary and referred to by index. Events are sorted by start time and
+ * stored as the difference from the previous event's start plus a duration, which keeps most
+ * times to one or two bytes. A recurring series whose occurrences are still exactly what its
+ * rule generates is stored as the rule alone and expanded again on load. A rule's cancelled and
+ * replaced occurrences are stored with it, so an edited series is still stored this way.
+ * Snapshots written before rules had exceptions can still be loaded.</p>
+ *
+ * <p>Loading memory-maps the file and rebuilds each calendar directly, without validating
+ * events again. A snapshot can also remember how far a {@link CalendarJournal} had got when it
+ * was written, so that only the newer part of the journal has to be replayed.</p>
+ */
+public class CalendarSnapshot {
+
+  private static final int MAGIC = 0x4341534E;
+  private static final int VERSION = 2;
+
+  private static final int PUBLIC_FLAG = 1;
+  private static final int ALL_DAY_FLAG = 2;
+  private static final int NANOS_FLAG = 4;
+  private static final int ZONE_FLAG = 8;
+
+  private static final Comparator<ICalendarEvent> BY_START_INSTANT =
+          Comparator.comparing(e -> e.getStartDateTime().toInstant());
+
+  private final long journalId;
+  private final long journalOffset;
+  private final int calendarCount;
+  private final int eventCount;
+
+  private CalendarSnapshot(long journalId, long journalOffset, int calendarCount,
+                           int eventCount) {
+    this.journalId = journalId;
+    this.journalOffset = journalOffset;
+    this.calendarCount = calendarCount;
+    this.eventCount = eventCount;
+  }
+
+  /**
+   * Returns the identifier of the journal the snapshot was taken against, or 0 if none.
+   *
+   * @return the journal identifier
+   */
+  public long getJournalId() {
+    return journalId;
+  }
+
+  /**
+   * Returns the journal offset up to which changes are included in the snapshot.
+   *
+   * @return the journal offset, or 0 if the snapshot was not taken against a journal
+   */
+  public long getJournalOffset() {
+    return journalOffset;
+  }
+
+  /**
+   * Returns the number of calendars in the snapshot.
+   *
+   * @return the number of calendars
+   */
+  public int getCalendarCount() {
+    return calendarCount;
+  }
+
+  /**
+   * Returns the number of events in the snapshot, including expanded recurring occurrences.
+   *
+   * @return the number of events
+   */
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Writes a snapshot of every calendar in the manager.
+   *
+   * @param manager the manager whose calendars are saved
+   * @param file    the file to write
+   * @return a description of the written snapshot
+   * @throws IOException if the file cannot be written
+   */
+  public static CalendarSnapshot write(CalendarManager manager, Path file) throws IOException {
+    return write(manager, file, 0, 0);
+  }
+
+  /**
+   * Writes a snapshot of every calendar in the manager, recording the journal position it
+   * corresponds to. The file is written next to the target and moved into place once complete,
+   * so an interrupted write never leaves a partial snapshot behind.
+   *
+   * @param manager       the manager whose calendars are saved
+   * @param file          the file to write
+   * @param journalId     the journal identifier, or 0 if there is no journal
+   * @param journalOffset the journal offset returned by {@link CalendarJournal#checkpoint()}
+   * @return a description of the written snapshot
+   * @throws IOException if the file cannot be written
+   */
+  public static CalendarSnapshot write(CalendarManager manager, Path file, long journalId,
+                                       long journalOffset) throws IOException {
+    List<CalendarModel> calendars = new ArrayList<>();
+    for (String name : manager.getCalendarNames()) {
+      ICalendarModel calendar = manager.getCalendar(name);
+      if (!(calendar instanceof CalendarModel)) {
+        throw new IOException("Cannot snapshot calendar: " + name);
+      }
+      calendars.add((CalendarModel) calendar);
+    }
+    return write(calendars, file, journalId, journalOffset);
+  }
+
+  /**
+   * Writes a single calendar to its own snapshot file.
+   *
+   * @param calendar the calendar to save
+   * @param file     the file to write
+   * @return a description of the written snapshot
+   * @throws IOException if the file cannot be written
+   */
+  public static CalendarSnapshot writeCalendar(CalendarModel calendar, Path file)
+          throws IOException {
+    return write(Collections.singletonList(calendar), file, 0, 0);
+  }
+
+  private static CalendarSnapshot write(List<CalendarModel> calendars, Path file,
+                                        long journalId, long journalOffset) throws IOException {
+    Dictionary dictionary = new Dictionary();
+    List<CalendarPlan> plans = new ArrayList<>();
+    int eventCount = 0;
+    for (CalendarModel calendar : calendars) {
+      CalendarPlan plan = new CalendarPlan(calendar, dictionary);
+      plans.add(plan);
+      eventCount += plan.eventCount;
+    }
+
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+              Channels.newOutputStream(channel), 64 * 1024));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeLong(journalId);
+      out.writeLong(journalOffset);
+      dictionary.writeTo(out);
+      BinaryCodec.writeVarInt(out, plans.size());
+      for (CalendarPlan plan : plans) {
+        plan.writeTo(out, dictionary);
+      }
+      out.flush();
+      channel.force(true);
+    }
+    try {
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+    return new CalendarSnapshot(journalId, journalOffset, plans.size(), eventCount);
+  }
+
+  /**
+   * Loads a snapshot into the manager. The calendars in the snapshot must not exist in the
+   * manager yet. The snapshot should be loaded before a journal is registered as a listener,
+   * so that the restored calendars are not recorded again.
+   *
+   * @param file    the snapshot file
+   * @param manager the manager to restore the calendars into
+   * @return a description of the loaded snapshot
+   * @throws IOException if the file cannot be read, is not a snapshot or is corrupt
+   */
+  public static CalendarSnapshot load(Path file, CalendarManager manager) throws IOException {
+    List<CalendarModel> calendars = new ArrayList<>();
+    CalendarSnapshot snapshot = load(file, calendars);
+    for (CalendarModel calendar : calendars) {
+      if (manager.getCalendar(calendar.getName()) != null) {
+        throw new IOException("Calendar already exists: " + calendar.getName());
+      }
+    }
+    for (CalendarModel calendar : calendars) {
+      manager.restoreCalendar(calendar);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Loads a snapshot file holding a single calendar, such as one written by
+   * {@link #writeCalendar(CalendarModel, Path)}.
+   *
+   * @param file the snapshot file
+   * @return the restored calendar
+   * @throws IOException if the file cannot be read, is corrupt or does not hold one calendar
+   */
+  public static CalendarModel loadCalendar(Path file) throws IOException {
+    List<CalendarModel> calendars = new ArrayList<>();
+    load(file, calendars);
+    if (calendars.size() != 1) {
+      throw new IOException("Not a single-calendar snapshot: " + file);
+    }
+    return calendars.get(0);
+  }
+
+  private static CalendarSnapshot load(Path file, List<CalendarModel> calendars)
+          throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      try {
+        return read(in, calendars);
+      } catch (BufferUnderflowException | IllegalStateException | IndexOutOfBoundsException e) {
+        throw new IOException("Corrupt snapshot: " + file, e);
+      }
+    }
+  }
+
+  private static CalendarSnapshot read(ByteBuffer in, List<CalendarModel> calendars)
+          throws IOException {
+    if (in.remaining() < 24 || in.getInt() != MAGIC) {
+      throw new IOException("Not a calendar snapshot");
+    }
+    int version = in.getInt();
+    if (version < 1 || version > VERSION) {
+      throw new IOException("Not a calendar snapshot");
+    }
+    long journalId = in.getLong();
+    long journalOffset = in.getLong();
+
+    int dictionarySize = BinaryCodec.readVarInt(in);
+    String[] strings = new String[dictionarySize + 1];
+    for (int i = 1; i <= dictionarySize; i++) {
+      strings[i] = BinaryCodec.readString(in);
+    }
+    ZoneId[] zones = new ZoneId[strings.length];
+
+    int calendarCount = BinaryCodec.readVarInt(in);
+    int eventCount = 0;
+    for (int c = 0; c < calendarCount; c++) {
+      String name = strings[BinaryCodec.readVarInt(in)];
+      ZoneId calendarZone = zone(in, strings, zones);
+      CalendarModel model = new CalendarModel(name, calendarZone);
+      calendars.add(model);
+
+      int ruleCount = BinaryCodec.readVarInt(in);
+      for (int r = 0; r < ruleCount; r++) {
+        String key = strings[BinaryCodec.readVarInt(in)];
+        String subject = strings[BinaryCodec.readVarInt(in)];
+        ZonedDateTime start = readTime(in, strings, zones);
+        ZonedDateTime end = readTime(in, strings, zones);
+        String weekdays = strings[BinaryCodec.readVarInt(in)];
+        int repeatCount = BinaryCodec.readVarInt(in);
+        ZonedDateTime repeatUntil = in.get() != 0 ? readTime(in, strings, zones) : null;
+        String description = strings[BinaryCodec.readVarInt(in)];
+        String location = strings[BinaryCodec.readVarInt(in)];
+        int flags = in.get();
+        String expandedSeries = strings[BinaryCodec.readVarInt(in)];
+
+        RecurringEvent rule = new RecurringEvent(subject, start, end, weekdays, repeatCount,
+                repeatUntil, description, location, (flags & PUBLIC_FLAG) != 0,
+                (flags & ALL_DAY_FLAG) != 0);
+        if (version >= 2) {
+          rule = readExceptions(in, rule, strings, zones);
+        }
+        model.restoreRecurringRule(key, rule);
+        if (expandedSeries != null) {
+          List<SingleEvent> occurrences = rule.generateOccurrences(expandedSeries);
+          model.reserve(occurrences.size());
+          for (SingleEvent occurrence : occurrences) {
+            model.restoreEvent(occurrence);
+          }
+          eventCount += occurrences.size();
+        }
+      }
+
+      int count = BinaryCodec.readVarInt(in);
+      model.reserve(count);
+      long previousStart = 0;
+      for (int e = 0; e < count; e++) {
+        long startSeconds = previousStart + BinaryCodec.readSignedVarLong(in);
+        long endSeconds = startSeconds + BinaryCodec.readSignedVarLong(in);
+        previousStart = startSeconds;
+        String subject = strings[BinaryCodec.readVarInt(in)];
+        String description = strings[BinaryCodec.readVarInt(in)];
+        String location = strings[BinaryCodec.readVarInt(in)];
+        String seriesId = strings[BinaryCodec.readVarInt(in)];
+        int flags = in.get();
+        int startNanos = 0;
+        int endNanos = 0;
+        if ((flags & NANOS_FLAG) != 0) {
+          startNanos = BinaryCodec.readVarInt(in);
+          endNanos = BinaryCodec.readVarInt(in);
+        }
+        ZoneId startZone = calendarZone;
+        ZoneId endZone = calendarZone;
+        if ((flags & ZONE_FLAG) != 0) {
+          startZone = zone(in, strings, zones);
+          endZone = zone(in, strings, zones);
+        }
+        model.restoreEvent(new SingleEvent(subject,
+                Instant.ofEpochSecond(startSeconds, startNanos).atZone(startZone),
+                Instant.ofEpochSecond(endSeconds, endNanos).atZone(endZone),
+                description, location, (flags & PUBLIC_FLAG) != 0,
+                (flags & ALL_DAY_FLAG) != 0, seriesId));
+      }
+      eventCount += count;
+    }
+    return new CalendarSnapshot(journalId, journalOffset, calendarCount, eventCount);
+  }
+
+  private static RecurringEvent readExceptions(ByteBuffer in, RecurringEvent rule,
+                                               String[] strings, ZoneId[] zones) {
+    SortedSet<LocalDate> cancelled = new TreeSet<>();
+    long previousDay = 0;
+    for (int i = BinaryCodec.readVarInt(in); i > 0; i--) {
+      previousDay += BinaryCodec.readSignedVarLong(in);
+      cancelled.add(LocalDate.ofEpochDay(previousDay));
+    }
+    SortedMap<LocalDate, SingleEvent> overrides = new TreeMap<>();
+    previousDay = 0;
+    for (int i = BinaryCodec.readVarInt(in); i > 0; i--) {
+      previousDay += BinaryCodec.readSignedVarLong(in);
+      String subject = strings[BinaryCodec.readVarInt(in)];
+      ZonedDateTime start = readTime(in, strings, zones);
+      ZonedDateTime end = readTime(in, strings, zones);
+      String description = strings[BinaryCodec.readVarInt(in)];
+      String location = strings[BinaryCodec.readVarInt(in)];
+      String seriesId = strings[BinaryCodec.readVarInt(in)];
+      int flags = in.get();
+      overrides.put(LocalDate.ofEpochDay(previousDay), new SingleEvent(subject, start, end,
+              description, location, (flags & PUBLIC_FLAG) != 0, (flags & ALL_DAY_FLAG) != 0,
+              seriesId));
+    }
+    if (cancelled.isEmpty() && overrides.isEmpty()) {
+      return rule;
+    }
+    return rule.withExceptions(cancelled, overrides);
+  }
+
+  private static ZoneId zone(ByteBuffer in, String[] strings, ZoneId[] zones) {
+    int index = BinaryCodec.readVarInt(in);
+    if (zones[index] == null) {
+      zones[index] = ZoneId.of(strings[index]);
+    }
+    return zones[index];
+  }
+
+  private static ZonedDateTime readTime(ByteBuffer in, String[] strings, ZoneId[] zones) {
+    long seconds = BinaryCodec.readSignedVarLong(in);
+    int nanos = BinaryCodec.readVarInt(in);
+    return Instant.ofEpochSecond(seconds, nanos).atZone(zone(in, strings, zones));
+  }
+
+  private static int flags(ICalendarEvent event) {
+    return (event.isPublic() ? PUBLIC_FLAG : 0) | (event.isAllDay() ? ALL_DAY_FLAG : 0);
+  }
+
+  /**
+   * Describes an event by everything that is stored about it except its series id, so that
+   * stored occurrences can be compared with those generated by a rule.
+   */
+  private static String signature(ICalendarEvent event) {
+    return event.getSubject() + '\u0000' + event.getStartDateTime() + '\u0000'
+            + event.getEndDateTime() + '\u0000' + event.getDescription() + '\u0000'
+            + event.getLocation() + '\u0000' + flags(event);
+  }
+
+  /**
+   * Assigns indexes to distinct strings in order of first use. Index 0 stands for null.
+   */
+  private static class Dictionary {
+    private final Map<String, Integer> indexes = new LinkedHashMap<>();
+
+    int add(String value) {
+      if (value == null) {
+        return 0;
+      }
+      Integer index = indexes.get(value);
+      if (index == null) {
+        index = indexes.size() + 1;
+        indexes.put(value, index);
+      }
+      return index;
+    }
+
+    int indexOf(String value) {
+      return value == null ? 0 : indexes.get(value);
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+      BinaryCodec.writeVarInt(out, indexes.size());
+      for (String value : indexes.keySet()) {
+        BinaryCodec.writeString(out, value);
+      }
+    }
+  }
+
+  /**
+   * The contents of one calendar prepared for writing: its rules, the series each rule can
+   * regenerate, and the remaining events sorted by start time.
+   */
+  private static class CalendarPlan {
+    private final CalendarModel calendar;
+    private final List<Map.Entry<String, RecurringEvent>> rules;
+    private final Map<String, String> expandedSeries = new HashMap<>();
+    private final List<ICalendarEvent> events = new ArrayList<>();
+    private final int eventCount;
+
+    CalendarPlan(CalendarModel calendar, Dictionary dictionary) {
+      this.calendar = calendar;
+      this.rules = new ArrayList<>(calendar.recurringRules().entrySet());
+      this.rules.sort(Map.Entry.comparingByKey());
+
+      Map<String, List<ICalendarEvent>> series = new HashMap<>();
+      List<ICalendarEvent> all = new ArrayList<>();
+      for (ReadOnlyCalendarEvent event : calendar.getEvents()) {
+        ICalendarEvent e = (ICalendarEvent) event;
+        all.add(e);
+        if (e instanceof SingleEvent && ((SingleEvent) e).getSeriesId() != null) {
+          series.computeIfAbsent(((SingleEvent) e).getSeriesId(), k -> new ArrayList<>())
+                  .add(e);
+        }
+      }
+
+      Set<ICalendarEvent> covered = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (Map.Entry<String, RecurringEvent> rule : rules) {
+        String seriesId = findGeneratedSeries(rule.getValue(), series);
+        if (seriesId != null) {
+          expandedSeries.put(rule.getKey(), seriesId);
+          covered.addAll(series.remove(seriesId));
+        }
+      }
+      for (ICalendarEvent event : all) {
+        if (!covered.contains(event)) {
+          events.add(event);
+        }
+      }
+      events.sort(BY_START_INSTANT);
+      eventCount = all.size();
+
+      dictionary.add(calendar.getName());
+      dictionary.add(calendar.getTimezone().getId());
+      for (Map.Entry<String, RecurringEvent> entry : rules) {
+        RecurringEvent rule = entry.getValue();
+        dictionary.add(entry.getKey());
+        dictionary.add(rule.getSubject());
+        dictionary.add(rule.getStartDateTime().getZone().getId());
+        dictionary.add(rule.getEndDateTime().getZone().getId());
+        dictionary.add(rule.getWeekdays());
+        if (rule.repeatUntil() != null) {
+          dictionary.add(rule.repeatUntil().getZone().getId());
+        }
+        dictionary.add(rule.getDescription());
+        dictionary.add(rule.getLocation());
+        dictionary.add(expandedSeries.get(entry.getKey()));
+        for (SingleEvent replacement : rule.getOverrides().values()) {
+          dictionary.add(replacement.getSubject());
+          dictionary.add(replacement.getStartDateTime().getZone().getId());
+          dictionary.add(replacement.getEndDateTime().getZone().getId());
+          dictionary.add(replacement.getDescription());
+          dictionary.add(replacement.getLocation());
+          dictionary.add(replacement.getSeriesId());
+        }
+      }
+      for (ICalendarEvent event : events) {
+        dictionary.add(event.getSubject());
+        dictionary.add(event.getDescription());
+        dictionary.add(event.getLocation());
+        dictionary.add(seriesIdOf(event));
+        if (hasOwnZones(event)) {
+          dictionary.add(event.getStartDateTime().getZone().getId());
+          dictionary.add(event.getEndDateTime().getZone().getId());
+        }
+      }
+    }
+
+    /**
+     * Returns the id of a stored series that holds exactly the occurrences the rule
+     * generates, or null if every candidate series was modified after being generated.
+     */
+    private static String findGeneratedSeries(RecurringEvent rule,
+                                              Map<String, List<ICalendarEvent>> series) {
+      List<SingleEvent> generated = rule.generateOccurrences("snapshot");
+      if (generated.isEmpty()) {
+        return null;
+      }
+      List<String> expected = null;
+      for (Map.Entry<String, List<ICalendarEvent>> candidate : series.entrySet()) {
+        List<ICalendarEvent> stored = candidate.getValue();
+        if (stored.size() != generated.size()
+                || !stored.get(0).getSubject().equals(rule.getSubject())) {
+          continue;
+        }
+        if (expected == null) {
+          expected = new ArrayList<>();
+          for (SingleEvent occurrence : generated) {
+            expected.add(signature(occurrence));
+          }
+          Collections.sort(expected);
+        }
+        List<String> actual = new ArrayList<>();
+        for (ICalendarEvent event : stored) {
+          actual.add(signature(event));
+        }
+        Collections.sort(actual);
+        if (actual.equals(expected)) {
+          return candidate.getKey();
+        }
+      }
+      return null;
+    }
+
+    private boolean hasOwnZones(ICalendarEvent event) {
+      ZoneId zone = calendar.getTimezone();
+      return !event.getStartDateTime().getZone().equals(zone)
+              || !event.getEndDateTime().getZone().equals(zone);
+    }
+
+    private static String seriesIdOf(ICalendarEvent event) {
+      return event instanceof SingleEvent ? ((SingleEvent) event).getSeriesId() : null;
+    }
+
+    void writeTo(DataOutputStream out, Dictionary dictionary) throws IOException {
+      BinaryCodec.writeVarInt(out, dictionary.indexOf(calendar.getName()));
+      BinaryCodec.writeVarInt(out, dictionary.indexOf(calendar.getTimezone().getId()));
+
+      BinaryCodec.writeVarInt(out, rules.size());
+      for (Map.Entry<String, RecurringEvent> entry : rules) {
+        RecurringEvent rule = entry.getValue();
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(entry.getKey()));
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(rule.getSubject()));
+        writeTime(out, rule.getStartDateTime(), dictionary);
+        writeTime(out, rule.getEndDateTime(), dictionary);
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(rule.getWeekdays()));
+        BinaryCodec.writeVarInt(out, rule.getRepeatCount());
+        out.writeBoolean(rule.repeatUntil() != null);
+        if (rule.repeatUntil() != null) {
+          writeTime(out, rule.repeatUntil(), dictionary);
+        }
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(rule.getDescription()));
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(rule.getLocation()));
+        out.writeByte(flags(rule));
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(expandedSeries.get(entry.getKey())));
+        writeExceptions(out, rule, dictionary);
+      }
+
+      BinaryCodec.writeVarInt(out, events.size());
+      long previousStart = 0;
+      for (ICalendarEvent event : events) {
+        Instant start = event.getStartDateTime().toInstant();
+        Instant end = event.getEndDateTime().toInstant();
+        BinaryCodec.writeSignedVarLong(out, start.getEpochSecond() - previousStart);
+        BinaryCodec.writeSignedVarLong(out, end.getEpochSecond() - start.getEpochSecond());
+        previousStart = start.getEpochSecond();
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(event.getSubject()));
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(event.getDescription()));
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(event.getLocation()));
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(seriesIdOf(event)));
+
+        boolean nanos = start.getNano() != 0 || end.getNano() != 0;
+        boolean ownZones = hasOwnZones(event);
+        out.writeByte(flags(event) | (nanos ? NANOS_FLAG : 0) | (ownZones ? ZONE_FLAG : 0));
+        if (nanos) {
+          BinaryCodec.writeVarInt(out, start.getNano());
+          BinaryCodec.writeVarInt(out, end.getNano());
+        }
+        if (ownZones) {
+          BinaryCodec.writeVarInt(out,
+                  dictionary.indexOf(event.getStartDateTime().getZone().getId()));
+          BinaryCodec.writeVarInt(out,
+                  dictionary.indexOf(event.getEndDateTime().getZone().getId()));
+        }
+      }
+    }
+
+    /**
+     * Writes the cancelled and replaced occurrences of a rule, with each date stored as the
+     * number of days since the one before it.
+     */
+    private static void writeExceptions(DataOutputStream out, RecurringEvent rule,
+                                        Dictionary dictionary) throws IOException {
+      BinaryCodec.writeVarInt(out, rule.getCancelledDates().size());
+      long previousDay = 0;
+      for (LocalDate date : rule.getCancelledDates()) {
+        BinaryCodec.writeSignedVarLong(out, date.toEpochDay() - previousDay);
+        previousDay = date.toEpochDay();
+      }
+      BinaryCodec.writeVarInt(out, rule.getOverrides().size());
+      previousDay = 0;
+      for (Map.Entry<LocalDate, SingleEvent> entry : rule.getOverrides().entrySet()) {
+        SingleEvent replacement = entry.getValue();
+        BinaryCodec.writeSignedVarLong(out, entry.getKey().toEpochDay() - previousDay);
+        previousDay = entry.getKey().toEpochDay();
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(replacement.getSubject()));
+        writeTime(out, replacement.getStartDateTime(), dictionary);
+        writeTime(out, replacement.getEndDateTime(), dictionary);
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(replacement.getDescription()));
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(replacement.getLocation()));
+        BinaryCodec.writeVarInt(out, dictionary.indexOf(replacement.getSeriesId()));
+        out.writeByte(flags(replacement));
+      }
+    }
+
+    private static void writeTime(DataOutputStream out, ZonedDateTime time,
+                                  Dictionary dictionary) throws IOException {
+      Instant instant = time.toInstant();
+      BinaryCodec.writeSignedVarLong(out, instant.getEpochSecond());
+      BinaryCodec.writeVarInt(out, instant.getNano());
+      BinaryCodec.writeVarInt(out, dictionary.indexOf(time.getZone().getId()));
+    }
+  }
+}
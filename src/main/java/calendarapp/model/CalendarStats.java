@@ -0,0 +1,281 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Utilization statistics of a calendar over a range: busy time per day, week and month, the
+ * longest free block, the number of events by weekday and by hour, and the time booked at
+ * each location.
+ *
+ * <p>The events of the range are read once. The histograms and the location totals are
+ * collected with parallel streams, and the clipped event spans are sorted in parallel and
+ * merged in one pass, so overlapping events are not counted twice in busy time. Days, weeks,
+ * weekdays and hours are those of the calendar's timezone; weeks start on Monday.</p>
+ */
+public final class CalendarStats {
+
+  private final ZonedDateTime from;
+  private final ZonedDateTime to;
+  private final int eventCount;
+  private final Duration busyTime;
+  private final SortedMap<LocalDate, Duration> busyByDay;
+  private final SortedMap<LocalDate, Duration> busyByWeek;
+  private final SortedMap<YearMonth, Duration> busyByMonth;
+  private final TimeSlot longestFreeBlock;
+  private final Map<DayOfWeek, Long> eventsByWeekday;
+  private final SortedMap<Integer, Long> eventsByHour;
+  private final SortedMap<String, Duration> busyByLocation;
+
+  private CalendarStats(ZonedDateTime from, ZonedDateTime to, int eventCount, Duration busyTime,
+                        SortedMap<LocalDate, Duration> busyByDay, TimeSlot longestFreeBlock,
+                        Map<DayOfWeek, Long> eventsByWeekday,
+                        SortedMap<Integer, Long> eventsByHour,
+                        SortedMap<String, Duration> busyByLocation) {
+    this.from = from;
+    this.to = to;
+    this.eventCount = eventCount;
+    this.busyTime = busyTime;
+    this.busyByDay = Collections.unmodifiableSortedMap(busyByDay);
+    SortedMap<LocalDate, Duration> weeks = new TreeMap<>();
+    SortedMap<YearMonth, Duration> months = new TreeMap<>();
+    for (Map.Entry<LocalDate, Duration> day : busyByDay.entrySet()) {
+      weeks.merge(day.getKey().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+              day.getValue(), Duration::plus);
+      months.merge(YearMonth.from(day.getKey()), day.getValue(), Duration::plus);
+    }
+    this.busyByWeek = Collections.unmodifiableSortedMap(weeks);
+    this.busyByMonth = Collections.unmodifiableSortedMap(months);
+    this.longestFreeBlock = longestFreeBlock;
+    this.eventsByWeekday = Collections.unmodifiableMap(eventsByWeekday);
+    this.eventsByHour = Collections.unmodifiableSortedMap(eventsByHour);
+    this.busyByLocation = Collections.unmodifiableSortedMap(busyByLocation);
+  }
+
+  /**
+   * Computes the statistics of a calendar's events that overlap a range. Busy time is the time
+   * within the range covered by at least one event.
+   *
+   * @param calendar the calendar to analyze
+   * @param from     the start of the range
+   * @param to       the exclusive end of the range
+   * @return the statistics
+   * @throws IllegalArgumentException if the range is empty
+   */
+  public static CalendarStats compute(ICalendarModel calendar, ZonedDateTime from,
+                                      ZonedDateTime to) {
+    if (!to.isAfter(from)) {
+      throw new IllegalArgumentException("The end of the range must be after its start");
+    }
+    ZoneId zone = calendar.getTimezone();
+    List<ReadOnlyCalendarEvent> events = calendar.getEventsBetween(from, to);
+    if (events == null) {
+      events = Collections.emptyList();
+    }
+    long rangeStart = from.toInstant().toEpochMilli();
+    long rangeEnd = to.toInstant().toEpochMilli();
+
+    Map<DayOfWeek, Long> byWeekday = new EnumMap<>(DayOfWeek.class);
+    for (DayOfWeek day : DayOfWeek.values()) {
+      byWeekday.put(day, 0L);
+    }
+    byWeekday.putAll(events.parallelStream().collect(Collectors.groupingBy(
+        e -> e.getStartDateTime().withZoneSameInstant(zone).getDayOfWeek(),
+        () -> new EnumMap<>(DayOfWeek.class), Collectors.counting())));
+    SortedMap<Integer, Long> byHour = events.parallelStream().collect(Collectors.groupingBy(
+        e -> e.getStartDateTime().withZoneSameInstant(zone).getHour(), TreeMap::new,
+        Collectors.counting()));
+    SortedMap<String, Duration> byLocation = events.parallelStream()
+            .filter(e -> e.getLocation() != null && !e.getLocation().trim().isEmpty())
+            .collect(Collectors.groupingBy(e -> e.getLocation().trim(), TreeMap::new,
+                Collectors.reducing(Duration.ZERO, e -> {
+                  long[] span = clip(e, rangeStart, rangeEnd);
+                  return Duration.ofMillis(Math.max(0, span[1] - span[0]));
+                }, Duration::plus)));
+
+    List<long[]> spans = events.parallelStream()
+            .map(e -> clip(e, rangeStart, rangeEnd))
+            .filter(span -> span[1] > span[0])
+            .sorted(Comparator.comparingLong(span -> span[0]))
+            .collect(Collectors.toList());
+
+    SortedMap<LocalDate, Duration> byDay = new TreeMap<>();
+    LocalDate lastDay = to.withZoneSameInstant(zone).minusNanos(1).toLocalDate();
+    for (LocalDate day = from.withZoneSameInstant(zone).toLocalDate(); !day.isAfter(lastDay);
+         day = day.plusDays(1)) {
+      byDay.put(day, Duration.ZERO);
+    }
+    long busy = 0;
+    long freeStart = rangeStart;
+    long longestStart = rangeStart;
+    long longestEnd = rangeStart;
+    int i = 0;
+    while (i < spans.size()) {
+      long start = spans.get(i)[0];
+      long end = spans.get(i)[1];
+      for (i++; i < spans.size() && spans.get(i)[0] <= end; i++) {
+        end = Math.max(end, spans.get(i)[1]);
+      }
+      if (start - freeStart > longestEnd - longestStart) {
+        longestStart = freeStart;
+        longestEnd = start;
+      }
+      freeStart = end;
+      busy += end - start;
+      addByDay(byDay, start, end, zone);
+    }
+    if (rangeEnd - freeStart > longestEnd - longestStart) {
+      longestStart = freeStart;
+      longestEnd = rangeEnd;
+    }
+    TimeSlot longest = new TimeSlot(at(longestStart, zone), at(longestEnd, zone));
+    return new CalendarStats(from, to, events.size(), Duration.ofMillis(busy), byDay, longest,
+            byWeekday, byHour, byLocation);
+  }
+
+  /**
+   * Returns the part of an event within the range as epoch milliseconds, start first.
+   */
+  private static long[] clip(ReadOnlyCalendarEvent event, long rangeStart, long rangeEnd) {
+    long start = event.getStartDateTime().toInstant().toEpochMilli();
+    long end = event.getEndDateTime().toInstant().toEpochMilli();
+    return new long[]{Math.max(start, rangeStart), Math.min(end, rangeEnd)};
+  }
+
+  /**
+   * Adds a busy span to the days it covers, splitting it at local midnights.
+   */
+  private static void addByDay(SortedMap<LocalDate, Duration> byDay, long start, long end,
+                               ZoneId zone) {
+    ZonedDateTime current = at(start, zone);
+    ZonedDateTime last = at(end, zone);
+    while (current.isBefore(last)) {
+      ZonedDateTime nextDay = current.toLocalDate().plusDays(1).atStartOfDay(zone);
+      ZonedDateTime until = nextDay.isBefore(last) ? nextDay : last;
+      byDay.merge(current.toLocalDate(), Duration.between(current, until), Duration::plus);
+      current = until;
+    }
+  }
+
+  private static ZonedDateTime at(long epochMilli, ZoneId zone) {
+    return Instant.ofEpochMilli(epochMilli).atZone(zone);
+  }
+
+  /**
+   * Returns the start of the analyzed range.
+   *
+   * @return the start of the range
+   */
+  public ZonedDateTime getFrom() {
+    return from;
+  }
+
+  /**
+   * Returns the exclusive end of the analyzed range.
+   *
+   * @return the end of the range
+   */
+  public ZonedDateTime getTo() {
+    return to;
+  }
+
+  /**
+   * Returns the number of events that overlap the range.
+   *
+   * @return the number of events
+   */
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Returns the time within the range covered by at least one event.
+   *
+   * @return the total busy time
+   */
+  public Duration getBusyTime() {
+    return busyTime;
+  }
+
+  /**
+   * Returns the busy time of each local day the range touches, including free days.
+   *
+   * @return the busy time by day, in date order
+   */
+  public SortedMap<LocalDate, Duration> getBusyByDay() {
+    return busyByDay;
+  }
+
+  /**
+   * Returns the busy time of each week the range touches, keyed by the Monday of the week.
+   *
+   * @return the busy time by week, in date order
+   */
+  public SortedMap<LocalDate, Duration> getBusyByWeek() {
+    return busyByWeek;
+  }
+
+  /**
+   * Returns the busy time of each month the range touches.
+   *
+   * @return the busy time by month, in order
+   */
+  public SortedMap<YearMonth, Duration> getBusyByMonth() {
+    return busyByMonth;
+  }
+
+  /**
+   * Returns the longest span within the range not covered by any event, the earliest one if
+   * several are equally long. It is empty if the whole range is busy.
+   *
+   * @return the longest free block
+   */
+  public TimeSlot getLongestFreeBlock() {
+    return longestFreeBlock;
+  }
+
+  /**
+   * Returns the number of events starting on each day of the week, including days without
+   * events.
+   *
+   * @return the event count by weekday, from Monday to Sunday
+   */
+  public Map<DayOfWeek, Long> getEventsByWeekday() {
+    return eventsByWeekday;
+  }
+
+  /**
+   * Returns the number of events starting in each hour of the day, for hours with events.
+   *
+   * @return the event count by hour, from 0 to 23
+   */
+  public SortedMap<Integer, Long> getEventsByHour() {
+    return eventsByHour;
+  }
+
+  /**
+   * Returns the total time within the range booked at each location. Events without a
+   * location are left out, and events that overlap at one location are each counted.
+   *
+   * @return the booked time by location, in name order
+   */
+  public SortedMap<String, Duration> getBusyByLocation() {
+    return busyByLocation;
+  }
+}
@@ -0,0 +1,245 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.RecurringEvent;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one {@link CalendarSnapshot} file per calendar in a directory, so that a
+ * {@link CalendarManager} only has to hold the calendars that are in use.
+ *
+ * <p>The store remembers which loaded calendars changed since they were last written and
+ * counts how often a requested calendar was already in memory (a hit), had to be read from
+ * disk (a miss), or was written back and dropped to stay within the memory budget
+ * (an eviction).</p>
+ */
+public class CalendarStore {
+
+  private static final String EXTENSION = ".cal";
+  private static final long CALENDAR_BYTES = 1024;
+  private static final long EVENT_BYTES = 256;
+
+  private final Path directory;
+  private final long memoryBudget;
+  private final Set<CalendarModel> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Map<CalendarModel, DirtyTracker> trackers = new IdentityHashMap<>();
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Creates a store backed by the given directory, creating the directory if needed.
+   *
+   * @param directory    the directory holding the calendar files
+   * @param memoryBudget the approximate number of bytes loaded calendars may occupy
+   * @throws IOException              if the directory cannot be created
+   * @throws IllegalArgumentException if the budget is not positive
+   */
+  public CalendarStore(Path directory, long memoryBudget) throws IOException {
+    if (memoryBudget <= 0) {
+      throw new IllegalArgumentException("Memory budget must be positive: " + memoryBudget);
+    }
+    this.directory = Files.createDirectories(directory);
+    this.memoryBudget = memoryBudget;
+  }
+
+  /**
+   * Returns the approximate number of bytes loaded calendars may occupy.
+   *
+   * @return the memory budget in bytes
+   */
+  public long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  /**
+   * Returns how many calendar lookups found the calendar already loaded.
+   *
+   * @return the hit count
+   */
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  /**
+   * Returns how many calendar lookups had to read the calendar from disk.
+   *
+   * @return the miss count
+   */
+  public synchronized long getMissCount() {
+    return misses;
+  }
+
+  /**
+   * Returns how many calendars were written back and dropped from memory.
+   *
+   * @return the eviction count
+   */
+  public synchronized long getEvictionCount() {
+    return evictions;
+  }
+
+  /**
+   * Estimates how much memory a loaded calendar occupies.
+   *
+   * @param calendar the calendar
+   * @return the estimated size in bytes
+   */
+  static long estimateSize(CalendarModel calendar) {
+    return CALENDAR_BYTES + EVENT_BYTES * calendar.eventCount();
+  }
+
+  synchronized void recordHit() {
+    hits++;
+  }
+
+  /**
+   * Returns whether a file exists for the named calendar.
+   */
+  boolean contains(String name) {
+    return Files.exists(fileFor(name));
+  }
+
+  /**
+   * Returns the names of all calendars stored on disk.
+   */
+  Set<String> names() throws IOException {
+    Set<String> names = new TreeSet<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        String fileName = file.getFileName().toString();
+        if (fileName.endsWith(EXTENSION)) {
+          names.add(URLDecoder.decode(fileName.substring(0,
+                  fileName.length() - EXTENSION.length()), StandardCharsets.UTF_8));
+        }
+      }
+    }
+    return names;
+  }
+
+  /**
+   * Reads the named calendar from disk and starts tracking its changes.
+   *
+   * @return the calendar, or null if it is not stored
+   */
+  CalendarModel load(String name) throws IOException {
+    Path file = fileFor(name);
+    if (!Files.exists(file)) {
+      return null;
+    }
+    CalendarModel calendar = CalendarSnapshot.loadCalendar(file);
+    synchronized (this) {
+      misses++;
+    }
+    track(calendar, false);
+    return calendar;
+  }
+
+  /**
+   * Starts tracking changes to a calendar that is held in memory.
+   *
+   * @param calendar the calendar
+   * @param isNew    whether the calendar has never been written
+   */
+  void track(CalendarModel calendar, boolean isNew) {
+    if (isNew) {
+      markDirty(calendar);
+    }
+    DirtyTracker tracker = new DirtyTracker(calendar);
+    synchronized (this) {
+      trackers.put(calendar, tracker);
+    }
+    calendar.addChangeListener(tracker);
+  }
+
+  /**
+   * Writes a calendar back if it changed and stops tracking it.
+   */
+  void evict(CalendarModel calendar) throws IOException {
+    save(calendar);
+    DirtyTracker tracker;
+    synchronized (this) {
+      tracker = trackers.remove(calendar);
+      evictions++;
+    }
+    calendar.removeChangeListener(tracker);
+  }
+
+  /**
+   * Removes the file kept under a calendar's old name and marks it to be written under its
+   * new one.
+   */
+  void renamed(CalendarModel calendar, String oldName) throws IOException {
+    Files.deleteIfExists(fileFor(oldName));
+    markDirty(calendar);
+  }
+
+  /**
+   * Writes the calendar to its file if it changed since it was loaded or last written.
+   */
+  void save(CalendarModel calendar) throws IOException {
+    synchronized (this) {
+      if (!dirty.remove(calendar)) {
+        return;
+      }
+    }
+    try {
+      CalendarSnapshot.writeCalendar(calendar, fileFor(calendar.getName()));
+    } catch (IOException e) {
+      markDirty(calendar);
+      throw e;
+    }
+  }
+
+  private synchronized void markDirty(CalendarModel calendar) {
+    dirty.add(calendar);
+  }
+
+  private Path fileFor(String name) {
+    return directory.resolve(URLEncoder.encode(name, StandardCharsets.UTF_8) + EXTENSION);
+  }
+
+  /**
+   * Marks its calendar as changed whenever the calendar reports a change.
+   */
+  private class DirtyTracker implements ICalendarChangeListener {
+    private final CalendarModel calendar;
+
+    DirtyTracker(CalendarModel calendar) {
+      this.calendar = calendar;
+    }
+
+    @Override
+    public void timezoneChanged(String calendarName, ZoneId timezone) {
+      markDirty(calendar);
+    }
+
+    @Override
+    public void eventAdded(String calendarName, ICalendarEvent event) {
+      markDirty(calendar);
+    }
+
+    @Override
+    public void eventRemoved(String calendarName, ICalendarEvent event) {
+      markDirty(calendar);
+    }
+
+    @Override
+    public void recurringRuleChanged(String calendarName, String subject, RecurringEvent rule) {
+      markDirty(calendar);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Finds every pair of overlapping events among one or more calendars with a sweep line.
+ *
+ * <p>The events are sorted by start once. Sweeping them in that order, the events that have
+ * started but not yet ended are kept in a heap ordered by end; before an event is looked at,
+ * the events that ended by its start are removed, and every event left overlaps it. Each pair
+ * is handed to a listener as soon as it is found, so the audit takes O(n log n + k) time for
+ * n events and k overlapping pairs, and never holds more than the events in progress at one
+ * time.</p>
+ */
+public final class ConflictAudit {
+
+  /**
+   * Receives the overlapping pairs as the sweep finds them.
+   */
+  public interface Listener {
+    /**
+     * Called for each pair of overlapping events, the earlier-starting one first.
+     *
+     * @param firstCalendar  the index of the calendar of the first event
+     * @param first          the event that started first
+     * @param secondCalendar the index of the calendar of the second event
+     * @param second         the event that started second
+     */
+    void overlap(int firstCalendar, ReadOnlyCalendarEvent first, int secondCalendar,
+                 ReadOnlyCalendarEvent second);
+  }
+
+  private ConflictAudit() {
+  }
+
+  /**
+   * Sweeps the events of the calendars and reports every overlapping pair, by the same rule
+   * as {@link ConflictChecker#hasConflict}. Pairs within one calendar and across calendars are
+   * both reported.
+   *
+   * @param calendars the events of each calendar; the listener is given indexes into this list
+   * @param listener  the listener told about each overlapping pair
+   * @return the number of overlapping pairs found
+   */
+  public static long sweep(List<? extends List<? extends ReadOnlyCalendarEvent>> calendars,
+                           Listener listener) {
+    int total = 0;
+    for (List<? extends ReadOnlyCalendarEvent> events : calendars) {
+      total += events.size();
+    }
+    List<Entry> entries = new ArrayList<>(total);
+    for (int i = 0; i < calendars.size(); i++) {
+      for (ReadOnlyCalendarEvent event : calendars.get(i)) {
+        entries.add(new Entry(i, event));
+      }
+    }
+    entries.sort(Comparator.comparing((Entry e) -> e.start).thenComparing(e -> e.end));
+
+    PriorityQueue<Entry> inProgress = new PriorityQueue<>(Comparator.comparing(e -> e.end));
+    long pairs = 0;
+    for (Entry entry : entries) {
+      while (!inProgress.isEmpty() && !inProgress.peek().end.isAfter(entry.start)) {
+        inProgress.poll();
+      }
+      for (Entry earlier : inProgress) {
+        if (earlier.start.isBefore(entry.end)) {
+          listener.overlap(earlier.calendar, earlier.event, entry.calendar, entry.event);
+          pairs++;
+        }
+      }
+      if (entry.end.isAfter(entry.start)) {
+        inProgress.add(entry);
+      }
+    }
+    return pairs;
+  }
+
+  /**
+   * An event with its calendar and instants extracted once.
+   */
+  private static final class Entry {
+    private final int calendar;
+    private final ReadOnlyCalendarEvent event;
+    private final Instant start;
+    private final Instant end;
+
+    Entry(int calendar, ReadOnlyCalendarEvent event) {
+      this.calendar = calendar;
+      this.event = event;
+      this.start = event.getStartDateTime().toInstant();
+      this.end = event.getEndDateTime().toInstant();
+    }
+  }
+}
@@ -3,6 +3,11 @@ package calendarapp.model;
 import calendarapp.model.event.ICalendarEvent;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
 
 /**
  * This utility class provides a method to determine if two calendar events conflict.
@@ -67,4 +72,62 @@ public class ConflictChecker {
     }
     return false;
   }
+
+  /**
+   * Orders events by start instant, then end instant, then subject.
+   */
+  public static final Comparator<ICalendarEvent> BY_START =
+          Comparator.comparing((ICalendarEvent e) -> e.getStartDateTime().toInstant())
+                  .thenComparing(e -> e.getEndDateTime().toInstant())
+                  .thenComparing(ICalendarEvent::getSubject);
+
+  /**
+   * Finds a conflict or duplicate that involves at least one of the given changed events
+   * using a single sorted sweep over all events. Conflicts between two unchanged events are
+   * ignored, since they were already accepted by the calendar.
+   *
+   * @param events  all events in the calendar, including the changed ones
+   * @param changed the events that were added or modified and must be validated
+   * @return the first conflicting pair found, or null if the changed events are conflict-free
+   */
+  public static ICalendarEvent[] findConflictInvolving(Collection<ICalendarEvent> events,
+                                                       Set<ICalendarEvent> changed) {
+    if (changed.isEmpty()) {
+      return null;
+    }
+    List<ICalendarEvent> sorted = new ArrayList<>(events);
+    sorted.sort(BY_START);
+
+    ICalendarEvent previous = null;
+    ICalendarEvent latestAny = null;
+    ICalendarEvent latestChanged = null;
+    for (ICalendarEvent event : sorted) {
+      boolean isChanged = changed.contains(event);
+      if (previous != null && (isChanged || changed.contains(previous))
+              && isDuplicate(previous, event)) {
+        return new ICalendarEvent[]{previous, event};
+      }
+
+      ICalendarEvent candidate = isChanged ? latestAny : latestChanged;
+      if (candidate != null && hasConflict(candidate, event)) {
+        return new ICalendarEvent[]{candidate, event};
+      }
+
+      if (latestAny == null || event.getEndDateTime().isAfter(latestAny.getEndDateTime())) {
+        latestAny = event;
+      }
+      if (isChanged && (latestChanged == null
+              || event.getEndDateTime().isAfter(latestChanged.getEndDateTime()))) {
+        latestChanged = event;
+      }
+      previous = event;
+    }
+    return null;
+  }
+
+  private static boolean isDuplicate(ICalendarEvent e1, ICalendarEvent e2) {
+    return e1.getSubject().equals(e2.getSubject())
+            && e1.getStartDateTime().equals(e2.getStartDateTime())
+            && e1.getEndDateTime().equals(e2.getEndDateTime());
+  }
 }
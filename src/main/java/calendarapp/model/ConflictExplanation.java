@@ -0,0 +1,146 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Explains why an event cannot be placed at a time: the events it conflicts with, and the
+ * nearest times before and after it at which an event of the same length would fit.
+ *
+ * <p>The events that matter for each direction are collected in one pass into a heap, ordered
+ * by start for the search forward and by end for the search backward. Each search pops events
+ * outward from the requested time and stops at the first gap long enough, so only the events
+ * it passes over are taken in order, instead of trying the event at one time after another.
+ * </p>
+ */
+public class ConflictExplanation {
+
+  private static final Comparator<ReadOnlyCalendarEvent> BY_START =
+          Comparator.comparing(ReadOnlyCalendarEvent::getStartDateTime);
+  private static final Comparator<ReadOnlyCalendarEvent> BY_END_DESCENDING =
+          Comparator.comparing(ReadOnlyCalendarEvent::getEndDateTime).reversed();
+
+  private final List<ReadOnlyCalendarEvent> conflicts;
+  private final TimeSlot slotBefore;
+  private final TimeSlot slotAfter;
+
+  private ConflictExplanation(List<ReadOnlyCalendarEvent> conflicts, TimeSlot slotBefore,
+                              TimeSlot slotAfter) {
+    this.conflicts = Collections.unmodifiableList(conflicts);
+    this.slotBefore = slotBefore;
+    this.slotAfter = slotAfter;
+  }
+
+  /**
+   * Finds the events a span conflicts with and the nearest free slots of the same length.
+   *
+   * @param events the events of the calendar
+   * @param start  the requested start
+   * @param end    the requested end
+   * @return the explanation, with conflicts in start order
+   */
+  public static ConflictExplanation explain(List<? extends ReadOnlyCalendarEvent> events,
+                                            ZonedDateTime start, ZonedDateTime end) {
+    Duration length = Duration.between(start, end);
+    List<ReadOnlyCalendarEvent> conflicts = new ArrayList<>();
+    List<ReadOnlyCalendarEvent> later = new ArrayList<>();
+    List<ReadOnlyCalendarEvent> earlier = new ArrayList<>();
+    for (ReadOnlyCalendarEvent event : events) {
+      if (overlaps(event, start, end)) {
+        conflicts.add(event);
+      }
+      if (event.getEndDateTime().isAfter(start)) {
+        later.add(event);
+      }
+      if (event.getStartDateTime().isBefore(end)) {
+        earlier.add(event);
+      }
+    }
+    conflicts.sort(BY_START);
+    return new ConflictExplanation(conflicts, searchBackward(earlier, end, length),
+            searchForward(later, start, length));
+  }
+
+  /**
+   * Returns the earliest slot of the given length starting at or after {@code from}.
+   */
+  private static TimeSlot searchForward(List<ReadOnlyCalendarEvent> events, ZonedDateTime from,
+                                        Duration length) {
+    PriorityQueue<ReadOnlyCalendarEvent> byStart = new PriorityQueue<>(Math.max(1,
+            events.size()), BY_START);
+    byStart.addAll(events);
+    ZonedDateTime reached = from;
+    while (!byStart.isEmpty()) {
+      ReadOnlyCalendarEvent event = byStart.poll();
+      if (!reached.plus(length).isAfter(event.getStartDateTime())) {
+        break;
+      }
+      if (event.getEndDateTime().isAfter(reached)) {
+        reached = event.getEndDateTime();
+      }
+    }
+    return new TimeSlot(reached, reached.plus(length));
+  }
+
+  /**
+   * Returns the latest slot of the given length ending at or before {@code until}.
+   */
+  private static TimeSlot searchBackward(List<ReadOnlyCalendarEvent> events,
+                                         ZonedDateTime until, Duration length) {
+    PriorityQueue<ReadOnlyCalendarEvent> byEnd = new PriorityQueue<>(Math.max(1,
+            events.size()), BY_END_DESCENDING);
+    byEnd.addAll(events);
+    ZonedDateTime reached = until;
+    while (!byEnd.isEmpty()) {
+      ReadOnlyCalendarEvent event = byEnd.poll();
+      if (!reached.minus(length).isBefore(event.getEndDateTime())) {
+        break;
+      }
+      if (event.getStartDateTime().isBefore(reached)) {
+        reached = event.getStartDateTime();
+      }
+    }
+    return new TimeSlot(reached.minus(length), reached);
+  }
+
+  private static boolean overlaps(ReadOnlyCalendarEvent event, ZonedDateTime start,
+                                  ZonedDateTime end) {
+    return event.getStartDateTime().isBefore(end) && event.getEndDateTime().isAfter(start);
+  }
+
+  /**
+   * Returns the events the requested span conflicts with, in start order.
+   *
+   * @return the conflicting events, empty if the span is free
+   */
+  public List<ReadOnlyCalendarEvent> getConflicts() {
+    return conflicts;
+  }
+
+  /**
+   * Returns the latest free slot of the requested length that starts no later than the
+   * requested start.
+   *
+   * @return the nearest free slot before the requested time
+   */
+  public TimeSlot getSlotBefore() {
+    return slotBefore;
+  }
+
+  /**
+   * Returns the earliest free slot of the requested length that starts no earlier than the
+   * requested start.
+   *
+   * @return the nearest free slot after the requested time
+   */
+  public TimeSlot getSlotAfter() {
+    return slotAfter;
+  }
+}
@@ -0,0 +1,75 @@
+package calendarapp.model;
+
+/**
+ * The result of copying events into one target calendar: how many copies were added, and how
+ * many were skipped because they conflicted with an event or duplicated one.
+ */
+public class CopyOutcome {
+
+  private final ICalendarModel target;
+  private final int copied;
+  private final int conflicts;
+  private final int duplicates;
+
+  /**
+   * Creates the outcome of a copy into a calendar.
+   *
+   * @param target     the calendar the events were copied to
+   * @param copied     the number of copies added
+   * @param conflicts  the number of copies skipped because they conflicted
+   * @param duplicates the number of copies skipped because they duplicated an event
+   */
+  public CopyOutcome(ICalendarModel target, int copied, int conflicts, int duplicates) {
+    this.target = target;
+    this.copied = copied;
+    this.conflicts = conflicts;
+    this.duplicates = duplicates;
+  }
+
+  /**
+   * Returns the calendar the events were copied to.
+   *
+   * @return the target calendar
+   */
+  public ICalendarModel getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the number of copies added to the target calendar.
+   *
+   * @return the number of copied events
+   */
+  public int getCopied() {
+    return copied;
+  }
+
+  /**
+   * Returns the number of copies skipped because they conflicted with an event in the target
+   * calendar or with another copy.
+   *
+   * @return the number of conflicting copies
+   */
+  public int getConflicts() {
+    return conflicts;
+  }
+
+  /**
+   * Returns the number of copies skipped because an event with the same subject, start and
+   * end was already in the target calendar or among the copies.
+   *
+   * @return the number of duplicate copies
+   */
+  public int getDuplicates() {
+    return duplicates;
+  }
+
+  /**
+   * Indicates whether every event was copied.
+   *
+   * @return true if no copy was skipped
+   */
+  public boolean isComplete() {
+    return conflicts == 0 && duplicates == 0;
+  }
+}
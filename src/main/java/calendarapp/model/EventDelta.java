@@ -0,0 +1,124 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The net changes to a calendar's events between two points of its change log.
+ *
+ * <p>A delta is either incremental, listing the events added, changed and deleted since the
+ * requested sequence number, or full, when the change log no longer reaches back that far. A
+ * full delta lists every event of the calendar as added, and a consumer should replace
+ * everything it holds with it.</p>
+ */
+public class EventDelta {
+
+  private final long since;
+  private final long sequence;
+  private final boolean full;
+  private final List<ReadOnlyCalendarEvent> added;
+  private final List<ReadOnlyCalendarEvent> changed;
+  private final List<ReadOnlyCalendarEvent> deleted;
+
+  /**
+   * Creates an incremental delta.
+   *
+   * @param since    the sequence number the delta starts after
+   * @param sequence the sequence number of the last change included
+   * @param added    the events that did not exist before
+   * @param changed  the new state of events that existed before and were modified
+   * @param deleted  the last state of events that no longer exist
+   */
+  public EventDelta(long since, long sequence, List<ReadOnlyCalendarEvent> added,
+                    List<ReadOnlyCalendarEvent> changed, List<ReadOnlyCalendarEvent> deleted) {
+    this(since, sequence, false, added, changed, deleted);
+  }
+
+  private EventDelta(long since, long sequence, boolean full, List<ReadOnlyCalendarEvent> added,
+                     List<ReadOnlyCalendarEvent> changed, List<ReadOnlyCalendarEvent> deleted) {
+    this.since = since;
+    this.sequence = sequence;
+    this.full = full;
+    this.added = Collections.unmodifiableList(added);
+    this.changed = Collections.unmodifiableList(changed);
+    this.deleted = Collections.unmodifiableList(deleted);
+  }
+
+  /**
+   * Creates a full delta holding every event of a calendar.
+   *
+   * @param since    the sequence number that was requested
+   * @param sequence the current sequence number of the calendar
+   * @param events   all events of the calendar
+   * @return the delta
+   */
+  public static EventDelta full(long since, long sequence, List<ReadOnlyCalendarEvent> events) {
+    return new EventDelta(since, sequence, true, events, Collections.emptyList(),
+            Collections.emptyList());
+  }
+
+  /**
+   * Returns the sequence number the delta was requested from.
+   *
+   * @return the starting sequence number
+   */
+  public long getSince() {
+    return since;
+  }
+
+  /**
+   * Returns the sequence number to request the next delta from.
+   *
+   * @return the high-water mark of the change log
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Indicates whether the delta holds every event rather than only the changes.
+   *
+   * @return true for a full delta
+   */
+  public boolean isFull() {
+    return full;
+  }
+
+  /**
+   * Returns the added events, or every event for a full delta.
+   *
+   * @return the added events
+   */
+  public List<ReadOnlyCalendarEvent> getAdded() {
+    return added;
+  }
+
+  /**
+   * Returns the new state of modified events.
+   *
+   * @return the changed events
+   */
+  public List<ReadOnlyCalendarEvent> getChanged() {
+    return changed;
+  }
+
+  /**
+   * Returns the last state of deleted events.
+   *
+   * @return the deleted events
+   */
+  public List<ReadOnlyCalendarEvent> getDeleted() {
+    return deleted;
+  }
+
+  /**
+   * Indicates whether the delta lists no events at all.
+   *
+   * @return true if nothing was added, changed or deleted
+   */
+  public boolean isEmpty() {
+    return added.isEmpty() && changed.isEmpty() && deleted.isEmpty();
+  }
+}
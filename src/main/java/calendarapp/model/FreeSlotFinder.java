@@ -0,0 +1,138 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Finds the windows of time in which none of several calendars has an event.
+ *
+ * <p>Each calendar's events in the searched range are sorted once into arrays of start and end
+ * times. The calendars are then merged k ways with a priority queue holding one cursor per
+ * calendar, so the busy intervals of all calendars are visited in start order while tracking
+ * how far the union of them reaches. Every gap of at least the requested length is a common
+ * free window. The merge stops as soon as enough windows are found, so the cost is O(n log n)
+ * for sorting plus O(m log k) for the m intervals before the last window found.</p>
+ *
+ * <p>Times are compared in milliseconds, rounding starts down and ends up, so a window never
+ * overlaps an event.</p>
+ */
+public final class FreeSlotFinder {
+
+  private FreeSlotFinder() {
+  }
+
+  /**
+   * Returns the earliest windows in which every calendar is free for at least the duration.
+   *
+   * @param calendars the calendars that must all be free
+   * @param from      the start of the searched range
+   * @param to        the end of the searched range
+   * @param duration  the minimum length of a window
+   * @param limit     the maximum number of windows to return
+   * @return the free windows in start order, in the timezone of {@code from}
+   * @throws IllegalArgumentException if the range is empty, or the duration or limit is not
+   *                                  positive
+   */
+  public static List<TimeSlot> find(List<? extends ICalendarModel> calendars,
+                                    ZonedDateTime from, ZonedDateTime to, Duration duration,
+                                    int limit) {
+    if (!to.isAfter(from)) {
+      throw new IllegalArgumentException("The end of the range must be after its start");
+    }
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("Duration must be positive");
+    }
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Number of slots must be positive");
+    }
+
+    PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(1, calendars.size()),
+            Comparator.comparingLong(Cursor::start));
+    for (ICalendarModel calendar : calendars) {
+      Cursor cursor = new Cursor(calendar.getEventsBetween(from, to));
+      if (cursor.hasCurrent()) {
+        queue.add(cursor);
+      }
+    }
+
+    long length = duration.toMillis() + (duration.toNanos() % 1_000_000 == 0 ? 0 : 1);
+    long end = to.toInstant().toEpochMilli();
+    long reached = ceilMillis(from.toInstant());
+    List<TimeSlot> slots = new ArrayList<>(Math.min(limit, 64));
+    while (!queue.isEmpty() && slots.size() < limit && reached < end) {
+      Cursor cursor = queue.poll();
+      long start = Math.min(cursor.start(), end);
+      if (start - reached >= length) {
+        slots.add(slot(from, reached, start));
+      }
+      reached = Math.max(reached, cursor.end());
+      if (cursor.advance()) {
+        queue.add(cursor);
+      }
+    }
+    if (slots.size() < limit && end - reached >= length) {
+      slots.add(slot(from, reached, end));
+    }
+    return slots;
+  }
+
+  private static TimeSlot slot(ZonedDateTime zoneOf, long start, long end) {
+    return new TimeSlot(Instant.ofEpochMilli(start).atZone(zoneOf.getZone()),
+            Instant.ofEpochMilli(end).atZone(zoneOf.getZone()));
+  }
+
+  private static long ceilMillis(Instant instant) {
+    long millis = instant.toEpochMilli();
+    return instant.getNano() % 1_000_000 == 0 ? millis : millis + 1;
+  }
+
+  /**
+   * The busy intervals of one calendar in start order, and the position of the next one.
+   */
+  private static final class Cursor {
+    private final long[] starts;
+    private final long[] ends;
+    private int position;
+
+    Cursor(List<ReadOnlyCalendarEvent> events) {
+      List<ReadOnlyCalendarEvent> busy = new ArrayList<>(events.size());
+      for (ReadOnlyCalendarEvent event : events) {
+        if (event.getEndDateTime().isAfter(event.getStartDateTime())) {
+          busy.add(event);
+        }
+      }
+      busy.sort(Comparator.comparing(ReadOnlyCalendarEvent::getStartDateTime));
+      starts = new long[busy.size()];
+      ends = new long[busy.size()];
+      for (int i = 0; i < starts.length; i++) {
+        ReadOnlyCalendarEvent event = busy.get(i);
+        starts[i] = event.getStartDateTime().toInstant().toEpochMilli();
+        ends[i] = ceilMillis(event.getEndDateTime().toInstant());
+      }
+    }
+
+    boolean hasCurrent() {
+      return position < starts.length;
+    }
+
+    long start() {
+      return starts[position];
+    }
+
+    long end() {
+      return ends[position];
+    }
+
+    boolean advance() {
+      position++;
+      return hasCurrent();
+    }
+  }
+}
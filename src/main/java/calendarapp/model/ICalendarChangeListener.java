@@ -0,0 +1,81 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.RecurringEvent;
+
+import java.time.ZoneId;
+
+/**
+ * Receives the changes applied to calendars. Calendar models report every event added to or
+ * removed from them, changes to their recurring rules and timezone changes, and the calendar
+ * manager reports calendars being added or renamed. Edits are reported as the removal of the
+ * old event followed by the addition of the new one.
+ *
+ * <p>Changes made inside a batch are only reported once the batch is committed, and are not
+ * reported at all if it is rolled back. All methods do nothing by default.</p>
+ */
+public interface ICalendarChangeListener {
+
+  /**
+   * Called after a calendar has been added.
+   *
+   * @param calendarName the name of the new calendar
+   * @param timezone     the timezone of the new calendar
+   */
+  default void calendarAdded(String calendarName, ZoneId timezone) {
+    return;
+  }
+
+  /**
+   * Called after a calendar has been renamed.
+   *
+   * @param oldName the previous name of the calendar
+   * @param newName the new name of the calendar
+   */
+  default void calendarRenamed(String oldName, String newName) {
+    return;
+  }
+
+  /**
+   * Called after a calendar has been moved to another timezone, which also converts its
+   * events and regenerates its recurring series.
+   *
+   * @param calendarName the name of the calendar
+   * @param timezone     the new timezone
+   */
+  default void timezoneChanged(String calendarName, ZoneId timezone) {
+    return;
+  }
+
+  /**
+   * Called after an event has been added to a calendar.
+   *
+   * @param calendarName the name of the calendar
+   * @param event        the event that was added
+   */
+  default void eventAdded(String calendarName, ICalendarEvent event) {
+    return;
+  }
+
+  /**
+   * Called after an event has been removed from a calendar.
+   *
+   * @param calendarName the name of the calendar
+   * @param event        the event that was removed
+   */
+  default void eventRemoved(String calendarName, ICalendarEvent event) {
+    return;
+  }
+
+  /**
+   * Called after the recurring rule stored for a subject has been set or replaced. When a
+   * series is added or edited, its rule is reported before the occurrences added for it.
+   *
+   * @param calendarName the name of the calendar
+   * @param subject      the subject the rule is stored under
+   * @param rule         the new rule
+   */
+  default void recurringRuleChanged(String calendarName, String subject, RecurringEvent rule) {
+    return;
+  }
+}
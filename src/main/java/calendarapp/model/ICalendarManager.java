@@ -1,6 +1,11 @@
 package calendarapp.model;
 
+import java.time.Duration;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * The ICalendarManager interface defines methods for managing multiple calendars.
@@ -53,4 +58,42 @@ public interface ICalendarManager {
    */
   public ICalendarModel getCalendar(String name);
 
+  /**
+   * Runs an action while keeping every calendar it retrieves in memory, so that calendars the
+   * action holds are not unloaded before it finishes. Managers that never unload calendars
+   * simply run the action.
+   *
+   * @param action the action to run
+   * @param <T>    the result type of the action
+   * @return the result of the action
+   */
+  default <T> T withCalendarsPinned(Supplier<T> action) {
+    return action.get();
+  }
+
+  /**
+   * Returns the earliest windows between two times in which all of the named calendars are
+   * free for at least the given duration.
+   *
+   * @param calendarNames the calendars that must all be free
+   * @param from          the start of the searched range
+   * @param to            the end of the searched range
+   * @param duration      the minimum length of a window
+   * @param limit         the maximum number of windows to return
+   * @return the free windows in start order
+   * @throws IllegalArgumentException if a calendar does not exist or the arguments are invalid
+   * @see FreeSlotFinder
+   */
+  default List<TimeSlot> findFreeSlots(List<String> calendarNames, ZonedDateTime from,
+                                       ZonedDateTime to, Duration duration, int limit) {
+    List<ICalendarModel> calendars = new ArrayList<>(calendarNames.size());
+    for (String name : calendarNames) {
+      ICalendarModel calendar = getCalendar(name);
+      if (calendar == null) {
+        throw new IllegalArgumentException("Calendar not found: " + name);
+      }
+      calendars.add(calendar);
+    }
+    return FreeSlotFinder.find(calendars, from, to, duration, limit);
+  }
 }
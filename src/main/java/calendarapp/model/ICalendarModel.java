@@ -36,6 +36,27 @@ public interface ICalendarModel {
    */
   public boolean addRecurringEvent(RecurringEvent recurringEvent, boolean autoDecline);
 
+  /**
+   * Adds several events at once; recurring events among them are added as series. Models
+   * that support batches check the events together instead of one by one. Others add them
+   * one at a time and leave out the ones that conflict.
+   *
+   * @param events          the events to add
+   * @param skipConflicting if true and the events conflict, they are added one at a time so
+   *                        only the conflicting ones are left out; if false, nothing is added
+   * @return the number of events added
+   */
+  default int addEvents(List<? extends ICalendarEvent> events, boolean skipConflicting) {
+    int added = 0;
+    for (ICalendarEvent event : events) {
+      if (event instanceof RecurringEvent ? addRecurringEvent((RecurringEvent) event, true)
+              : addEvent(event, true)) {
+        added++;
+      }
+    }
+    return added;
+  }
+
   /**
    * Retrieves all calendar events.
    *
@@ -68,6 +89,39 @@ public interface ICalendarModel {
    */
   public boolean isBusyAt(ZonedDateTime dateTime);
 
+  /**
+   * Checks whether any event overlaps the given range, that is, starts before its end and ends
+   * after its start. An empty range is never busy.
+   *
+   * @param start the start of the range
+   * @param end   the end of the range
+   * @return true if the calendar is busy at some point in the range, false otherwise
+   */
+  default boolean isBusyBetween(ZonedDateTime start, ZonedDateTime end) {
+    if (!start.isBefore(end)) {
+      return false;
+    }
+    for (ReadOnlyCalendarEvent event : getEventsBetween(start, end)) {
+      if (event.getStartDateTime().isBefore(end) && event.getEndDateTime().isAfter(start)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Explains why an event cannot be placed at the given time: the events it would conflict
+   * with, and the nearest free slots of the same length before and after it.
+   *
+   * @param start the requested start
+   * @param end   the requested end
+   * @return the conflicting events and the nearest free slots
+   */
+  default ConflictExplanation explainConflict(ZonedDateTime start, ZonedDateTime end) {
+    List<ReadOnlyCalendarEvent> events = getEvents();
+    return ConflictExplanation.explain(events == null ? List.of() : events, start, end);
+  }
+
   /**
    * Edits an existing calendar event by replacing it with a new event.
    *
@@ -205,4 +259,26 @@ public interface ICalendarModel {
    */
   public List<ReadOnlyCalendarEvent> getAllReadOnlyEvents();
 
-}
\ No newline at end of file
+  /**
+   * Cancels one occurrence of a recurring event, keeping the rest of the series. Models that
+   * keep no recurring rules cancel nothing.
+   *
+   * @param eventName the name of the recurring event
+   * @param date      the date the series gives the occurrence
+   * @return true if the occurrence was cancelled, false otherwise
+   */
+  default boolean cancelOccurrence(String eventName, LocalDate date) {
+    return false;
+  }
+
+  /**
+   * Returns the events added, changed and deleted after the given change sequence number.
+   * Models that keep no change log return every event as a full delta.
+   *
+   * @param sequence the sequence number of the last change the caller has seen
+   * @return the net changes since then
+   */
+  default EventDelta getChangesSince(long sequence) {
+    return EventDelta.full(sequence, 0, getEvents());
+  }
+}
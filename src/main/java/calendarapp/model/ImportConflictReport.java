@@ -0,0 +1,281 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Describes which events of a file would be duplicates or conflicts if they were imported into
+ * a calendar, without touching the calendar.
+ *
+ * <p>The existing and candidate events are sorted together once and swept in start order. The
+ * sweep keeps the latest-ending existing and candidate events seen so far, which tells whether
+ * a new candidate overlaps anything, and a queue of the candidates not yet known to conflict,
+ * ordered by end. When an event starts, every queued candidate that has not ended overlaps it,
+ * so the queue is emptied; each candidate is therefore queued and removed at most once, and
+ * the whole analysis takes O(n log n) time.</p>
+ */
+public class ImportConflictReport {
+
+  /**
+   * Why a candidate event would not be imported as is, from most to least severe.
+   */
+  public enum Status {
+    /**
+     * The event has the same subject, start and end as an existing event, or as an earlier
+     * event of the file.
+     */
+    DUPLICATE,
+    /**
+     * The event overlaps an event already in the calendar.
+     */
+    CONFLICTS_WITH_CALENDAR,
+    /**
+     * The event overlaps another event of the same file.
+     */
+    CONFLICTS_WITHIN_FILE
+  }
+
+  /**
+   * One candidate event that would not be imported cleanly, and an event it clashes with.
+   */
+  public static final class Finding {
+    private final Status status;
+    private final ReadOnlyCalendarEvent event;
+    private final ReadOnlyCalendarEvent other;
+
+    Finding(Status status, ReadOnlyCalendarEvent event, ReadOnlyCalendarEvent other) {
+      this.status = status;
+      this.event = event;
+      this.other = other;
+    }
+
+    /**
+     * Returns why the event would not be imported cleanly.
+     *
+     * @return the status
+     */
+    public Status getStatus() {
+      return status;
+    }
+
+    /**
+     * Returns the candidate event from the file.
+     *
+     * @return the candidate event
+     */
+    public ReadOnlyCalendarEvent getEvent() {
+      return event;
+    }
+
+    /**
+     * Returns an event the candidate is a duplicate of or overlaps.
+     *
+     * @return the other event
+     */
+    public ReadOnlyCalendarEvent getOther() {
+      return other;
+    }
+  }
+
+  private final int candidateCount;
+  private final List<Finding> findings;
+  private final int[] counts = new int[Status.values().length];
+
+  private ImportConflictReport(int candidateCount, List<Finding> findings) {
+    this.candidateCount = candidateCount;
+    this.findings = Collections.unmodifiableList(findings);
+    for (Finding finding : findings) {
+      counts[finding.status.ordinal()]++;
+    }
+  }
+
+  /**
+   * Finds the duplicates and conflicts the candidate events would run into, against the
+   * existing events and against each other.
+   *
+   * @param existing   the events already in the calendar
+   * @param candidates the events that would be imported
+   * @return the report, with findings in start order
+   */
+  public static ImportConflictReport analyze(List<? extends ReadOnlyCalendarEvent> existing,
+                                             List<? extends ReadOnlyCalendarEvent> candidates) {
+    List<Entry> entries = new ArrayList<>(existing.size() + candidates.size());
+    for (ReadOnlyCalendarEvent event : existing) {
+      entries.add(new Entry(event, -1));
+    }
+    for (int i = 0; i < candidates.size(); i++) {
+      entries.add(new Entry(candidates.get(i), i));
+    }
+    entries.sort(Entry.ORDER);
+
+    Status[] status = new Status[candidates.size()];
+    ReadOnlyCalendarEvent[] other = new ReadOnlyCalendarEvent[candidates.size()];
+    PriorityQueue<Entry> pendingVsCalendar = new PriorityQueue<>(Entry.BY_END);
+    PriorityQueue<Entry> pendingVsFile = new PriorityQueue<>(Entry.BY_END);
+    Entry latestExisting = null;
+    Entry latestCandidate = null;
+    Entry runHead = null;
+
+    for (Entry entry : entries) {
+      if (runHead != null && runHead.isDuplicateOf(entry)) {
+        if (entry.isCandidate()) {
+          mark(status, other, entry.index, Status.DUPLICATE, runHead.event);
+        }
+      } else {
+        runHead = entry;
+      }
+
+      if (!entry.isCandidate()) {
+        for (Entry overlapped : drainOverlapping(pendingVsCalendar, entry)) {
+          mark(status, other, overlapped.index, Status.CONFLICTS_WITH_CALENDAR, entry.event);
+        }
+        if (latestExisting == null || entry.end.isAfter(latestExisting.end)) {
+          latestExisting = entry;
+        }
+        continue;
+      }
+
+      if (latestExisting != null && latestExisting.overlaps(entry)) {
+        mark(status, other, entry.index, Status.CONFLICTS_WITH_CALENDAR, latestExisting.event);
+      } else {
+        pendingVsCalendar.add(entry);
+      }
+      for (Entry overlapped : drainOverlapping(pendingVsFile, entry)) {
+        mark(status, other, overlapped.index, Status.CONFLICTS_WITHIN_FILE, entry.event);
+      }
+      if (latestCandidate != null && latestCandidate.overlaps(entry)) {
+        mark(status, other, entry.index, Status.CONFLICTS_WITHIN_FILE, latestCandidate.event);
+      } else {
+        pendingVsFile.add(entry);
+      }
+      if (latestCandidate == null || entry.end.isAfter(latestCandidate.end)) {
+        latestCandidate = entry;
+      }
+    }
+
+    List<Finding> findings = new ArrayList<>();
+    for (Entry entry : entries) {
+      if (entry.isCandidate() && status[entry.index] != null) {
+        findings.add(new Finding(status[entry.index], entry.event, other[entry.index]));
+      }
+    }
+    return new ImportConflictReport(candidates.size(), findings);
+  }
+
+  /**
+   * Removes and returns the queued candidates that overlap an event. Candidates that ended
+   * before it starts can overlap nothing later and are dropped; the rest have started no later
+   * than it, so they overlap it unless one of them has no duration, and those are kept.
+   */
+  private static List<Entry> drainOverlapping(PriorityQueue<Entry> pending, Entry entry) {
+    while (!pending.isEmpty() && !pending.peek().end.isAfter(entry.start)) {
+      pending.poll();
+    }
+    if (pending.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Entry> overlapping = new ArrayList<>(pending.size());
+    List<Entry> kept = new ArrayList<>();
+    for (Entry candidate : pending) {
+      if (candidate.overlaps(entry)) {
+        overlapping.add(candidate);
+      } else {
+        kept.add(candidate);
+      }
+    }
+    pending.clear();
+    pending.addAll(kept);
+    return overlapping;
+  }
+
+  private static void mark(Status[] status, ReadOnlyCalendarEvent[] other, int index,
+                           Status found, ReadOnlyCalendarEvent with) {
+    if (status[index] == null || found.ordinal() < status[index].ordinal()) {
+      status[index] = found;
+      other[index] = with;
+    }
+  }
+
+  /**
+   * Returns the number of candidate events analyzed.
+   *
+   * @return the number of events in the file
+   */
+  public int getCandidateCount() {
+    return candidateCount;
+  }
+
+  /**
+   * Returns the candidate events that would be duplicates or conflicts, in start order.
+   *
+   * @return the findings
+   */
+  public List<Finding> getFindings() {
+    return findings;
+  }
+
+  /**
+   * Returns the number of candidate events with the given status.
+   *
+   * @param status the status
+   * @return the number of findings with that status
+   */
+  public int count(Status status) {
+    return counts[status.ordinal()];
+  }
+
+  /**
+   * Returns the number of candidate events that neither duplicate nor overlap any event.
+   *
+   * @return the number of clean events
+   */
+  public int getCleanCount() {
+    return candidateCount - findings.size();
+  }
+
+  /**
+   * An event in the sweep, with its instants extracted once.
+   */
+  private static final class Entry {
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing((Entry e) -> e.start)
+            .thenComparing(e -> e.end)
+            .thenComparing(e -> e.event.getSubject())
+            .thenComparingInt(e -> e.index);
+    private static final Comparator<Entry> BY_END = Comparator.comparing(e -> e.end);
+
+    private final ReadOnlyCalendarEvent event;
+    private final int index;
+    private final Instant start;
+    private final Instant end;
+
+    Entry(ReadOnlyCalendarEvent event, int index) {
+      this.event = event;
+      this.index = index;
+      this.start = event.getStartDateTime().toInstant();
+      this.end = event.getEndDateTime().toInstant();
+    }
+
+    boolean isCandidate() {
+      return index >= 0;
+    }
+
+    /**
+     * Applies the same rule as {@link ConflictChecker#hasConflict}.
+     */
+    boolean overlaps(Entry other) {
+      return start.isBefore(other.end) && end.isAfter(other.start);
+    }
+
+    boolean isDuplicateOf(Entry other) {
+      return start.equals(other.start) && end.equals(other.end)
+              && event.getSubject().equals(other.event.getSubject());
+    }
+  }
+}
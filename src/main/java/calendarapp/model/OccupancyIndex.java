@@ -0,0 +1,304 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ICalendarEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-day occupancy bitmaps over a calendar's event list, answering whether the calendar is
+ * busy at an instant or during a range without scanning every event.
+ *
+ * <p>Each UTC day that has events keeps two bitmaps of 1440 bits, one per minute, packed into
+ * {@code long} words: the minutes an event touches at all, and the minutes an event covers
+ * completely. A minute that is covered is busy and a minute that is not touched is free, so
+ * most questions are answered by testing bits, and a range is answered a word at a time. Only
+ * a minute an event starts or ends part way through needs the exact times of the events of
+ * that day, which each day also keeps.</p>
+ *
+ * <p>The bitmaps are built from the event list the first time they are needed. After that,
+ * adding an event sets its bits, and removing one rebuilds only the days it spanned from the
+ * events left on them. Changes that replace the event list wholesale discard the bitmaps, and
+ * they are built again on the next question. UTC days always have 1440 minutes, so the
+ * calendar's timezone does not matter.</p>
+ */
+final class OccupancyIndex {
+
+  private static final int MINUTES_PER_DAY = 1440;
+  private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + 63) / 64;
+
+  private final Supplier<? extends List<? extends ICalendarEvent>> source;
+  private final Map<Long, Day> days = new HashMap<>();
+  private boolean built;
+
+  /**
+   * Creates an index over the events supplied when it is first built.
+   *
+   * @param source the supplier of the event list to index
+   */
+  OccupancyIndex(Supplier<? extends List<? extends ICalendarEvent>> source) {
+    this.source = source;
+  }
+
+  /**
+   * Records an event that was added to the event list.
+   *
+   * @param event the added event
+   */
+  synchronized void add(ICalendarEvent event) {
+    if (!built) {
+      return;
+    }
+    index(event);
+  }
+
+  /**
+   * Forgets an event that was removed from the event list, rebuilding the days it spanned.
+   *
+   * @param event the removed event
+   */
+  synchronized void remove(ICalendarEvent event) {
+    if (!built || !hasDuration(event)) {
+      return;
+    }
+    long first = firstTouchedMinute(event);
+    long last = endTouchedMinute(event) - 1;
+    for (long day = Math.floorDiv(first, MINUTES_PER_DAY);
+         day <= Math.floorDiv(last, MINUTES_PER_DAY); day++) {
+      Day bitmaps = days.get(day);
+      if (bitmaps == null || !removeIdentical(bitmaps.events, event)) {
+        continue;
+      }
+      if (bitmaps.events.isEmpty()) {
+        days.remove(day);
+        continue;
+      }
+      bitmaps.clear();
+      for (ICalendarEvent remaining : bitmaps.events) {
+        bitmaps.mark(remaining, day);
+      }
+    }
+  }
+
+  /**
+   * Discards the bitmaps, so they are built again from the event list when next needed.
+   */
+  synchronized void invalidate() {
+    days.clear();
+    built = false;
+  }
+
+  /**
+   * Indicates whether an event of the list is in progress at the instant, that is, starts at or
+   * before it and ends after it.
+   *
+   * @param instant the instant to check
+   * @return true if the calendar is busy at the instant
+   */
+  synchronized boolean isBusyAt(Instant instant) {
+    build();
+    long minute = Math.floorDiv(instant.getEpochSecond(), 60);
+    long day = Math.floorDiv(minute, MINUTES_PER_DAY);
+    Day bitmaps = days.get(day);
+    if (bitmaps == null) {
+      return false;
+    }
+    int bit = (int) (minute - day * MINUTES_PER_DAY);
+    if (isSet(bitmaps.covered, bit)) {
+      return true;
+    }
+    if (!isSet(bitmaps.touched, bit)) {
+      return false;
+    }
+    for (ICalendarEvent event : bitmaps.events) {
+      if (!instant.isBefore(event.getStartDateTime().toInstant())
+              && instant.isBefore(event.getEndDateTime().toInstant())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Indicates whether an event of the list overlaps the range, by the same rule as
+   * {@link ConflictChecker#hasConflict}. An empty range is never busy.
+   *
+   * @param from the start of the range
+   * @param to   the end of the range
+   * @return true if any event starts before the end of the range and ends after its start
+   */
+  synchronized boolean isBusyBetween(Instant from, Instant to) {
+    if (!from.isBefore(to)) {
+      return false;
+    }
+    build();
+    long touchedFrom = floorMinute(from);
+    long touchedTo = ceilMinute(to);
+    long coveredFrom = ceilMinute(from);
+    long coveredTo = floorMinute(to);
+    for (long day = Math.floorDiv(touchedFrom, MINUTES_PER_DAY);
+         day <= Math.floorDiv(touchedTo - 1, MINUTES_PER_DAY); day++) {
+      Day bitmaps = days.get(day);
+      if (bitmaps == null) {
+        continue;
+      }
+      long base = day * MINUTES_PER_DAY;
+      if (anyInRange(bitmaps.covered, clamp(coveredFrom - base), clamp(coveredTo - base))) {
+        return true;
+      }
+      if (!anyInRange(bitmaps.touched, clamp(touchedFrom - base), clamp(touchedTo - base))) {
+        continue;
+      }
+      for (ICalendarEvent event : bitmaps.events) {
+        if (event.getStartDateTime().toInstant().isBefore(to)
+                && event.getEndDateTime().toInstant().isAfter(from)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void build() {
+    if (built) {
+      return;
+    }
+    for (ICalendarEvent event : source.get()) {
+      index(event);
+    }
+    built = true;
+  }
+
+  private void index(ICalendarEvent event) {
+    if (!hasDuration(event)) {
+      return;
+    }
+    long first = firstTouchedMinute(event);
+    long last = endTouchedMinute(event) - 1;
+    for (long day = Math.floorDiv(first, MINUTES_PER_DAY);
+         day <= Math.floorDiv(last, MINUTES_PER_DAY); day++) {
+      Day bitmaps = days.computeIfAbsent(day, d -> new Day());
+      bitmaps.events.add(event);
+      bitmaps.mark(event, day);
+    }
+  }
+
+  private static boolean hasDuration(ICalendarEvent event) {
+    return event.getEndDateTime().toInstant().isAfter(event.getStartDateTime().toInstant());
+  }
+
+  private static long firstTouchedMinute(ICalendarEvent event) {
+    return floorMinute(event.getStartDateTime().toInstant());
+  }
+
+  private static long endTouchedMinute(ICalendarEvent event) {
+    return ceilMinute(event.getEndDateTime().toInstant());
+  }
+
+  private static long floorMinute(Instant instant) {
+    return Math.floorDiv(instant.getEpochSecond(), 60);
+  }
+
+  private static long ceilMinute(Instant instant) {
+    long minute = floorMinute(instant);
+    boolean onBoundary = Math.floorMod(instant.getEpochSecond(), 60) == 0
+            && instant.getNano() == 0;
+    return onBoundary ? minute : minute + 1;
+  }
+
+  private static int clamp(long minuteOfDay) {
+    return (int) Math.max(0, Math.min(MINUTES_PER_DAY, minuteOfDay));
+  }
+
+  private static boolean removeIdentical(List<ICalendarEvent> list, ICalendarEvent event) {
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i) == event) {
+        list.remove(i);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isSet(long[] words, int bit) {
+    return (words[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  /**
+   * Sets the bits from {@code from} inclusive to {@code to} exclusive.
+   */
+  private static void setRange(long[] words, int from, int to) {
+    if (from >= to) {
+      return;
+    }
+    int first = from >>> 6;
+    int last = (to - 1) >>> 6;
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> -to;
+    if (first == last) {
+      words[first] |= firstMask & lastMask;
+      return;
+    }
+    words[first] |= firstMask;
+    for (int i = first + 1; i < last; i++) {
+      words[i] = -1L;
+    }
+    words[last] |= lastMask;
+  }
+
+  /**
+   * Indicates whether any bit from {@code from} inclusive to {@code to} exclusive is set.
+   */
+  private static boolean anyInRange(long[] words, int from, int to) {
+    if (from >= to) {
+      return false;
+    }
+    int first = from >>> 6;
+    int last = (to - 1) >>> 6;
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> -to;
+    if (first == last) {
+      return (words[first] & firstMask & lastMask) != 0;
+    }
+    if ((words[first] & firstMask) != 0 || (words[last] & lastMask) != 0) {
+      return true;
+    }
+    for (int i = first + 1; i < last; i++) {
+      if (words[i] != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The bitmaps of one UTC day and the events that touch it.
+   */
+  private static final class Day {
+    private final long[] touched = new long[WORDS_PER_DAY];
+    private final long[] covered = new long[WORDS_PER_DAY];
+    private final List<ICalendarEvent> events = new ArrayList<>(4);
+
+    void clear() {
+      for (int i = 0; i < WORDS_PER_DAY; i++) {
+        touched[i] = 0;
+        covered[i] = 0;
+      }
+    }
+
+    /**
+     * Sets the bits of the minutes of this day that the event touches and covers.
+     */
+    void mark(ICalendarEvent event, long day) {
+      long base = day * MINUTES_PER_DAY;
+      Instant start = event.getStartDateTime().toInstant();
+      Instant end = event.getEndDateTime().toInstant();
+      setRange(touched, clamp(floorMinute(start) - base), clamp(ceilMinute(end) - base));
+      setRange(covered, clamp(ceilMinute(start) - base), clamp(floorMinute(end) - base));
+    }
+  }
+}
@@ -0,0 +1,433 @@
+package calendarapp.model;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Places tasks into the free time of a calendar without conflicts.
+ *
+ * <p>The free time between the calendar's events is kept as a sorted map of free intervals.
+ * Tasks are first placed greedily, most important first and then by earliest deadline, each
+ * at the earliest free moment in its window that falls on one of its allowed weekdays. A task
+ * that does not fit is then repaired: one of the tasks placed in its window is taken out, the
+ * task is placed in the freed time, and the removed task is placed again wherever it fits. If
+ * the removed task no longer fits, it stays out only when it is less important than the task
+ * that took its place; otherwise the change is undone.</p>
+ *
+ * <p>Finding a place walks the free intervals from the start of the task's window, and taking
+ * or freeing time splits or merges at most two intervals, so a quarter of thousands of tasks is
+ * planned in well under a second.</p>
+ */
+public final class TaskScheduler {
+
+  private static final int REPAIR_CANDIDATES = 32;
+  private static final int REPAIRS_PER_TASK = 4;
+  private static final long NOT_PLACED = Long.MIN_VALUE;
+
+  /**
+   * A piece of work to place into free time.
+   */
+  public static final class Task {
+    private final String subject;
+    private final Duration duration;
+    private final ZonedDateTime earliestStart;
+    private final ZonedDateTime deadline;
+    private final int priority;
+    private final Set<DayOfWeek> days;
+
+    /**
+     * Creates a task.
+     *
+     * @param subject       the subject of the event the task becomes
+     * @param duration      how long the task takes, at most one day
+     * @param earliestStart the earliest time the task may start
+     * @param deadline      the time by which the task must end
+     * @param priority      the importance of the task; higher numbers are placed first
+     * @param days          the weekdays the task may be placed on
+     * @throws IllegalArgumentException if the subject is empty, the duration is not positive or
+     *                                  longer than a day, the deadline is not after the earliest
+     *                                  start, or no weekday is allowed
+     */
+    public Task(String subject, Duration duration, ZonedDateTime earliestStart,
+                ZonedDateTime deadline, int priority, Set<DayOfWeek> days) {
+      if (subject == null || subject.trim().isEmpty()) {
+        throw new IllegalArgumentException("Task subject must not be empty");
+      }
+      if (duration.isNegative() || duration.isZero() || duration.compareTo(Duration.ofDays(1))
+              > 0) {
+        throw new IllegalArgumentException("Task duration must be positive and at most a day");
+      }
+      if (!deadline.isAfter(earliestStart)) {
+        throw new IllegalArgumentException("Task deadline must be after its earliest start");
+      }
+      if (days.isEmpty()) {
+        throw new IllegalArgumentException("Task must allow at least one weekday");
+      }
+      this.subject = subject;
+      this.duration = duration;
+      this.earliestStart = earliestStart;
+      this.deadline = deadline;
+      this.priority = priority;
+      this.days = Collections.unmodifiableSet(EnumSet.copyOf(days));
+    }
+
+    /**
+     * Returns the subject of the task.
+     *
+     * @return the subject
+     */
+    public String getSubject() {
+      return subject;
+    }
+
+    /**
+     * Returns how long the task takes.
+     *
+     * @return the duration
+     */
+    public Duration getDuration() {
+      return duration;
+    }
+
+    /**
+     * Returns the earliest time the task may start.
+     *
+     * @return the earliest start
+     */
+    public ZonedDateTime getEarliestStart() {
+      return earliestStart;
+    }
+
+    /**
+     * Returns the time by which the task must end.
+     *
+     * @return the deadline
+     */
+    public ZonedDateTime getDeadline() {
+      return deadline;
+    }
+
+    /**
+     * Returns the importance of the task; higher numbers are placed first.
+     *
+     * @return the priority
+     */
+    public int getPriority() {
+      return priority;
+    }
+
+    /**
+     * Returns the weekdays the task may be placed on.
+     *
+     * @return the allowed weekdays
+     */
+    public Set<DayOfWeek> getDays() {
+      return days;
+    }
+  }
+
+  /**
+   * A task and the time it was placed at.
+   */
+  public static final class Placement {
+    private final Task task;
+    private final TimeSlot slot;
+
+    Placement(Task task, TimeSlot slot) {
+      this.task = task;
+      this.slot = slot;
+    }
+
+    /**
+     * Returns the placed task.
+     *
+     * @return the task
+     */
+    public Task getTask() {
+      return task;
+    }
+
+    /**
+     * Returns the time the task was placed at.
+     *
+     * @return the slot, as long as the task's duration
+     */
+    public TimeSlot getSlot() {
+      return slot;
+    }
+  }
+
+  /**
+   * The outcome of planning: where each task goes, and which tasks found no place.
+   */
+  public static final class Schedule {
+    private final List<Placement> placements;
+    private final List<Task> unscheduled;
+
+    Schedule(List<Placement> placements, List<Task> unscheduled) {
+      this.placements = Collections.unmodifiableList(placements);
+      this.unscheduled = Collections.unmodifiableList(unscheduled);
+    }
+
+    /**
+     * Returns the placed tasks in start order.
+     *
+     * @return the placements
+     */
+    public List<Placement> getPlacements() {
+      return placements;
+    }
+
+    /**
+     * Returns the tasks that could not be placed, in the order they were given.
+     *
+     * @return the unscheduled tasks
+     */
+    public List<Task> getUnscheduled() {
+      return unscheduled;
+    }
+  }
+
+  private final ZoneId zone;
+  private final TreeMap<Long, Long> free = new TreeMap<>();
+  private final TreeMap<Long, Job> placed = new TreeMap<>();
+  private long longestPlaced;
+
+  private TaskScheduler(ZoneId zone) {
+    this.zone = zone;
+  }
+
+  /**
+   * Decides where each task goes in the calendar's free time. The calendar is not changed.
+   *
+   * @param calendar the calendar whose free time is used
+   * @param tasks    the tasks to place
+   * @return the placements and the tasks that found no place
+   */
+  public static Schedule plan(ICalendarModel calendar, List<Task> tasks) {
+    if (tasks.isEmpty()) {
+      return new Schedule(new ArrayList<>(), new ArrayList<>());
+    }
+    List<Job> jobs = new ArrayList<>(tasks.size());
+    long horizonStart = Long.MAX_VALUE;
+    long horizonEnd = Long.MIN_VALUE;
+    for (int i = 0; i < tasks.size(); i++) {
+      Job job = new Job(tasks.get(i), i);
+      jobs.add(job);
+      horizonStart = Math.min(horizonStart, job.earliest);
+      horizonEnd = Math.max(horizonEnd, job.deadline);
+    }
+
+    TaskScheduler scheduler = new TaskScheduler(calendar.getTimezone());
+    scheduler.findFreeTime(calendar, horizonStart, horizonEnd);
+
+    List<Job> order = new ArrayList<>(jobs);
+    order.sort(Job.ORDER);
+    Deque<Job> unplaced = new ArrayDeque<>();
+    for (Job job : order) {
+      long start = scheduler.findEarliest(job);
+      if (start == NOT_PLACED) {
+        unplaced.add(job);
+      } else {
+        scheduler.occupy(job, start);
+      }
+    }
+
+    int repairs = REPAIRS_PER_TASK * jobs.size();
+    while (!unplaced.isEmpty() && repairs-- > 0) {
+      scheduler.repair(unplaced.poll(), unplaced);
+    }
+
+    List<Placement> placements = new ArrayList<>(scheduler.placed.size());
+    for (Job job : scheduler.placed.values()) {
+      ZonedDateTime start = Instant.ofEpochMilli(job.start).atZone(scheduler.zone);
+      placements.add(new Placement(job.task,
+              new TimeSlot(start, start.plus(job.task.getDuration()))));
+    }
+    List<Task> unscheduled = new ArrayList<>();
+    for (Job job : jobs) {
+      if (job.start == NOT_PLACED) {
+        unscheduled.add(job.task);
+      }
+    }
+    return new Schedule(placements, unscheduled);
+  }
+
+  /**
+   * Fills the free map with the gaps between the calendar's events within the horizon.
+   */
+  private void findFreeTime(ICalendarModel calendar, long horizonStart, long horizonEnd) {
+    List<ReadOnlyCalendarEvent> events = calendar.getEventsBetween(
+            Instant.ofEpochMilli(horizonStart).atZone(zone),
+            Instant.ofEpochMilli(horizonEnd).atZone(zone));
+    List<long[]> busy = new ArrayList<>(events.size());
+    for (ReadOnlyCalendarEvent event : events) {
+      long start = event.getStartDateTime().toInstant().toEpochMilli();
+      long end = ceilMillis(event.getEndDateTime().toInstant());
+      if (end > start) {
+        busy.add(new long[]{start, end});
+      }
+    }
+    busy.sort(Comparator.comparingLong(interval -> interval[0]));
+    long reached = horizonStart;
+    for (long[] interval : busy) {
+      if (interval[0] > reached) {
+        free.put(reached, Math.min(interval[0], horizonEnd));
+      }
+      reached = Math.max(reached, interval[1]);
+      if (reached >= horizonEnd) {
+        return;
+      }
+    }
+    free.put(reached, horizonEnd);
+  }
+
+  /**
+   * Returns the earliest start in the job's window at which it fits into free time on one of
+   * its allowed weekdays, or {@link #NOT_PLACED}.
+   */
+  private long findEarliest(Job job) {
+    Map.Entry<Long, Long> interval = free.floorEntry(job.earliest);
+    if (interval == null || interval.getValue() <= job.earliest) {
+      interval = free.higherEntry(job.earliest);
+    }
+    while (interval != null && interval.getKey() < job.deadline) {
+      long start = Math.max(interval.getKey(), job.earliest);
+      long end = Math.min(interval.getValue(), job.deadline);
+      while (end - start >= job.length) {
+        LocalDate date = Instant.ofEpochMilli(start).atZone(zone).toLocalDate();
+        long dayEnd = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        if (job.task.getDays().contains(date.getDayOfWeek())
+                && start + job.length <= Math.min(end, dayEnd)) {
+          return start;
+        }
+        start = dayEnd;
+      }
+      interval = free.higherEntry(interval.getKey());
+    }
+    return NOT_PLACED;
+  }
+
+  /**
+   * Takes the job's time out of the free interval containing it.
+   */
+  private void occupy(Job job, long start) {
+    long end = start + job.length;
+    Map.Entry<Long, Long> interval = free.floorEntry(start);
+    free.remove(interval.getKey());
+    if (interval.getKey() < start) {
+      free.put(interval.getKey(), start);
+    }
+    if (end < interval.getValue()) {
+      free.put(end, interval.getValue());
+    }
+    job.start = start;
+    placed.put(start, job);
+    longestPlaced = Math.max(longestPlaced, job.length);
+  }
+
+  /**
+   * Gives the job's time back, merging it with the free intervals on either side.
+   */
+  private void release(Job job) {
+    long start = job.start;
+    long end = start + job.length;
+    placed.remove(start);
+    job.start = NOT_PLACED;
+    Map.Entry<Long, Long> before = free.lowerEntry(start);
+    if (before != null && before.getValue() == start) {
+      start = before.getKey();
+    }
+    Long after = free.remove(end);
+    if (after != null) {
+      end = after;
+    }
+    free.put(start, end);
+  }
+
+  /**
+   * Tries to make room for an unplaced job by moving, or for a less important job bumping, one
+   * of the jobs placed in its window. A bumped job is queued to be repaired in turn.
+   */
+  private void repair(Job job, Deque<Job> unplaced) {
+    List<Job> candidates = new ArrayList<>(REPAIR_CANDIDATES);
+    for (Job other : placed.subMap(job.earliest - longestPlaced, job.deadline).values()) {
+      if (other.start + other.length > job.earliest) {
+        candidates.add(other);
+        if (candidates.size() == REPAIR_CANDIDATES) {
+          break;
+        }
+      }
+    }
+    candidates.sort(Comparator.comparingInt(other -> other.task.getPriority()));
+    for (Job other : candidates) {
+      long otherStart = other.start;
+      release(other);
+      long start = findEarliest(job);
+      if (start == NOT_PLACED) {
+        occupy(other, otherStart);
+        continue;
+      }
+      occupy(job, start);
+      long moved = findEarliest(other);
+      if (moved != NOT_PLACED) {
+        occupy(other, moved);
+        return;
+      }
+      if (other.task.getPriority() < job.task.getPriority()) {
+        unplaced.add(other);
+        return;
+      }
+      release(job);
+      occupy(other, otherStart);
+    }
+  }
+
+  private static long ceilMillis(Instant instant) {
+    long millis = instant.toEpochMilli();
+    return instant.getNano() % 1_000_000 == 0 ? millis : millis + 1;
+  }
+
+  /**
+   * A task with its window and length in milliseconds, and where it is placed.
+   */
+  private static final class Job {
+    private static final Comparator<Job> ORDER = Comparator
+            .comparing((Job j) -> j.task.getPriority(), Comparator.reverseOrder())
+            .thenComparingLong(j -> j.deadline)
+            .thenComparingLong(j -> -j.length)
+            .thenComparingInt(j -> j.index);
+
+    private final Task task;
+    private final int index;
+    private final long earliest;
+    private final long deadline;
+    private final long length;
+    private long start = NOT_PLACED;
+
+    Job(Task task, int index) {
+      this.task = task;
+      this.index = index;
+      this.earliest = ceilMillis(task.getEarliestStart().toInstant());
+      this.deadline = task.getDeadline().toInstant().toEpochMilli();
+      Duration duration = task.getDuration();
+      this.length = duration.toMillis() + (duration.toNanos() % 1_000_000 == 0 ? 0 : 1);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package calendarapp.model;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * A span of time with a start and an exclusive end, such as a free window between events.
+ */
+public class TimeSlot {
+
+  private final ZonedDateTime start;
+  private final ZonedDateTime end;
+
+  /**
+   * Creates a time slot.
+   *
+   * @param start the start of the slot
+   * @param end   the end of the slot, not before the start
+   * @throws IllegalArgumentException if the end is before the start
+   */
+  public TimeSlot(ZonedDateTime start, ZonedDateTime end) {
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("Slot end must not be before its start");
+    }
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the start of the slot.
+   *
+   * @return the start
+   */
+  public ZonedDateTime getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the end of the slot.
+   *
+   * @return the end
+   */
+  public ZonedDateTime getEnd() {
+    return end;
+  }
+
+  /**
+   * Returns the length of the slot.
+   *
+   * @return the duration between start and end
+   */
+  public Duration getDuration() {
+    return Duration.between(start, end);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TimeSlot)) {
+      return false;
+    }
+    TimeSlot other = (TimeSlot) o;
+    return start.isEqual(other.start) && end.isEqual(other.end);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(start.toInstant(), end.toInstant());
+  }
+
+  @Override
+  public String toString() {
+    return start.toLocalDateTime() + " to " + end.toLocalDateTime();
+  }
+}
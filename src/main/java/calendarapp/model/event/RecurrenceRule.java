@@ -0,0 +1,349 @@
+package calendarapp.model.event;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+
+/**
+ * The dates on which a recurring event occurs: every N weeks on some weekdays, every N months
+ * on a day of the month or on the nth weekday of the month, or every N years.
+ *
+ * <p>Occurrences are counted from a first date, the date the series starts, and include it
+ * when it matches the rule. The k-th occurrence and the number of occurrences before a date
+ * are computed arithmetically in constant time, so a caller can jump to any point of a long
+ * series without stepping through the days before it.</p>
+ *
+ * <p>A rule has a text form that is stored as the weekdays of a {@link RecurringEvent}. A
+ * weekly rule with an interval of 1 is written as its day letters, e.g. "MWF", as before;
+ * other rules are written as fields, e.g. "FREQ=WEEKLY;INTERVAL=2;BYDAY=MWF",
+ * "FREQ=MONTHLY;INTERVAL=1;BYDAY=2T", "FREQ=MONTHLY;INTERVAL=3;BYMONTHDAY=15" or
+ * "FREQ=YEARLY;INTERVAL=1". A weekly rule without days repeats on the weekday of the first
+ * date, and a monthly rule without a day repeats on the day of the month of the first date.
+ * A day of the month that a month does not have falls on the last day of that month.</p>
+ */
+public final class RecurrenceRule {
+
+  private static final String DAY_LETTERS = "MTWRFSU";
+
+  /**
+   * How often a rule repeats.
+   */
+  public enum Frequency {
+    WEEKLY, MONTHLY, YEARLY
+  }
+
+  private final Frequency frequency;
+  private final int interval;
+  private final int[] weekdays;
+  private final int monthDay;
+  private final int ordinal;
+  private final DayOfWeek ordinalDay;
+
+  private RecurrenceRule(Frequency frequency, int interval, int[] weekdays, int monthDay,
+                         int ordinal, DayOfWeek ordinalDay) {
+    if (interval <= 0) {
+      throw new IllegalArgumentException("Recurrence interval must be positive: " + interval);
+    }
+    this.frequency = frequency;
+    this.interval = interval;
+    this.weekdays = weekdays;
+    this.monthDay = monthDay;
+    this.ordinal = ordinal;
+    this.ordinalDay = ordinalDay;
+  }
+
+  /**
+   * Returns a rule that repeats every {@code interval} weeks on the given days.
+   *
+   * @param interval the number of weeks between repetitions
+   * @param days     the day letters (MTWRFSU), or empty for the weekday of the first date
+   * @return the rule
+   * @throws IllegalArgumentException if the interval is not positive or a letter is unknown
+   */
+  public static RecurrenceRule weekly(int interval, String days) {
+    boolean[] present = new boolean[7];
+    for (char letter : days.toUpperCase().toCharArray()) {
+      int day = DAY_LETTERS.indexOf(letter);
+      if (day < 0) {
+        throw new IllegalArgumentException("Unknown weekday: " + letter);
+      }
+      present[day] = true;
+    }
+    return new RecurrenceRule(Frequency.WEEKLY, interval, offsets(present), 0, 0, null);
+  }
+
+  /**
+   * Returns a rule that repeats every {@code interval} months on a day of the month.
+   *
+   * @param interval   the number of months between repetitions
+   * @param dayOfMonth the day of the month from 1 to 31, or 0 for the day of the first date
+   * @return the rule
+   * @throws IllegalArgumentException if the interval is not positive or the day is invalid
+   */
+  public static RecurrenceRule monthlyOnDay(int interval, int dayOfMonth) {
+    if (dayOfMonth < 0 || dayOfMonth > 31) {
+      throw new IllegalArgumentException("Invalid day of the month: " + dayOfMonth);
+    }
+    return new RecurrenceRule(Frequency.MONTHLY, interval, new int[0], dayOfMonth, 0, null);
+  }
+
+  /**
+   * Returns a rule that repeats every {@code interval} months on the nth weekday of the month.
+   *
+   * @param interval the number of months between repetitions
+   * @param ordinal  which weekday of the month, from 1 to 4, or -1 for the last one
+   * @param day      the weekday
+   * @return the rule
+   * @throws IllegalArgumentException if the interval is not positive or the ordinal is invalid
+   */
+  public static RecurrenceRule monthlyOnWeekday(int interval, int ordinal, DayOfWeek day) {
+    if (ordinal != -1 && (ordinal < 1 || ordinal > 4)) {
+      throw new IllegalArgumentException("Weekday ordinal must be 1 to 4 or -1: " + ordinal);
+    }
+    return new RecurrenceRule(Frequency.MONTHLY, interval, new int[0], 0, ordinal, day);
+  }
+
+  /**
+   * Returns a rule that repeats every {@code interval} years on the month and day of the first
+   * date.
+   *
+   * @param interval the number of years between repetitions
+   * @return the rule
+   * @throws IllegalArgumentException if the interval is not positive
+   */
+  public static RecurrenceRule yearly(int interval) {
+    return new RecurrenceRule(Frequency.YEARLY, interval, new int[0], 0, 0, null);
+  }
+
+  /**
+   * Reads a rule from its text form. Plain day letters are a weekly rule with an interval of
+   * 1; letters other than MTWRFSU are ignored there, as they always have been.
+   *
+   * @param text the text form of the rule
+   * @return the rule, or null if the text is plain letters naming no weekday
+   * @throws IllegalArgumentException if the text has fields that are missing or invalid
+   */
+  public static RecurrenceRule parse(String text) {
+    if (text == null) {
+      return null;
+    }
+    String upper = text.trim().toUpperCase();
+    if (!upper.startsWith("FREQ=")) {
+      boolean[] present = new boolean[7];
+      for (char letter : upper.toCharArray()) {
+        int day = DAY_LETTERS.indexOf(letter);
+        if (day >= 0) {
+          present[day] = true;
+        }
+      }
+      int[] offsets = offsets(present);
+      return offsets.length == 0 ? null
+              : new RecurrenceRule(Frequency.WEEKLY, 1, offsets, 0, 0, null);
+    }
+
+    String frequency = null;
+    int interval = 1;
+    String byDay = null;
+    int byMonthDay = 0;
+    for (String part : upper.split(";")) {
+      int eq = part.indexOf('=');
+      if (eq <= 0) {
+        throw new IllegalArgumentException("Invalid recurrence rule: " + text);
+      }
+      String value = part.substring(eq + 1);
+      try {
+        switch (part.substring(0, eq)) {
+          case "FREQ":
+            frequency = value;
+            break;
+          case "INTERVAL":
+            interval = Integer.parseInt(value);
+            break;
+          case "BYDAY":
+            byDay = value;
+            break;
+          case "BYMONTHDAY":
+            byMonthDay = Integer.parseInt(value);
+            break;
+          default:
+            throw new IllegalArgumentException("Invalid recurrence rule: " + text);
+        }
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid recurrence rule: " + text);
+      }
+    }
+
+    if ("WEEKLY".equals(frequency)) {
+      return weekly(interval, byDay == null ? "" : byDay);
+    } else if ("MONTHLY".equals(frequency) && byDay != null && byDay.length() >= 2) {
+      int day = DAY_LETTERS.indexOf(byDay.charAt(byDay.length() - 1));
+      if (day < 0) {
+        throw new IllegalArgumentException("Invalid recurrence rule: " + text);
+      }
+      try {
+        int ordinal = Integer.parseInt(byDay.substring(0, byDay.length() - 1));
+        return monthlyOnWeekday(interval, ordinal, DayOfWeek.of(day + 1));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid recurrence rule: " + text);
+      }
+    } else if ("MONTHLY".equals(frequency) && byDay == null) {
+      return monthlyOnDay(interval, byMonthDay);
+    } else if ("YEARLY".equals(frequency) && byDay == null && byMonthDay == 0) {
+      return yearly(interval);
+    }
+    throw new IllegalArgumentException("Invalid recurrence rule: " + text);
+  }
+
+  private static int[] offsets(boolean[] present) {
+    int[] offsets = new int[7];
+    int count = 0;
+    for (int day = 0; day < 7; day++) {
+      if (present[day]) {
+        offsets[count++] = day;
+      }
+    }
+    return Arrays.copyOf(offsets, count);
+  }
+
+  /**
+   * Returns how often the rule repeats.
+   *
+   * @return the frequency
+   */
+  public Frequency getFrequency() {
+    return frequency;
+  }
+
+  /**
+   * Returns the number of weeks, months or years between repetitions.
+   *
+   * @return the interval
+   */
+  public int getInterval() {
+    return interval;
+  }
+
+  /**
+   * Returns the date of the k-th occurrence, counting from 0, of a series starting on a date.
+   *
+   * @param first the date the series starts
+   * @param k     the index of the occurrence, not negative
+   * @return the date of the occurrence
+   */
+  public LocalDate occurrence(LocalDate first, long k) {
+    switch (frequency) {
+      case WEEKLY: {
+        int[] days = daysFor(first);
+        long position = k + skippedInFirstWeek(first, days);
+        return monday(first).plusDays(position / days.length * interval * 7L
+                + days[(int) (position % days.length)]);
+      }
+      case MONTHLY:
+        return inPeriod(first, k + (inPeriod(first, 0).isBefore(first) ? 1 : 0));
+      default:
+        return inPeriod(first, k);
+    }
+  }
+
+  /**
+   * Returns the number of occurrences of a series starting on a date that fall before another
+   * date, which is also the index of the first occurrence on or after that date.
+   *
+   * @param first the date the series starts
+   * @param date  the date to count up to, exclusive
+   * @return the number of occurrences before the date
+   */
+  public long countBefore(LocalDate first, LocalDate date) {
+    if (!date.isAfter(first)) {
+      return 0;
+    }
+    if (frequency == Frequency.WEEKLY) {
+      int[] days = daysFor(first);
+      long weeks = ChronoUnit.WEEKS.between(monday(first), monday(date));
+      long period = weeks / interval;
+      long position;
+      if (weeks % interval != 0) {
+        position = (period + 1) * days.length;
+      } else {
+        position = period * days.length + before(days, date.getDayOfWeek().getValue() - 1);
+      }
+      return position - skippedInFirstWeek(first, days);
+    }
+    long months = ChronoUnit.MONTHS.between(YearMonth.from(first), YearMonth.from(date));
+    int step = frequency == Frequency.YEARLY ? interval * 12 : interval;
+    long period = (months + step - 1) / step;
+    if (inPeriod(first, period).isBefore(date)) {
+      period++;
+    }
+    long shift = frequency == Frequency.MONTHLY && inPeriod(first, 0).isBefore(first) ? 1 : 0;
+    return Math.max(0, period - shift);
+  }
+
+  /**
+   * Returns the date the rule falls on in the period-th month or year after the first date's.
+   */
+  private LocalDate inPeriod(LocalDate first, long period) {
+    if (frequency == Frequency.YEARLY) {
+      return first.plusYears(period * interval);
+    }
+    YearMonth month = YearMonth.from(first).plusMonths(period * interval);
+    if (ordinalDay != null) {
+      return month.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(ordinal, ordinalDay));
+    }
+    int day = monthDay == 0 ? first.getDayOfMonth() : monthDay;
+    return month.atDay(Math.min(day, month.lengthOfMonth()));
+  }
+
+  private int[] daysFor(LocalDate first) {
+    return weekdays.length > 0 ? weekdays : new int[]{first.getDayOfWeek().getValue() - 1};
+  }
+
+  private static LocalDate monday(LocalDate date) {
+    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+  }
+
+  private static int skippedInFirstWeek(LocalDate first, int[] days) {
+    return before(days, first.getDayOfWeek().getValue() - 1);
+  }
+
+  /**
+   * Returns how many of the sorted day offsets are before an offset.
+   */
+  private static int before(int[] days, int offset) {
+    int count = 0;
+    while (count < days.length && days[count] < offset) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the text form of the rule, which {@link #parse(String)} reads back.
+   *
+   * @return the text form
+   */
+  @Override
+  public String toString() {
+    StringBuilder letters = new StringBuilder();
+    for (int day : weekdays) {
+      letters.append(DAY_LETTERS.charAt(day));
+    }
+    if (frequency == Frequency.WEEKLY && interval == 1 && weekdays.length > 0) {
+      return letters.toString();
+    }
+    StringBuilder text = new StringBuilder("FREQ=").append(frequency)
+            .append(";INTERVAL=").append(interval);
+    if (weekdays.length > 0) {
+      text.append(";BYDAY=").append(letters);
+    } else if (ordinalDay != null) {
+      text.append(";BYDAY=").append(ordinal)
+              .append(DAY_LETTERS.charAt(ordinalDay.getValue() - 1));
+    } else if (monthDay != 0) {
+      text.append(";BYMONTHDAY=").append(monthDay);
+    }
+    return text.toString();
+  }
+}
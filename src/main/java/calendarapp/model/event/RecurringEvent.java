@@ -1,22 +1,44 @@
 package calendarapp.model.event;
 
-import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
 
 /**
  * Represents a recurring calendar event with specific recurring rules.
  * This class defines the behavior for events that repeat based on a set of rules,
  * such as repeating days of the week, repeat count, and repeat until date.
+ *
+ * <p>The dates of the occurrences come from a {@link RecurrenceRule}, which computes any
+ * occurrence directly, so the occurrences within a range are found without expanding the
+ * series up to it. Every occurrence keeps the local start and end times of the event.</p>
+ *
+ * <p>Single occurrences can be cancelled or replaced by an edited event. These exceptions are
+ * kept with the series, keyed by the date the rule gives the occurrence, and are applied
+ * whenever occurrences are generated, so edits of the whole series keep them. Recording an
+ * exception copies only the exceptions, never the occurrences.</p>
  */
 public class RecurringEvent extends AbstractCalendarEvent {
 
   private final String weekdays;
+  private final RecurrenceRule rule;
   private final int repeatCount;
   private final ZonedDateTime repeatUntil;
+  private final SortedSet<LocalDate> cancelled;
+  private final SortedMap<LocalDate, SingleEvent> overrides;
 
   /**
    * Returns a new RecurringEvent with the same properties but updated to the specified timezone.
@@ -27,12 +49,34 @@ public class RecurringEvent extends AbstractCalendarEvent {
    * @return a new RecurringEvent with the updated timezone
    */
   public RecurringEvent withUpdatedTimezone(ZoneId newZone) {
-    return new RecurringEvent(this.subject,
-            this.startDateTime.withZoneSameInstant(newZone),
+    ZonedDateTime newStart = this.startDateTime.withZoneSameInstant(newZone);
+    SortedSet<LocalDate> newCancelled = new TreeSet<>();
+    for (LocalDate date : cancelled) {
+      newCancelled.add(dateIn(date, newStart));
+    }
+    SortedMap<LocalDate, SingleEvent> newOverrides = new TreeMap<>();
+    for (Map.Entry<LocalDate, SingleEvent> entry : overrides.entrySet()) {
+      SingleEvent event = entry.getValue();
+      newOverrides.put(dateIn(entry.getKey(), newStart), new SingleEvent(event.getSubject(),
+              event.getStartDateTime().withZoneSameInstant(newZone),
+              event.getEndDateTime().withZoneSameInstant(newZone), event.getDescription(),
+              event.getLocation(), event.isPublic(), event.isAllDay(), event.getSeriesId()));
+    }
+    return new RecurringEvent(this.subject, newStart,
             this.endDateTime.withZoneSameInstant(newZone), this.weekdays,
             this.repeatCount,
             (this.repeatUntil != null) ? this.repeatUntil.withZoneSameInstant(newZone) : null,
-            this.description, this.location, this.isPublic, this.isAllDay);
+            this.description, this.location, this.isPublic, this.isAllDay, newCancelled,
+            newOverrides);
+  }
+
+  /**
+   * Returns the date, in the zone of a new start, of the occurrence generated for a date in
+   * this event's zone.
+   */
+  private LocalDate dateIn(LocalDate date, ZonedDateTime newStart) {
+    return startDateTime.plusDays(ChronoUnit.DAYS.between(startDateTime.toLocalDate(), date))
+            .withZoneSameInstant(newStart.getZone()).toLocalDate();
   }
 
   /**
@@ -41,31 +85,68 @@ public class RecurringEvent extends AbstractCalendarEvent {
    * @param subject       the subject of the event
    * @param startDateTime the start date and time of the event
    * @param endDateTime   the end date and time of the event
-   * @param weekdays      the days of the week on which the event occurs (e.g., "MWF")
+   * @param weekdays      the days of the week on which the event occurs (e.g., "MWF"), or the
+   *                      text form of a {@link RecurrenceRule}
    * @param repeatCount   the number of times the event repeats
    * @param repeatUntil   the date until which the event repeats (can be null)
    * @param description   the description of the event
    * @param location      the location of the event
    * @param isPublic      whether the event is public
    * @param isAllDay      whether the event is an all-day event
+   * @throws IllegalArgumentException if the weekdays are an invalid recurrence rule
    */
   public RecurringEvent(String subject, ZonedDateTime startDateTime, ZonedDateTime endDateTime,
                         String weekdays, int repeatCount, ZonedDateTime repeatUntil,
                         String description, String location, boolean isPublic, boolean isAllDay) {
+    this(subject, startDateTime, endDateTime, weekdays, repeatCount, repeatUntil, description,
+            location, isPublic, isAllDay, Collections.emptySortedSet(),
+            Collections.emptySortedMap());
+  }
+
+  private RecurringEvent(String subject, ZonedDateTime startDateTime,
+                         ZonedDateTime endDateTime, String weekdays, int repeatCount,
+                         ZonedDateTime repeatUntil, String description, String location,
+                         boolean isPublic, boolean isAllDay, SortedSet<LocalDate> cancelled,
+                         SortedMap<LocalDate, SingleEvent> overrides) {
     this.subject = subject;
     this.startDateTime = startDateTime;
     this.endDateTime = endDateTime;
     this.weekdays = weekdays;
+    this.rule = RecurrenceRule.parse(weekdays);
     this.repeatCount = repeatCount;
     this.repeatUntil = repeatUntil;
     this.description = description;
     this.location = location;
     this.isPublic = isPublic;
     this.isAllDay = isAllDay;
+    this.cancelled = Collections.unmodifiableSortedSet(cancelled);
+    this.overrides = Collections.unmodifiableSortedMap(overrides);
+  }
+
+  /**
+   * Constructs a recurring event that repeats by a rule.
+   *
+   * @param subject       the subject of the event
+   * @param startDateTime the start date and time of the event
+   * @param endDateTime   the end date and time of the event
+   * @param rule          the rule giving the dates on which the event occurs
+   * @param repeatCount   the number of times the event repeats
+   * @param repeatUntil   the date until which the event repeats (can be null)
+   * @param description   the description of the event
+   * @param location      the location of the event
+   * @param isPublic      whether the event is public
+   * @param isAllDay      whether the event is an all-day event
+   */
+  public RecurringEvent(String subject, ZonedDateTime startDateTime, ZonedDateTime endDateTime,
+                        RecurrenceRule rule, int repeatCount, ZonedDateTime repeatUntil,
+                        String description, String location, boolean isPublic, boolean isAllDay) {
+    this(subject, startDateTime, endDateTime, rule.toString(), repeatCount, repeatUntil,
+            description, location, isPublic, isAllDay);
   }
 
   /**
-   * Returns the weekdays on which the event repeats.
+   * Returns the weekdays on which the event repeats, or the text form of its rule when it
+   * repeats other than weekly.
    *
    * @return the weekdays on which the event repeats
    */
@@ -73,6 +154,127 @@ public class RecurringEvent extends AbstractCalendarEvent {
     return weekdays;
   }
 
+  /**
+   * Returns the rule giving the dates on which the event occurs.
+   *
+   * @return the recurrence rule, or null if the event names no weekday
+   */
+  public RecurrenceRule getRule() {
+    return rule;
+  }
+
+  /**
+   * Returns the dates of the occurrences that were cancelled.
+   *
+   * @return the cancelled dates, in order
+   */
+  public SortedSet<LocalDate> getCancelledDates() {
+    return cancelled;
+  }
+
+  /**
+   * Returns the events that replace single occurrences, keyed by the date of the occurrence
+   * each one replaces.
+   *
+   * @return the replacing events by original date, in date order
+   */
+  public SortedMap<LocalDate, SingleEvent> getOverrides() {
+    return overrides;
+  }
+
+  /**
+   * Returns a copy of this event with the occurrence of a date cancelled. An event replacing
+   * that occurrence is dropped.
+   *
+   * @param date the date the rule gives the occurrence
+   * @return the updated recurring event
+   */
+  public RecurringEvent withCancelled(LocalDate date) {
+    SortedSet<LocalDate> newCancelled = new TreeSet<>(cancelled);
+    newCancelled.add(date);
+    SortedMap<LocalDate, SingleEvent> newOverrides = new TreeMap<>(overrides);
+    newOverrides.remove(date);
+    return withExceptions(newCancelled, newOverrides);
+  }
+
+  /**
+   * Returns a copy of this event with single occurrences replaced by other events, such as
+   * edited copies of them. A replaced occurrence that was cancelled is no longer cancelled.
+   *
+   * @param replacements the replacing events keyed by the date of the occurrence each replaces
+   * @return the updated recurring event
+   */
+  public RecurringEvent withOverrides(Map<LocalDate, SingleEvent> replacements) {
+    SortedSet<LocalDate> newCancelled = new TreeSet<>(cancelled);
+    newCancelled.removeAll(replacements.keySet());
+    SortedMap<LocalDate, SingleEvent> newOverrides = new TreeMap<>(overrides);
+    newOverrides.putAll(replacements);
+    return withExceptions(newCancelled, newOverrides);
+  }
+
+  /**
+   * Returns a copy of this event whose occurrences look like the given event, which stands for
+   * the first occurrence: its subject, start, end, description, location and visibility are
+   * used. The rule, its limits and the exceptions stay as they are.
+   *
+   * @param first the event the first occurrence should look like
+   * @return the updated recurring event
+   */
+  public RecurringEvent withFirstOccurrence(ReadOnlyCalendarEvent first) {
+    return new RecurringEvent(first.getSubject(), first.getStartDateTime(),
+            first.getEndDateTime(), weekdays, repeatCount, repeatUntil, first.getDescription(),
+            first.getLocation(), first.isPublic(), isAllDay, cancelled, overrides);
+  }
+
+  /**
+   * Returns a copy of this event with the given exceptions instead of its own.
+   *
+   * @param newCancelled the dates of the cancelled occurrences
+   * @param newOverrides the replacing events keyed by the date of the occurrence each replaces
+   * @return the updated recurring event
+   */
+  public RecurringEvent withExceptions(SortedSet<LocalDate> newCancelled,
+                                       SortedMap<LocalDate, SingleEvent> newOverrides) {
+    return new RecurringEvent(subject, startDateTime, endDateTime, weekdays, repeatCount,
+            repeatUntil, description, location, isPublic, isAllDay, new TreeSet<>(newCancelled),
+            new TreeMap<>(newOverrides));
+  }
+
+  /**
+   * Returns the date of the occurrence an event stands for: the date of the occurrence it
+   * replaces, or its own date if it is an occurrence as the rule generates it. Only the
+   * occurrence on the event's own date and the replacing events are examined.
+   *
+   * @param event the event to look up
+   * @return the date the rule gives the occurrence, or null if the event is not one of this
+   *         series' current occurrences
+   */
+  public LocalDate originalDateOf(ReadOnlyCalendarEvent event) {
+    for (Map.Entry<LocalDate, SingleEvent> entry : overrides.entrySet()) {
+      if (sameTimes(entry.getValue(), event)) {
+        return entry.getKey();
+      }
+    }
+    if (rule == null || !subject.equals(event.getSubject())) {
+      return null;
+    }
+    LocalDate first = startDateTime.toLocalDate();
+    LocalDate date = event.getStartDateTime().withZoneSameInstant(startDateTime.getZone())
+            .toLocalDate();
+    long index = rule.countBefore(first, date);
+    if (index >= getOccurrenceCount() || !rule.occurrence(first, index).equals(date)) {
+      return null;
+    }
+    SingleEvent occurrence = getOccurrence(index, null);
+    return occurrence != null && sameTimes(occurrence, event) ? date : null;
+  }
+
+  private static boolean sameTimes(ReadOnlyCalendarEvent a, ReadOnlyCalendarEvent b) {
+    return a.getSubject().equals(b.getSubject())
+            && a.getStartDateTime().isEqual(b.getStartDateTime())
+            && a.getEndDateTime().isEqual(b.getEndDateTime());
+  }
+
   /**
    * Returns the number of times the event repeats.
    *
@@ -109,72 +311,188 @@ public class RecurringEvent extends AbstractCalendarEvent {
    */
   public List<SingleEvent> generateOccurrences(String seriesId) {
     List<SingleEvent> occurrences = new ArrayList<>();
+    occurrences(seriesId).forEachRemaining(occurrences::add);
+    return occurrences;
+  }
+
+  /**
+   * Returns the occurrences of the recurring event one at a time, in start order. Each
+   * occurrence is computed only when it is requested, so a caller that stops early does not
+   * expand the rest of the series.
+   *
+   * @param seriesId the unique ID for the series of events
+   * @return an iterator over the SingleEvent occurrences of the recurring event
+   */
+  public Iterator<SingleEvent> occurrences(String seriesId) {
+    return occurrences(seriesId, 0);
+  }
+
+  /**
+   * Returns the occurrences of the recurring event from the given one on, in the order of the
+   * dates the rule gives them, computing each only when it is requested. Cancelled
+   * occurrences are skipped and replaced ones are returned as their replacing events.
+   *
+   * @param seriesId  the unique ID for the series of events
+   * @param fromIndex the index of the first occurrence to return, counting from 0
+   * @return an iterator over the SingleEvent occurrences from the given index
+   */
+  public Iterator<SingleEvent> occurrences(String seriesId, long fromIndex) {
+    String id = seriesId == null || seriesId.isEmpty() ? UUID.randomUUID().toString() : seriesId;
+    long count = getOccurrenceCount();
+    return new Iterator<SingleEvent>() {
+      private long index = Math.max(0, fromIndex);
+      private SingleEvent next = advance();
+
+      private SingleEvent advance() {
+        while (index < count) {
+          long current = index++;
+          if (cancelled.isEmpty() && overrides.isEmpty()) {
+            return getOccurrence(current, id);
+          }
+          LocalDate date = rule.occurrence(startDateTime.toLocalDate(), current);
+          if (overrides.containsKey(date)) {
+            return overrides.get(date);
+          } else if (!cancelled.contains(date)) {
+            return getOccurrence(current, id);
+          }
+        }
+        return null;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public SingleEvent next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        SingleEvent result = next;
+        next = advance();
+        return result;
+      }
+    };
+  }
 
-    if (weekdays == null || weekdays.isEmpty()) {
-      return occurrences;
+  /**
+   * Returns the number of occurrences the rule gives, limited by the repeat count and the
+   * repeat-until date, including cancelled and replaced ones. A series with neither limit, or
+   * with no weekday, has none.
+   *
+   * @return the number of occurrences
+   */
+  public long getOccurrenceCount() {
+    if (rule == null || (repeatCount <= 0 && repeatUntil == null)) {
+      return 0;
     }
-    if (repeatCount <= 0 && repeatUntil == null) {
-      return occurrences;
+    long count = repeatCount > 0 ? repeatCount : Long.MAX_VALUE;
+    if (repeatUntil != null) {
+      LocalDate lastDate = repeatUntil.withZoneSameInstant(startDateTime.getZone())
+              .toLocalDate();
+      long untilCount = rule.countBefore(startDateTime.toLocalDate(), lastDate);
+      if (!startOf(untilCount).isAfter(repeatUntil)) {
+        untilCount++;
+      }
+      count = Math.min(count, untilCount);
     }
+    return count;
+  }
 
-    if (seriesId == null || seriesId.isEmpty()) {
-      seriesId = UUID.randomUUID().toString();
+  /**
+   * Returns the occurrence with the given index, computed directly from the rule. The index
+   * is not checked against {@link #getOccurrenceCount()}.
+   *
+   * @param index    the index of the occurrence, counting from 0
+   * @param seriesId the series ID given to the occurrence
+   * @return the occurrence, or null if it was cancelled or replaced
+   */
+  public SingleEvent getOccurrence(long index, String seriesId) {
+    long days = daysToOccurrence(index);
+    ZonedDateTime start = startDateTime.plusDays(days);
+    if (!cancelled.isEmpty() || !overrides.isEmpty()) {
+      LocalDate date = startDateTime.toLocalDate().plusDays(days);
+      if (cancelled.contains(date) || overrides.containsKey(date)) {
+        return null;
+      }
     }
+    return new SingleEvent(subject, start, endDateTime.plusDays(days), description, location,
+            isPublic, isAllDay, seriesId);
+  }
 
-    ZonedDateTime currentStart = this.startDateTime;
-    ZonedDateTime currentEnd = this.endDateTime;
-    int created = 0;
+  /**
+   * Returns the index of the first occurrence that does not end before an instant. The
+   * search starts from the occurrences of the day before the instant, less the length of
+   * the event, so only a few occurrences are computed.
+   *
+   * @param instant the instant to search from
+   * @return the index of the first occurrence ending at or after the instant, which may be
+   *         {@link #getOccurrenceCount()} or more if there is none
+   */
+  public long firstIndexEndingAtOrAfter(ZonedDateTime instant) {
+    if (rule == null) {
+      return 0;
+    }
+    LocalDate earliest = instant.withZoneSameInstant(startDateTime.getZone())
+            .minusSeconds(ChronoUnit.SECONDS.between(startDateTime, endDateTime))
+            .toLocalDate().minusDays(1);
+    long index = rule.countBefore(startDateTime.toLocalDate(), earliest);
+    while (endDateTime.plusDays(daysToOccurrence(index)).isBefore(instant)) {
+      index++;
+    }
+    return index;
+  }
 
-    while (true) {
-      if (repeatUntil != null && currentStart.isAfter(repeatUntil)) {
+  /**
+   * Returns the occurrences that overlap a range, starting before its end and ending after
+   * its start. Only the occurrences near the range are computed, besides the replacing
+   * events, which are checked one by one.
+   *
+   * @param start    the start of the range
+   * @param end      the end of the range
+   * @param seriesId the series ID given to the occurrences
+   * @return the overlapping occurrences, in start order
+   */
+  public List<SingleEvent> occurrencesBetween(ZonedDateTime start, ZonedDateTime end,
+                                              String seriesId) {
+    List<SingleEvent> result = new ArrayList<>();
+    long count = getOccurrenceCount();
+    for (long index = firstIndexEndingAtOrAfter(start); index < count; index++) {
+      if (!startOf(index).isBefore(end)) {
         break;
       }
-      if (weekdays.indexOf(getDayChar(currentStart.getDayOfWeek())) >= 0) {
-        occurrences.add(new SingleEvent(subject, currentStart, currentEnd,
-                description, location, isPublic, isAllDay, seriesId));
-        created++;
-        if (repeatCount > 0 && created >= repeatCount) {
-          break;
+      SingleEvent occurrence = getOccurrence(index, seriesId);
+      if (occurrence != null && occurrence.getEndDateTime().isAfter(start)) {
+        result.add(occurrence);
+      }
+    }
+    if (!overrides.isEmpty()) {
+      for (SingleEvent replacement : overrides.values()) {
+        if (replacement.getStartDateTime().isBefore(end)
+                && replacement.getEndDateTime().isAfter(start)) {
+          result.add(replacement);
         }
       }
-      currentStart = currentStart.plusDays(1);
-      currentEnd = currentEnd.plusDays(1);
+      result.sort(Comparator.comparing(e -> e.getStartDateTime().toInstant()));
     }
-    return occurrences;
+    return result;
   }
 
-  /**
-   * Returns the character representing the given day of the week (e.g., "M" for Monday).
-   *
-   * @param dayOfWeek the DayOfWeek to convert
-   * @return the character representing the given day of the week
-   * @throws IllegalArgumentException if the DayOfWeek is unknown
-   */
-  private char getDayChar(DayOfWeek dayOfWeek) {
-    switch (dayOfWeek) {
-      case MONDAY:
-        return 'M';
-      case TUESDAY:
-        return 'T';
-      case WEDNESDAY:
-        return 'W';
-      case THURSDAY:
-        return 'R';
-      case FRIDAY:
-        return 'F';
-      case SATURDAY:
-        return 'S';
-      case SUNDAY:
-        return 'U';
-      default:
-        throw new IllegalArgumentException("Unknown day: " + dayOfWeek);
-    }
+  private ZonedDateTime startOf(long index) {
+    return startDateTime.plusDays(daysToOccurrence(index));
+  }
+
+  private long daysToOccurrence(long index) {
+    LocalDate first = startDateTime.toLocalDate();
+    return ChronoUnit.DAYS.between(first, rule.occurrence(first, index));
   }
 
   /**
    * Creates a new instance of the recurring event with an updated property.
    * This method allows modifying specific properties of the event, such as
    * the repeat count, repeat until date, weekdays, description, location, etc.
+   * Cancelled and replaced occurrences stay as they are.
    *
    * @param property the property to be updated
    * @param newValue the new value for the specified property
@@ -247,6 +565,6 @@ public class RecurringEvent extends AbstractCalendarEvent {
 
     return new RecurringEvent(updatedSubject, updatedStart, updatedEnd, updatedWeekdays,
             updatedRepeatCount, updatedRepeatUntil, updatedDescription,
-            updatedLocation, updatedIsPublic, updatedIsAllDay);
+            updatedLocation, updatedIsPublic, updatedIsAllDay, cancelled, overrides);
   }
 }
@@ -0,0 +1,198 @@
+package calendarapp.utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers shared by the compact binary file formats of the application. Integers are written
+ * as unsigned LEB128 variable-length values, signed values are zig-zag encoded first, and
+ * strings are written as a variable-length byte count followed by their UTF-8 bytes.
+ */
+public final class BinaryCodec {
+
+  private BinaryCodec() {
+    // Utility class
+  }
+
+  /**
+   * Writes a non-negative int using as few bytes as possible.
+   *
+   * @param out   the destination
+   * @param value the value to write
+   * @throws IOException if writing fails
+   */
+  public static void writeVarInt(DataOutput out, int value) throws IOException {
+    writeVarLong(out, value & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Writes an unsigned long using as few bytes as possible.
+   *
+   * @param out   the destination
+   * @param value the value to write, interpreted as unsigned
+   * @throws IOException if writing fails
+   */
+  public static void writeVarLong(DataOutput out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  /**
+   * Writes a signed long using zig-zag encoding, so values close to zero stay short.
+   *
+   * @param out   the destination
+   * @param value the value to write
+   * @throws IOException if writing fails
+   */
+  public static void writeSignedVarLong(DataOutput out, long value) throws IOException {
+    writeVarLong(out, (value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Writes a string as a length-prefixed UTF-8 byte sequence. A null string is written as
+   * length zero followed by a marker bit, so that it can be told apart from an empty string.
+   *
+   * @param out   the destination
+   * @param value the string to write, may be null
+   * @throws IOException if writing fails
+   */
+  public static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      writeVarInt(out, 0);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(out, ((long) bytes.length << 1) | 1);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads a value written by {@link #writeVarInt(DataOutput, int)}.
+   *
+   * @param in the source
+   * @return the value read
+   * @throws IOException if reading fails
+   */
+  public static int readVarInt(DataInput in) throws IOException {
+    return (int) readVarLong(in);
+  }
+
+  /**
+   * Reads a value written by {@link #writeVarLong(DataOutput, long)}.
+   *
+   * @param in the source
+   * @return the value read
+   * @throws IOException if reading fails or the value is malformed
+   */
+  public static long readVarLong(DataInput in) throws IOException {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed variable-length integer");
+  }
+
+  /**
+   * Reads a value written by {@link #writeSignedVarLong(DataOutput, long)}.
+   *
+   * @param in the source
+   * @return the value read
+   * @throws IOException if reading fails
+   */
+  public static long readSignedVarLong(DataInput in) throws IOException {
+    long raw = readVarLong(in);
+    return (raw >>> 1) ^ -(raw & 1);
+  }
+
+  /**
+   * Reads a string written by {@link #writeString(DataOutput, String)}.
+   *
+   * @param in the source
+   * @return the string read, or null if a null string was written
+   * @throws IOException if reading fails
+   */
+  public static String readString(DataInput in) throws IOException {
+    long header = readVarLong(in);
+    if (header == 0) {
+      return null;
+    }
+    byte[] bytes = new byte[(int) (header >>> 1)];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads a value written by {@link #writeVarLong(DataOutput, long)} from a buffer.
+   *
+   * @param in the source buffer
+   * @return the value read
+   * @throws IllegalStateException if the value is malformed
+   */
+  public static long readVarLong(ByteBuffer in) {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.get() & 0xFF;
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IllegalStateException("Malformed variable-length integer");
+  }
+
+  /**
+   * Reads a value written by {@link #writeVarInt(DataOutput, int)} from a buffer.
+   *
+   * @param in the source buffer
+   * @return the value read
+   */
+  public static int readVarInt(ByteBuffer in) {
+    return (int) readVarLong(in);
+  }
+
+  /**
+   * Reads a value written by {@link #writeSignedVarLong(DataOutput, long)} from a buffer.
+   *
+   * @param in the source buffer
+   * @return the value read
+   */
+  public static long readSignedVarLong(ByteBuffer in) {
+    long raw = readVarLong(in);
+    return (raw >>> 1) ^ -(raw & 1);
+  }
+
+  /**
+   * Reads a string written by {@link #writeString(DataOutput, String)} from a buffer.
+   *
+   * @param in the source buffer
+   * @return the string read, or null if a null string was written
+   */
+  public static String readString(ByteBuffer in) {
+    long header = readVarLong(in);
+    if (header == 0) {
+      return null;
+    }
+    int length = (int) (header >>> 1);
+    String value;
+    if (in.hasArray()) {
+      value = new String(in.array(), in.arrayOffset() + in.position(), length,
+              StandardCharsets.UTF_8);
+      in.position(in.position() + length);
+    } else {
+      byte[] bytes = new byte[length];
+      in.get(bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+    }
+    return value;
+  }
+}
@@ -1,23 +1,34 @@
 package calendarapp.utils;
 
+import calendarapp.model.EventDelta;
 import calendarapp.model.event.ReadOnlyCalendarEvent;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * The CSVExporter class implements the IExporter interface to export calendar events to a CSV file.
  * The exported CSV file contains the event's subject, start and end date/times,
  * description, location, privacy status, and whether the event is all-day or not.
+ * A path ending in ".csv.gz" is written gzip-compressed.
  */
 public class CSVExporter implements IExporter {
 
   private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
   private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+  private static final String HEADER = "Subject,Start Date,Start Time,End Date,End Time,"
+          + "All Day Event,Description,Location,Private";
+  private static final int BUFFER_SIZE = 64 * 1024;
 
   /**
    * Exports the list of calendar events to a CSV file.
@@ -26,21 +37,96 @@ public class CSVExporter implements IExporter {
    * @param filePath the path of the CSV file to be created
    * @return the absolute path of the created CSV file
    * @throws IOException              if an error occurs while writing to the file
-   * @throws IllegalArgumentException if the file path is invalid or the file extension is not .csv
+   * @throws IllegalArgumentException if the file path is invalid or the file extension is not
+   *                                  .csv or .csv.gz
    */
   @Override
   public String export(List<ReadOnlyCalendarEvent> events, String filePath) throws IOException {
+    validatePath(filePath);
+
+    if (events == null || events.isEmpty()) {
+      throw new IOException("No events available for export.");
+    }
+
+    File file = prepareFile(filePath);
+    try (Writer writer = openWriter(file)) {
+      writer.append(HEADER).append("\n");
+
+      for (ReadOnlyCalendarEvent event : events) {
+        writer.append(formatEvent(event)).append("\n");
+      }
+    }
+    return file.getAbsolutePath();
+  }
+
+  /**
+   * Exports the changes to a calendar as a CSV file. The first line is a comment holding the
+   * sequence number to request the next delta from, the sequence number the delta starts
+   * after, and whether the delta is full. Every row starts with a Change column of
+   * {@code added}, {@code changed} or {@code deleted}, followed by the regular columns. Unlike
+   * a regular export, a delta with no changes is written as a file with no rows.
+   *
+   * @param delta    the changes to export
+   * @param filePath the path of the CSV file to be created
+   * @return the absolute path of the created CSV file
+   * @throws IOException              if an error occurs while writing to the file
+   * @throws IllegalArgumentException if the file path is invalid or the file extension is not
+   *                                  .csv or .csv.gz
+   */
+  @Override
+  public String exportDelta(EventDelta delta, String filePath) throws IOException {
+    validatePath(filePath);
+
+    File file = prepareFile(filePath);
+    try (Writer writer = openWriter(file)) {
+      writer.append("# sequence=").append(String.valueOf(delta.getSequence()))
+              .append(" since=").append(String.valueOf(delta.getSince()))
+              .append(" full=").append(String.valueOf(delta.isFull())).append("\n");
+      writer.append("Change,").append(HEADER).append("\n");
+      writeRows(writer, "added", delta.getAdded());
+      writeRows(writer, "changed", delta.getChanged());
+      writeRows(writer, "deleted", delta.getDeleted());
+    }
+    return file.getAbsolutePath();
+  }
+
+  private void writeRows(Writer writer, String change, List<ReadOnlyCalendarEvent> events)
+          throws IOException {
+    for (ReadOnlyCalendarEvent event : events) {
+      writer.append(change).append(',').append(formatEvent(event)).append("\n");
+    }
+  }
+
+  private static void validatePath(String filePath) {
     if (filePath == null || filePath.trim().isEmpty()) {
       throw new IllegalArgumentException("File path must not be null or empty.");
     }
-    if (!filePath.toLowerCase().endsWith(".csv")) {
-      throw new IllegalArgumentException("Invalid file extension. File must end with .csv");
+    String lower = filePath.toLowerCase();
+    if (!lower.endsWith(".csv") && !lower.endsWith(".csv.gz")) {
+      throw new IllegalArgumentException("Invalid file extension. File must end with .csv or "
+              + ".csv.gz");
     }
+  }
 
-    if (events == null || events.isEmpty()) {
-      throw new IOException("No events available for export.");
+  /**
+   * Opens a buffered writer for the file, compressing through a gzip stream when the file name
+   * ends in ".gz". Compressed files are written as UTF-8.
+   */
+  private static Writer openWriter(File file) throws IOException {
+    if (!file.getName().toLowerCase().endsWith(".gz")) {
+      return new BufferedWriter(new FileWriter(file), BUFFER_SIZE);
+    }
+    FileOutputStream out = new FileOutputStream(file);
+    try {
+      return new BufferedWriter(new OutputStreamWriter(
+              new GZIPOutputStream(out, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+    } catch (IOException e) {
+      out.close();
+      throw e;
     }
+  }
 
+  private static File prepareFile(String filePath) throws IOException {
     File file = new File(filePath);
     File parentDir = file.getParentFile();
     if (parentDir != null && !parentDir.exists()) {
@@ -48,16 +134,7 @@ public class CSVExporter implements IExporter {
         throw new IOException("Failed to create directory: " + parentDir.getAbsolutePath());
       }
     }
-
-    try (FileWriter writer = new FileWriter(file)) {
-      writer.append("Subject,Start Date,Start Time,End Date,End Time,All Day Event,"
-              + "Description,Location,Private\n");
-
-      for (ReadOnlyCalendarEvent event : events) {
-        writer.append(formatEvent(event)).append("\n");
-      }
-    }
-    return file.getAbsolutePath();
+    return file;
   }
 
   /**
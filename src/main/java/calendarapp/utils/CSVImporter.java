@@ -5,98 +5,337 @@ import calendarapp.model.event.RecurringEvent;
 import calendarapp.model.event.SingleEvent;
 import calendarapp.model.event.ICalendarEvent;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
 import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Imports events from a CSV file into the active calendar. Supports both single
  * and recurring events based on the presence of recurrence-related fields. Parses
  * Google Calendar-style CSVs with support for timezone-aware timestamps, descriptions,
- * and locations. Implements the IImporter interface.
+ * and locations. Files ending in ".gz" are decompressed while they are read. Implements the
+ * IImporter interface.
+ *
+ * <p>Rows are added to the calendar in chunks. A checkpointed importer records, after each
+ * chunk, the byte offset of the next row and the number of rows committed in a
+ * {@code <file>.checkpoint} file, so that an import that stopped part way can be resumed from
+ * there instead of from the first row. Its error policy decides whether a malformed row stops
+ * the import or is skipped and written to a {@code <file>.rejects} file.</p>
  */
 
 public class CSVImporter implements IImporter {
 
+  /**
+   * What a checkpointed import does with a row it cannot parse.
+   */
+  public enum ErrorPolicy {
+    /**
+     * Stops the import, leaving the rows before the last checkpoint in the calendar.
+     */
+    ABORT,
+    /**
+     * Writes the row and the reason to the reject file and continues.
+     */
+    SKIP
+  }
+
   private static final DateTimeFormatter[] DATE_FORMATS = new DateTimeFormatter[]{
     DateTimeFormatter.ofPattern("MM/dd/yyyy"),
     DateTimeFormatter.ISO_LOCAL_DATE
   };
+  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int CHUNK_ROWS = 4096;
+
+  private final ErrorPolicy errorPolicy;
+  private final boolean checkpointed;
+  private final boolean resume;
+  private long rowsImported;
+  private long rowsRejected;
+  private long rowsResumed;
+
+  /**
+   * Creates an importer that stops at the first malformed row and keeps no checkpoint.
+   */
+  public CSVImporter() {
+    this.errorPolicy = ErrorPolicy.ABORT;
+    this.checkpointed = false;
+    this.resume = false;
+  }
+
+  /**
+   * Creates a checkpointed importer.
+   *
+   * @param errorPolicy what to do with malformed rows
+   * @param resume      whether to continue from the checkpoint of an earlier import of the same
+   *                    file, if there is one
+   */
+  public CSVImporter(ErrorPolicy errorPolicy, boolean resume) {
+    this.errorPolicy = errorPolicy;
+    this.checkpointed = true;
+    this.resume = resume;
+  }
 
   @Override
   public void importInto(ICalendarModel model, String filePath) throws IOException {
-    try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-      String header = reader.readLine();
-      String line;
-      DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm");
+    Path checkpointFile = Paths.get(filePath + ".checkpoint");
+    Path rejectFile = Paths.get(filePath + ".rejects");
+    Checkpoint start = new Checkpoint();
+    if (checkpointed && resume && Files.exists(checkpointFile)) {
+      start = Checkpoint.load(checkpointFile);
+    } else if (checkpointed) {
+      Files.deleteIfExists(checkpointFile);
+      Files.deleteIfExists(rejectFile);
+    }
+    rowsResumed = start.imported + start.rejected;
+    rowsImported = start.imported;
+    rowsRejected = start.rejected;
 
-      while ((line = reader.readLine()) != null) {
-        String[] parts = line.split(",", -1);
-        if (parts.length < 7) {
-          continue;
+    ZoneId zone = model.getTimezone();
+    try (LineInput lines = openLines(filePath)) {
+      long lineNumber = start.line;
+      if (start.offset == 0) {
+        if (lines.readLine() == null) {
+          return;
         }
+        lineNumber = 1;
+      } else {
+        start.seek(lines, filePath);
+      }
 
-        String name = parts[0].replace("\"", "").trim();
-        LocalDate startDate = tryParseDate(parts[1].trim());
-        LocalTime startTime = LocalTime.parse(parts[2].trim(), timeFormat);
-        LocalDate endDate = tryParseDate(parts[3].trim());
-        LocalTime endTime = LocalTime.parse(parts[4].trim(), timeFormat);
-        String desc = parts[6].trim();
-        String loc = parts[7].trim();
-
-        ZonedDateTime start = startDate.atTime(startTime).atZone(model.getTimezone());
-        ZonedDateTime end = endDate.atTime(endTime).atZone(model.getTimezone());
-
-        boolean isRecurring = false;
-        String weekdays = "";
-        String repeatUntilStr = "";
-        String repeatCountStr = "";
-
-        if (parts.length >= 10) {
-          weekdays = parts[9].trim().toUpperCase();
-          isRecurring = !weekdays.isEmpty();
-          if (parts.length >= 11) {
-            repeatUntilStr = parts[10].trim();
+      long committedLine = lineNumber;
+      List<ICalendarEvent> chunk = new ArrayList<>(CHUNK_ROWS);
+      StringBuilder chunkRejects = new StringBuilder();
+      long chunkRejected = 0;
+      String line;
+      while ((line = lines.readLine()) != null) {
+        lineNumber++;
+        ICalendarEvent event;
+        try {
+          event = parseRow(line, zone);
+        } catch (DateTimeException | IllegalArgumentException e) {
+          if (errorPolicy == ErrorPolicy.ABORT) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage()
+                    + (checkpointed ? ". Rows up to line " + committedLine + " were imported;"
+                    + " fix the row and resume the import" : ""), e);
           }
-          if (parts.length >= 12) {
-            repeatCountStr = parts[11].trim();
+          chunkRejects.append(lineNumber).append(',').append(quote(e.getMessage()))
+                  .append(',').append(line).append('\n');
+          chunkRejected++;
+          continue;
+        }
+        if (event != null) {
+          chunk.add(event);
+        }
+        if (chunk.size() >= CHUNK_ROWS) {
+          commit(model, chunk, chunkRejects, chunkRejected, rejectFile);
+          chunk.clear();
+          chunkRejects.setLength(0);
+          chunkRejected = 0;
+          committedLine = lineNumber;
+          if (checkpointed) {
+            new Checkpoint(lines.offset(), lineNumber, rowsImported, rowsRejected,
+                    lines.lineStart(), lines.lineChecksum()).save(checkpointFile);
           }
         }
+      }
+      commit(model, chunk, chunkRejects, chunkRejected, rejectFile);
+    }
+    if (checkpointed) {
+      Files.deleteIfExists(checkpointFile);
+    }
+  }
 
-        ICalendarEvent event;
+  /**
+   * Reads every row of the file into an event. Recurring rows are returned as one recurring
+   * event each, the way they are added to the calendar.
+   */
+  @Override
+  public List<ICalendarEvent> readEvents(String filePath, ZoneId zone, List<String> problems)
+          throws IOException {
+    List<ICalendarEvent> result = new ArrayList<>();
+    try (LineInput lines = openLines(filePath)) {
+      if (lines.readLine() == null) {
+        return result;
+      }
+      long lineNumber = 1;
+      String line;
+      while ((line = lines.readLine()) != null) {
+        lineNumber++;
+        try {
+          ICalendarEvent event = parseRow(line, zone);
+          if (event != null) {
+            result.add(event);
+          }
+        } catch (DateTimeException | IllegalArgumentException e) {
+          problems.add("Line " + lineNumber + ": " + e.getMessage());
+        }
+      }
+    }
+    return result;
+  }
 
-        if (isRecurring) {
-          int repeatCount = 0;
-          ZonedDateTime repeatUntil = null;
+  /**
+   * Adds a chunk of events and writes the rows rejected since the previous chunk, so that the
+   * reject file never lists rows beyond the next checkpoint.
+   */
+  private void commit(ICalendarModel model, List<ICalendarEvent> chunk, CharSequence rejects,
+                      long rejected, Path rejectFile) throws IOException {
+    rowsImported += model.addEvents(chunk, true);
+    if (rejected > 0) {
+      try (Writer writer = openRejects(rejectFile)) {
+        writer.append(rejects);
+      }
+      rowsRejected += rejected;
+    }
+  }
 
-          if (!repeatCountStr.isEmpty()) {
-            repeatCount = Integer.parseInt(repeatCountStr);
-          }
-          if (!repeatUntilStr.isEmpty()) {
-            repeatUntil = tryParseDate(repeatUntilStr).atStartOfDay(model.getTimezone());
-          }
+  /**
+   * Returns the number of events added to the calendar, including those added before a
+   * resumed import's checkpoint.
+   *
+   * @return the number of imported events
+   */
+  public long getRowsImported() {
+    return rowsImported;
+  }
 
-          event = new RecurringEvent(name, start, end, weekdays, repeatCount, repeatUntil,
-                  desc, loc, true, start.toLocalTime().equals(LocalTime.MIN)
-                  && end.toLocalTime().equals(LocalTime.of(23, 59, 59)));
+  /**
+   * Returns the number of rows written to the reject file.
+   *
+   * @return the number of rejected rows
+   */
+  public long getRowsRejected() {
+    return rowsRejected;
+  }
 
-        } else {
-          event = new SingleEvent(name, start, end, desc, loc, true,
-                  start.toLocalTime().equals(LocalTime.MIN)
-                          && end.toLocalTime().equals(LocalTime.of(23, 59, 59)),
-                  null);
-        }
+  /**
+   * Returns the number of rows the last import skipped because an earlier import had already
+   * processed them.
+   *
+   * @return the number of rows before the checkpoint, or 0 if the import was not resumed
+   */
+  public long getRowsResumed() {
+    return rowsResumed;
+  }
 
-        model.addEvent(event, true);
+  /**
+   * Parses one row into an event.
+   *
+   * @return the event, or null if the row has too few columns
+   */
+  private ICalendarEvent parseRow(String line, ZoneId zone) {
+    String[] parts = line.split(",", -1);
+    if (parts.length < 7) {
+      return null;
+    }
+
+    String name = parts[0].replace("\"", "").trim();
+    LocalDate startDate = tryParseDate(parts[1].trim());
+    LocalTime startTime = LocalTime.parse(parts[2].trim(), TIME_FORMAT);
+    LocalDate endDate = tryParseDate(parts[3].trim());
+    LocalTime endTime = LocalTime.parse(parts[4].trim(), TIME_FORMAT);
+    String desc = parts[6].trim();
+    String loc = parts.length > 7 ? parts[7].trim() : "";
+
+    ZonedDateTime start = startDate.atTime(startTime).atZone(zone);
+    ZonedDateTime end = endDate.atTime(endTime).atZone(zone);
+
+    boolean isRecurring = false;
+    String weekdays = "";
+    String repeatUntilStr = "";
+    String repeatCountStr = "";
+
+    if (parts.length >= 10) {
+      weekdays = parts[9].trim().toUpperCase();
+      isRecurring = !weekdays.isEmpty();
+      if (parts.length >= 11) {
+        repeatUntilStr = parts[10].trim();
+      }
+      if (parts.length >= 12) {
+        repeatCountStr = parts[11].trim();
       }
     }
+
+    if (isRecurring) {
+      int repeatCount = 0;
+      ZonedDateTime repeatUntil = null;
+
+      if (!repeatCountStr.isEmpty()) {
+        repeatCount = Integer.parseInt(repeatCountStr);
+      }
+      if (!repeatUntilStr.isEmpty()) {
+        repeatUntil = tryParseDate(repeatUntilStr).atStartOfDay(zone);
+      }
+
+      return new RecurringEvent(name, start, end, weekdays, repeatCount, repeatUntil,
+              desc, loc, true, start.toLocalTime().equals(LocalTime.MIN)
+              && end.toLocalTime().equals(LocalTime.of(23, 59, 59)));
+    }
+    return new SingleEvent(name, start, end, desc, loc, true,
+            start.toLocalTime().equals(LocalTime.MIN)
+                    && end.toLocalTime().equals(LocalTime.of(23, 59, 59)),
+            null);
+  }
+
+  /**
+   * Opens the file for reading lines, decompressing through a gzip stream when the file name
+   * ends in ".gz". Compressed files are read as UTF-8, others in the platform charset.
+   */
+  private static LineInput openLines(String filePath) throws IOException {
+    FileInputStream in = new FileInputStream(filePath);
+    if (!filePath.toLowerCase().endsWith(".gz")) {
+      return new LineInput(in, Charset.defaultCharset());
+    }
+    try {
+      return new LineInput(new GZIPInputStream(in, BUFFER_SIZE), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  private static Writer openRejects(Path rejectFile) throws IOException {
+    boolean exists = Files.exists(rejectFile);
+    Writer writer = new BufferedWriter(new OutputStreamWriter(
+            new FileOutputStream(rejectFile.toFile(), true), Charset.defaultCharset()));
+    if (!exists) {
+      writer.append("Line,Reason,Row\n");
+    }
+    return writer;
+  }
+
+  private static String quote(String value) {
+    String text = value == null ? "" : value;
+    return "\"" + text.replace("\"", "\"\"") + "\"";
   }
 
   private LocalDate tryParseDate(String input) {
@@ -141,4 +380,172 @@ public class CSVImporter implements IImporter {
     }
     return result;
   }
-}
\ No newline at end of file
+
+  /**
+   * Reads lines from a byte stream while counting the bytes consumed, so that the position
+   * after any line can be recorded and skipped to later. Lines end at '\n', and a trailing
+   * '\r' is dropped.
+   */
+  private static final class LineInput implements Closeable {
+    private final InputStream in;
+    private final Charset charset;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private int position;
+    private int limit;
+    private long offset;
+    private long lineStart;
+
+    LineInput(InputStream in, Charset charset) {
+      this.in = in;
+      this.charset = charset;
+    }
+
+    String readLine() throws IOException {
+      lineStart = offset;
+      int length = 0;
+      boolean read = false;
+      while (true) {
+        if (position == limit) {
+          limit = Math.max(in.read(buffer, 0, buffer.length), 0);
+          position = 0;
+          if (limit == 0) {
+            if (!read) {
+              return null;
+            }
+            break;
+          }
+        }
+        read = true;
+        byte b = buffer[position++];
+        offset++;
+        if (b == '\n') {
+          break;
+        }
+        if (length == line.length) {
+          line = Arrays.copyOf(line, length * 2);
+        }
+        line[length++] = b;
+      }
+      lineLength = length;
+      if (length > 0 && line[length - 1] == '\r') {
+        length--;
+      }
+      return new String(line, 0, length, charset);
+    }
+
+    void skip(long bytes) throws IOException {
+      long remaining = bytes - offset;
+      while (remaining > 0) {
+        long skipped = in.skip(remaining);
+        if (skipped <= 0) {
+          if (in.read() < 0) {
+            throw new IOException("Checkpoint is beyond the end of the file");
+          }
+          skipped = 1;
+        }
+        remaining -= skipped;
+      }
+      offset = bytes;
+    }
+
+    long offset() {
+      return offset;
+    }
+
+    long lineStart() {
+      return lineStart;
+    }
+
+    long lineChecksum() {
+      CRC32 crc = new CRC32();
+      crc.update(line, 0, lineLength);
+      return crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+
+  /**
+   * The progress of an import: the byte offset after the last committed line, that line's
+   * number, and the rows imported and rejected up to it. A checkpoint also records where the
+   * last committed line starts and a checksum of it, so that a resumed import can tell that
+   * the part of the file already imported is unchanged, while rows after it may have been
+   * fixed.
+   */
+  private static final class Checkpoint {
+    private final long offset;
+    private final long line;
+    private final long imported;
+    private final long rejected;
+    private final long lastLineStart;
+    private final long lastLineChecksum;
+
+    Checkpoint() {
+      this(0, 0, 0, 0, 0, 0);
+    }
+
+    Checkpoint(long offset, long line, long imported, long rejected, long lastLineStart,
+               long lastLineChecksum) {
+      this.offset = offset;
+      this.line = line;
+      this.imported = imported;
+      this.rejected = rejected;
+      this.lastLineStart = lastLineStart;
+      this.lastLineChecksum = lastLineChecksum;
+    }
+
+    static Checkpoint load(Path checkpointFile) throws IOException {
+      Properties properties = new Properties();
+      try (Reader reader = Files.newBufferedReader(checkpointFile, StandardCharsets.ISO_8859_1)) {
+        properties.load(reader);
+      }
+      try {
+        return new Checkpoint(Long.parseLong(properties.getProperty("offset")),
+                Long.parseLong(properties.getProperty("line")),
+                Long.parseLong(properties.getProperty("imported")),
+                Long.parseLong(properties.getProperty("rejected")),
+                Long.parseLong(properties.getProperty("lastLineStart")),
+                Long.parseLong(properties.getProperty("lastLineChecksum")));
+      } catch (NumberFormatException e) {
+        throw new IOException("Invalid checkpoint file: " + checkpointFile);
+      }
+    }
+
+    /**
+     * Moves the input to the checkpoint, checking that the last committed line is unchanged.
+     */
+    void seek(LineInput lines, String filePath) throws IOException {
+      lines.skip(lastLineStart);
+      if (lines.readLine() == null || lines.offset() != offset
+              || lines.lineChecksum() != lastLineChecksum) {
+        throw new IOException("File has changed before the checkpoint: " + filePath
+                + ". Import it again without resuming");
+      }
+    }
+
+    /**
+     * Writes the checkpoint to a temporary file and moves it into place, so a crash never
+     * leaves a partly written checkpoint.
+     */
+    void save(Path checkpointFile) throws IOException {
+      Properties properties = new Properties();
+      properties.setProperty("offset", String.valueOf(offset));
+      properties.setProperty("line", String.valueOf(line));
+      properties.setProperty("imported", String.valueOf(imported));
+      properties.setProperty("rejected", String.valueOf(rejected));
+      properties.setProperty("lastLineStart", String.valueOf(lastLineStart));
+      properties.setProperty("lastLineChecksum", String.valueOf(lastLineChecksum));
+      Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        properties.store(out, "Import checkpoint");
+      }
+      Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+    }
+  }
+}
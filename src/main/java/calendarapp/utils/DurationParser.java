@@ -0,0 +1,38 @@
+package calendarapp.utils;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the durations accepted in commands and task files.
+ */
+public final class DurationParser {
+
+  private static final Pattern HOURS_MINUTES = Pattern.compile("(?i)(?:(\\d+)h)?(?:(\\d+)m?)?");
+
+  private DurationParser() {
+  }
+
+  /**
+   * Parses a duration such as 30m, 2h, 1h30m, a number of minutes, or an ISO-8601 duration.
+   *
+   * @param token the duration text
+   * @return the duration
+   * @throws IllegalArgumentException if the text is not a duration
+   */
+  public static Duration parse(String token) {
+    Matcher matcher = HOURS_MINUTES.matcher(token);
+    if (!token.isEmpty() && matcher.matches()) {
+      long hours = matcher.group(1) == null ? 0 : Long.parseLong(matcher.group(1));
+      long minutes = matcher.group(2) == null ? 0 : Long.parseLong(matcher.group(2));
+      return Duration.ofHours(hours).plusMinutes(minutes);
+    }
+    try {
+      return Duration.parse(token);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid duration: " + token);
+    }
+  }
+}
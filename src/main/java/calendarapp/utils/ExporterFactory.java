@@ -27,8 +27,9 @@ public class ExporterFactory {
 
   /**
    * Returns an appropriate exporter based on the given file path.
-   * If the file path ends with ".csv", a CSVExporter is returned.
-   * If the file path has an unsupported extension, an IllegalArgumentException is thrown.
+   * If the file path ends with ".csv" or ".csv.gz", a CSVExporter is returned, and if it ends
+   * with ".ics", an ICSExporter. If the file path has an unsupported extension, an
+   * IllegalArgumentException is thrown.
    *
    * @param filePath the file path for which the exporter is needed
    * @return an instance of IExporter corresponding to the file type
@@ -39,10 +40,25 @@ public class ExporterFactory {
       return customExporterSupplier.apply(filePath);
     }
 
-    if (filePath.toLowerCase().endsWith(".csv")) {
+    String lower = filePath.toLowerCase();
+    if (lower.endsWith(".csv") || lower.endsWith(".csv.gz")) {
       return new CSVExporter();
     }
+    if (lower.endsWith(".ics")) {
+      return new ICSExporter();
+    }
 
     throw new IllegalArgumentException("Unsupported file type: " + filePath);
   }
+
+  /**
+   * Indicates whether events can be exported to a file, judging by its extension.
+   *
+   * @param filePath the path of the file
+   * @return true if an exporter exists for the file type
+   */
+  public static boolean isSupported(String filePath) {
+    String lower = filePath.toLowerCase();
+    return lower.endsWith(".csv") || lower.endsWith(".csv.gz") || lower.endsWith(".ics");
+  }
 }
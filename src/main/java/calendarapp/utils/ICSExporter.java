@@ -0,0 +1,148 @@
+package calendarapp.utils;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Exports calendar events to an iCalendar (.ics) file. Each event is written as its own VEVENT
+ * straight to a buffered stream, with times in UTC, all-day events as DATE values and long
+ * lines folded at 75 characters.
+ */
+public class ICSExporter implements IExporter {
+
+  private static final DateTimeFormatter UTC_DATE_TIME =
+          DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+  private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+  private static final int FOLD_WIDTH = 75;
+
+  /**
+   * Exports the list of calendar events to an iCalendar file.
+   *
+   * @param events   the list of calendar events to be exported
+   * @param filePath the path of the .ics file to be created
+   * @return the absolute path of the created file
+   * @throws IOException              if there are no events or the file cannot be written
+   * @throws IllegalArgumentException if the file path is empty or does not end with .ics
+   */
+  @Override
+  public String export(List<ReadOnlyCalendarEvent> events, String filePath) throws IOException {
+    if (filePath == null || filePath.trim().isEmpty()) {
+      throw new IllegalArgumentException("File path must not be null or empty.");
+    }
+    if (!filePath.toLowerCase().endsWith(".ics")) {
+      throw new IllegalArgumentException("Invalid file extension. File must end with .ics");
+    }
+    if (events == null || events.isEmpty()) {
+      throw new IOException("No events available for export.");
+    }
+
+    File file = new File(filePath);
+    File parentDir = file.getParentFile();
+    if (parentDir != null && !parentDir.exists() && !parentDir.mkdirs()) {
+      throw new IOException("Failed to create directory: " + parentDir.getAbsolutePath());
+    }
+    try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+            new FileOutputStream(file), StandardCharsets.UTF_8), 64 * 1024)) {
+      writeTo(events, writer);
+    }
+    return file.getAbsolutePath();
+  }
+
+  /**
+   * Writes the events as an iCalendar object.
+   *
+   * @param events the events to write
+   * @param out    the destination
+   * @throws IOException if writing fails
+   */
+  public void writeTo(List<ReadOnlyCalendarEvent> events, Writer out) throws IOException {
+    String stamp = UTC_DATE_TIME.format(Instant.now());
+    writeLine(out, "BEGIN:VCALENDAR");
+    writeLine(out, "VERSION:2.0");
+    writeLine(out, "PRODID:-//calendarapp//Calendar Application//EN");
+    for (ReadOnlyCalendarEvent event : events) {
+      ZonedDateTime start = event.getStartDateTime();
+      ZonedDateTime end = event.getEndDateTime();
+      writeLine(out, "BEGIN:VEVENT");
+      writeLine(out, "UID:" + UUID.nameUUIDFromBytes((event.getSubject() + '\u0000'
+              + start.toInstant() + '\u0000' + end.toInstant())
+              .getBytes(StandardCharsets.UTF_8)) + "@calendarapp");
+      writeLine(out, "DTSTAMP:" + stamp);
+      if (event.isAllDay()) {
+        writeLine(out, "DTSTART;VALUE=DATE:" + start.toLocalDate().format(DATE));
+        writeLine(out, "DTEND;VALUE=DATE:" + end.toLocalDate().plusDays(1).format(DATE));
+      } else {
+        writeLine(out, "DTSTART:" + UTC_DATE_TIME.format(start));
+        writeLine(out, "DTEND:" + UTC_DATE_TIME.format(end));
+      }
+      writeLine(out, "SUMMARY:" + escape(event.getSubject()));
+      if (event.getDescription() != null && !event.getDescription().isEmpty()) {
+        writeLine(out, "DESCRIPTION:" + escape(event.getDescription()));
+      }
+      if (event.getLocation() != null && !event.getLocation().isEmpty()) {
+        writeLine(out, "LOCATION:" + escape(event.getLocation()));
+      }
+      writeLine(out, "CLASS:" + (event.isPublic() ? "PUBLIC" : "PRIVATE"));
+      writeLine(out, "END:VEVENT");
+    }
+    writeLine(out, "END:VCALENDAR");
+  }
+
+  private static void writeLine(Writer out, String line) throws IOException {
+    int start = 0;
+    int width = FOLD_WIDTH;
+    while (line.length() - start > width) {
+      int end = start + width;
+      if (Character.isHighSurrogate(line.charAt(end - 1))) {
+        end--;
+      }
+      if (start > 0) {
+        out.write(' ');
+      }
+      out.write(line, start, end - start);
+      out.write("\r\n");
+      start = end;
+      width = FOLD_WIDTH - 1;
+    }
+    if (start > 0) {
+      out.write(' ');
+    }
+    out.write(line, start, line.length() - start);
+    out.write("\r\n");
+  }
+
+  private static String escape(String value) {
+    StringBuilder result = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\':
+        case ';':
+        case ',':
+          result.append('\\').append(c);
+          break;
+        case '\n':
+          result.append("\\n");
+          break;
+        case '\r':
+          break;
+        default:
+          result.append(c);
+      }
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,347 @@
+package calendarapp.utils;
+
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.RecurringEvent;
+import calendarapp.model.event.SingleEvent;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Imports events from an iCalendar (.ics) file into a calendar. The file is read one unfolded
+ * content line at a time, so only the event being parsed is held in memory.
+ *
+ * <p>Every VEVENT becomes a {@link SingleEvent}, or a {@link RecurringEvent} when it has an
+ * RRULE with FREQ=WEEKLY (optionally with BYDAY) or FREQ=DAILY, an interval of 1 and a COUNT
+ * or UNTIL. Times with a TZID or in UTC are converted to the calendar's timezone; floating
+ * times are taken to be in it. Events with a DATE value become all-day events.</p>
+ *
+ * <p>Events are handed to the calendar in batches through {@link ICalendarModel#addEvents},
+ * which checks each batch for conflicts once. If a batch conflicts, its events are added one
+ * at a time instead, so that, as with the CSV importer, only the conflicting events are left
+ * out.</p>
+ */
+public class ICSImporter implements IImporter {
+
+  private static final int BATCH_SIZE = 512;
+  private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+  private static final DateTimeFormatter DATE_TIME =
+          DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+  @Override
+  public void importInto(ICalendarModel model, String filePath) throws IOException {
+    try (Reader reader = new InputStreamReader(new FileInputStream(filePath),
+            StandardCharsets.UTF_8)) {
+      importFrom(model, reader);
+    }
+  }
+
+  /**
+   * Imports every event read from the reader into the model.
+   *
+   * @param model  the calendar to import into
+   * @param reader the iCalendar data
+   * @throws IOException              if the data cannot be read
+   * @throws IllegalArgumentException if an event is malformed or uses an unsupported rule
+   */
+  public void importFrom(ICalendarModel model, Reader reader) throws IOException {
+    List<ICalendarEvent> pending = new ArrayList<>(BATCH_SIZE);
+    read(reader, model.getTimezone(), null, event -> {
+      pending.add(event);
+      if (pending.size() >= BATCH_SIZE) {
+        model.addEvents(pending, true);
+        pending.clear();
+      }
+    });
+    model.addEvents(pending, true);
+  }
+
+  /**
+   * Reads every event of the file. Recurring events are returned as their occurrences, the
+   * way they are added to the calendar.
+   */
+  @Override
+  public List<ICalendarEvent> readEvents(String filePath, ZoneId zone, List<String> problems)
+          throws IOException {
+    List<ICalendarEvent> result = new ArrayList<>();
+    try (Reader reader = new InputStreamReader(new FileInputStream(filePath),
+            StandardCharsets.UTF_8)) {
+      read(reader, zone, problems, event -> {
+        if (event instanceof RecurringEvent) {
+          result.addAll(((RecurringEvent) event).generateOccurrences(null));
+        } else {
+          result.add(event);
+        }
+      });
+    }
+    return result;
+  }
+
+  /**
+   * Reads the events from the reader and hands each to the consumer. If a problems list is
+   * given, malformed lines and events are described in it and skipped; otherwise they stop
+   * the read with an IllegalArgumentException.
+   */
+  private static void read(Reader reader, ZoneId zone, List<String> problems,
+                           Consumer<ICalendarEvent> consumer) throws IOException {
+    BufferedReader lines = new BufferedReader(reader, 64 * 1024);
+    Map<String, ContentLine> properties = null;
+    int lineNumber = 0;
+    String line = lines.readLine();
+    while (line != null) {
+      StringBuilder unfolded = new StringBuilder(line);
+      lineNumber++;
+      int startLine = lineNumber;
+      line = lines.readLine();
+      while (line != null && !line.isEmpty()
+              && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+        unfolded.append(line, 1, line.length());
+        lineNumber++;
+        line = lines.readLine();
+      }
+      if (unfolded.length() == 0) {
+        continue;
+      }
+
+      try {
+        ContentLine content = ContentLine.parse(unfolded.toString(), startLine);
+        if (content.name.equals("BEGIN") && content.value.equalsIgnoreCase("VEVENT")) {
+          properties = new HashMap<>();
+        } else if (content.name.equals("END") && content.value.equalsIgnoreCase("VEVENT")) {
+          if (properties == null) {
+            throw new IllegalArgumentException("Line " + startLine
+                    + ": END:VEVENT without BEGIN");
+          }
+          Map<String, ContentLine> event = properties;
+          properties = null;
+          consumer.accept(toEvent(event, zone, startLine));
+        } else if (properties != null) {
+          properties.putIfAbsent(content.name, content);
+        }
+      } catch (IllegalArgumentException e) {
+        if (problems == null) {
+          throw e;
+        }
+        problems.add(e.getMessage());
+      }
+    }
+  }
+
+  private static ICalendarEvent toEvent(Map<String, ContentLine> properties, ZoneId zone,
+                                        int lineNumber) {
+    ContentLine startLine = properties.get("DTSTART");
+    if (startLine == null) {
+      throw new IllegalArgumentException("Line " + lineNumber + ": VEVENT without DTSTART");
+    }
+    String subject = text(properties.get("SUMMARY"));
+    String description = text(properties.get("DESCRIPTION"));
+    String location = text(properties.get("LOCATION"));
+    ContentLine classification = properties.get("CLASS");
+    boolean isPublic = classification == null
+            || classification.value.equalsIgnoreCase("PUBLIC");
+
+    boolean allDay = startLine.isDate();
+    ZonedDateTime start;
+    ZonedDateTime end;
+    if (allDay) {
+      LocalDate startDate = LocalDate.parse(startLine.value, DATE);
+      ContentLine endLine = properties.get("DTEND");
+      LocalDate lastDate = endLine == null ? startDate
+              : LocalDate.parse(endLine.value.substring(0, 8), DATE).minusDays(1);
+      if (lastDate.isBefore(startDate)) {
+        lastDate = startDate;
+      }
+      start = startDate.atStartOfDay(zone);
+      end = lastDate.atTime(23, 59, 59).atZone(zone);
+    } else {
+      start = dateTime(startLine, zone);
+      ContentLine endLine = properties.get("DTEND");
+      end = endLine == null ? start : dateTime(endLine, zone);
+    }
+    if (subject == null) {
+      subject = "";
+    }
+
+    ContentLine rule = properties.get("RRULE");
+    if (rule == null) {
+      return new SingleEvent(subject, start, end, description, location, isPublic, allDay,
+              null);
+    }
+    Map<String, String> parts = new HashMap<>();
+    for (String part : rule.value.split(";")) {
+      int eq = part.indexOf('=');
+      if (eq > 0) {
+        parts.put(part.substring(0, eq).toUpperCase(), part.substring(eq + 1));
+      }
+    }
+    String frequency = parts.getOrDefault("FREQ", "").toUpperCase();
+    if (!frequency.equals("WEEKLY") && !frequency.equals("DAILY")
+            || !parts.getOrDefault("INTERVAL", "1").equals("1")) {
+      throw new IllegalArgumentException("Line " + rule.lineNumber
+              + ": unsupported recurrence rule: " + rule.value);
+    }
+    String weekdays = frequency.equals("DAILY") ? "MTWRFSU"
+            : weekdays(parts.get("BYDAY"), start, rule.lineNumber);
+    int count = parts.containsKey("COUNT") ? Integer.parseInt(parts.get("COUNT")) : 0;
+    ZonedDateTime until = null;
+    if (parts.containsKey("UNTIL")) {
+      String value = parts.get("UNTIL");
+      until = value.length() == 8
+              ? LocalDate.parse(value, DATE).atTime(23, 59, 59).atZone(zone)
+              : dateTime(new ContentLine("UNTIL", new HashMap<>(), value, rule.lineNumber),
+              zone);
+    }
+    if (count <= 0 && until == null) {
+      throw new IllegalArgumentException("Line " + rule.lineNumber
+              + ": recurrence rule needs COUNT or UNTIL: " + rule.value);
+    }
+    return new RecurringEvent(subject, start, end, weekdays, count, until, description,
+            location, isPublic, allDay);
+  }
+
+  private static String weekdays(String byDay, ZonedDateTime start, int lineNumber) {
+    if (byDay == null || byDay.isEmpty()) {
+      return dayLetter(start.getDayOfWeek().name().substring(0, 2), lineNumber);
+    }
+    StringBuilder result = new StringBuilder();
+    for (String day : byDay.split(",")) {
+      result.append(dayLetter(day.trim().toUpperCase(), lineNumber));
+    }
+    return result.toString();
+  }
+
+  private static String dayLetter(String day, int lineNumber) {
+    switch (day) {
+      case "MO":
+        return "M";
+      case "TU":
+        return "T";
+      case "WE":
+        return "W";
+      case "TH":
+        return "R";
+      case "FR":
+        return "F";
+      case "SA":
+        return "S";
+      case "SU":
+        return "U";
+      default:
+        throw new IllegalArgumentException("Line " + lineNumber + ": unsupported BYDAY value: "
+                + day);
+    }
+  }
+
+  private static ZonedDateTime dateTime(ContentLine line, ZoneId zone) {
+    try {
+      String value = line.value;
+      if (value.length() == 8) {
+        return LocalDate.parse(value, DATE).atStartOfDay(zone);
+      }
+      if (value.endsWith("Z")) {
+        return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME)
+                .atZone(ZoneOffset.UTC).withZoneSameInstant(zone);
+      }
+      LocalDateTime local = LocalDateTime.parse(value, DATE_TIME);
+      String tzid = line.parameters.get("TZID");
+      if (tzid == null) {
+        return local.atZone(zone);
+      }
+      return local.atZone(ZoneId.of(tzid)).withZoneSameInstant(zone);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Line " + line.lineNumber + ": invalid date-time: "
+              + line.value);
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Line " + line.lineNumber + ": unknown TZID: "
+              + line.parameters.get("TZID"));
+    }
+  }
+
+  private static String text(ContentLine line) {
+    if (line == null) {
+      return null;
+    }
+    String value = line.value;
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder result = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        char next = value.charAt(++i);
+        result.append(next == 'n' || next == 'N' ? '\n' : next);
+      } else {
+        result.append(c);
+      }
+    }
+    return result.toString();
+  }
+
+  /**
+   * One unfolded iCalendar content line: a name, its parameters and its value.
+   */
+  private static final class ContentLine {
+    private final String name;
+    private final Map<String, String> parameters;
+    private final String value;
+    private final int lineNumber;
+
+    ContentLine(String name, Map<String, String> parameters, String value, int lineNumber) {
+      this.name = name;
+      this.parameters = parameters;
+      this.value = value;
+      this.lineNumber = lineNumber;
+    }
+
+    static ContentLine parse(String line, int lineNumber) {
+      int colon = -1;
+      boolean quoted = false;
+      for (int i = 0; i < line.length(); i++) {
+        char c = line.charAt(i);
+        if (c == '"') {
+          quoted = !quoted;
+        } else if (c == ':' && !quoted) {
+          colon = i;
+          break;
+        }
+      }
+      if (colon < 0) {
+        throw new IllegalArgumentException("Line " + lineNumber + ": missing ':' in: " + line);
+      }
+      String[] head = line.substring(0, colon).split(";");
+      Map<String, String> parameters = new HashMap<>();
+      for (int i = 1; i < head.length; i++) {
+        int eq = head[i].indexOf('=');
+        if (eq > 0) {
+          parameters.put(head[i].substring(0, eq).toUpperCase(),
+                  head[i].substring(eq + 1).replace("\"", ""));
+        }
+      }
+      return new ContentLine(head[0].trim().toUpperCase(), parameters,
+              line.substring(colon + 1), lineNumber);
+    }
+
+    boolean isDate() {
+      return "DATE".equalsIgnoreCase(parameters.get("VALUE")) || value.length() == 8;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package calendarapp.utils;
 
+import calendarapp.model.EventDelta;
 import calendarapp.model.event.ReadOnlyCalendarEvent;
 
 import java.io.IOException;
@@ -18,4 +19,21 @@ public interface IExporter {
    * @throws IOException if an error occurs during export
    */
   public String export(List<ReadOnlyCalendarEvent> events, String filePath) throws IOException;
+
+  /**
+   * Exports the changes to a calendar since an earlier export, together with the sequence
+   * number to request the next delta from. Exporters that have no delta format can only write
+   * full deltas, which they export like a regular export.
+   *
+   * @param delta    the changes to export
+   * @param filePath the output file path
+   * @return the absolute path of the exported file
+   * @throws IOException if the delta cannot be written in this format or an error occurs
+   */
+  default String exportDelta(EventDelta delta, String filePath) throws IOException {
+    if (!delta.isFull()) {
+      throw new IOException("Incremental export is not supported for: " + filePath);
+    }
+    return export(delta.getAdded(), filePath);
+  }
 }
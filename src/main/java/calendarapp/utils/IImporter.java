@@ -1,8 +1,11 @@
 package calendarapp.utils;
 
 import calendarapp.model.ICalendarModel;
+import calendarapp.model.event.ICalendarEvent;
 
 import java.io.IOException;
+import java.time.ZoneId;
+import java.util.List;
 
 /**
  * Interface for importing calendar data from an external file into a calendar model.
@@ -17,4 +20,20 @@ public interface IImporter {
    * @throws IOException if an error occurs while reading from the file
    */
   void importInto(ICalendarModel model, String filePath) throws IOException;
+
+  /**
+   * Reads the events that importing the file would add to a calendar, without adding them.
+   * Entries that cannot be parsed are skipped and described in the problems list.
+   *
+   * @param filePath the path to the file containing the data to import
+   * @param zone     the timezone of the calendar the events are meant for
+   * @param problems receives one message per entry that cannot be parsed
+   * @return the events, as they would be added to the calendar
+   * @throws IOException if the file cannot be read, or this importer cannot read events
+   *                     without importing them
+   */
+  default List<ICalendarEvent> readEvents(String filePath, ZoneId zone, List<String> problems)
+          throws IOException {
+    throw new IOException("Dry runs are not supported for: " + filePath);
+  }
 }
@@ -7,16 +7,32 @@ public class ImporterFactory {
 
   /**
    * Returns an appropriate IImporter implementation based on the file extension.
-   * Currently, supports importing from CSV files.
+   * Currently, supports importing from CSV, gzip-compressed CSV (.csv.gz) and iCalendar (.ics)
+   * files.
    *
    * @param filePath the path of the file to be imported
    * @return an instance of IImporter suitable for the given file type
    * @throws IllegalArgumentException if the file type is unsupported
    */
   public static IImporter getImporter(String filePath) {
-    if (filePath.toLowerCase().endsWith(".csv")) {
+    String lower = filePath.toLowerCase();
+    if (lower.endsWith(".csv") || lower.endsWith(".csv.gz")) {
       return new CSVImporter();
     }
+    if (lower.endsWith(".ics")) {
+      return new ICSImporter();
+    }
     throw new IllegalArgumentException("Unsupported file format for import: " + filePath);
   }
+
+  /**
+   * Indicates whether a file can be imported, judging by its extension.
+   *
+   * @param filePath the path of the file
+   * @return true if an importer exists for the file type
+   */
+  public static boolean isSupported(String filePath) {
+    String lower = filePath.toLowerCase();
+    return lower.endsWith(".csv") || lower.endsWith(".csv.gz") || lower.endsWith(".ics");
+  }
 }
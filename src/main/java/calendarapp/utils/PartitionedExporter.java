@@ -0,0 +1,217 @@
+package calendarapp.utils;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Exports calendar events split into one file per period, such as one file per month. The
+ * partitions are formatted and written in parallel on a fork-join pool, each by the exporter
+ * for the file type of the requested path, and a manifest listing every partition is written
+ * once all of them have succeeded.
+ *
+ * <p>For an export to {@code out/work.csv} by month, the partitions are named
+ * {@code out/work-2025-04.csv}, {@code out/work-2025-05.csv} and so on, and the manifest is
+ * {@code out/work.manifest}. An event belongs to the period its start date falls in.</p>
+ */
+public class PartitionedExporter implements IExporter {
+
+  /**
+   * The length of the period each partition covers.
+   */
+  public enum Period {
+    DAY(DateTimeFormatter.ISO_LOCAL_DATE),
+    WEEK(null),
+    MONTH(DateTimeFormatter.ofPattern("yyyy-MM")),
+    YEAR(DateTimeFormatter.ofPattern("yyyy"));
+
+    private final DateTimeFormatter format;
+
+    Period(DateTimeFormatter format) {
+      this.format = format;
+    }
+
+    /**
+     * Returns the period with the given name, ignoring case.
+     *
+     * @param name one of day, week, month or year
+     * @return the period
+     * @throws IllegalArgumentException if the name is not a period
+     */
+    public static Period parse(String name) {
+      for (Period period : values()) {
+        if (period.name().equalsIgnoreCase(name)) {
+          return period;
+        }
+      }
+      throw new IllegalArgumentException("Invalid partition period: " + name
+              + ". Use day, week, month or year");
+    }
+
+    /**
+     * Returns the key of the period a date falls in, which sorts in date order.
+     *
+     * @param date the date
+     * @return the partition key, such as 2025-05 for a month
+     */
+    String key(LocalDate date) {
+      if (format == null) {
+        return String.format("%d-W%02d", date.get(IsoFields.WEEK_BASED_YEAR),
+                date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+      }
+      return date.format(format);
+    }
+  }
+
+  private static final String[] EXTENSIONS = {".csv.gz", ".csv", ".ics"};
+
+  private final Period period;
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates an exporter that partitions by the given period on the common fork-join pool.
+   *
+   * @param period the period each partition covers
+   */
+  public PartitionedExporter(Period period) {
+    this(period, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates an exporter that partitions by the given period on the given pool.
+   *
+   * @param period the period each partition covers
+   * @param pool   the pool to write the partitions on
+   */
+  public PartitionedExporter(Period period, ForkJoinPool pool) {
+    this.period = period;
+    this.pool = pool;
+  }
+
+  /**
+   * Exports the events into one file per period and writes the manifest.
+   *
+   * @param events   the events to export
+   * @param filePath the path the partition and manifest names are derived from
+   * @return the absolute path of the manifest
+   * @throws IOException              if there are no events or a file cannot be written
+   * @throws IllegalArgumentException if the file path is empty or of an unsupported type
+   */
+  @Override
+  public String export(List<ReadOnlyCalendarEvent> events, String filePath) throws IOException {
+    if (filePath == null || filePath.trim().isEmpty()) {
+      throw new IllegalArgumentException("File path must not be null or empty.");
+    }
+    String extension = extensionOf(filePath);
+    if (extension == null) {
+      throw new IllegalArgumentException("Unsupported file type: " + filePath);
+    }
+    if (events == null || events.isEmpty()) {
+      throw new IOException("No events available for export.");
+    }
+
+    String stem = filePath.substring(0, filePath.length() - extension.length());
+    Map<String, List<ReadOnlyCalendarEvent>> partitions = new TreeMap<>();
+    for (ReadOnlyCalendarEvent event : events) {
+      partitions.computeIfAbsent(period.key(event.getStartDateTime().toLocalDate()),
+              k -> new ArrayList<>()).add(event);
+    }
+
+    List<PartitionTask> tasks = new ArrayList<>(partitions.size());
+    for (Map.Entry<String, List<ReadOnlyCalendarEvent>> entry : partitions.entrySet()) {
+      tasks.add(new PartitionTask(entry.getKey(), entry.getValue(),
+              stem + "-" + entry.getKey() + extension));
+    }
+    try {
+      pool.invoke(new RecursiveAction() {
+        @Override
+        protected void compute() {
+          ForkJoinTask.invokeAll(tasks);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    File manifest = new File(stem + ".manifest");
+    try (Writer writer = new BufferedWriter(new FileWriter(manifest))) {
+      writer.append("# period=").append(period.name().toLowerCase())
+              .append(" events=").append(String.valueOf(events.size()))
+              .append(" partitions=").append(String.valueOf(tasks.size())).append("\n");
+      writer.append("Partition,File,Events,First Start,Last End\n");
+      for (PartitionTask task : tasks) {
+        writer.append(task.key).append(',')
+                .append(new File(task.path).getName()).append(',')
+                .append(String.valueOf(task.events.size())).append(',')
+                .append(task.events.get(0).getStartDateTime().toOffsetDateTime().toString())
+                .append(',')
+                .append(task.lastEnd().toOffsetDateTime().toString()).append("\n");
+      }
+    }
+    return manifest.getAbsolutePath();
+  }
+
+  private static String extensionOf(String filePath) {
+    String lower = filePath.toLowerCase();
+    for (String extension : EXTENSIONS) {
+      if (lower.endsWith(extension)) {
+        return filePath.substring(filePath.length() - extension.length());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Sorts and writes the events of one partition with the exporter for its file type.
+   */
+  private static final class PartitionTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final String key;
+    private final List<ReadOnlyCalendarEvent> events;
+    private final String path;
+
+    PartitionTask(String key, List<ReadOnlyCalendarEvent> events, String path) {
+      this.key = key;
+      this.events = events;
+      this.path = path;
+    }
+
+    @Override
+    protected void compute() {
+      events.sort(Comparator.comparing(ReadOnlyCalendarEvent::getStartDateTime));
+      try {
+        ExporterFactory.getExporter(path).export(events, path);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    ZonedDateTime lastEnd() {
+      ZonedDateTime last = events.get(0).getEndDateTime();
+      for (ReadOnlyCalendarEvent event : events) {
+        if (event.getEndDateTime().isAfter(last)) {
+          last = event.getEndDateTime();
+        }
+      }
+      return last;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package calendarapp.utils;
+
+import calendarapp.model.TaskScheduler;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the tasks to schedule from a CSV file with the header
+ * {@code Subject,Duration,Earliest Start,Deadline,Priority,Days}.
+ *
+ * <p>The duration is written like 90m, 1h30m or PT90M. Times are local to the calendar, such as
+ * 2025-05-05T09:00, or a date alone for the start of that day. The priority is a whole number
+ * where higher numbers are placed first, and the days are letters of MTWRFSU. Both may be left
+ * out, meaning priority 0 and every day of the week.</p>
+ */
+public final class TaskFileReader {
+
+  private static final String WEEKDAY_LETTERS = "MTWRFSU";
+
+  private TaskFileReader() {
+  }
+
+  /**
+   * Reads every task in the file.
+   *
+   * @param filePath the path of the task file
+   * @param zone     the timezone the times in the file are in
+   * @return the tasks, in file order
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if a row is not a valid task, naming its line
+   */
+  public static List<TaskScheduler.Task> read(String filePath, ZoneId zone) throws IOException {
+    List<TaskScheduler.Task> tasks = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+      String line = reader.readLine();
+      if (line == null || !line.startsWith("Subject,")) {
+        throw new IllegalArgumentException("Task file must start with the header "
+                + "Subject,Duration,Earliest Start,Deadline,Priority,Days");
+      }
+      int lineNumber = 1;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.trim().isEmpty()) {
+          continue;
+        }
+        try {
+          tasks.add(parseRow(line, zone));
+        } catch (DateTimeException | IllegalArgumentException e) {
+          throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+      }
+    }
+    return tasks;
+  }
+
+  private static TaskScheduler.Task parseRow(String line, ZoneId zone) {
+    String[] parts = line.split(",", -1);
+    if (parts.length < 4 || parts.length > 6) {
+      throw new IllegalArgumentException("Expected 4 to 6 columns but found " + parts.length);
+    }
+    int priority = parts.length > 4 && !parts[4].trim().isEmpty()
+            ? Integer.parseInt(parts[4].trim()) : 0;
+    Set<DayOfWeek> days = parts.length > 5 && !parts[5].trim().isEmpty()
+            ? parseDays(parts[5].trim()) : EnumSet.allOf(DayOfWeek.class);
+    return new TaskScheduler.Task(parts[0].trim(), DurationParser.parse(parts[1].trim()),
+            parseTime(parts[2].trim(), zone), parseTime(parts[3].trim(), zone), priority, days);
+  }
+
+  private static ZonedDateTime parseTime(String text, ZoneId zone) {
+    try {
+      return LocalDateTime.parse(text).atZone(zone);
+    } catch (DateTimeParseException e) {
+      return LocalDate.parse(text).atStartOfDay(zone);
+    }
+  }
+
+  private static Set<DayOfWeek> parseDays(String letters) {
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    for (char letter : letters.toUpperCase().toCharArray()) {
+      int index = WEEKDAY_LETTERS.indexOf(letter);
+      if (index < 0) {
+        throw new IllegalArgumentException("Invalid weekday: " + letter + ". Use letters of "
+                + WEEKDAY_LETTERS);
+      }
+      days.add(DayOfWeek.of(index + 1));
+    }
+    return days;
+  }
+}
@@ -0,0 +1,126 @@
+package calendarapp.view;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * An Appendable that collects output in a reusable in-memory buffer and forwards it to the
+ * underlying destination only when flushed. Views flush at the end of every command and at the
+ * end of a script, so printing many events costs a single write to the destination instead of
+ * one write per field. The buffer is also flushed automatically once it grows past its capacity.
+ */
+public class BufferedOutput implements Appendable, Flushable {
+
+  /**
+   * The default number of characters held before the buffer is flushed automatically.
+   */
+  public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+  private final Appendable target;
+  private final StringBuilder buffer;
+  private final int capacity;
+
+  /**
+   * Constructs a buffered output with the default capacity.
+   *
+   * @param target the destination that receives the buffered output
+   */
+  public BufferedOutput(Appendable target) {
+    this(target, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs a buffered output with the given capacity.
+   *
+   * @param target   the destination that receives the buffered output
+   * @param capacity the number of characters held before flushing automatically
+   * @throws IllegalArgumentException if the target is null or the capacity is not positive
+   */
+  public BufferedOutput(Appendable target, int capacity) {
+    if (target == null) {
+      throw new IllegalArgumentException("Output target cannot be null");
+    }
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Buffer capacity must be positive");
+    }
+    this.target = target;
+    this.capacity = capacity;
+    this.buffer = new StringBuilder(Math.min(capacity, DEFAULT_CAPACITY));
+  }
+
+  /**
+   * Returns the underlying buffer so that formatters can write into it directly.
+   * Callers must invoke {@link #flushIfFull()} after writing.
+   *
+   * @return the backing buffer
+   */
+  StringBuilder buffer() {
+    return buffer;
+  }
+
+  /**
+   * Returns the destination this output writes to.
+   *
+   * @return the wrapped Appendable
+   */
+  public Appendable getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the number of characters currently held in the buffer.
+   *
+   * @return the number of pending characters
+   */
+  public int pending() {
+    return buffer.length();
+  }
+
+  @Override
+  public Appendable append(CharSequence csq) throws IOException {
+    buffer.append(csq);
+    return flushIfFull();
+  }
+
+  @Override
+  public Appendable append(CharSequence csq, int start, int end) throws IOException {
+    buffer.append(csq, start, end);
+    return flushIfFull();
+  }
+
+  @Override
+  public Appendable append(char c) throws IOException {
+    buffer.append(c);
+    return flushIfFull();
+  }
+
+  /**
+   * Flushes the buffer if it has grown past its capacity.
+   *
+   * @return this output
+   * @throws IOException if writing to the destination fails
+   */
+  BufferedOutput flushIfFull() throws IOException {
+    if (buffer.length() >= capacity) {
+      flush();
+    }
+    return this;
+  }
+
+  /**
+   * Writes all buffered characters to the destination and empties the buffer. The buffer's
+   * storage is kept so that it can be reused by the next command.
+   *
+   * @throws IOException if writing to the destination fails
+   */
+  @Override
+  public void flush() throws IOException {
+    if (buffer.length() > 0) {
+      target.append(buffer);
+      buffer.setLength(0);
+    }
+    if (target instanceof Flushable) {
+      ((Flushable) target).flush();
+    }
+  }
+}
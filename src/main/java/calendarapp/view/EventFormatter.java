@@ -0,0 +1,189 @@
+package calendarapp.view;
+
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Formats calendar events for the text-based views. Events are written straight into a
+ * StringBuilder using cached formatters, so no intermediate strings are built per field.
+ * Supports the human-readable layout as well as TSV and JSON lines.
+ */
+public final class EventFormatter {
+
+  /**
+   * The formatter used for the human-readable layout.
+   */
+  public static final DateTimeFormatter DISPLAY_FORMAT =
+          DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm z");
+
+  /**
+   * The formatter used for machine-readable layouts.
+   */
+  public static final DateTimeFormatter MACHINE_FORMAT = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+  /**
+   * The header line written before TSV rows.
+   */
+  public static final String TSV_HEADER =
+          "subject\tstart\tend\tdescription\tlocation\tpublic\tallDay\n";
+
+  private EventFormatter() {
+    // Utility class
+  }
+
+  /**
+   * Appends the given events to the builder in the requested format.
+   * An empty list produces "No events found." in the text layout and nothing otherwise.
+   *
+   * @param sb     the builder to write into
+   * @param events the events to format
+   * @param format the output layout
+   */
+  public static void appendEvents(StringBuilder sb, List<ReadOnlyCalendarEvent> events,
+                                  OutputFormat format) {
+    if (events.isEmpty()) {
+      if (format == OutputFormat.TEXT) {
+        sb.append("No events found.\n");
+      }
+      return;
+    }
+    if (format == OutputFormat.TSV) {
+      sb.append(TSV_HEADER);
+    }
+    for (ReadOnlyCalendarEvent event : events) {
+      appendEvent(sb, event, format);
+    }
+  }
+
+  /**
+   * Appends a single event to the builder in the requested format.
+   *
+   * @param sb     the builder to write into
+   * @param event  the event to format
+   * @param format the output layout
+   */
+  public static void appendEvent(StringBuilder sb, ReadOnlyCalendarEvent event,
+                                 OutputFormat format) {
+    switch (format) {
+      case TSV:
+        appendTsv(sb, event);
+        break;
+      case JSON:
+        appendJson(sb, event);
+        break;
+      default:
+        appendText(sb, event);
+        break;
+    }
+  }
+
+  private static void appendText(StringBuilder sb, ReadOnlyCalendarEvent event) {
+    ZonedDateTime start = event.getStartDateTime();
+    ZonedDateTime end = event.getEndDateTime();
+
+    sb.append("- ").append(event.getSubject()).append(": ");
+    DISPLAY_FORMAT.formatTo(start, sb);
+    sb.append(" to ");
+    DISPLAY_FORMAT.formatTo(end, sb);
+    sb.append('\n');
+
+    if (event.getDescription() != null && !event.getDescription().isEmpty()) {
+      sb.append("  Description: ").append(event.getDescription()).append('\n');
+    }
+    if (event.getLocation() != null && !event.getLocation().isEmpty()) {
+      sb.append("  Location: ").append(event.getLocation()).append('\n');
+    }
+    if (event.isPublic()) {
+      sb.append("  Public Event\n");
+    }
+    if (event.isAllDay()) {
+      sb.append("  All Day Event\n");
+    }
+  }
+
+  private static void appendTsv(StringBuilder sb, ReadOnlyCalendarEvent event) {
+    appendTsvField(sb, event.getSubject());
+    sb.append('\t');
+    MACHINE_FORMAT.formatTo(event.getStartDateTime(), sb);
+    sb.append('\t');
+    MACHINE_FORMAT.formatTo(event.getEndDateTime(), sb);
+    sb.append('\t');
+    appendTsvField(sb, event.getDescription());
+    sb.append('\t');
+    appendTsvField(sb, event.getLocation());
+    sb.append('\t').append(event.isPublic());
+    sb.append('\t').append(event.isAllDay());
+    sb.append('\n');
+  }
+
+  private static void appendJson(StringBuilder sb, ReadOnlyCalendarEvent event) {
+    sb.append("{\"subject\":");
+    appendJsonString(sb, event.getSubject());
+    sb.append(",\"start\":\"");
+    MACHINE_FORMAT.formatTo(event.getStartDateTime(), sb);
+    sb.append("\",\"end\":\"");
+    MACHINE_FORMAT.formatTo(event.getEndDateTime(), sb);
+    sb.append("\",\"description\":");
+    appendJsonString(sb, event.getDescription());
+    sb.append(",\"location\":");
+    appendJsonString(sb, event.getLocation());
+    sb.append(",\"public\":").append(event.isPublic());
+    sb.append(",\"allDay\":").append(event.isAllDay());
+    sb.append("}\n");
+  }
+
+  /**
+   * Appends a TSV field, replacing tabs and line breaks with spaces.
+   */
+  private static void appendTsvField(StringBuilder sb, String value) {
+    if (value == null) {
+      return;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      sb.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+    }
+  }
+
+  /**
+   * Appends a quoted JSON string, or null when the value is absent.
+   */
+  private static void appendJsonString(StringBuilder sb, String value) {
+    if (value == null) {
+      sb.append("null");
+      return;
+    }
+    sb.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+          break;
+      }
+    }
+    sb.append('"');
+  }
+}
@@ -5,18 +5,21 @@ import calendarapp.model.event.ReadOnlyCalendarEvent;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
  * A view implementation for headless mode, reading commands from a script and writing
- * output to an Appendable.
+ * output to an Appendable. Output is collected in a buffer and flushed after every command
+ * and at the end of the script.
  */
 public class HeadlessView implements ICalendarView {
   private final ICalendarController controller;
   private Readable in;
-  private Appendable out;
+  private BufferedOutput out;
+  private OutputFormat format = OutputFormat.TEXT;
+  private boolean running;
+  private int commandCount;
+  private int failureCount;
 
   /**
    * Constructs a headless view for processing calendar commands from a script or batch input.
@@ -28,16 +31,20 @@ public class HeadlessView implements ICalendarView {
   public HeadlessView(ICalendarController controller, Readable in, Appendable out) {
     this.controller = controller;
     this.in = in;
-    this.out = out;
+    this.out = new BufferedOutput(out);
   }
 
   /**
    * Executes the headless view by reading commands line-by-line from the input source.
    * Processes each command using the controller. Terminates on encountering the "exit" command.
-   * All output and error messages are written to the configured Appendable output.
+   * All output and error messages are written to the configured Appendable output, which is
+   * flushed after each command and once more when the script ends.
    */
   @Override
   public void run() {
+    running = true;
+    commandCount = 0;
+    failureCount = 0;
     try {
       BufferedReader reader = new BufferedReader(in instanceof BufferedReader
               ? (BufferedReader) in
@@ -55,7 +62,11 @@ public class HeadlessView implements ICalendarView {
           break;
         }
 
-        controller.processCommand(command);
+        commandCount++;
+        if (!controller.processCommand(command)) {
+          failureCount++;
+        }
+        out.flush();
       }
     } catch (IOException e) {
       try {
@@ -63,6 +74,9 @@ public class HeadlessView implements ICalendarView {
       } catch (IOException ex) {
         throw new RuntimeException("Failed to report read error", ex);
       }
+    } finally {
+      running = false;
+      flush();
     }
   }
 
@@ -75,6 +89,7 @@ public class HeadlessView implements ICalendarView {
   public void displayMessage(String message) {
     try {
       out.append(message).append("\n");
+      flushOutsideRun();
     } catch (IOException e) {
       throw new RuntimeException("Failed to write message", e);
     }
@@ -89,49 +104,25 @@ public class HeadlessView implements ICalendarView {
   public void displayError(String errorMessage) {
     try {
       out.append("Error: ").append(errorMessage).append("\n");
+      flushOutsideRun();
     } catch (IOException e) {
       throw new RuntimeException("Failed to write error message", e);
     }
   }
 
   /**
-   * Displays a list of calendar events in a formatted, readable way to the output.
-   * Each event's subject, start and end time, and optional fields (description, location,
-   * visibility, all-day flag) are included.
+   * Displays a list of calendar events to the output using the configured output format.
+   * In the text format each event's subject, start and end time, and optional fields
+   * (description, location, visibility, all-day flag) are included.
    *
    * @param events the list of calendar events to display
    */
   @Override
   public void displayEvents(List<ReadOnlyCalendarEvent> events) {
     try {
-      if (events.isEmpty()) {
-        out.append("No events found.\n");
-        return;
-      }
-
-      DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm z");
-
-      for (ReadOnlyCalendarEvent event : events) {
-        ZonedDateTime start = event.getStartDateTime();
-        ZonedDateTime end = event.getEndDateTime();
-
-        out.append("- ").append(event.getSubject()).append(": ")
-                .append(start.format(formatter)).append(" to ")
-                .append(end.format(formatter)).append("\n");
-
-        if (event.getDescription() != null && !event.getDescription().isEmpty()) {
-          out.append("  Description: ").append(event.getDescription()).append("\n");
-        }
-        if (event.getLocation() != null && !event.getLocation().isEmpty()) {
-          out.append("  Location: ").append(event.getLocation()).append("\n");
-        }
-        if (event.isPublic()) {
-          out.append("  Public Event\n");
-        }
-        if (event.isAllDay()) {
-          out.append("  All Day Event\n");
-        }
-      }
+      EventFormatter.appendEvents(out.buffer(), events, format);
+      out.flushIfFull();
+      flushOutsideRun();
     } catch (IOException e) {
       throw new RuntimeException("Failed to display events", e);
     }
@@ -149,11 +140,63 @@ public class HeadlessView implements ICalendarView {
 
   /**
    * Sets the output destination for this view. Typically used to capture or redirect output.
+   * Any output still buffered for the previous destination is written to it first.
    *
    * @param out the appendable output destination
    */
   @Override
   public void setOutput(Appendable out) {
-    this.out = out;
+    flush();
+    this.out = new BufferedOutput(out);
+  }
+
+  /**
+   * Selects the layout used when displaying events.
+   *
+   * @param format the output format
+   */
+  @Override
+  public void setOutputFormat(OutputFormat format) {
+    this.format = format;
+  }
+
+  /**
+   * Writes any buffered output to the configured destination.
+   */
+  @Override
+  public void flush() {
+    try {
+      out.flush();
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to flush output", e);
+    }
+  }
+
+  /**
+   * Returns the number of commands processed by the last call to {@link #run()}.
+   *
+   * @return the number of commands sent to the controller
+   */
+  public int getCommandCount() {
+    return commandCount;
+  }
+
+  /**
+   * Returns the number of commands that the controller reported as failed.
+   *
+   * @return the number of failed commands
+   */
+  public int getFailureCount() {
+    return failureCount;
+  }
+
+  /**
+   * Flushes immediately when the view is used outside of its command loop, so that direct
+   * calls behave as unbuffered writes.
+   */
+  private void flushOutsideRun() throws IOException {
+    if (!running) {
+      out.flush();
+    }
   }
 }
@@ -1,6 +1,9 @@
 package calendarapp.view;
 
 import calendarapp.model.event.ReadOnlyCalendarEvent;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -30,6 +33,18 @@ public interface ICalendarView {
    */
   void displayError(String errorMessage);
 
+  /**
+   * Displays the result of a busy query. By default this is shown as a "Busy at" or
+   * "Available at" message.
+   *
+   * @param time the queried date and time
+   * @param busy true if the calendar is busy at that time
+   */
+  default void displayBusyStatus(ZonedDateTime time, boolean busy) {
+    String formattedTime = time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm"));
+    displayMessage((busy ? "Busy at " : "Available at ") + formattedTime);
+  }
+
   /**
    * Runs the main loop of the view (for CLI/headless views).
    */
@@ -50,4 +65,19 @@ public interface ICalendarView {
   default void setOutput(Appendable out) {
     return;
   }
+
+  /**
+   * Selects the layout used when displaying events.
+   * @param format the output format
+   */
+  default void setOutputFormat(OutputFormat format) {
+    return;
+  }
+
+  /**
+   * Writes any buffered output to the underlying destination.
+   */
+  default void flush() {
+    return;
+  }
 }
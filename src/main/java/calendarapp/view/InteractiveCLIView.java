@@ -3,18 +3,19 @@ package calendarapp.view;
 import calendarapp.controller.ICalendarController;
 import calendarapp.model.event.ReadOnlyCalendarEvent;
 import java.io.IOException;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * An interactive CLI view for the calendar application using Readable and Appendable.
+ * Output produced while handling a command is buffered and flushed once the command completes.
  */
 public class InteractiveCLIView implements ICalendarView, Runnable {
   private final ICalendarController controller;
   private final Readable in;
-  private final Appendable out;
+  private final BufferedOutput out;
+  private OutputFormat format = OutputFormat.TEXT;
+  private boolean running;
 
   /**
    * Constructs an InteractiveCLIView with the specified controller, input, and output streams.
@@ -26,7 +27,7 @@ public class InteractiveCLIView implements ICalendarView, Runnable {
   public InteractiveCLIView(ICalendarController controller, Readable in, Appendable out) {
     this.controller = controller;
     this.in = in;
-    this.out = out;
+    this.out = new BufferedOutput(out);
   }
 
   /**
@@ -39,21 +40,29 @@ public class InteractiveCLIView implements ICalendarView, Runnable {
     try {
       out.append("Welcome to the Interactive Calendar CLI!\n");
       out.append("Enter commands (type 'exit' to quit):\n");
+      out.flush();
     } catch (IOException e) {
       throw new RuntimeException("Output failed", e);
     }
 
-    while (scanner.hasNextLine()) {
-      String command = scanner.nextLine().trim();
-      if (command.equalsIgnoreCase("exit")) {
-        try {
-          out.append("Exiting.\n");
-        } catch (IOException e) {
-          throw new RuntimeException("Failed to write to output", e);
+    running = true;
+    try {
+      while (scanner.hasNextLine()) {
+        String command = scanner.nextLine().trim();
+        if (command.equalsIgnoreCase("exit")) {
+          try {
+            out.append("Exiting.\n");
+          } catch (IOException e) {
+            throw new RuntimeException("Failed to write to output", e);
+          }
+          break;
         }
-        break;
+        controller.processCommand(command);
+        flush();
       }
-      controller.processCommand(command);
+    } finally {
+      running = false;
+      flush();
     }
   }
 
@@ -66,6 +75,7 @@ public class InteractiveCLIView implements ICalendarView, Runnable {
   public void displayMessage(String message) {
     try {
       out.append(message).append("\n");
+      flushOutsideRun();
     } catch (IOException e) {
       throw new RuntimeException("Failed to display message", e);
     }
@@ -80,50 +90,59 @@ public class InteractiveCLIView implements ICalendarView, Runnable {
   public void displayError(String errorMessage) {
     try {
       out.append("Error: ").append(errorMessage).append("\n");
+      flushOutsideRun();
     } catch (IOException e) {
       throw new RuntimeException("Failed to display error", e);
     }
   }
 
   /**
-   * Displays a list of calendar events to the output stream in a formatted manner.
-   * Includes subject, start/end time, description, location, and public/all-day status.
+   * Displays a list of calendar events to the output stream using the configured output format.
+   * The text format includes subject, start/end time, description, location, and
+   * public/all-day status.
    *
    * @param events the list of read-only calendar events to display
    */
   @Override
   public void displayEvents(List<ReadOnlyCalendarEvent> events) {
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm z");
-
     try {
-      if (events.isEmpty()) {
-        out.append("No events found.\n");
-        return;
-      }
-
-      for (ReadOnlyCalendarEvent event : events) {
-        ZonedDateTime start = event.getStartDateTime();
-        ZonedDateTime end = event.getEndDateTime();
+      EventFormatter.appendEvents(out.buffer(), events, format);
+      out.flushIfFull();
+      flushOutsideRun();
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to display events", e);
+    }
+  }
 
-        out.append("- ").append(event.getSubject()).append(": ")
-                .append(start.format(formatter)).append(" to ")
-                .append(end.format(formatter)).append("\n");
+  /**
+   * Selects the layout used when displaying events.
+   *
+   * @param format the output format
+   */
+  @Override
+  public void setOutputFormat(OutputFormat format) {
+    this.format = format;
+  }
 
-        if (event.getDescription() != null && !event.getDescription().isEmpty()) {
-          out.append("  Description: ").append(event.getDescription()).append("\n");
-        }
-        if (event.getLocation() != null && !event.getLocation().isEmpty()) {
-          out.append("  Location: ").append(event.getLocation()).append("\n");
-        }
-        if (event.isPublic()) {
-          out.append("  Public Event\n");
-        }
-        if (event.isAllDay()) {
-          out.append("  All Day Event\n");
-        }
-      }
+  /**
+   * Writes any buffered output to the output stream.
+   */
+  @Override
+  public void flush() {
+    try {
+      out.flush();
     } catch (IOException e) {
-      throw new RuntimeException("Failed to display events", e);
+      throw new RuntimeException("Failed to flush output", e);
+    }
+  }
+
+  /**
+   * Flushes immediately when the view is used outside of its command loop, so that direct
+   * calls behave as unbuffered writes.
+   */
+  private void flushOutsideRun() throws IOException {
+    if (!running) {
+      out.flush();
     }
   }
 }
@@ -0,0 +1,35 @@
+package calendarapp.view;
+
+/**
+ * Represents the layout used by text-based views when printing events.
+ * TEXT is the human-readable layout, while TSV and JSON emit one machine-readable
+ * line per event so that script output can be consumed by other tools.
+ */
+public enum OutputFormat {
+  TEXT,
+  TSV,
+  JSON;
+
+  /**
+   * Parses an output format name, ignoring case.
+   *
+   * @param name the name of the format (text, tsv or json)
+   * @return the matching output format
+   * @throws IllegalArgumentException if the name does not match a known format
+   */
+  public static OutputFormat fromName(String name) {
+    if (name == null) {
+      throw new IllegalArgumentException("Output format cannot be null");
+    }
+    switch (name.trim().toLowerCase()) {
+      case "text":
+        return TEXT;
+      case "tsv":
+        return TSV;
+      case "json":
+        return JSON;
+      default:
+        throw new IllegalArgumentException("Unsupported output format: " + name);
+    }
+  }
+}
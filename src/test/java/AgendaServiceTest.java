@@ -0,0 +1,277 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.controller.CommandResult;
+import calendarapp.model.AgendaService;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.RecurringEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for AgendaService and the show next command.
+ */
+public class AgendaServiceTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  private CalendarManager manager;
+  private MutableClock clock;
+
+  @Before
+  public void setUp() {
+    manager = new CalendarManager();
+    manager.addCalendar("Work", UTC);
+    manager.addCalendar("Home", NEW_YORK);
+    clock = new MutableClock(at(1, 8, 0).toInstant());
+  }
+
+  @Test
+  public void testListsNextEventsAcrossCalendars() {
+    work().addEvent(event("Past", at(1, 7, 0), at(1, 7, 30)), false);
+    work().addEvent(event("Review", at(1, 9, 0), at(1, 10, 0)), false);
+    AgendaService agenda = manager.getAgenda();
+    agenda.setClock(clock);
+    home().addEvent(event("Dentist", at(1, 9, 30), at(1, 10, 30)), false);
+    work().addEvent(event("Planning", at(2, 9, 0), at(2, 10, 0)), false);
+    SingleEvent gym = event("Gym", at(1, 18, 0), at(1, 19, 0));
+    home().addEvent(gym, false);
+
+    assertEquals(Arrays.asList("Work/Review", "Home/Dentist", "Home/Gym", "Work/Planning"),
+            names(agenda.next(10)));
+    assertEquals(Arrays.asList("Work/Review", "Home/Dentist"), names(agenda.next(2)));
+
+    home().editEvent(gym, event("Gym", at(3, 18, 0), at(3, 19, 0)));
+    manager.editCalendar("Work", "name", "Office");
+    assertEquals(Arrays.asList("Office/Review", "Home/Dentist", "Office/Planning", "Home/Gym"),
+            names(agenda.next(10)));
+
+    clock.set(at(1, 9, 15).toInstant());
+    assertEquals(Arrays.asList("Home/Dentist", "Office/Planning", "Home/Gym"),
+            names(agenda.next(10)));
+  }
+
+  @Test
+  public void testExpandsRecurringRulesLazily() {
+    AgendaService agenda = manager.getAgenda();
+    agenda.setClock(clock);
+    RecurringEvent standup = new RecurringEvent("Standup", at(1, 9, 0), at(1, 9, 15), "MTWRF",
+            5000, null, "", "", true, false);
+    assertTrue(work().addRecurringEvent(standup, false));
+
+    assertEquals(1, agenda.size());
+    List<AgendaService.Item> next = agenda.next(4);
+    assertEquals(4, next.size());
+    assertEquals(at(1, 9, 0), next.get(0).getEvent().getStartDateTime());
+    assertEquals(at(2, 9, 0), next.get(1).getEvent().getStartDateTime());
+    assertEquals(at(5, 9, 0), next.get(2).getEvent().getStartDateTime());
+    assertEquals(at(6, 9, 0), next.get(3).getEvent().getStartDateTime());
+    assertEquals(5, agenda.size());
+
+    clock.set(at(5, 12, 0).toInstant());
+    assertEquals(at(6, 9, 0), agenda.next(1).get(0).getEvent().getStartDateTime());
+    assertTrue(agenda.size() <= 2);
+  }
+
+  @Test
+  public void testFollowsEditsOfRecurringSeries() {
+    work().addRecurringEvent(new RecurringEvent("Standup", at(1, 9, 0), at(1, 9, 15), "MTWRF",
+            5000, null, "", "", true, false), false);
+    AgendaService agenda = manager.getAgenda();
+    agenda.setClock(clock);
+    assertEquals(1, agenda.size());
+
+    assertTrue(work().editSingleEvent("starttime", "Standup", at(2, 9, 0), at(2, 9, 15),
+            "08:30"));
+    assertTrue(work().cancelOccurrence("Standup", at(5, 9, 0).toLocalDate()));
+    assertTrue(work().editRecurringEvent("Standup", "location", "Room2"));
+
+    List<AgendaService.Item> next = agenda.next(3);
+    assertEquals(at(1, 9, 0), next.get(0).getEvent().getStartDateTime());
+    assertEquals("Room2", next.get(0).getEvent().getLocation());
+    assertEquals(at(2, 8, 30), next.get(1).getEvent().getStartDateTime());
+    assertEquals("", next.get(1).getEvent().getLocation());
+    assertEquals(at(6, 9, 0), next.get(2).getEvent().getStartDateTime());
+    assertTrue(agenda.size() <= 4);
+
+    assertTrue(work().editRecurringEvent("Standup", "repeattimes", "1"));
+    assertEquals(1, agenda.next(10).size());
+  }
+
+  @Test
+  public void testListsOccurrenceMovedBeforeItsNeighbours() {
+    work().addRecurringEvent(new RecurringEvent("Sync", at(1, 9, 0), at(1, 9, 30), "R",
+            10, null, "", "", true, false), false);
+    ICalendarEvent moved = (ICalendarEvent) work().getEventsOnDate(at(22, 9, 0).toLocalDate())
+            .get(0);
+    assertTrue(work().editEvent(moved, event("Sync", at(2, 9, 0), at(2, 9, 30))));
+    AgendaService agenda = manager.getAgenda();
+    agenda.setClock(clock);
+
+    List<AgendaService.Item> next = agenda.next(3);
+
+    assertEquals(Arrays.asList(at(1, 9, 0), at(2, 9, 0), at(8, 9, 0)),
+            Arrays.asList(next.get(0).getEvent().getStartDateTime(),
+                    next.get(1).getEvent().getStartDateTime(),
+                    next.get(2).getEvent().getStartDateTime()));
+
+    assertTrue(work().editSingleEvent("starttime", "Sync", at(2, 9, 0), at(2, 9, 30),
+            "08:30"));
+    assertEquals(at(2, 8, 30), agenda.next(2).get(1).getEvent().getStartDateTime());
+  }
+
+  @Test
+  public void testFiresRemindersOnceWithLeadTime() {
+    AgendaService agenda = manager.getAgenda();
+    agenda.setClock(clock);
+    agenda.setReminderLead(Duration.ofMinutes(15));
+    List<String> fired = new ArrayList<>();
+    agenda.addListener((calendarName, event) -> fired.add(calendarName + "/"
+            + event.getSubject()));
+    work().addEvent(event("Review", at(1, 9, 0), at(1, 10, 0)), false);
+    home().addEvent(event("Dentist", at(1, 9, 30), at(1, 10, 30)), false);
+
+    clock.set(at(1, 8, 40).toInstant());
+    assertEquals(0, agenda.tick());
+    clock.set(at(1, 8, 45).toInstant());
+    assertEquals(1, agenda.tick());
+    assertEquals(0, agenda.tick());
+    assertEquals(Collections.singletonList("Work/Review"), fired);
+
+    work().addEvent(event("Call", at(1, 8, 50), at(1, 8, 55)), false);
+    clock.set(at(1, 9, 20).toInstant());
+    assertEquals(2, agenda.tick());
+    assertEquals(Arrays.asList("Work/Review", "Work/Call", "Home/Dentist"), fired);
+    assertEquals(Collections.singletonList("Home/Dentist"), names(agenda.next(5)));
+  }
+
+  @Test
+  public void testMatchesSortedUpcomingEvents() {
+    Random random = new Random(23);
+    List<ZonedDateTime> starts = new ArrayList<>();
+    AgendaService agenda = manager.getAgenda();
+    agenda.setClock(clock);
+    for (int i = 0; i < 600; i++) {
+      ICalendarModel calendar = i % 2 == 0 ? work() : home();
+      ZonedDateTime start = at(1, 0, 0).plusMinutes(random.nextInt(60 * 24 * 60));
+      if (calendar.addEvent(event("E" + i, start, start.plusMinutes(20)), false)
+              && !start.isBefore(at(1, 8, 0))) {
+        starts.add(start);
+      }
+    }
+    Collections.sort(starts);
+
+    List<AgendaService.Item> next = agenda.next(100);
+
+    assertEquals(100, next.size());
+    for (int i = 0; i < next.size(); i++) {
+      assertTrue(starts.get(i).isEqual(next.get(i).getEvent().getStartDateTime()));
+    }
+  }
+
+  @Test
+  public void testShowNextCommand() {
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    manager.getAgenda().setClock(Clock.fixed(Instant.parse("2099-01-01T00:00:00Z"), UTC));
+
+    assertEquals(Collections.singletonList("No upcoming events"),
+            run(controller, "show next").getMessages());
+
+    assertTrue(run(controller, "use calendar --name Work").isSuccess());
+    assertTrue(run(controller, "create event Launch from 2099-03-01T10:00 to "
+            + "2099-03-01T11:00").isSuccess());
+    assertTrue(run(controller, "create event Kickoff from 2099-02-01T10:00 to "
+            + "2099-02-01T11:00").isSuccess());
+    assertTrue(run(controller, "use calendar --name Home").isSuccess());
+    assertTrue(run(controller, "create event Party from 2099-02-15T20:00 to "
+            + "2099-02-15T23:00").isSuccess());
+
+    CommandResult result = run(controller, "show next 2");
+
+    assertTrue(result.isSuccess());
+    assertEquals(Arrays.asList("2099-02-01T10:00 to 2099-02-01T11:00 Work/Kickoff",
+            "2099-02-15T20:00 to 2099-02-15T23:00 Home/Party"), result.getMessages());
+    assertFalse(run(controller, "show next 0").isSuccess());
+    assertFalse(run(controller, "show next many").isSuccess());
+  }
+
+  private ICalendarModel work() {
+    ICalendarModel calendar = manager.getCalendar("Work");
+    return calendar != null ? calendar : manager.getCalendar("Office");
+  }
+
+  private ICalendarModel home() {
+    return manager.getCalendar("Home");
+  }
+
+  private static List<String> names(List<AgendaService.Item> items) {
+    List<String> names = new ArrayList<>();
+    for (AgendaService.Item item : items) {
+      ReadOnlyCalendarEvent event = item.getEvent();
+      names.add(item.getCalendarName() + "/" + event.getSubject());
+    }
+    return names;
+  }
+
+  private static CommandResult run(CalendarController controller, String command) {
+    return controller.processCommandAsync(command).join();
+  }
+
+  private static ZonedDateTime at(int day, int hour, int minute) {
+    return ZonedDateTime.of(2025, 5, 1, hour, minute, 0, 0, UTC).plusDays(day - 1);
+  }
+
+  private static SingleEvent event(String subject, ZonedDateTime start, ZonedDateTime end) {
+    return new SingleEvent(subject, start, end, "", "", true, false, null);
+  }
+
+  /**
+   * A clock whose time is set by the test.
+   */
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void set(Instant instant) {
+      this.now = instant;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+import calendarapp.view.BufferedOutput;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * JUnit test class for BufferedOutput.
+ */
+public class BufferedOutputTest {
+
+  @Test
+  public void testAppendIsDeferredUntilFlush() throws IOException {
+    StringWriter target = new StringWriter();
+    BufferedOutput out = new BufferedOutput(target);
+
+    out.append("Hello").append(' ').append("world\n");
+    assertEquals("", target.toString());
+    assertEquals(12, out.pending());
+
+    out.flush();
+    assertEquals("Hello world\n", target.toString());
+    assertEquals(0, out.pending());
+  }
+
+  @Test
+  public void testFlushesAutomaticallyWhenFull() throws IOException {
+    StringWriter target = new StringWriter();
+    BufferedOutput out = new BufferedOutput(target, 4);
+
+    out.append("ab");
+    assertEquals("", target.toString());
+    out.append("cd");
+    assertEquals("abcd", target.toString());
+  }
+
+  @Test
+  public void testAppendSubSequence() throws IOException {
+    StringWriter target = new StringWriter();
+    BufferedOutput out = new BufferedOutput(target);
+
+    out.append("calendar", 0, 3);
+    out.flush();
+    assertEquals("cal", target.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullTargetThrows() {
+    new BufferedOutput(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveCapacityThrows() {
+    new BufferedOutput(new StringWriter(), 0);
+  }
+}
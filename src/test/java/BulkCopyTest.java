@@ -0,0 +1,224 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.controller.CommandResult;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarModel;
+import calendarapp.model.CopyOutcome;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for copying many events at once to one or several calendars.
+ */
+public class BulkCopyTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  @Test
+  public void testBulkCopyMatchesCopyingOneByOne() {
+    Random random = new Random(5);
+    CalendarModel source = new CalendarModel("Source", UTC);
+    fill(source, random, "S", 400);
+    CalendarModel bulk = new CalendarModel("Bulk", NEW_YORK);
+    CalendarModel reference = new CalendarModel("Reference", NEW_YORK);
+    fill(bulk, new Random(9), "T", 300);
+    fill(reference, new Random(9), "T", 300);
+
+    ZonedDateTime start = at(1, 0, 0);
+    ZonedDateTime end = at(60, 0, 0);
+    ZonedDateTime targetStart = LocalDate.of(2025, 1, 15).atStartOfDay(NEW_YORK);
+    boolean copied = source.copyEventsBetweenTo(source, start, end, bulk, targetStart);
+
+    boolean allAdded = true;
+    for (ReadOnlyCalendarEvent event : source.getEventsBetween(start, end)) {
+      ZonedDateTime newStart = event.getStartDateTime().plusDays(14)
+              .withZoneSameInstant(NEW_YORK);
+      allAdded &= reference.addEvent(new SingleEvent(event.getSubject(), newStart,
+              newStart.plus(Duration.between(event.getStartDateTime(),
+                      event.getEndDateTime())), event.getDescription(), event.getLocation(),
+              event.isPublic(), event.isAllDay(), null), false);
+    }
+
+    assertFalse(allAdded);
+    assertEquals(allAdded, copied);
+    assertEquals(keys(reference), keys(bulk));
+  }
+
+  @Test
+  public void testDuplicatesAndOverlappingCopiesAreSkipped() {
+    CalendarModel source = new CalendarModel("Source", UTC);
+    CalendarModel target = new CalendarModel("Target", UTC);
+    source.addEvent(event("Standup", at(1, 9, 0), at(1, 9, 0)), false);
+    source.addEvent(event("Review", at(1, 10, 0), at(1, 11, 0)), false);
+    source.addEvent(event("Lunch", at(1, 12, 0), at(1, 13, 0)), false);
+    target.addEvent(event("Standup", at(2, 9, 0), at(2, 9, 0)), false);
+    target.addEvent(event("Call", at(2, 12, 30), at(2, 14, 0)), false);
+
+    CopyOutcome outcome = source.copyEventsOnDateToAll(source, LocalDate.of(2025, 1, 1),
+            Collections.singletonList(target), LocalDate.of(2025, 1, 2)).get(0);
+
+    assertFalse(outcome.isComplete());
+    assertEquals(1, outcome.getCopied());
+    assertEquals(1, outcome.getConflicts());
+    assertEquals(1, outcome.getDuplicates());
+    assertEquals(new TreeSet<>(Arrays.asList(
+            "Call 2025-01-02T12:30Z[UTC]", "Review 2025-01-02T10:00Z[UTC]",
+            "Standup 2025-01-02T09:00Z[UTC]")), keys(target));
+  }
+
+  @Test
+  public void testCopiesTogetherIntoSeveralCalendars() {
+    CalendarModel source = new CalendarModel("Source", UTC);
+    CalendarModel first = new CalendarModel("First", UTC);
+    CalendarModel second = new CalendarModel("Second", NEW_YORK);
+    source.addEvent(event("Review", at(1, 15, 0), at(1, 16, 0)), false);
+    source.addEvent(event("Planning", at(2, 15, 0), at(2, 16, 0)), false);
+    second.addEvent(event("Busy", at(9, 15, 30), at(9, 16, 30)), false);
+
+    List<CopyOutcome> outcomes = source.copyEventsBetweenToAll(source, at(1, 0, 0),
+            at(3, 0, 0), Arrays.asList(first, second, source), LocalDate.of(2025, 1, 8));
+
+    assertEquals(3, outcomes.size());
+    assertTrue(outcomes.get(0).isComplete());
+    assertEquals(second, outcomes.get(1).getTarget());
+    assertEquals(1, outcomes.get(1).getCopied());
+    assertEquals(1, outcomes.get(1).getConflicts());
+    assertTrue(outcomes.get(2).isComplete());
+    assertEquals(new TreeSet<>(Arrays.asList("Planning 2025-01-09T15:00Z[UTC]",
+            "Review 2025-01-08T15:00Z[UTC]")), keys(first));
+    assertEquals(new TreeSet<>(Arrays.asList("Busy 2025-01-09T15:30Z[UTC]",
+            "Review 2025-01-08T10:00-05:00[America/New_York]")), keys(second));
+    assertEquals(4, source.getEvents().size());
+  }
+
+  @Test
+  public void testCopyCommandAcceptsSeveralTargets() {
+    CalendarManager manager = new CalendarManager();
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    assertTrue(run(controller, "create calendar --name Work --timezone UTC").isSuccess());
+    assertTrue(run(controller, "create calendar --name Home --timezone UTC").isSuccess());
+    assertTrue(run(controller, "create calendar --name Club --timezone UTC").isSuccess());
+    assertTrue(run(controller, "use calendar --name Club").isSuccess());
+    assertTrue(run(controller, "create event Match from 2025-02-01T10:00 to "
+            + "2025-02-01T12:00").isSuccess());
+    assertTrue(run(controller, "use calendar --name Work").isSuccess());
+    assertTrue(run(controller, "create event Sync from 2025-01-01T11:00 to "
+            + "2025-01-01T12:00").isSuccess());
+
+    CommandResult result = run(controller,
+            "copy events on 2025-01-01 --target Home,Club,Home to 2025-02-01");
+
+    assertFalse(result.isSuccess());
+    assertEquals(Collections.singletonList("Events copied successfully to calendar: Home"),
+            result.getMessages());
+    assertEquals(Collections.singletonList(
+            "Some or all events could not be copied to calendar: Club due to conflicts. "
+                    + "Skipped 1 conflicting and 0 duplicate event(s)."),
+            result.getErrors());
+    assertEquals(1, manager.getCalendar("Home").getEvents().size());
+    assertEquals(1, manager.getCalendar("Club").getEvents().size());
+
+    assertTrue(run(controller, "copy events between 2025-01-01 and 2025-01-02 --target "
+            + "Home,Club to 2025-03-01").isSuccess());
+    assertEquals(2, manager.getCalendar("Club").getEvents().size());
+  }
+
+  @Test
+  public void testCopyCommandReportsSkippedDuplicates() {
+    CalendarManager manager = new CalendarManager();
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    assertTrue(run(controller, "create calendar --name Work --timezone UTC").isSuccess());
+    assertTrue(run(controller, "create calendar --name Home --timezone UTC").isSuccess());
+    assertTrue(run(controller, "use calendar --name Work").isSuccess());
+    assertTrue(run(controller, "create event Sync from 2025-01-01T11:00 to "
+            + "2025-01-01T12:00").isSuccess());
+    assertTrue(run(controller, "create event Lunch from 2025-01-01T13:00 to "
+            + "2025-01-01T14:00").isSuccess());
+    assertTrue(run(controller, "copy events on 2025-01-01 --target Home to 2025-02-01")
+            .isSuccess());
+    assertTrue(run(controller, "create event Review from 2025-01-01T15:00 to "
+            + "2025-01-01T16:00").isSuccess());
+
+    CommandResult result = run(controller,
+            "copy events on 2025-01-01 --target Home to 2025-02-01");
+
+    assertFalse(result.isSuccess());
+    assertEquals(Collections.singletonList("Some or all events could not be copied due to "
+            + "conflicts. Skipped 0 conflicting and 2 duplicate event(s)."), result.getErrors());
+    assertEquals(3, manager.getCalendar("Home").getEvents().size());
+  }
+
+  @Test
+  public void testCopyCommandPlacesCopiesInEachTargetZone() {
+    CalendarManager manager = new CalendarManager();
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    assertTrue(run(controller, "create calendar --name Work --timezone UTC").isSuccess());
+    assertTrue(run(controller, "create calendar --name Tokyo --timezone Asia/Tokyo")
+            .isSuccess());
+    assertTrue(run(controller, "create calendar --name Boston --timezone America/New_York")
+            .isSuccess());
+    assertTrue(run(controller, "create calendar --name Alone --timezone America/New_York")
+            .isSuccess());
+    assertTrue(run(controller, "use calendar --name Work").isSuccess());
+    assertTrue(run(controller, "create event Sync from 2025-01-01T11:00 to "
+            + "2025-01-01T12:00").isSuccess());
+
+    assertTrue(run(controller, "copy events on 2025-01-01 --target Tokyo,Boston to 2025-02-01")
+            .isSuccess());
+    assertTrue(run(controller, "copy events on 2025-01-01 --target Alone to 2025-02-01")
+            .isSuccess());
+
+    assertEquals(keys(manager.getCalendar("Alone")), keys(manager.getCalendar("Boston")));
+    assertEquals(LocalDate.of(2025, 2, 1), manager.getCalendar("Tokyo").getEvents().get(0)
+            .getStartDateTime().toLocalDate());
+    assertEquals(LocalDate.of(2025, 2, 1), manager.getCalendar("Boston").getEvents().get(0)
+            .getStartDateTime().toLocalDate());
+  }
+
+  private static void fill(CalendarModel calendar, Random random, String prefix, int count) {
+    for (int i = 0; i < count; i++) {
+      ZonedDateTime start = at(1, 0, 0).plusMinutes(15L * random.nextInt(90 * 24 * 4));
+      calendar.addEvent(event(prefix + i, start, start.plusMinutes(15 + random.nextInt(120))),
+              false);
+    }
+  }
+
+  private static Set<String> keys(ICalendarModel calendar) {
+    Set<String> keys = new TreeSet<>();
+    for (ReadOnlyCalendarEvent event : calendar.getEvents()) {
+      keys.add(event.getSubject() + " " + event.getStartDateTime());
+    }
+    return keys;
+  }
+
+  private static CommandResult run(CalendarController controller, String command) {
+    return controller.processCommandAsync(command).join();
+  }
+
+  private static ZonedDateTime at(int day, int hour, int minute) {
+    return ZonedDateTime.of(2025, 1, 1, hour, minute, 0, 0, UTC).plusDays(day - 1);
+  }
+
+  private static SingleEvent event(String subject, ZonedDateTime start, ZonedDateTime end) {
+    return new SingleEvent(subject, start, end, "", "", true, false, null);
+  }
+}
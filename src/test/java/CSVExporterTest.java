@@ -1,6 +1,8 @@
+import calendarapp.model.CalendarModel;
 import calendarapp.model.event.ReadOnlyCalendarEvent;
 import calendarapp.model.event.SingleEvent;
 import calendarapp.utils.CSVExporter;
+import calendarapp.utils.CSVImporter;
 import calendarapp.model.event.ICalendarEvent;
 
 import org.junit.After;
@@ -9,14 +11,18 @@ import org.junit.Test;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -71,6 +77,25 @@ public class CSVExporterTest {
     }
   }
 
+  @Test
+  public void testGzipExportImportsBack() throws Exception {
+    List<ReadOnlyCalendarEvent> events = Collections.singletonList(createSampleEvent());
+    tempFile = File.createTempFile("calendar_", ".csv.gz");
+
+    String exportedPath = exporter.export(events, tempFile.getAbsolutePath());
+
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(new FileInputStream(exportedPath)), StandardCharsets.UTF_8))) {
+      assertTrue(reader.readLine().startsWith("Subject,"));
+      assertTrue(reader.readLine().startsWith("Meeting,06/01/2025,09:00,"));
+    }
+
+    CalendarModel model = new CalendarModel("Copy", ZoneId.of("UTC"));
+    new CSVImporter().importInto(model, exportedPath);
+    assertEquals(1, model.getEvents().size());
+    assertEquals("Office 101", model.getEvents().get(0).getLocation());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testExportWithNullFilePathThrows() throws Exception {
     exporter.export(Collections.singletonList(createSampleEvent()), null);
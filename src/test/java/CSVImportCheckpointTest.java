@@ -0,0 +1,131 @@
+import calendarapp.controller.CommandParser;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarModel;
+import calendarapp.utils.CSVImporter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * JUnit test class for checkpointed and resumed CSV imports.
+ */
+public class CSVImportCheckpointTest {
+
+  private static final int ROWS = 5000;
+  private static final int BAD_ROW = 4500;
+  private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("large", ".csv");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(Path.of(file + ".checkpoint"));
+    Files.deleteIfExists(Path.of(file + ".rejects"));
+  }
+
+  @Test
+  public void testAbortedImportResumesAfterRowIsFixed() throws IOException {
+    write(true);
+    CalendarModel model = new CalendarModel("Work", ZoneId.of("UTC"));
+    try {
+      new CSVImporter(CSVImporter.ErrorPolicy.ABORT, false).importInto(model, file.toString());
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().startsWith("Line " + (BAD_ROW + 2) + ": Invalid date format"));
+      assertTrue(e.getMessage().contains("Rows up to line 4097 were imported"));
+    }
+    assertEquals(4096, model.getEvents().size());
+    assertTrue(Files.exists(Path.of(file + ".checkpoint")));
+
+    write(false);
+    CSVImporter importer = new CSVImporter(CSVImporter.ErrorPolicy.ABORT, true);
+    importer.importInto(model, file.toString());
+
+    assertEquals(ROWS, model.getEvents().size());
+    assertEquals(4096, importer.getRowsResumed());
+    assertEquals(ROWS, importer.getRowsImported());
+    assertFalse(Files.exists(Path.of(file + ".checkpoint")));
+  }
+
+  @Test
+  public void testSkipPolicyWritesRejectFile() throws IOException {
+    write(true);
+    CalendarModel model = new CalendarModel("Work", ZoneId.of("UTC"));
+    CSVImporter importer = new CSVImporter(CSVImporter.ErrorPolicy.SKIP, false);
+    importer.importInto(model, file.toString());
+
+    assertEquals(ROWS - 1, model.getEvents().size());
+    assertEquals(1, importer.getRowsRejected());
+    List<String> rejects = Files.readAllLines(Path.of(file + ".rejects"));
+    assertEquals(2, rejects.size());
+    assertEquals("Line,Reason,Row", rejects.get(0));
+    assertTrue(rejects.get(1).startsWith((BAD_ROW + 2) + ",\"Invalid date format: 13/45/2025\","
+            + "E" + BAD_ROW + ","));
+  }
+
+  @Test
+  public void testResumeRefusesChangedPrefix() throws IOException {
+    write(true);
+    CalendarModel model = new CalendarModel("Work", ZoneId.of("UTC"));
+    try {
+      new CSVImporter(CSVImporter.ErrorPolicy.ABORT, false).importInto(model, file.toString());
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException expected) {
+      // the checkpoint is left behind
+    }
+    List<String> lines = Files.readAllLines(file);
+    lines.set(4096, lines.get(4096).replace("E4095", "E4O95"));
+    Files.write(file, lines);
+
+    try {
+      new CSVImporter(CSVImporter.ErrorPolicy.ABORT, true).importInto(model, file.toString());
+      fail("Expected IOException");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().startsWith("File has changed before the checkpoint"));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testResumeIsOnlyForCsv() {
+    new CommandParser(new CalendarManager()).parse("import cal feed.ics --resume");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownErrorPolicyIsRejected() {
+    new CommandParser(new CalendarManager()).parse("import cal events.csv --on-error retry");
+  }
+
+  private void write(boolean withBadRow) throws IOException {
+    List<String> lines = new ArrayList<>(ROWS + 1);
+    lines.add("Subject,Start Date,Start Time,End Date,End Time,All Day Event,Description,"
+            + "Location,Private");
+    LocalDate day = LocalDate.of(2020, 1, 1);
+    for (int i = 0; i < ROWS; i++) {
+      String date = withBadRow && i == BAD_ROW ? "13/45/2025" : day.plusDays(i).format(DATE);
+      lines.add("E" + i + "," + date + ",09:00," + day.plusDays(i).format(DATE)
+              + ",10:00,FALSE,desc,loc,FALSE");
+    }
+    Files.write(file, lines);
+  }
+}
@@ -0,0 +1,121 @@
+import calendarapp.model.CalendarModel;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.RecurringEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for archiving old events of a CalendarModel.
+ */
+public class CalendarArchiveTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  private CalendarModel model;
+
+  @Before
+  public void setUp() {
+    model = new CalendarModel("Work", NEW_YORK);
+    for (int day = 1; day <= 28; day++) {
+      model.addEvent(event("Old " + day, 2024, 2, day, 9), false);
+    }
+    model.addRecurringEvent(new RecurringEvent("Standup", at(2024, 3, 4, 9),
+            at(2024, 3, 4, 9).plusMinutes(15), "MTWRF", 10, null, "sync", "Room 1", true,
+            false), false);
+    model.addEvent(event("Current", 2025, 6, 2, 9), false);
+  }
+
+  @Test
+  public void testQueriesSeeArchivedEvents() {
+    List<String> before = describe(model.getEvents());
+
+    assertEquals(38, model.archiveBefore(at(2025, 1, 1, 0)));
+    assertEquals(38, model.getArchivedEventCount());
+
+    assertEquals(before, describe(model.getEvents()));
+    assertEquals(before, describe(model.getAllReadOnlyEvents()));
+    assertEquals(Collections.singletonList("Old 14"),
+            subjects(model.getEventsOnDate(LocalDate.of(2024, 2, 14))));
+    assertEquals(Collections.singletonList("Old 14"),
+            subjects(model.getReadOnlyEventsOnDate(LocalDate.of(2024, 2, 14))));
+    assertEquals(List.of("Old 27", "Old 28", "Standup"),
+            subjects(model.getEventsBetween(at(2024, 2, 27, 0), at(2024, 3, 5, 0))));
+    assertTrue(model.isBusyAt(at(2024, 2, 10, 9).plusMinutes(30)));
+    assertFalse(model.isBusyAt(at(2024, 2, 10, 10)));
+    assertTrue(model.isBusyAt(at(2025, 6, 2, 9)));
+  }
+
+  @Test
+  public void testChangesInArchivedPeriodAreChecked() {
+    model.archiveBefore(at(2025, 1, 1, 0));
+
+    assertFalse(model.addEvent(event("Clash", 2024, 2, 10, 9), false));
+    assertEquals(0, model.getArchivedEventCount());
+    assertTrue(model.addEvent(event("Free", 2024, 2, 10, 11), false));
+    assertEquals(40, model.getEvents().size());
+
+    model.archiveBefore(at(2025, 1, 1, 0));
+    assertTrue(model.editEventsAll("location", "Standup", "Room 2"));
+    for (ReadOnlyCalendarEvent e : model.getEvents()) {
+      if (e.getSubject().equals("Standup")) {
+        assertEquals("Room 2", e.getLocation());
+      }
+    }
+    assertEquals(40, model.getEvents().size());
+  }
+
+  @Test
+  public void testHorizonArchivesAutomatically() {
+    model.setClock(Clock.fixed(at(2025, 3, 1, 0).toInstant(), NEW_YORK));
+    model.setArchiveHorizon(Duration.ofDays(365));
+
+    assertEquals(28, model.getArchivedEventCount());
+    assertEquals(39, model.getEvents().size());
+  }
+
+  private static ZonedDateTime at(int year, int month, int day, int hour) {
+    return ZonedDateTime.of(year, month, day, hour, 0, 0, 0, NEW_YORK);
+  }
+
+  private static SingleEvent event(String subject, int year, int month, int day, int hour) {
+    ZonedDateTime start = at(year, month, day, hour);
+    return new SingleEvent(subject, start, start.plusHours(1), "desc", "loc", true, false, null);
+  }
+
+  private static List<String> subjects(List<ReadOnlyCalendarEvent> events) {
+    List<String> result = new ArrayList<>();
+    for (ReadOnlyCalendarEvent e : events) {
+      if (!result.contains(e.getSubject())) {
+        result.add(e.getSubject());
+      }
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  private static List<String> describe(List<ReadOnlyCalendarEvent> events) {
+    List<String> result = new ArrayList<>();
+    for (ReadOnlyCalendarEvent e : events) {
+      result.add(e.getSubject() + "|" + e.getStartDateTime() + "|" + e.getEndDateTime() + "|"
+              + e.getDescription() + "|" + e.getLocation() + "|" + e.isPublic() + "|"
+              + e.isAllDay() + "|" + e.isRecurring());
+    }
+    Collections.sort(result);
+    return result;
+  }
+}
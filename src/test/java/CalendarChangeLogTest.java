@@ -0,0 +1,151 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.controller.CommandResult;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarModel;
+import calendarapp.model.CalendarSnapshot;
+import calendarapp.model.EventDelta;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for the change log of CalendarModel and delta exports.
+ */
+public class CalendarChangeLogTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private CalendarModel model;
+
+  @Before
+  public void setUp() {
+    model = new CalendarModel("Work", UTC);
+    model.addEvent(event("A", 9), false);
+    model.addEvent(event("B", 11), false);
+  }
+
+  @Test
+  public void testDeltaListsNetChanges() {
+    long mark = model.getChangeSequence();
+    model.addEvent(event("C", 13), false);
+    model.editSingleEvent("location", "A", at(9), at(10), "Room 2");
+    model.editSingleEvent("name", "B", at(11), at(12), "B2");
+    model.addEvent(event("D", 15), false);
+    model.editSingleEvent("name", "D", at(15), at(16), "D2");
+
+    EventDelta delta = model.getChangesSince(mark);
+    assertFalse(delta.isFull());
+    assertEquals(model.getChangeSequence(), delta.getSequence());
+    assertEquals(Arrays.asList("C", "B2", "D2"), subjects(delta.getAdded()));
+    assertEquals(Collections.singletonList("A"), subjects(delta.getChanged()));
+    assertEquals("Room 2", delta.getChanged().get(0).getLocation());
+    assertEquals(Collections.singletonList("B"), subjects(delta.getDeleted()));
+
+    assertTrue(model.getChangesSince(delta.getSequence()).isEmpty());
+  }
+
+  @Test
+  public void testRolledBackBatchLeavesNoChanges() {
+    long mark = model.getChangeSequence();
+    model.beginBatch();
+    model.addEvent(event("C", 13), false);
+    model.rollbackBatch();
+    assertTrue(model.getChangesSince(mark).isEmpty());
+  }
+
+  @Test
+  public void testTimezoneChangeForcesFullDelta() {
+    long mark = model.getChangeSequence();
+    model.updateTimezone(ZoneId.of("Asia/Kolkata"));
+
+    assertTrue(model.getChangesSince(mark).isFull());
+    assertEquals(2, model.getChangesSince(mark).getAdded().size());
+    assertTrue(model.getChangesSince(mark + 100).isFull());
+    assertFalse(model.getChangesSince(model.getChangeSequence()).isFull());
+  }
+
+  @Test
+  public void testReloadedCalendarForcesFullDelta() throws IOException {
+    model.addEvent(event("C", 13), false);
+    model.addEvent(event("D", 15), false);
+    long mark = model.getChangeSequence();
+    assertTrue(model.editSingleEvent("starttime", "A", at(9), at(10), "09:30"));
+    Path file = Files.createTempFile("changes", ".snapshot");
+    try {
+      CalendarSnapshot.writeCalendar(model, file);
+      CalendarModel reloaded = CalendarSnapshot.loadCalendar(file);
+
+      EventDelta delta = reloaded.getChangesSince(mark);
+      assertTrue(delta.isFull());
+      assertEquals(4, delta.getAdded().size());
+      assertTrue(reloaded.getChangesSince(model.getChangeSequence()).isFull());
+      assertFalse(reloaded.getChangesSince(reloaded.getChangeSequence()).isFull());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testExportSinceWritesDeltaFile() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    Path file = Files.createTempFile("delta", ".csv");
+    try {
+      assertTrue(run(controller, "create calendar --name Work --timezone UTC"));
+      assertTrue(run(controller, "use calendar --name Work"));
+      assertTrue(run(controller, "create event A from 2025-05-01T09:00 to 2025-05-01T10:00"));
+      long mark = ((CalendarModel) manager.getCalendar("Work")).getChangeSequence();
+      assertTrue(run(controller, "create event C from 2025-05-01T13:00 to 2025-05-01T14:00"));
+
+      assertTrue(run(controller, "export cal " + file + " --since " + mark));
+      List<String> lines = Files.readAllLines(file);
+      assertEquals("# sequence=" + (mark + 1) + " since=" + mark + " full=false",
+              lines.get(0));
+      assertTrue(lines.get(1).startsWith("Change,Subject,"));
+      assertEquals(3, lines.size());
+      assertTrue(lines.get(2).startsWith("added,C,05/01/2025,13:00,"));
+
+      assertFalse(run(controller, "export cal " + file + " --since x"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static boolean run(CalendarController controller, String command) {
+    CommandResult result = controller.processCommandAsync(command).join();
+    return result.isSuccess();
+  }
+
+  private static ZonedDateTime at(int hour) {
+    return ZonedDateTime.of(2025, 5, 1, hour, 0, 0, 0, UTC);
+  }
+
+  private static SingleEvent event(String subject, int hour) {
+    return new SingleEvent(subject, at(hour), at(hour + 1), "desc", "loc", true, false, null);
+  }
+
+  private static List<String> subjects(List<ReadOnlyCalendarEvent> events) {
+    List<String> result = new ArrayList<>();
+    for (ReadOnlyCalendarEvent e : events) {
+      result.add(e.getSubject());
+    }
+    return result;
+  }
+}
@@ -1,5 +1,7 @@
 import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandExecutors;
 import calendarapp.controller.CommandParser;
+import calendarapp.controller.CommandResult;
 import calendarapp.controller.commands.ICommand;
 import calendarapp.model.CalendarManager;
 import calendarapp.model.ICalendarManager;
@@ -16,10 +18,14 @@ import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -880,6 +886,117 @@ public class CalendarControllerTest {
     assertSame("Expected same view object injected", view, controller.getView());
   }
 
+  @Test
+  public void testBatchCommitsQueuedCommands() {
+    assertTrue(controller.processCommand("begin batch"));
+    assertTrue(controller.processCommand("create event A from 2025-05-01T09:00 "
+            + "to 2025-05-01T10:00"));
+    assertTrue(controller.processCommand("create event B from 2025-05-01T10:00 "
+            + "to 2025-05-01T11:00"));
+    assertEquals(0, manager.getActiveCalendar().getEvents().size());
+
+    assertTrue(controller.processCommand("commit"));
+    assertEquals("Batch committed: 2 command(s) applied", view.getLastMessage());
+    assertEquals(2, manager.getActiveCalendar().getEvents().size());
+  }
+
+  @Test
+  public void testBatchRollsBackOnConflict() {
+    controller.processCommand("create event Existing from 2025-05-01T09:00 "
+            + "to 2025-05-01T10:00");
+    controller.processCommand("begin batch");
+    controller.processCommand("create event A from 2025-05-02T09:00 to 2025-05-02T10:00");
+    controller.processCommand("create event B from 2025-05-01T09:30 to 2025-05-01T10:30");
+
+    assertFalse(controller.processCommand("commit"));
+    assertTrue(view.getLastMessage().startsWith("Batch rolled back"));
+    assertEquals(1, manager.getActiveCalendar().getEvents().size());
+  }
+
+  @Test
+  public void testBatchRollsBackWhenCommandFails() {
+    controller.processCommand("begin batch");
+    controller.processCommand("create event A from 2025-05-02T09:00 to 2025-05-02T10:00");
+    controller.processCommand("edit events location Missing NewRoom");
+
+    assertFalse(controller.processCommand("commit"));
+    assertTrue(view.getLastMessage().startsWith("Batch rolled back: command 2 of 2"));
+    assertEquals(0, manager.getActiveCalendar().getEvents().size());
+  }
+
+  @Test
+  public void testCommitWithoutBatchFails() {
+    assertFalse(controller.processCommand("commit"));
+    assertEquals("No batch is open. Use 'begin batch' first.", view.getLastMessage());
+  }
+
+  @Test
+  public void testNestedBeginBatchFails() {
+    assertTrue(controller.processCommand("begin batch"));
+    assertFalse(controller.processCommand("begin batch"));
+  }
+
+  @Test
+  public void testProcessCommandAsyncReturnsEvents() throws Exception {
+    controller.processCommand("create event Standup from 2025-05-01T09:00 "
+            + "to 2025-05-01T09:15");
+    view.clearMessages();
+
+    CommandResult result = controller.processCommandAsync("print events on 2025-05-01")
+            .get(5, TimeUnit.SECONDS);
+
+    assertTrue(result.isSuccess());
+    assertEquals(1, result.getEvents().size());
+    assertEquals("Standup", result.getEvents().get(0).getSubject());
+    assertNull(result.getBusy());
+    assertTrue(view.messages.isEmpty());
+  }
+
+  @Test
+  public void testProcessCommandAsyncReportsBusyStatus() throws Exception {
+    controller.processCommand("create event Standup from 2025-05-01T09:00 "
+            + "to 2025-05-01T09:15");
+
+    CommandResult busy = controller.processCommandAsync("show status on 2025-05-01T09:05")
+            .get(5, TimeUnit.SECONDS);
+    CommandResult free = controller.processCommandAsync("show status on 2025-05-01T10:00")
+            .get(5, TimeUnit.SECONDS);
+
+    assertEquals(Boolean.TRUE, busy.getBusy());
+    assertEquals("Busy at 2025-05-01T09:05", busy.getMessages().get(0));
+    assertEquals(Boolean.FALSE, free.getBusy());
+  }
+
+  @Test
+  public void testProcessCommandAsyncReportsErrors() throws Exception {
+    CommandResult result = controller.processCommandAsync("frobnicate everything")
+            .get(5, TimeUnit.SECONDS);
+
+    assertFalse(result.isSuccess());
+    assertTrue(result.getError().startsWith("Parsing Error:"));
+  }
+
+  @Test
+  public void testProcessCommandAsyncFansOutOnCustomExecutor() throws Exception {
+    ExecutorService executor = CommandExecutors.newBoundedExecutor(4);
+    controller.setExecutor(executor);
+    try {
+      List<CompletableFuture<CommandResult>> futures = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        String hour = String.format("%02d", i);
+        futures.add(controller.processCommandAsync("create event E" + i + " from 2025-05-01T"
+                + hour + ":00 to 2025-05-01T" + hour + ":30"));
+        futures.add(controller.processCommandAsync("print events on 2025-05-01"));
+      }
+      for (CompletableFuture<CommandResult> future : futures) {
+        assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+      }
+      assertEquals(20, manager.getActiveCalendar().getEvents().size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   private static class TestView implements ICalendarView {
     private final List<String> messages = new ArrayList<>();
 
@@ -0,0 +1,183 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.model.CalendarJournal;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarModel;
+import calendarapp.model.ICalendarChangeListener;
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.SingleEvent;
+import calendarapp.view.HeadlessView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for CalendarJournal.
+ */
+public class CalendarJournalTest {
+
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("calendar", ".journal");
+    Files.delete(file);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void testReplayRestoresCalendarsAfterCommands() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    try (CalendarJournal journal = new CalendarJournal(file)) {
+      manager.addChangeListener(journal);
+      runScript(manager, "create calendar --name Work --timezone America/New_York\n"
+              + "use calendar --name Work\n"
+              + "create event Standup from 2025-05-05T09:00 to 2025-05-05T09:15 "
+              + "repeats MWF for 4 times\n"
+              + "create event Review from 2025-05-06T14:00 to 2025-05-06T15:00\n"
+              + "edit event location Review from 2025-05-06T14:00 to 2025-05-06T15:00 "
+              + "with Room1\n"
+              + "edit events repeattimes Standup 6\n"
+              + "create calendar --name Home --timezone UTC\n"
+              + "copy event Review on 2025-05-06T14:00 --target Home to 2025-05-07T10:00\n"
+              + "edit calendar --name Work --property timezone Europe/London\n"
+              + "edit calendar --name Home --property name Personal\n");
+    }
+
+    CalendarManager restored = new CalendarManager();
+    try (CalendarJournal journal = new CalendarJournal(file)) {
+      assertTrue(journal.replay(restored) > 0);
+    }
+
+    assertNotNull(restored.getCalendar("Personal"));
+    assertEquals(ZoneId.of("Europe/London"), restored.getCalendar("Work").getTimezone());
+    assertEquals(describe(manager.getCalendar("Work").getEvents()),
+            describe(restored.getCalendar("Work").getEvents()));
+    assertEquals(describe(manager.getCalendar("Personal").getEvents()),
+            describe(restored.getCalendar("Personal").getEvents()));
+    assertEquals(7, restored.getCalendar("Work").getEvents().size());
+  }
+
+  @Test
+  public void testRecordingContinuesAfterReplay() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    try (CalendarJournal journal = new CalendarJournal(file)) {
+      manager.addChangeListener(journal);
+      manager.addCalendar("Work", ZoneId.of("UTC"));
+      manager.getCalendar("Work").addEvent(event("A", 9), false);
+    }
+
+    CalendarManager second = new CalendarManager();
+    try (CalendarJournal journal = new CalendarJournal(file)) {
+      journal.replay(second);
+      second.addChangeListener(journal);
+      second.getCalendar("Work").addEvent(event("B", 11), false);
+    }
+
+    CalendarManager third = new CalendarManager();
+    try (CalendarJournal journal = new CalendarJournal(file)) {
+      journal.replay(third);
+    }
+    assertEquals(2, third.getCalendar("Work").getEvents().size());
+  }
+
+  @Test
+  public void testTornTailIsDiscarded() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    try (CalendarJournal journal = new CalendarJournal(file)) {
+      manager.addChangeListener(journal);
+      manager.addCalendar("Work", ZoneId.of("UTC"));
+      manager.getCalendar("Work").addEvent(event("A", 9), false);
+      journal.flush();
+      manager.getCalendar("Work").addEvent(event("B", 11), false);
+    }
+    long fullSize = Files.size(file);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(fullSize - 3);
+    }
+
+    CalendarManager restored = new CalendarManager();
+    try (CalendarJournal journal = new CalendarJournal(file)) {
+      assertEquals(2, journal.replay(restored));
+    }
+    assertEquals(1, restored.getCalendar("Work").getEvents().size());
+    assertTrue(Files.size(file) < fullSize - 3);
+  }
+
+  @Test
+  public void testRolledBackBatchIsNotRecorded() {
+    CalendarModel model = new CalendarModel("Work", ZoneId.of("UTC"));
+    List<String> changes = new ArrayList<>();
+    model.addChangeListener(new ICalendarChangeListener() {
+      @Override
+      public void eventAdded(String calendarName, ICalendarEvent event) {
+        changes.add("+" + event.getSubject());
+      }
+    });
+
+    model.beginBatch();
+    model.addEvent(event("A", 9), false);
+    model.addEvent(event("B", 9), false);
+    assertTrue(changes.isEmpty());
+    model.rollbackBatch();
+
+    model.beginBatch();
+    model.addEvent(event("C", 10), false);
+    model.commitBatch();
+
+    assertEquals(Collections.singletonList("+C"), changes);
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsForeignFile() throws IOException {
+    Files.writeString(file, "not a journal");
+    new CalendarJournal(file).close();
+  }
+
+  private static void runScript(CalendarManager manager, String script) {
+    StringBuilder out = new StringBuilder();
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    HeadlessView view = new HeadlessView(controller, new StringReader(script), out);
+    controller.setView(view);
+    view.run();
+    assertTrue(out.toString(), view.getFailureCount() == 0);
+  }
+
+  private static SingleEvent event(String subject, int hour) {
+    ZonedDateTime start = ZonedDateTime.of(2025, 5, 1, hour, 0, 0, 0, ZoneId.of("UTC"));
+    return new SingleEvent(subject, start, start.plusHours(1), "desc", "loc", true, false, null);
+  }
+
+  private static List<String> describe(List<ReadOnlyCalendarEvent> events) {
+    List<String> result = new ArrayList<>();
+    for (ReadOnlyCalendarEvent e : events) {
+      result.add(e.getSubject() + "|" + e.getStartDateTime() + "|" + e.getEndDateTime() + "|"
+              + e.getDescription() + "|" + e.getLocation() + "|" + e.isPublic() + "|"
+              + e.isAllDay());
+    }
+    Collections.sort(result);
+    return result;
+  }
+}
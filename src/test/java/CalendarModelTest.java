@@ -2061,4 +2061,67 @@ public class CalendarModelTest {
             "New");
     assertFalse(result);
   }
+
+  @Test
+  public void testBatchSkipsPerEventChecksAndCommits() {
+    ZonedDateTime start = ZonedDateTime.of(2025, 6, 10, 9, 0, 0, 0, model.getTimezone());
+    model.beginBatch();
+    for (int i = 0; i < 5; i++) {
+      assertTrue(model.addEvent(new SingleEvent("E" + i, start.plusHours(i),
+              start.plusHours(i + 1), "", "", true, false, null), false));
+    }
+    assertTrue(model.isBatchOpen());
+    assertTrue(model.commitBatch());
+    assertFalse(model.isBatchOpen());
+    assertEquals(5, model.getEvents().size());
+  }
+
+  @Test
+  public void testBatchRollsBackOnConflictWithExistingEvent() {
+    ZonedDateTime start = ZonedDateTime.of(2025, 6, 10, 9, 0, 0, 0, model.getTimezone());
+    model.addEvent(new SingleEvent("Existing", start, start.plusHours(2), "", "", true,
+            false, null), false);
+
+    model.beginBatch();
+    model.addEvent(new SingleEvent("Later", start.plusHours(3), start.plusHours(4), "", "",
+            true, false, null), false);
+    model.addEvent(new SingleEvent("Overlap", start.plusHours(1), start.plusHours(3), "", "",
+            true, false, null), false);
+
+    assertFalse(model.commitBatch());
+    assertEquals(1, model.getEvents().size());
+    assertEquals("Existing", model.getEvents().get(0).getSubject());
+  }
+
+  @Test
+  public void testBatchRollsBackOnDuplicateInBatch() {
+    ZonedDateTime start = ZonedDateTime.of(2025, 6, 10, 9, 0, 0, 0, model.getTimezone());
+    model.beginBatch();
+    model.addEvent(new SingleEvent("Dup", start, start, "", "", true, false, null), false);
+    model.addEvent(new SingleEvent("Dup", start, start, "", "", true, false, null), false);
+
+    assertFalse(model.commitBatch());
+    assertTrue(model.getEvents().isEmpty());
+  }
+
+  @Test
+  public void testBatchEditRollback() {
+    ZonedDateTime start = ZonedDateTime.of(2025, 6, 10, 9, 0, 0, 0, model.getTimezone());
+    model.addEvent(new SingleEvent("A", start, start.plusHours(1), "", "", true, false, null),
+            false);
+    model.addEvent(new SingleEvent("B", start.plusHours(2), start.plusHours(3), "", "", true,
+            false, null), false);
+
+    model.beginBatch();
+    assertTrue(model.editSingleEvent("endtime", "A", start, start.plusHours(1), "11:30"));
+    assertFalse(model.commitBatch());
+
+    assertEquals(start.plusHours(1), model.getEventsOnDate(start.toLocalDate()).stream()
+            .filter(e -> e.getSubject().equals("A")).findFirst().get().getEndDateTime());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCommitWithoutBatchThrows() {
+    model.commitBatch();
+  }
 }
@@ -0,0 +1,191 @@
+import calendarapp.model.CalendarModel;
+import calendarapp.model.event.ICalendarEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for the minute bitmaps behind the busy checks of a CalendarModel.
+ */
+public class CalendarOccupancyTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  private CalendarModel model;
+
+  @Before
+  public void setUp() {
+    model = new CalendarModel("Work", NEW_YORK);
+  }
+
+  @Test
+  public void testBusyAtMatchesEventBoundaries() {
+    model.addEvent(event("Meeting", at(9, 0), at(10, 0)), false);
+
+    assertFalse(model.isBusyAt(at(8, 59)));
+    assertTrue(model.isBusyAt(at(9, 0)));
+    assertTrue(model.isBusyAt(at(9, 59).plusSeconds(59)));
+    assertFalse(model.isBusyAt(at(10, 0)));
+  }
+
+  @Test
+  public void testBusyAtWithinPartlyCoveredMinute() {
+    model.addEvent(event("Call", at(9, 0).plusSeconds(30), at(9, 5).plusSeconds(10)), false);
+
+    assertFalse(model.isBusyAt(at(9, 0).plusSeconds(29)));
+    assertTrue(model.isBusyAt(at(9, 0).plusSeconds(30)));
+    assertTrue(model.isBusyAt(at(9, 5).plusSeconds(9)));
+    assertFalse(model.isBusyAt(at(9, 5).plusSeconds(10)));
+  }
+
+  @Test
+  public void testBusyBetweenUsesConflictRule() {
+    model.addEvent(event("Meeting", at(9, 0), at(10, 0)), false);
+
+    assertTrue(model.isBusyBetween(at(8, 0), at(9, 1)));
+    assertTrue(model.isBusyBetween(at(9, 30), at(9, 31)));
+    assertFalse(model.isBusyBetween(at(8, 0), at(9, 0)));
+    assertFalse(model.isBusyBetween(at(10, 0), at(11, 0)));
+    assertFalse(model.isBusyBetween(at(9, 30), at(9, 30)));
+  }
+
+  @Test
+  public void testEventSpanningMidnightInUtc() {
+    ZonedDateTime start = ZonedDateTime.of(2025, 5, 5, 18, 0, 0, 0, NEW_YORK);
+    model.addEvent(event("Offsite", start, start.plusDays(2)), false);
+
+    assertTrue(model.isBusyAt(start.plusHours(6)));
+    assertTrue(model.isBusyAt(start.plusDays(1)));
+    assertTrue(model.isBusyBetween(start.plusHours(30), start.plusHours(31)));
+    assertFalse(model.isBusyAt(start.plusDays(2)));
+  }
+
+  @Test
+  public void testEditMovesBusyTime() {
+    ICalendarEvent meeting = event("Meeting", at(9, 0), at(10, 0));
+    model.addEvent(meeting, false);
+    assertTrue(model.isBusyAt(at(9, 30)));
+
+    assertTrue(model.editEvent(meeting, event("Meeting", at(14, 0), at(15, 0))));
+
+    assertFalse(model.isBusyAt(at(9, 30)));
+    assertFalse(model.isBusyBetween(at(9, 0), at(10, 0)));
+    assertTrue(model.isBusyAt(at(14, 30)));
+  }
+
+  @Test
+  public void testEditKeepsOtherEventsOnTheSameDay() {
+    ICalendarEvent first = event("First", at(9, 0), at(10, 0));
+    model.addEvent(first, false);
+    model.addEvent(event("Second", at(11, 0), at(12, 0)), false);
+    assertTrue(model.isBusyAt(at(11, 30)));
+
+    model.editEvent(first, event("First", at(13, 0), at(14, 0)));
+
+    assertFalse(model.isBusyAt(at(9, 30)));
+    assertTrue(model.isBusyAt(at(11, 30)));
+    assertTrue(model.isBusyAt(at(13, 30)));
+  }
+
+  @Test
+  public void testRollbackRestoresBusyTime() {
+    model.addEvent(event("Kept", at(9, 0), at(10, 0)), false);
+    assertFalse(model.isBusyAt(at(11, 30)));
+
+    model.beginBatch();
+    model.addEvent(event("Discarded", at(11, 0), at(12, 0)), false);
+    assertTrue(model.isBusyAt(at(11, 30)));
+    model.rollbackBatch();
+
+    assertFalse(model.isBusyAt(at(11, 30)));
+    assertTrue(model.isBusyAt(at(9, 30)));
+  }
+
+  @Test
+  public void testTimezoneChangeKeepsInstants() {
+    model.addEvent(event("Meeting", at(9, 0), at(10, 0)), false);
+    assertTrue(model.isBusyAt(at(9, 30)));
+
+    model.updateTimezone(ZoneId.of("Asia/Tokyo"));
+
+    assertTrue(model.isBusyAt(at(9, 30)));
+    assertFalse(model.isBusyAt(at(10, 30)));
+  }
+
+  @Test
+  public void testArchivedEventsStayBusy() {
+    model.addEvent(event("Old", at(9, 0), at(10, 0)), false);
+    assertTrue(model.isBusyAt(at(9, 30)));
+
+    assertEquals(1, model.archiveBefore(at(12, 0)));
+
+    assertTrue(model.isBusyAt(at(9, 30)));
+    assertTrue(model.isBusyBetween(at(8, 0), at(9, 30)));
+    assertFalse(model.isBusyBetween(at(10, 0), at(11, 0)));
+  }
+
+  @Test
+  public void testMatchesScanOfOverlappingEvents() {
+    Random random = new Random(42);
+    ZonedDateTime origin = at(0, 0);
+    List<ICalendarEvent> added = new ArrayList<>();
+    model.beginBatch();
+    for (int i = 0; i < 300; i++) {
+      ZonedDateTime start = origin.plusSeconds(random.nextInt(3 * 86_400));
+      ZonedDateTime end = start.plusSeconds(random.nextInt(3 * 3600));
+      ICalendarEvent event = event("Event " + i, start, end);
+      model.addEvent(event, false);
+      added.add(event);
+    }
+    assertScanAgrees(random, origin, added);
+
+    for (int i = 0; i < 100; i++) {
+      ICalendarEvent old = added.remove(random.nextInt(added.size()));
+      ZonedDateTime start = origin.plusSeconds(random.nextInt(3 * 86_400));
+      ICalendarEvent moved = event(old.getSubject(), start, start.plusSeconds(
+              random.nextInt(7200)));
+      model.editEvent(old, moved);
+      added.add(moved);
+    }
+    assertScanAgrees(random, origin, added);
+    model.rollbackBatch();
+  }
+
+  private void assertScanAgrees(Random random, ZonedDateTime origin,
+                                List<ICalendarEvent> added) {
+    for (int i = 0; i < 2000; i++) {
+      ZonedDateTime from = origin.plusSeconds(random.nextInt(3 * 86_400));
+      ZonedDateTime to = from.plusSeconds(1 + random.nextInt(5400));
+      boolean busyAt = false;
+      boolean busyBetween = false;
+      for (ICalendarEvent event : added) {
+        busyAt |= !from.isBefore(event.getStartDateTime())
+                && from.isBefore(event.getEndDateTime());
+        busyBetween |= event.getStartDateTime().isBefore(to)
+                && event.getEndDateTime().isAfter(from);
+      }
+      assertEquals("busy at " + from, busyAt, model.isBusyAt(from));
+      assertEquals("busy from " + from + " to " + to, busyBetween,
+              model.isBusyBetween(from, to));
+    }
+  }
+
+  private static ZonedDateTime at(int hour, int minute) {
+    return ZonedDateTime.of(2025, 5, 5, hour, minute, 0, 0, NEW_YORK);
+  }
+
+  private static ICalendarEvent event(String subject, ZonedDateTime start, ZonedDateTime end) {
+    return new SingleEvent(subject, start, end, null, null, true, false, null);
+  }
+}
@@ -0,0 +1,172 @@
+import calendarapp.model.CalendarJournal;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarSnapshot;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.RecurringEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for CalendarSnapshot.
+ */
+public class CalendarSnapshotTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  private Path dir;
+  private Path snapshotFile;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("snapshot");
+    snapshotFile = dir.resolve("calendars.snapshot");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(dir);
+  }
+
+  @Test
+  public void testRoundTripRestoresEventsAndRules() throws IOException {
+    CalendarManager manager = sampleManager();
+
+    CalendarSnapshot written = CalendarSnapshot.write(manager, snapshotFile);
+    CalendarManager restored = new CalendarManager();
+    CalendarSnapshot loaded = CalendarSnapshot.load(snapshotFile, restored);
+
+    assertEquals(2, loaded.getCalendarCount());
+    assertEquals(written.getEventCount(), loaded.getEventCount());
+    assertEquals(manager.getCalendarNames(), restored.getCalendarNames());
+    for (String name : manager.getCalendarNames()) {
+      assertEquals(describe(manager.getCalendar(name)), describe(restored.getCalendar(name)));
+      assertEquals(manager.getCalendar(name).getTimezone(),
+              restored.getCalendar(name).getTimezone());
+    }
+
+    assertTrue(restored.getCalendar("Work").editRecurringEvent("Standup", "repeattimes", "2"));
+    assertEquals(4, restored.getCalendar("Work").getEvents().size());
+  }
+
+  @Test
+  public void testUnmodifiedSeriesIsStoredAsRule() throws IOException {
+    CalendarManager compact = new CalendarManager();
+    compact.addCalendar("Work", NEW_YORK);
+    compact.getCalendar("Work").addRecurringEvent(standup(200), false);
+    CalendarSnapshot.write(compact, snapshotFile);
+    long compactSize = Files.size(snapshotFile);
+
+    CalendarManager edited = new CalendarManager();
+    edited.addCalendar("Work", NEW_YORK);
+    edited.getCalendar("Work").addRecurringEvent(standup(200), false);
+    edited.getCalendar("Work").editEventsFrom("location", "Standup",
+            ZonedDateTime.of(2025, 5, 5, 0, 0, 0, 0, NEW_YORK), "Room 2");
+    CalendarSnapshot.write(edited, snapshotFile);
+
+    assertTrue(compactSize * 4 < Files.size(snapshotFile));
+
+    CalendarManager restored = new CalendarManager();
+    CalendarSnapshot.load(snapshotFile, restored);
+    assertEquals(describe(edited.getCalendar("Work")), describe(restored.getCalendar("Work")));
+  }
+
+  @Test
+  public void testJournalIsReplayedFromSnapshotOffset() throws IOException {
+    Path journalFile = dir.resolve("calendars.journal");
+    CalendarManager manager = new CalendarManager();
+    try (CalendarJournal journal = new CalendarJournal(journalFile)) {
+      manager.addChangeListener(journal);
+      manager.addCalendar("Work", NEW_YORK);
+      manager.getCalendar("Work").addEvent(event("A", 9), false);
+      CalendarSnapshot.write(manager, snapshotFile, journal.getJournalId(),
+              journal.checkpoint());
+      manager.getCalendar("Work").addEvent(event("B", 11), false);
+    }
+
+    CalendarManager restored = new CalendarManager();
+    CalendarSnapshot snapshot = CalendarSnapshot.load(snapshotFile, restored);
+    try (CalendarJournal journal = new CalendarJournal(journalFile)) {
+      assertEquals(snapshot.getJournalId(), journal.getJournalId());
+      assertEquals(1, journal.replay(restored, snapshot.getJournalOffset()));
+
+      journal.reset();
+      assertTrue(journal.getJournalId() != snapshot.getJournalId());
+    }
+    assertEquals(describe(manager.getCalendar("Work")), describe(restored.getCalendar("Work")));
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadRejectsExistingCalendar() throws IOException {
+    CalendarSnapshot.write(sampleManager(), snapshotFile);
+    CalendarManager target = new CalendarManager();
+    target.addCalendar("Work", NEW_YORK);
+    CalendarSnapshot.load(snapshotFile, target);
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadRejectsTruncatedFile() throws IOException {
+    CalendarSnapshot.write(sampleManager(), snapshotFile);
+    byte[] bytes = Files.readAllBytes(snapshotFile);
+    Files.write(snapshotFile, Arrays.copyOf(bytes, bytes.length / 2));
+    CalendarSnapshot.load(snapshotFile, new CalendarManager());
+  }
+
+  private static CalendarManager sampleManager() {
+    CalendarManager manager = new CalendarManager();
+    manager.addCalendar("Work", NEW_YORK);
+    manager.addCalendar("Home", ZoneId.of("Asia/Kolkata"));
+    ICalendarModel work = manager.getCalendar("Work");
+    work.addRecurringEvent(standup(4), false);
+    work.addEvent(event("Review", 14), false);
+    work.addEvent(new SingleEvent("Offsite", ZonedDateTime.of(2025, 5, 20, 9, 0, 0, 0,
+            ZoneId.of("Europe/Paris")), ZonedDateTime.of(2025, 5, 20, 17, 0, 0, 0,
+            ZoneId.of("Europe/Paris")), null, "Paris", false, true, null), false);
+    manager.getCalendar("Home").addEvent(event("Gym", 18), false);
+    return manager;
+  }
+
+  private static RecurringEvent standup(int times) {
+    ZonedDateTime start = ZonedDateTime.of(2025, 5, 5, 9, 0, 0, 0, NEW_YORK);
+    return new RecurringEvent("Standup", start, start.plusMinutes(15), "MWF", times, null,
+            "Daily sync", "Room 1", true, false);
+  }
+
+  private static SingleEvent event(String subject, int hour) {
+    ZonedDateTime start = ZonedDateTime.of(2025, 5, 1, hour, 0, 0, 0, NEW_YORK);
+    return new SingleEvent(subject, start, start.plusHours(1), "desc", "loc", true, false, null);
+  }
+
+  private static List<String> describe(ICalendarModel calendar) {
+    List<String> result = new ArrayList<>();
+    for (ReadOnlyCalendarEvent e : calendar.getEvents()) {
+      result.add(e.getSubject() + "|" + e.getStartDateTime() + "|" + e.getEndDateTime() + "|"
+              + e.getDescription() + "|" + e.getLocation() + "|" + e.isPublic() + "|"
+              + e.isAllDay() + "|" + e.isRecurring());
+    }
+    Collections.sort(result);
+    return result;
+  }
+}
@@ -0,0 +1,185 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.controller.CommandResult;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarModel;
+import calendarapp.model.CalendarStats;
+import calendarapp.model.TimeSlot;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for CalendarStats and the show stats command.
+ */
+public class CalendarStatsTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  @Test
+  public void testComputesBusyTimeHistogramsAndLocations() {
+    CalendarModel calendar = week();
+
+    CalendarStats stats = CalendarStats.compute(calendar, day(5, 0), day(12, 0));
+
+    assertEquals(5, stats.getEventCount());
+    assertEquals(Duration.ofHours(8), stats.getBusyTime());
+    assertEquals(7, stats.getBusyByDay().size());
+    assertEquals(Duration.ofHours(3), stats.getBusyByDay().get(LocalDate.of(2025, 5, 5)));
+    assertEquals(Duration.ZERO, stats.getBusyByDay().get(LocalDate.of(2025, 5, 6)));
+    assertEquals(Duration.ofHours(2), stats.getBusyByDay().get(LocalDate.of(2025, 5, 7)));
+    assertEquals(Duration.ofHours(2), stats.getBusyByDay().get(LocalDate.of(2025, 5, 8)));
+    assertEquals(Duration.ofHours(1), stats.getBusyByDay().get(LocalDate.of(2025, 5, 9)));
+    assertEquals(new TreeMap<>(Collections.singletonMap(LocalDate.of(2025, 5, 5),
+            Duration.ofHours(8))), stats.getBusyByWeek());
+    assertEquals(Duration.ofHours(8), stats.getBusyByMonth().get(YearMonth.of(2025, 5)));
+
+    assertEquals(Long.valueOf(2), stats.getEventsByWeekday().get(DayOfWeek.MONDAY));
+    assertEquals(Long.valueOf(0), stats.getEventsByWeekday().get(DayOfWeek.TUESDAY));
+    assertEquals(Long.valueOf(1), stats.getEventsByWeekday().get(DayOfWeek.SUNDAY));
+    assertEquals(Arrays.asList(9, 12, 22, 23),
+            Arrays.asList(stats.getEventsByHour().keySet().toArray()));
+    assertEquals(Long.valueOf(2), stats.getEventsByHour().get(9));
+
+    assertEquals(Arrays.asList("Lab", "Room 1"),
+            Arrays.asList(stats.getBusyByLocation().keySet().toArray()));
+    assertEquals(Duration.ofHours(4), stats.getBusyByLocation().get("Lab"));
+    assertEquals(Duration.ofHours(2), stats.getBusyByLocation().get("Room 1"));
+  }
+
+  @Test
+  public void testLongestFreeBlockPrefersEarliestOfEqualBlocks() {
+    CalendarStats stats = CalendarStats.compute(week(), day(5, 0), day(12, 0));
+
+    assertEquals(new TimeSlot(day(5, 11), day(7, 22)), stats.getLongestFreeBlock());
+    assertEquals(new TimeSlot(day(5, 0), day(6, 0)),
+            CalendarStats.compute(new CalendarModel("Empty", UTC), day(5, 0), day(6, 0))
+                    .getLongestFreeBlock());
+  }
+
+  @Test
+  public void testSplitsBusyTimeAcrossMonthsAndDaylightSaving() {
+    ZoneId newYork = ZoneId.of("America/New_York");
+    CalendarModel calendar = new CalendarModel("Ny", newYork);
+    calendar.addEvent(event("Late", ZonedDateTime.of(2025, 2, 28, 23, 0, 0, 0, newYork),
+            ZonedDateTime.of(2025, 3, 1, 1, 0, 0, 0, newYork), ""), false);
+    calendar.addEvent(event("Change", ZonedDateTime.of(2025, 3, 9, 1, 0, 0, 0, newYork),
+            ZonedDateTime.of(2025, 3, 9, 4, 0, 0, 0, newYork), ""), false);
+
+    CalendarStats stats = CalendarStats.compute(calendar,
+            ZonedDateTime.of(2025, 2, 24, 0, 0, 0, 0, newYork),
+            ZonedDateTime.of(2025, 3, 10, 0, 0, 0, 0, newYork));
+
+    assertEquals(Duration.ofHours(1), stats.getBusyByMonth().get(YearMonth.of(2025, 2)));
+    assertEquals(Duration.ofHours(3), stats.getBusyByMonth().get(YearMonth.of(2025, 3)));
+    assertEquals(Duration.ofHours(2), stats.getBusyByDay().get(LocalDate.of(2025, 3, 9)));
+    assertEquals(Duration.ofHours(2), stats.getBusyByWeek().get(LocalDate.of(2025, 2, 24)));
+    assertEquals(Duration.ofHours(2), stats.getBusyByWeek().get(LocalDate.of(2025, 3, 3)));
+  }
+
+  @Test
+  public void testMatchesMinuteByMinuteCount() {
+    Random random = new Random(17);
+    CalendarModel calendar = new CalendarModel("Random", UTC);
+    for (int i = 0; i < 500; i++) {
+      ZonedDateTime start = day(1, 0).plusMinutes(random.nextInt(30 * 24 * 60));
+      calendar.addEvent(event("E" + i, start, start.plusMinutes(1 + random.nextInt(300)),
+              "Room " + random.nextInt(3)), false);
+    }
+    ZonedDateTime from = day(3, 7);
+    ZonedDateTime to = day(24, 19);
+
+    CalendarStats stats = CalendarStats.compute(calendar, from, to);
+
+    long busy = 0;
+    long run = 0;
+    long longest = 0;
+    for (ZonedDateTime minute = from; minute.isBefore(to); minute = minute.plusMinutes(1)) {
+      if (calendar.isBusyAt(minute)) {
+        busy++;
+        run = 0;
+      } else {
+        longest = Math.max(longest, ++run);
+      }
+    }
+    assertEquals(Duration.ofMinutes(busy), stats.getBusyTime());
+    assertEquals(Duration.ofMinutes(longest), stats.getLongestFreeBlock().getDuration());
+    assertEquals(stats.getBusyTime(), stats.getBusyByDay().values().stream()
+            .reduce(Duration.ZERO, Duration::plus));
+    assertEquals(stats.getBusyTime(), stats.getBusyByLocation().values().stream()
+            .reduce(Duration.ZERO, Duration::plus));
+    assertEquals(calendar.getEventsBetween(from, to).size(),
+            (long) stats.getEventsByHour().values().stream().reduce(0L, Long::sum));
+  }
+
+  @Test
+  public void testShowStatsCommand() {
+    CalendarManager manager = new CalendarManager();
+    manager.addCalendar("Work", UTC);
+    for (ReadOnlyCalendarEvent event : week().getEvents()) {
+      manager.getCalendar("Work").addEvent((SingleEvent) event, false);
+    }
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    assertTrue(run(controller, "use calendar --name Work").isSuccess());
+
+    CommandResult result = run(controller, "show stats from 2025-05-05 to 2025-05-12");
+
+    assertTrue(result.isSuccess());
+    assertEquals(Arrays.asList(
+            "Stats from 2025-05-05T00:00 to 2025-05-12T00:00: 5 events, 8h00m busy",
+            "Busy per day: 2025-05-05 3h00m, 2025-05-06 0h00m, 2025-05-07 2h00m, "
+                    + "2025-05-08 2h00m, 2025-05-09 1h00m, 2025-05-10 0h00m, "
+                    + "2025-05-11 0h00m",
+            "Busy per week: 2025-05-05 8h00m",
+            "Busy per month: 2025-05 8h00m",
+            "Longest free block: 2025-05-05T11:00 to 2025-05-07T22:00 (59h00m)",
+            "Events by weekday: Mon 2, Tue 0, Wed 1, Thu 0, Fri 1, Sat 0, Sun 1",
+            "Events by hour: 09:00 2, 12:00 1, 22:00 1, 23:00 1",
+            "Busy per location: Lab 4h00m, Room 1 2h00m"), result.getMessages());
+    assertFalse(run(controller, "show stats from 2025-05-12 to 2025-05-05").isSuccess());
+    assertFalse(run(controller, "show stats from 2025-05-05").isSuccess());
+  }
+
+  /**
+   * Returns a calendar with five events around the week of 2025-05-05: one starts the day
+   * before, two are back to back, one crosses midnight and one has no location.
+   */
+  private static CalendarModel week() {
+    CalendarModel calendar = new CalendarModel("Week", UTC);
+    calendar.addEvent(event("Early", day(4, 23), day(5, 1), ""), false);
+    calendar.addEvent(event("Standup", day(5, 9), day(5, 9).plusMinutes(30), "Room 1"), false);
+    calendar.addEvent(event("Review", day(5, 9).plusMinutes(30), day(5, 11), "Room 1"), false);
+    calendar.addEvent(event("Night shift", day(7, 22), day(8, 2), "Lab"), false);
+    calendar.addEvent(event("Lunch", day(9, 12), day(9, 13), " "), false);
+    return calendar;
+  }
+
+  private static CommandResult run(CalendarController controller, String command) {
+    return controller.processCommandAsync(command).join();
+  }
+
+  private static ZonedDateTime day(int dayOfMonth, int hour) {
+    return ZonedDateTime.of(2025, 5, 1, hour, 0, 0, 0, UTC).plusDays(dayOfMonth - 1);
+  }
+
+  private static SingleEvent event(String subject, ZonedDateTime start, ZonedDateTime end,
+                                   String location) {
+    return new SingleEvent(subject, start, end, "", location, true, false, null);
+  }
+}
@@ -0,0 +1,170 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarModel;
+import calendarapp.model.CalendarStore;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for CalendarStore and the lazily loading CalendarManager.
+ */
+public class CalendarStoreTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private Path dir;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("store");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(dir);
+  }
+
+  @Test
+  public void testCalendarsAreLoadedOnFirstUse() throws IOException {
+    CalendarManager first = new CalendarManager(new CalendarStore(dir, 1 << 20));
+    first.addCalendar("Work", UTC);
+    first.addCalendar("Home/Personal", UTC);
+    first.getCalendar("Work").addEvent(event("A", 9), false);
+    first.flush();
+
+    CalendarStore store = new CalendarStore(dir, 1 << 20);
+    CalendarManager second = new CalendarManager(store);
+    assertTrue(second.getLoadedCalendarNames().isEmpty());
+    assertEquals(Arrays.asList("Home/Personal", "Work"), second.getCalendarNames());
+
+    assertTrue(second.useCalendar("Work"));
+    assertEquals(1, second.getActiveCalendar().getEvents().size());
+    assertNotNull(second.getCalendar("Work"));
+    assertNull(second.getCalendar("Missing"));
+    assertFalse(second.addCalendar("Home/Personal", UTC));
+
+    assertEquals(Collections.singletonList("Work"), second.getLoadedCalendarNames());
+    assertEquals(1, store.getMissCount());
+    assertEquals(1, store.getHitCount());
+  }
+
+  @Test
+  public void testIdleCalendarsAreEvictedAndReloaded() throws IOException {
+    CalendarStore store = new CalendarStore(dir, 3000);
+    CalendarManager manager = new CalendarManager(store);
+    manager.addCalendar("A", UTC);
+    manager.useCalendar("A");
+    manager.getActiveCalendar().addEvent(event("Kept", 9), false);
+    manager.addCalendar("B", UTC);
+    manager.getCalendar("B").addEvent(event("Saved", 10), false);
+    manager.addCalendar("C", UTC);
+
+    assertEquals(Arrays.asList("A", "C"), manager.getLoadedCalendarNames());
+    assertEquals(1, store.getEvictionCount());
+
+    ICalendarModel reloaded = manager.getCalendar("B");
+    assertEquals("Saved", reloaded.getEvents().get(0).getSubject());
+    assertEquals(1, store.getMissCount());
+    assertEquals(Arrays.asList("A", "B"), manager.getLoadedCalendarNames());
+    assertEquals(2, store.getEvictionCount());
+  }
+
+  @Test
+  public void testRenamedCalendarIsStoredUnderNewName() throws IOException {
+    CalendarManager manager = new CalendarManager(new CalendarStore(dir, 1 << 20));
+    manager.addCalendar("Old", UTC);
+    manager.flush();
+    manager.editCalendar("Old", "name", "New");
+    manager.flush();
+
+    CalendarManager reopened = new CalendarManager(new CalendarStore(dir, 1 << 20));
+    assertEquals(Collections.singletonList("New"), reopened.getCalendarNames());
+  }
+
+  @Test
+  public void testCalendarsStayLoadedUntilCommandFinishes() throws IOException {
+    CalendarManager manager = new CalendarManager(new CalendarStore(dir, 1));
+    manager.addCalendar("A", UTC);
+    manager.addCalendar("B", UTC);
+    manager.addCalendar("Work", UTC);
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    assertTrue(controller.processCommandAsync("use calendar --name Work").join().isSuccess());
+    manager.getActiveCalendar().addEvent(event("Standup", 9), false);
+
+    assertTrue(controller.processCommandAsync(
+            "copy events on 2025-05-01 --target A,B to 2025-05-02").join().isSuccess());
+
+    assertEquals(1, manager.getCalendar("A").getEvents().size());
+    assertEquals(1, manager.getCalendar("B").getEvents().size());
+    manager.flush();
+    CalendarManager reopened = new CalendarManager(new CalendarStore(dir, 1 << 20));
+    assertEquals(1, reopened.getCalendar("A").getEvents().size());
+    assertEquals(1, reopened.getCalendar("B").getEvents().size());
+  }
+
+  @Test
+  public void testBatchAppliesToCalendarUnloadedWhileOpen() throws IOException {
+    CalendarManager manager = new CalendarManager(new CalendarStore(dir, 1));
+    manager.addCalendar("A", UTC);
+    manager.addCalendar("B", UTC);
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    assertTrue(controller.processCommandAsync("use calendar --name A").join().isSuccess());
+    assertTrue(controller.processCommandAsync("begin batch").join().isSuccess());
+    assertTrue(controller.processCommandAsync(
+            "create event Standup from 2025-05-01T09:00 to 2025-05-01T10:00").join().isSuccess());
+    assertTrue(controller.processCommandAsync("use calendar --name B").join().isSuccess());
+    assertEquals(Collections.singletonList("B"), manager.getLoadedCalendarNames());
+
+    assertTrue(controller.processCommandAsync("commit").join().isSuccess());
+
+    manager.flush();
+    CalendarManager reopened = new CalendarManager(new CalendarStore(dir, 1 << 20));
+    assertEquals(1, reopened.getCalendar("A").getEvents().size());
+    assertTrue(reopened.getCalendar("B").getEvents().isEmpty());
+  }
+
+  @Test
+  public void testEvictedCalendarRejectsChanges() throws IOException {
+    CalendarManager manager = new CalendarManager(new CalendarStore(dir, 1));
+    manager.addCalendar("A", UTC);
+    ICalendarModel evicted = manager.getCalendar("A");
+    manager.addCalendar("B", UTC);
+    assertEquals(Collections.singletonList("B"), manager.getLoadedCalendarNames());
+
+    assertTrue(((CalendarModel) evicted).isDetached());
+    assertThrows(IllegalStateException.class, () -> evicted.addEvent(event("Lost", 9), false));
+    assertTrue(manager.getCalendar("A").addEvent(event("Kept", 9), false));
+    assertEquals(1, manager.getCalendar("A").getEvents().size());
+  }
+
+  private static SingleEvent event(String subject, int hour) {
+    ZonedDateTime start = ZonedDateTime.of(2025, 5, 1, hour, 0, 0, 0, UTC);
+    return new SingleEvent(subject, start, start.plusHours(1), "desc", "loc", true, false, null);
+  }
+}
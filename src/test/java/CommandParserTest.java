@@ -220,14 +220,14 @@ public class CommandParserTest {
   }
 
 
-  @Test(expected = NullPointerException.class)
+  @Test
   public void testParseCopyEventsOnDateValid() {
     String command = "copy events on 2025-06-01 --target \"PersonalCal\" to 2025-06-02";
     ICommand parsedCommand = parser.parse(command);
     assertTrue(parsedCommand instanceof CopyEventsOnDateCommand);
   }
 
-  @Test(expected = NullPointerException.class)
+  @Test
   public void testParseCopyEventsBetweenValid() {
     String command = "copy events between 2025-06-01 and 2025-06-10 --target "
             + "\"NewCal\" to 2025-07-01";
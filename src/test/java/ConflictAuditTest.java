@@ -0,0 +1,149 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.controller.CommandResult;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.ConflictAudit;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for ConflictAudit and the show conflicts command.
+ */
+public class ConflictAuditTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  @Test
+  public void testReportsEachOverlappingPairOnce() {
+    List<ReadOnlyCalendarEvent> events = Arrays.asList(
+            event("A", at(9, 0), at(11, 0)),
+            event("B", at(10, 0), at(10, 30)),
+            event("C", at(10, 15), at(12, 0)),
+            event("D", at(12, 0), at(13, 0)));
+    List<String> pairs = new ArrayList<>();
+
+    long count = ConflictAudit.sweep(Collections.singletonList(events),
+        (c1, first, c2, second) -> pairs.add(first.getSubject() + second.getSubject()));
+
+    assertEquals(3, count);
+    assertEquals(new HashSet<>(Arrays.asList("AB", "AC", "BC")), new HashSet<>(pairs));
+  }
+
+  @Test
+  public void testZeroLengthEventsFollowConflictRule() {
+    List<ReadOnlyCalendarEvent> events = Arrays.asList(
+            event("Span", at(9, 0), at(10, 0)),
+            event("AtStart", at(9, 0), at(9, 0)),
+            event("Inside", at(9, 30), at(9, 30)),
+            event("AtEnd", at(10, 0), at(10, 0)));
+    List<String> pairs = new ArrayList<>();
+
+    ConflictAudit.sweep(Collections.singletonList(events),
+        (c1, first, c2, second) -> pairs.add(first.getSubject() + "-" + second.getSubject()));
+
+    assertEquals(Arrays.asList("Span-Inside"), pairs);
+  }
+
+  @Test
+  public void testMatchesPairwiseCheckAcrossCalendars() {
+    Random random = new Random(11);
+    List<List<ReadOnlyCalendarEvent>> calendars = new ArrayList<>();
+    List<ReadOnlyCalendarEvent> all = new ArrayList<>();
+    for (int c = 0; c < 3; c++) {
+      List<ReadOnlyCalendarEvent> events = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        ZonedDateTime start = at(0, 0).plusMinutes(random.nextInt(7 * 24 * 60));
+        events.add(event(c + ":" + i, start, start.plusMinutes(random.nextInt(240))));
+      }
+      calendars.add(events);
+      all.addAll(events);
+    }
+    Set<String> expected = new HashSet<>();
+    for (int i = 0; i < all.size(); i++) {
+      for (int j = i + 1; j < all.size(); j++) {
+        ReadOnlyCalendarEvent a = all.get(i);
+        ReadOnlyCalendarEvent b = all.get(j);
+        if (a.getStartDateTime().isBefore(b.getEndDateTime())
+                && a.getEndDateTime().isAfter(b.getStartDateTime())) {
+          expected.add(key(a, b));
+        }
+      }
+    }
+    Set<String> found = new HashSet<>();
+
+    long count = ConflictAudit.sweep(calendars, (c1, first, c2, second) -> {
+      assertTrue(first.getSubject().startsWith(c1 + ":"));
+      assertTrue(second.getSubject().startsWith(c2 + ":"));
+      found.add(key(first, second));
+    });
+
+    assertEquals(expected.size(), count);
+    assertEquals(expected, found);
+  }
+
+  @Test
+  public void testShowConflictsCommand() {
+    CalendarManager manager = new CalendarManager();
+    manager.addCalendar("Work", UTC);
+    manager.addCalendar("Home", UTC);
+    manager.getCalendar("Work").addEvent(event("Review", at(9, 0), at(10, 0)), false);
+    manager.getCalendar("Work").addEvent(event("Planning", at(14, 0), at(15, 0)), false);
+    manager.getCalendar("Home").addEvent(event("Dentist", at(9, 30), at(10, 30)), false);
+    manager.getCalendar("Home").addEvent(event("School run", at(14, 30), at(15, 0)), false);
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    assertTrue(run(controller, "use calendar --name Work").isSuccess());
+
+    assertEquals(Arrays.asList("No conflicts found"),
+            run(controller, "show conflicts").getMessages());
+
+    CommandResult result = run(controller, "show conflicts from 2025-05-01T08:00 to "
+            + "2025-05-01T12:00 --calendars Work,Home");
+    assertTrue(result.isSuccess());
+    assertEquals(Arrays.asList("Conflict: Work/Review (2025-05-01T09:00 to 2025-05-01T10:00) "
+            + "overlaps Home/Dentist (2025-05-01T09:30 to 2025-05-01T10:30)",
+            "Found 1 conflict"), result.getMessages());
+
+    assertEquals("Found 2 conflicts", lastMessage(run(controller,
+            "show conflicts --calendars Work,Home")));
+    assertFalse(run(controller, "show conflicts --calendars Work,Nobody").isSuccess());
+    assertFalse(run(controller, "show conflicts from 2025-05-01 until 2025-05-02")
+            .isSuccess());
+  }
+
+  private static String key(ReadOnlyCalendarEvent a, ReadOnlyCalendarEvent b) {
+    return a.getSubject().compareTo(b.getSubject()) < 0
+            ? a.getSubject() + "|" + b.getSubject() : b.getSubject() + "|" + a.getSubject();
+  }
+
+  private static String lastMessage(CommandResult result) {
+    return result.getMessages().get(result.getMessages().size() - 1);
+  }
+
+  private static CommandResult run(CalendarController controller, String command) {
+    return controller.processCommandAsync(command).join();
+  }
+
+  private static ZonedDateTime at(int hour, int minute) {
+    return ZonedDateTime.of(2025, 5, 1, hour, minute, 0, 0, UTC);
+  }
+
+  private static SingleEvent event(String subject, ZonedDateTime start, ZonedDateTime end) {
+    return new SingleEvent(subject, start, end, "", "", true, false, null);
+  }
+}
@@ -0,0 +1,114 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.controller.CommandResult;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.ConflictExplanation;
+import calendarapp.model.TimeSlot;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for ConflictExplanation and the suggestions shown when an event is declined.
+ */
+public class ConflictExplanationTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private final List<ReadOnlyCalendarEvent> events = Arrays.asList(
+          event("Early", at(9, 0), at(10, 0)),
+          event("Late", at(12, 0), at(13, 0)),
+          event("Middle", at(10, 0), at(11, 0)));
+
+  @Test
+  public void testListsConflictsInStartOrder() {
+    ConflictExplanation explanation = ConflictExplanation.explain(events, at(9, 30),
+            at(10, 30));
+
+    assertEquals(2, explanation.getConflicts().size());
+    assertEquals("Early", explanation.getConflicts().get(0).getSubject());
+    assertEquals("Middle", explanation.getConflicts().get(1).getSubject());
+  }
+
+  @Test
+  public void testNearestSlotsSkipAdjacentEvents() {
+    ConflictExplanation explanation = ConflictExplanation.explain(events, at(10, 30),
+            at(11, 30));
+
+    assertEquals(1, explanation.getConflicts().size());
+    assertEquals("Middle", explanation.getConflicts().get(0).getSubject());
+    assertEquals(new TimeSlot(at(8, 0), at(9, 0)), explanation.getSlotBefore());
+    assertEquals(new TimeSlot(at(11, 0), at(12, 0)), explanation.getSlotAfter());
+  }
+
+  @Test
+  public void testSlotAfterJumpsPastGapsThatAreTooShort() {
+    ConflictExplanation explanation = ConflictExplanation.explain(events, at(9, 0),
+            at(11, 0));
+
+    assertEquals(new TimeSlot(at(13, 0), at(15, 0)), explanation.getSlotAfter());
+    assertEquals(new TimeSlot(at(7, 0), at(9, 0)), explanation.getSlotBefore());
+  }
+
+  @Test
+  public void testFreeTimeHasNoConflicts() {
+    ConflictExplanation explanation = ConflictExplanation.explain(events, at(14, 0),
+            at(15, 0));
+
+    assertTrue(explanation.getConflicts().isEmpty());
+    assertEquals(new TimeSlot(at(14, 0), at(15, 0)), explanation.getSlotAfter());
+    assertEquals(new TimeSlot(at(14, 0), at(15, 0)), explanation.getSlotBefore());
+  }
+
+  @Test
+  public void testEmptyCalendar() {
+    ConflictExplanation explanation = ConflictExplanation.explain(Collections.emptyList(),
+            at(9, 0), at(10, 0));
+
+    assertTrue(explanation.getConflicts().isEmpty());
+    assertEquals(new TimeSlot(at(9, 0), at(10, 0)), explanation.getSlotAfter());
+  }
+
+  @Test
+  public void testDeclinedEventShowsConflictsAndSuggestions() {
+    CalendarManager manager = new CalendarManager();
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    assertTrue(run(controller, "create calendar --name Work --timezone UTC").isSuccess());
+    assertTrue(run(controller, "use calendar --name Work").isSuccess());
+    assertTrue(run(controller, "create event A from 2025-05-01T09:00 to 2025-05-01T10:00")
+            .isSuccess());
+
+    CommandResult result = run(controller,
+            "create event B from 2025-05-01T09:30 to 2025-05-01T10:00");
+
+    assertFalse(result.isSuccess());
+    assertEquals(Arrays.asList("Event creation failed due to conflict",
+            "Conflicts with A (2025-05-01T09:00 to 2025-05-01T10:00)"), result.getErrors());
+    assertEquals(Arrays.asList("Free slots nearest the conflicting time: before "
+                    + "2025-05-01T08:30 to 2025-05-01T09:00, after "
+                    + "2025-05-01T10:00 to 2025-05-01T10:30"), result.getMessages());
+  }
+
+  private static CommandResult run(CalendarController controller, String command) {
+    return controller.processCommandAsync(command).join();
+  }
+
+  private static ZonedDateTime at(int hour, int minute) {
+    return ZonedDateTime.of(2025, 5, 1, hour, minute, 0, 0, UTC);
+  }
+
+  private static SingleEvent event(String subject, ZonedDateTime start, ZonedDateTime end) {
+    return new SingleEvent(subject, start, end, "", "", true, false, null);
+  }
+}
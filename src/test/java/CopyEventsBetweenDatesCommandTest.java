@@ -1,13 +1,17 @@
 import calendarapp.controller.commands.CopyEventsBetweenDatesCommand;
 import calendarapp.model.CalendarModel;
+import calendarapp.model.CopyOutcome;
 import calendarapp.model.ICalendarManager;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
 import org.junit.Test;
 
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -263,5 +267,15 @@ public class CopyEventsBetweenDatesCommandTest {
                                        ZonedDateTime targetStartDate) {
       return shouldSucceed;
     }
+
+    @Override
+    public List<CopyOutcome> copyEventsBetweenToAll(ICalendarModel sourceCalendar,
+                                                    ZonedDateTime startDate,
+                                                    ZonedDateTime endDate,
+                                                    List<? extends ICalendarModel> targets,
+                                                    LocalDate targetStartDate) {
+      return Collections.singletonList(new CopyOutcome(targets.get(0), shouldSucceed ? 1 : 0,
+              shouldSucceed ? 0 : 1, 0));
+    }
   }
 }
@@ -1,5 +1,6 @@
 import calendarapp.utils.CSVExporter;
 import calendarapp.utils.ExporterFactory;
+import calendarapp.utils.ICSExporter;
 import calendarapp.utils.IExporter;
 
 import org.junit.After;
@@ -41,6 +42,11 @@ public class ExporterFactoryTest {
     assertTrue(exporter instanceof CSVExporter);
   }
 
+  @Test
+  public void testGetExporterReturnsICSExporter() {
+    assertTrue(ExporterFactory.getExporter("calendar.ics") instanceof ICSExporter);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testGetExporterThrowsOnUnsupportedExtension() {
     ExporterFactory.getExporter("calendar.txt");
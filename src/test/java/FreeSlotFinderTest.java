@@ -0,0 +1,126 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.controller.CommandResult;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarModel;
+import calendarapp.model.FreeSlotFinder;
+import calendarapp.model.TimeSlot;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for FreeSlotFinder and the find slot command.
+ */
+public class FreeSlotFinderTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private CalendarModel alice;
+  private CalendarModel bob;
+
+  @Before
+  public void setUp() {
+    alice = new CalendarModel("Alice", UTC);
+    bob = new CalendarModel("Bob", ZoneId.of("Europe/Paris"));
+    alice.addEvent(event("Early", at(7, 0), at(9, 30)), false);
+    alice.addEvent(event("Sync", at(11, 0), at(12, 0)), false);
+    bob.addEvent(event("Standup", at(9, 45), at(10, 0)), false);
+    bob.addEvent(event("Lunch", at(11, 30), at(13, 0)), false);
+    bob.addEvent(event("Marker", at(15, 0), at(15, 0)), false);
+  }
+
+  @Test
+  public void testFindsEarliestCommonWindows() {
+    List<TimeSlot> slots = FreeSlotFinder.find(Arrays.asList(alice, bob), at(9, 0), at(17, 0),
+            Duration.ofMinutes(30), 5);
+
+    assertEquals(Arrays.asList(
+            new TimeSlot(at(10, 0), at(11, 0)),
+            new TimeSlot(at(13, 0), at(17, 0))), slots);
+  }
+
+  @Test
+  public void testShortWindowsAndLimit() {
+    List<TimeSlot> slots = FreeSlotFinder.find(Arrays.asList(alice, bob), at(9, 0), at(17, 0),
+            Duration.ofMinutes(15), 1);
+
+    assertEquals(1, slots.size());
+    assertEquals(new TimeSlot(at(9, 30), at(9, 45)), slots.get(0));
+  }
+
+  @Test
+  public void testNoCalendarsMeansWholeRangeIsFree() {
+    List<TimeSlot> slots = FreeSlotFinder.find(new ArrayList<CalendarModel>(), at(9, 0),
+            at(10, 0), Duration.ofMinutes(60), 3);
+
+    assertEquals(Arrays.asList(new TimeSlot(at(9, 0), at(10, 0))), slots);
+  }
+
+  @Test
+  public void testManyCalendarsAreMerged() {
+    List<CalendarModel> calendars = new ArrayList<>();
+    for (int c = 0; c < 24; c++) {
+      CalendarModel calendar = new CalendarModel("C" + c, UTC);
+      calendar.beginBatch();
+      for (int day = 0; day < 400; day++) {
+        ZonedDateTime start = at(0, 0).plusDays(day).plusHours(c % 12).plusMinutes(c * 5 % 60);
+        calendar.addEvent(event("E" + day, start, start.plusMinutes(50)), false);
+      }
+      assertTrue(calendar.commitBatch());
+      calendars.add(calendar);
+    }
+
+    List<TimeSlot> slots = FreeSlotFinder.find(calendars, at(0, 0), at(0, 0).plusDays(400),
+            Duration.ofHours(2), 2);
+
+    assertEquals(new TimeSlot(at(12, 45), at(0, 0).plusDays(1)), slots.get(0));
+    assertEquals(at(12, 45).plusDays(1), slots.get(1).getStart());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsEmptyRange() {
+    FreeSlotFinder.find(Arrays.asList(alice), at(10, 0), at(9, 0), Duration.ofMinutes(5), 1);
+  }
+
+  @Test
+  public void testFindSlotCommand() {
+    CalendarManager manager = new CalendarManager();
+    manager.addCalendar("Alice", UTC);
+    manager.addCalendar("Bob", UTC);
+    manager.getCalendar("Alice").addEvent(event("A", at(9, 0), at(10, 0)), false);
+    manager.getCalendar("Bob").addEvent(event("B", at(10, 15), at(11, 0)), false);
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+
+    CommandResult result = controller.processCommandAsync("find slot --calendars Alice,Bob"
+            + " --duration 1h --between 2025-05-01T09:00 and 2025-05-01T13:00 --limit 2").join();
+    assertTrue(result.isSuccess());
+    assertEquals(Arrays.asList("Free from 2025-05-01T11:00 to 2025-05-01T13:00 (120 minutes)"),
+            result.getMessages());
+
+    assertFalse(controller.processCommandAsync("find slot --calendars Alice,Nobody --duration"
+            + " 30m --between 2025-05-01 and 2025-05-02").join().isSuccess());
+    assertFalse(controller.processCommandAsync("find slot --calendars Alice --duration"
+            + " soon --between 2025-05-01 and 2025-05-02").join().isSuccess());
+  }
+
+  private static ZonedDateTime at(int hour, int minute) {
+    return ZonedDateTime.of(2025, 5, 1, hour, minute, 0, 0, UTC);
+  }
+
+  private static SingleEvent event(String subject, ZonedDateTime start, ZonedDateTime end) {
+    return new SingleEvent(subject, start, end, "", "", true, false, null);
+  }
+}
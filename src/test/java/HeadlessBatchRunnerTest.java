@@ -0,0 +1,72 @@
+import calendarapp.controller.HeadlessBatchRunner;
+import calendarapp.controller.HeadlessBatchRunner.ScriptResult;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for HeadlessBatchRunner.
+ */
+public class HeadlessBatchRunnerTest {
+
+  @Test
+  public void testRunsScriptsInIsolation() throws IOException {
+    Path dir = Files.createTempDirectory("scripts");
+    Files.writeString(dir.resolve("a.txt"), "create calendar --name Work --timezone UTC\n"
+            + "use calendar --name Work\n"
+            + "create event A from 2025-05-01T09:00 to 2025-05-01T10:00\n"
+            + "create event B from 2025-05-01T09:30 to 2025-05-01T10:30\n"
+            + "exit\n");
+    Files.writeString(dir.resolve("b.txt"), "create calendar --name Work --timezone UTC\n"
+            + "use calendar --name Work\n"
+            + "print events on 2025-05-01\n");
+    Files.writeString(dir.resolve("ignored.csv"), "not a script\n");
+
+    List<ScriptResult> results = new HeadlessBatchRunner(2).run(dir);
+
+    assertEquals(2, results.size());
+    assertEquals("a.txt", results.get(0).getScript().getFileName().toString());
+    assertEquals(4, results.get(0).getCommandCount());
+    assertEquals(1, results.get(0).getFailureCount());
+    assertNull(results.get(0).getError());
+    assertEquals(3, results.get(1).getCommandCount());
+    assertEquals(0, results.get(1).getFailureCount());
+
+    String output = Files.readString(dir.resolve("b.txt.out"));
+    assertTrue(output.contains("No events found on 2025-05-01"));
+    assertTrue(Files.readString(dir.resolve("a.txt.out")).contains("Exiting."));
+
+    StringBuilder summary = new StringBuilder();
+    HeadlessBatchRunner.printSummary(results, summary);
+    assertTrue(summary.toString().contains("Total: 2 scripts, 7 commands, 1 failures"));
+
+    for (File f : dir.toFile().listFiles()) {
+      f.delete();
+    }
+    dir.toFile().delete();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonDirectory() throws IOException {
+    Path file = Files.createTempFile("script", ".txt");
+    try {
+      new HeadlessBatchRunner(1).run(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonPositiveThreads() {
+    new HeadlessBatchRunner(0);
+  }
+}
@@ -1,6 +1,9 @@
 import calendarapp.controller.ICalendarController;
 import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.SingleEvent;
+import calendarapp.view.EventFormatter;
 import calendarapp.view.HeadlessView;
+import calendarapp.view.OutputFormat;
 import org.junit.Before;
 import org.junit.Test;
 import java.io.StringReader;
@@ -142,6 +145,63 @@ public class HeadlessViewTest {
     assertTrue(result.contains("All Day Event"));
   }
 
+  @Test
+  public void testOutputIsFlushedAfterEachCommand() {
+    StringWriter target = new StringWriter();
+    ICalendarController printing = new FakeController() {
+      @Override
+      public boolean processCommand(String command) {
+        super.processCommand(command);
+        assertEquals("", target.toString());
+        return true;
+      }
+    };
+    HeadlessView view = new HeadlessView(printing, new StringReader("a\nb\nexit\n"), target);
+    view.run();
+
+    assertEquals("Exiting.\n", target.toString());
+  }
+
+  @Test
+  public void testDisplayEventsTsv() {
+    HeadlessView view = new HeadlessView(controller, new StringReader(""), output);
+    view.setOutputFormat(OutputFormat.TSV);
+    List<ReadOnlyCalendarEvent> events = new ArrayList<>();
+    events.add(new SingleEvent("Standup\tDaily", ZonedDateTime.parse("2025-04-15T10:00:00Z"),
+            ZonedDateTime.parse("2025-04-15T10:15:00Z"), null, "Room 1", true, false, null));
+
+    view.displayEvents(events);
+
+    assertEquals(EventFormatter.TSV_HEADER
+            + "Standup Daily\t2025-04-15T10:00:00Z\t2025-04-15T10:15:00Z\t\tRoom 1\ttrue\tfalse\n",
+            output.toString());
+  }
+
+  @Test
+  public void testDisplayEventsJson() {
+    HeadlessView view = new HeadlessView(controller, new StringReader(""), output);
+    view.setOutputFormat(OutputFormat.JSON);
+    List<ReadOnlyCalendarEvent> events = new ArrayList<>();
+    events.add(new SingleEvent("Say \"hi\"", ZonedDateTime.parse("2025-04-15T10:00:00Z"),
+            ZonedDateTime.parse("2025-04-15T11:00:00Z"), "line1\nline2", null, false, false,
+            null));
+
+    view.displayEvents(events);
+
+    assertEquals("{\"subject\":\"Say \\\"hi\\\"\",\"start\":\"2025-04-15T10:00:00Z\","
+            + "\"end\":\"2025-04-15T11:00:00Z\",\"description\":\"line1\\nline2\","
+            + "\"location\":null,\"public\":false,\"allDay\":false}\n", output.toString());
+  }
+
+  @Test
+  public void testDisplayEventsEmptyMachineFormat() {
+    HeadlessView view = new HeadlessView(controller, new StringReader(""), output);
+    view.setOutputFormat(OutputFormat.JSON);
+    view.displayEvents(new ArrayList<>());
+
+    assertEquals("", output.toString());
+  }
+
   @Test
   public void testSetInputAndOutput() {
     HeadlessView view = new HeadlessView(controller, new StringReader("exit\n"), output);
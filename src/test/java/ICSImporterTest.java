@@ -0,0 +1,155 @@
+import calendarapp.model.CalendarModel;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.utils.ICSExporter;
+import calendarapp.utils.ICSImporter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for ICSImporter and ICSExporter.
+ */
+public class ICSImporterTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  private CalendarModel model;
+
+  @Before
+  public void setUp() {
+    model = new CalendarModel("Work", NEW_YORK);
+  }
+
+  @Test
+  public void testImportsUnfoldedEventsAndWeeklyRules() throws IOException {
+    String ics = "BEGIN:VCALENDAR\r\n"
+            + "VERSION:2.0\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "SUMMARY:Planning\r\n"
+            + "DTSTART:20250505T130000Z\r\n"
+            + "DTEND:20250505T140000Z\r\n"
+            + "DESCRIPTION:First line\\nsecond\\, with comma and a long tail that is fo\r\n"
+            + " lded\r\n"
+            + "LOCATION:Room 1\r\n"
+            + "CLASS:PRIVATE\r\n"
+            + "END:VEVENT\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "SUMMARY:Standup\r\n"
+            + "DTSTART;TZID=Europe/London:20250506T140000\r\n"
+            + "DTEND;TZID=Europe/London:20250506T141500\r\n"
+            + "RRULE:FREQ=WEEKLY;BYDAY=TU,TH;COUNT=4\r\n"
+            + "END:VEVENT\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "SUMMARY:Holiday\r\n"
+            + "DTSTART;VALUE=DATE:20250526\r\n"
+            + "DTEND;VALUE=DATE:20250527\r\n"
+            + "END:VEVENT\r\n"
+            + "END:VCALENDAR\r\n";
+
+    new ICSImporter().importFrom(model, new StringReader(ics));
+
+    List<ReadOnlyCalendarEvent> events = model.getEvents();
+    assertEquals(6, events.size());
+    ReadOnlyCalendarEvent planning = find(events, "Planning");
+    assertEquals(ZonedDateTime.of(2025, 5, 5, 9, 0, 0, 0, NEW_YORK), planning.getStartDateTime());
+    assertEquals("First line\nsecond, with comma and a long tail that is folded",
+            planning.getDescription());
+    assertFalse(planning.isPublic());
+
+    List<ZonedDateTime> standups = new ArrayList<>();
+    for (ReadOnlyCalendarEvent e : events) {
+      if (e.getSubject().equals("Standup")) {
+        standups.add(e.getStartDateTime());
+      }
+    }
+    Collections.sort(standups);
+    assertEquals(4, standups.size());
+    assertEquals(ZonedDateTime.of(2025, 5, 6, 9, 0, 0, 0, NEW_YORK), standups.get(0));
+    assertEquals(ZonedDateTime.of(2025, 5, 15, 9, 0, 0, 0, NEW_YORK), standups.get(3));
+
+    ReadOnlyCalendarEvent holiday = find(events, "Holiday");
+    assertTrue(holiday.isAllDay());
+    assertEquals(ZonedDateTime.of(2025, 5, 26, 23, 59, 59, 0, NEW_YORK),
+            holiday.getEndDateTime());
+  }
+
+  @Test
+  public void testConflictingEventIsSkippedInBatch() throws IOException {
+    String ics = "BEGIN:VCALENDAR\n"
+            + "BEGIN:VEVENT\nSUMMARY:A\nDTSTART:20250505T090000\nDTEND:20250505T100000\n"
+            + "END:VEVENT\n"
+            + "BEGIN:VEVENT\nSUMMARY:B\nDTSTART:20250505T093000\nDTEND:20250505T103000\n"
+            + "END:VEVENT\n"
+            + "BEGIN:VEVENT\nSUMMARY:C\nDTSTART:20250505T110000\nDTEND:20250505T120000\n"
+            + "END:VEVENT\n"
+            + "END:VCALENDAR\n";
+
+    new ICSImporter().importFrom(model, new StringReader(ics));
+
+    List<String> subjects = new ArrayList<>();
+    for (ReadOnlyCalendarEvent e : model.getEvents()) {
+      subjects.add(e.getSubject());
+    }
+    Collections.sort(subjects);
+    assertEquals(List.of("A", "C"), subjects);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsUnsupportedRule() throws IOException {
+    String ics = "BEGIN:VEVENT\nSUMMARY:A\nDTSTART:20250505T090000\nDTEND:20250505T100000\n"
+            + "RRULE:FREQ=MONTHLY;COUNT=3\nEND:VEVENT\n";
+    new ICSImporter().importFrom(model, new StringReader(ics));
+  }
+
+  @Test
+  public void testExportedFileImportsBack() throws IOException {
+    String ics = "BEGIN:VEVENT\nSUMMARY:Review\\; final\nDTSTART:20250505T090000\n"
+            + "DTEND:20250505T100000\nLOCATION:Room 9\nEND:VEVENT\n"
+            + "BEGIN:VEVENT\nSUMMARY:Offsite\nDTSTART;VALUE=DATE:20250507\n"
+            + "DTEND;VALUE=DATE:20250509\nEND:VEVENT\n";
+    new ICSImporter().importFrom(model, new StringReader(ics));
+
+    StringWriter out = new StringWriter();
+    new ICSExporter().writeTo(model.getEvents(), out);
+    assertTrue(out.toString().contains("SUMMARY:Review\\; final\r\n"));
+    assertTrue(out.toString().contains("DTSTART;VALUE=DATE:20250507\r\n"));
+    assertTrue(out.toString().contains("DTEND;VALUE=DATE:20250509\r\n"));
+
+    CalendarModel copy = new CalendarModel("Copy", NEW_YORK);
+    new ICSImporter().importFrom(copy, new StringReader(out.toString()));
+    assertEquals(describe(model.getEvents()), describe(copy.getEvents()));
+  }
+
+  private static ReadOnlyCalendarEvent find(List<ReadOnlyCalendarEvent> events, String subject) {
+    for (ReadOnlyCalendarEvent e : events) {
+      if (e.getSubject().equals(subject)) {
+        return e;
+      }
+    }
+    throw new AssertionError("No event " + subject);
+  }
+
+  private static List<String> describe(List<ReadOnlyCalendarEvent> events) {
+    List<String> result = new ArrayList<>();
+    for (ReadOnlyCalendarEvent e : events) {
+      result.add(e.getSubject() + "|" + e.getStartDateTime() + "|" + e.getEndDateTime() + "|"
+              + e.getDescription() + "|" + e.getLocation() + "|" + e.isPublic() + "|"
+              + e.isAllDay());
+    }
+    Collections.sort(result);
+    return result;
+  }
+}
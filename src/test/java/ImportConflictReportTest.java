@@ -0,0 +1,117 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.ImportConflictReport;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for ImportConflictReport and dry-run imports.
+ */
+public class ImportConflictReportTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  @Test
+  public void testClassifiesEveryCandidate() {
+    List<SingleEvent> existing = Arrays.asList(event("Standup", 9, 10), event("Lunch", 12, 13));
+    List<SingleEvent> candidates = Arrays.asList(
+            event("Standup", 9, 10),
+            event("Long", 7, 11),
+            event("Review", 14, 16),
+            event("Review 2", 15, 17),
+            event("Clean", 17, 18),
+            event("Touching", 13, 14),
+            event("Review 2", 15, 17));
+
+    ImportConflictReport report = ImportConflictReport.analyze(existing, candidates);
+
+    assertEquals(7, report.getCandidateCount());
+    assertEquals(2, report.getCleanCount());
+    assertEquals(2, report.count(ImportConflictReport.Status.DUPLICATE));
+    assertEquals(1, report.count(ImportConflictReport.Status.CONFLICTS_WITH_CALENDAR));
+    assertEquals(2, report.count(ImportConflictReport.Status.CONFLICTS_WITHIN_FILE));
+
+    List<ImportConflictReport.Finding> findings = report.getFindings();
+    assertEquals("Long", findings.get(0).getEvent().getSubject());
+    assertEquals(ImportConflictReport.Status.CONFLICTS_WITH_CALENDAR,
+            findings.get(0).getStatus());
+    assertEquals("Standup", findings.get(0).getOther().getSubject());
+    assertEquals("Standup", findings.get(1).getEvent().getSubject());
+    assertEquals(ImportConflictReport.Status.DUPLICATE, findings.get(1).getStatus());
+    assertEquals(ImportConflictReport.Status.CONFLICTS_WITHIN_FILE,
+            findings.get(2).getStatus());
+    assertEquals("Review", findings.get(2).getEvent().getSubject());
+    assertEquals(5, findings.size());
+    assertEquals("Review 2", findings.get(4).getEvent().getSubject());
+    assertEquals(ImportConflictReport.Status.DUPLICATE, findings.get(4).getStatus());
+  }
+
+  @Test
+  public void testLongCandidateConflictsWithLaterExistingEvent() {
+    ImportConflictReport report = ImportConflictReport.analyze(
+            Collections.singletonList(event("Late", 16, 17)),
+            Arrays.asList(event("All afternoon", 13, 18), event("Morning", 8, 9)));
+
+    assertEquals(1, report.getFindings().size());
+    assertEquals("All afternoon", report.getFindings().get(0).getEvent().getSubject());
+    assertEquals("Late", report.getFindings().get(0).getOther().getSubject());
+  }
+
+  @Test
+  public void testDryRunWritesReportWithoutImporting() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    Path file = Files.createTempFile("dryrun", ".csv");
+    Path report = Path.of(file + ".report.csv");
+    try {
+      Files.write(file, Arrays.asList(
+              "Subject,Start Date,Start Time,End Date,End Time,All Day Event,Description,"
+                      + "Location,Private",
+              "Clash,05/01/2025,09:30,05/01/2025,10:30,FALSE,,,FALSE",
+              "Fine,05/01/2025,11:00,05/01/2025,12:00,FALSE,,,FALSE",
+              "Broken,13/01/2025,11:00,05/01/2025,12:00,FALSE,,,FALSE"));
+      assertTrue(run(controller, "create calendar --name Work --timezone UTC"));
+      assertTrue(run(controller, "use calendar --name Work"));
+      assertTrue(run(controller, "create event A from 2025-05-01T09:00 to 2025-05-01T10:00"));
+
+      assertTrue(run(controller, "import cal " + file + " --dry-run"));
+
+      assertEquals(1, manager.getCalendar("Work").getEvents().size());
+      List<String> lines = Files.readAllLines(report);
+      assertEquals(3, lines.size());
+      assertEquals("conflicts_with_calendar,Clash,2025-05-01T09:30,2025-05-01T10:30,A,"
+              + "2025-05-01T09:00,2025-05-01T10:00", lines.get(1));
+      assertTrue(lines.get(2).startsWith("malformed,Line 4: Invalid date format"));
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(report);
+    }
+  }
+
+  private static boolean run(CalendarController controller, String command) {
+    return controller.processCommandAsync(command).join().isSuccess();
+  }
+
+  private static SingleEvent event(String subject, int startHour, int endHour) {
+    return new SingleEvent(subject, at(startHour), at(endHour), "", "", true, false, null);
+  }
+
+  private static ZonedDateTime at(int hour) {
+    return ZonedDateTime.of(2025, 5, 1, hour, 0, 0, 0, UTC);
+  }
+}
@@ -1,6 +1,7 @@
 import org.junit.Test;
 
 import calendarapp.utils.CSVImporter;
+import calendarapp.utils.ICSImporter;
 import calendarapp.utils.IImporter;
 import calendarapp.utils.ImporterFactory;
 
@@ -26,6 +27,22 @@ public class ImporterFactoryTest {
     assertTrue(importer instanceof CSVImporter);
   }
 
+  @Test
+  public void testGetImporter_WithICSFile_ReturnsICSImporter() {
+    assertTrue(ImporterFactory.getImporter("feed.ics") instanceof ICSImporter);
+  }
+
+  @Test
+  public void testGetImporter_WithGzipCSVFile_ReturnsCSVImporter() {
+    assertTrue(ImporterFactory.getImporter("events.csv.gz") instanceof CSVImporter);
+    assertTrue(ImporterFactory.isSupported("events.CSV.GZ"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetImporter_WithGzipNonCSVFile_ThrowsException() {
+    ImporterFactory.getImporter("events.txt.gz");
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testGetImporter_WithUnsupportedExtension_ThrowsException() {
     ImporterFactory.getImporter("events.txt");
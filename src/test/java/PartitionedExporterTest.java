@@ -0,0 +1,120 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.SingleEvent;
+import calendarapp.utils.PartitionedExporter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for PartitionedExporter.
+ */
+public class PartitionedExporterTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private Path dir;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("partitions");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Test
+  public void testWritesOneSortedFilePerMonthAndManifest() throws IOException {
+    List<ReadOnlyCalendarEvent> events = new ArrayList<>();
+    events.add(event("May late", 2025, 5, 20));
+    events.add(event("April", 2025, 4, 30));
+    events.add(event("May early", 2025, 5, 1));
+    events.add(event("July", 2025, 7, 4));
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      String manifest = new PartitionedExporter(PartitionedExporter.Period.MONTH, pool)
+              .export(events, dir.resolve("work.csv").toString());
+
+      assertEquals(dir.resolve("work.manifest").toAbsolutePath().toString(), manifest);
+      List<String> lines = Files.readAllLines(dir.resolve("work.manifest"));
+      assertEquals("# period=month events=4 partitions=3", lines.get(0));
+      assertEquals(5, lines.size());
+      assertTrue(lines.get(2).startsWith("2025-04,work-2025-04.csv,1,"));
+      assertEquals("2025-05,work-2025-05.csv,2,2025-05-01T09:00Z,2025-05-20T10:00Z",
+              lines.get(3));
+      assertTrue(lines.get(4).startsWith("2025-07,work-2025-07.csv,1,"));
+
+      List<String> may = Files.readAllLines(dir.resolve("work-2025-05.csv"));
+      assertEquals(3, may.size());
+      assertTrue(may.get(1).startsWith("May early,"));
+      assertTrue(may.get(2).startsWith("May late,"));
+      assertFalse(Files.exists(dir.resolve("work-2025-06.csv")));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testWeekKeysAndCompressedPartitions() throws IOException {
+    List<ReadOnlyCalendarEvent> events = new ArrayList<>();
+    events.add(event("New year", 2024, 12, 30));
+    new PartitionedExporter(PartitionedExporter.Period.WEEK)
+            .export(events, dir.resolve("work.csv.gz").toString());
+
+    assertTrue(Files.exists(dir.resolve("work-2025-W01.csv.gz")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsUnknownPeriod() {
+    PartitionedExporter.Period.parse("fortnight");
+  }
+
+  @Test
+  public void testExportCommandWithPartition() {
+    CalendarManager manager = new CalendarManager();
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    assertTrue(run(controller, "create calendar --name Work --timezone UTC"));
+    assertTrue(run(controller, "use calendar --name Work"));
+    assertTrue(run(controller, "create event A from 2025-05-01T09:00 to 2025-05-01T10:00"));
+    assertTrue(run(controller, "create event B from 2026-01-01T09:00 to 2026-01-01T10:00"));
+
+    assertTrue(run(controller, "export cal " + dir.resolve("all.csv") + " --partition year"));
+    assertTrue(Files.exists(dir.resolve("all-2025.csv")));
+    assertTrue(Files.exists(dir.resolve("all-2026.csv")));
+    assertTrue(Files.exists(dir.resolve("all.manifest")));
+
+    assertFalse(run(controller, "export cal " + dir.resolve("all.csv") + " --partition x"));
+  }
+
+  private static boolean run(CalendarController controller, String command) {
+    return controller.processCommandAsync(command).join().isSuccess();
+  }
+
+  private static SingleEvent event(String subject, int year, int month, int day) {
+    ZonedDateTime start = ZonedDateTime.of(year, month, day, 9, 0, 0, 0, UTC);
+    return new SingleEvent(subject, start, start.plusHours(1), "", "", true, false, null);
+  }
+}
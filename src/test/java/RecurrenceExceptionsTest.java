@@ -0,0 +1,209 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.controller.CommandResult;
+import calendarapp.model.CalendarJournal;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarSnapshot;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.RecurringEvent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for cancelled and replaced occurrences of recurring events.
+ */
+public class RecurrenceExceptionsTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private CalendarManager manager;
+  private Path dir;
+
+  @Before
+  public void setUp() throws IOException {
+    manager = new CalendarManager();
+    manager.addCalendar("Work", UTC);
+    assertTrue(work().addRecurringEvent(new RecurringEvent("Standup", at(5, 9, 0),
+            at(5, 9, 15), "MWF", 6, null, "", "", true, false), false));
+    dir = Files.createTempDirectory("exceptions");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(dir.resolve("calendars.snapshot"));
+    Files.deleteIfExists(dir.resolve("calendars.journal"));
+    Files.delete(dir);
+  }
+
+  @Test
+  public void testCancelledOccurrenceStaysCancelled() {
+    assertTrue(work().cancelOccurrence("Standup", LocalDate.of(2025, 5, 12)));
+    assertFalse(work().cancelOccurrence("Standup", LocalDate.of(2025, 5, 12)));
+    assertFalse(work().cancelOccurrence("Standup", LocalDate.of(2025, 5, 13)));
+    assertFalse(work().cancelOccurrence("Standup", LocalDate.of(2025, 5, 19)));
+    assertFalse(work().cancelOccurrence("Review", LocalDate.of(2025, 5, 12)));
+    assertEquals(5, work().getEvents().size());
+    assertTrue(work().getEventsOnDate(LocalDate.of(2025, 5, 12)).isEmpty());
+
+    assertTrue(work().editRecurringEvent("Standup", "repeattimes", "9"));
+
+    assertEquals(8, work().getEvents().size());
+    assertTrue(work().getEventsOnDate(LocalDate.of(2025, 5, 12)).isEmpty());
+    assertEquals(1, work().getEventsOnDate(LocalDate.of(2025, 5, 23)).size());
+  }
+
+  @Test
+  public void testSeriesEditKeepsExceptionsAndUnchangedOccurrences() {
+    assertTrue(work().editSingleEvent("starttime", "Standup", at(7, 9, 0), at(7, 9, 15),
+            "08:30"));
+    assertTrue(work().cancelOccurrence("Standup", LocalDate.of(2025, 5, 12)));
+    ReadOnlyCalendarEvent untouched = work().getEventsOnDate(LocalDate.of(2025, 5, 14)).get(0);
+
+    assertTrue(work().editRecurringEvent("Standup", "repeattimes", "9"));
+
+    assertSame(untouched, work().getEventsOnDate(LocalDate.of(2025, 5, 14)).get(0));
+    assertEquals(at(7, 8, 30),
+            work().getEventsOnDate(LocalDate.of(2025, 5, 7)).get(0).getStartDateTime());
+    assertEquals(8, work().getEvents().size());
+
+    assertTrue(work().cancelOccurrence("Standup", LocalDate.of(2025, 5, 7)));
+    assertTrue(work().editRecurringEvent("Standup", "repeattimes", "4"));
+    assertEquals(List.of("2025-05-05T09:00Z[UTC] Standup", "2025-05-09T09:00Z[UTC] Standup"),
+            describe(work()));
+  }
+
+  @Test
+  public void testEditOfAllEventsCarriesOverToSeries() {
+    assertTrue(work().editSingleEvent("starttime", "Standup", at(7, 9, 0), at(7, 9, 15),
+            "08:30"));
+    assertTrue(work().editEventsAll("location", "Standup", "Room2"));
+    assertTrue(work().editEventsAll("starttime", "Standup", "08:45"));
+
+    assertTrue(work().editRecurringEvent("Standup", "repeattimes", "8"));
+
+    assertEquals(8, work().getEvents().size());
+    for (ReadOnlyCalendarEvent event : work().getEvents()) {
+      assertEquals("Room2", event.getLocation());
+      assertEquals(8, event.getStartDateTime().getHour());
+      assertEquals(45, event.getStartDateTime().getMinute());
+    }
+  }
+
+  @Test
+  public void testRenameOfAllEventsIsKeptAsReplacements() {
+    assertTrue(work().editRecurringEvent("Standup", "repeattimes", "2"));
+    assertTrue(work().editEventsAll("name", "Standup", "Daily"));
+
+    assertTrue(work().editRecurringEvent("Standup", "repeattimes", "3"));
+
+    assertEquals(List.of("2025-05-05T09:00Z[UTC] Daily", "2025-05-07T09:00Z[UTC] Daily",
+            "2025-05-09T09:00Z[UTC] Standup"), describe(work()));
+  }
+
+  @Test
+  public void testSeriesPropertyEditKeepsReplacedOccurrences() {
+    assertTrue(work().editSingleEvent("location", "Standup", at(9, 9, 0), at(9, 9, 15),
+            "Room1"));
+    ReadOnlyCalendarEvent moved = work().getEventsOnDate(LocalDate.of(2025, 5, 9)).get(0);
+
+    assertTrue(work().editRecurringEvent("Standup", "location", "Room3"));
+
+    assertSame(moved, work().getEventsOnDate(LocalDate.of(2025, 5, 9)).get(0));
+    assertEquals(List.of("2025-05-05T09:00Z[UTC] Standup @Room3",
+            "2025-05-07T09:00Z[UTC] Standup @Room3", "2025-05-09T09:00Z[UTC] Standup @Room1",
+            "2025-05-12T09:00Z[UTC] Standup @Room3", "2025-05-14T09:00Z[UTC] Standup @Room3",
+            "2025-05-16T09:00Z[UTC] Standup @Room3"), describe(work()));
+    assertTrue(work().editRecurringEvent("Standup", "repeattimes", "7"));
+    assertEquals("Room3",
+            work().getEventsOnDate(LocalDate.of(2025, 5, 19)).get(0).getLocation());
+  }
+
+  @Test
+  public void testCancelCommand() {
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    assertTrue(run(controller, "use calendar --name Work").isSuccess());
+
+    CommandResult result = run(controller, "cancel event Standup on 2025-05-09");
+
+    assertTrue(result.isSuccess());
+    assertEquals(Collections.singletonList("Occurrence cancelled successfully"),
+            result.getMessages());
+    assertFalse(run(controller, "cancel event Standup on 2025-05-09").isSuccess());
+    assertFalse(run(controller, "cancel event Standup 2025-05-09").isSuccess());
+    assertFalse(run(controller, "cancel event Standup on tomorrow").isSuccess());
+    assertEquals(5, work().getEvents().size());
+  }
+
+  @Test
+  public void testExceptionsSurviveSnapshotAndJournal() throws IOException {
+    Path journalFile = dir.resolve("calendars.journal");
+    try (CalendarJournal journal = new CalendarJournal(journalFile)) {
+      manager.addChangeListener(journal);
+      assertTrue(work().editSingleEvent("location", "Standup", at(9, 9, 0), at(9, 9, 15),
+              "Room1"));
+      assertTrue(work().cancelOccurrence("Standup", LocalDate.of(2025, 5, 14)));
+    }
+    Path snapshotFile = dir.resolve("calendars.snapshot");
+    CalendarSnapshot.write(manager, snapshotFile);
+
+    CalendarManager fromSnapshot = new CalendarManager();
+    CalendarSnapshot.load(snapshotFile, fromSnapshot);
+    CalendarManager fromJournal = new CalendarManager();
+    fromJournal.addCalendar("Work", UTC);
+    fromJournal.getCalendar("Work").addRecurringEvent(new RecurringEvent("Standup",
+            at(5, 9, 0), at(5, 9, 15), "MWF", 6, null, "", "", true, false), false);
+    try (CalendarJournal journal = new CalendarJournal(journalFile)) {
+      journal.replay(fromJournal);
+    }
+
+    for (CalendarManager restored : List.of(fromSnapshot, fromJournal)) {
+      ICalendarModel calendar = restored.getCalendar("Work");
+      assertEquals(describe(work()), describe(calendar));
+      assertTrue(calendar.editRecurringEvent("Standup", "repeattimes", "7"));
+      assertEquals(6, calendar.getEvents().size());
+      assertTrue(calendar.getEventsOnDate(LocalDate.of(2025, 5, 14)).isEmpty());
+      assertEquals("Room1",
+              calendar.getEventsOnDate(LocalDate.of(2025, 5, 9)).get(0).getLocation());
+    }
+  }
+
+  private ICalendarModel work() {
+    return manager.getCalendar("Work");
+  }
+
+  private static List<String> describe(ICalendarModel calendar) {
+    List<String> events = new ArrayList<>();
+    for (ReadOnlyCalendarEvent event : calendar.getEvents()) {
+      events.add(event.getStartDateTime() + " " + event.getSubject()
+              + (event.getLocation().isEmpty() ? "" : " @" + event.getLocation()));
+    }
+    Collections.sort(events);
+    return events;
+  }
+
+  private static CommandResult run(CalendarController controller, String command) {
+    return controller.processCommandAsync(command).join();
+  }
+
+  private static ZonedDateTime at(int day, int hour, int minute) {
+    return ZonedDateTime.of(2025, 5, day, hour, minute, 0, 0, UTC);
+  }
+}
@@ -0,0 +1,235 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarModel;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.RecurrenceRule;
+import calendarapp.model.event.RecurringEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * JUnit test class for RecurrenceRule and the recurrence rules of recurring events.
+ */
+public class RecurrenceRuleTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  @Test
+  public void testComputesRuleDates() {
+    LocalDate first = LocalDate.of(2025, 1, 31);
+
+    assertEquals(LocalDate.of(2025, 2, 28), RecurrenceRule.monthlyOnDay(1, 0)
+            .occurrence(first, 1));
+    assertEquals(LocalDate.of(2025, 3, 31), RecurrenceRule.monthlyOnDay(1, 0)
+            .occurrence(first, 2));
+    assertEquals(LocalDate.of(2025, 2, 15), RecurrenceRule.monthlyOnDay(1, 15)
+            .occurrence(first, 0));
+    assertEquals(LocalDate.of(2025, 3, 11), RecurrenceRule.monthlyOnWeekday(1, 2,
+            DayOfWeek.TUESDAY).occurrence(first, 1));
+    assertEquals(LocalDate.of(2025, 4, 25), RecurrenceRule.monthlyOnWeekday(3, -1,
+            DayOfWeek.FRIDAY).occurrence(first, 1));
+    assertEquals(LocalDate.of(2029, 2, 28), RecurrenceRule.yearly(1)
+            .occurrence(LocalDate.of(2028, 2, 29), 1));
+    assertEquals(LocalDate.of(2032, 2, 29), RecurrenceRule.yearly(2)
+            .occurrence(LocalDate.of(2028, 2, 29), 2));
+    assertEquals(LocalDate.of(2025, 2, 7), RecurrenceRule.weekly(2, "")
+            .occurrence(LocalDate.of(2025, 1, 10), 2));
+  }
+
+  @Test
+  public void testMatchesDayByDayExpansion() {
+    Random random = new Random(29);
+    for (int trial = 0; trial < 300; trial++) {
+      LocalDate first = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(800));
+      int interval = 1 + random.nextInt(3);
+      RecurrenceRule rule;
+      Predicate<LocalDate> matches;
+      switch (trial % 4) {
+        case 0: {
+          StringBuilder letters = new StringBuilder();
+          for (char letter : "MTWRFSU".toCharArray()) {
+            if (random.nextBoolean()) {
+              letters.append(letter);
+            }
+          }
+          rule = RecurrenceRule.weekly(interval, letters.toString());
+          String days = letters.length() == 0
+                  ? "MTWRFSU".substring(first.getDayOfWeek().getValue() - 1,
+                  first.getDayOfWeek().getValue()) : letters.toString();
+          LocalDate monday = first.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+          matches = d -> ChronoUnit.DAYS.between(monday, d) / 7 % interval == 0
+                  && days.indexOf("MTWRFSU".charAt(d.getDayOfWeek().getValue() - 1)) >= 0;
+          break;
+        }
+        case 1: {
+          int day = random.nextInt(32);
+          rule = RecurrenceRule.monthlyOnDay(interval, day);
+          int target = day == 0 ? first.getDayOfMonth() : day;
+          matches = d -> monthsFrom(first, d) % interval == 0
+                  && d.getDayOfMonth() == Math.min(target, d.lengthOfMonth());
+          break;
+        }
+        case 2: {
+          int ordinal = random.nextInt(5) == 0 ? -1 : 1 + random.nextInt(4);
+          DayOfWeek weekday = DayOfWeek.of(1 + random.nextInt(7));
+          rule = RecurrenceRule.monthlyOnWeekday(interval, ordinal, weekday);
+          matches = d -> monthsFrom(first, d) % interval == 0 && d.equals(d.with(
+                  TemporalAdjusters.dayOfWeekInMonth(ordinal, weekday)));
+          break;
+        }
+        default:
+          rule = RecurrenceRule.yearly(interval);
+          matches = d -> (d.getYear() - first.getYear()) % interval == 0
+                  && d.equals(first.plusYears(d.getYear() - first.getYear()));
+      }
+      assertEquals(rule.toString(), RecurrenceRule.parse(rule.toString()).toString());
+
+      List<LocalDate> expected = new ArrayList<>();
+      for (LocalDate d = first; expected.size() < 40; d = d.plusDays(1)) {
+        if (matches.test(d)) {
+          expected.add(d);
+        }
+      }
+      for (int k = 0; k < expected.size(); k++) {
+        assertEquals(rule + " from " + first, expected.get(k), rule.occurrence(first, k));
+        assertEquals(k, rule.countBefore(first, expected.get(k)));
+        assertEquals(k + 1, rule.countBefore(first, expected.get(k).plusDays(1)));
+      }
+    }
+  }
+
+  @Test
+  public void testRecurringEventFindsOccurrencesInWindow() {
+    RecurringEvent daily = new RecurringEvent("Standup", at(2025, 1, 6, 9), at(2025, 1, 6, 10),
+            "MTWRF", 0, at(2125, 1, 1, 0), "", "", true, false);
+    RecurringEvent monthly = new RecurringEvent("Board", at(2025, 1, 14, 18),
+            at(2025, 1, 15, 1), RecurrenceRule.monthlyOnWeekday(1, 2, DayOfWeek.TUESDAY), 0,
+            at(2125, 1, 1, 0), "", "", true, false);
+
+    assertEquals(26085, daily.getOccurrenceCount());
+    assertEquals(1200, monthly.getOccurrenceCount());
+    assertEquals(at(2124, 12, 29, 9), daily.getOccurrence(26084, null).getStartDateTime());
+    List<SingleEvent> week = daily.occurrencesBetween(at(2100, 3, 1, 9, 30),
+            at(2100, 3, 8, 9), "s");
+    assertEquals(at(2100, 3, 1, 9), week.get(0).getStartDateTime());
+    assertEquals(5, week.size());
+    List<SingleEvent> board = monthly.occurrencesBetween(at(2099, 4, 15, 0),
+            at(2099, 6, 1, 0), "s");
+    assertEquals(Arrays.asList(at(2099, 4, 14, 18), at(2099, 5, 12, 18)),
+            Arrays.asList(board.get(0).getStartDateTime(), board.get(1).getStartDateTime()));
+
+    RecurringEvent small = new RecurringEvent("Gym", at(2025, 1, 1, 7), at(2025, 1, 1, 8),
+            "FREQ=WEEKLY;INTERVAL=3;BYDAY=MRU", 200, null, "", "", true, false);
+    ZonedDateTime from = at(2025, 7, 3, 7, 30);
+    ZonedDateTime to = at(2025, 10, 1, 0);
+    List<ZonedDateTime> expected = new ArrayList<>();
+    for (SingleEvent occurrence : small.generateOccurrences("s")) {
+      if (occurrence.getStartDateTime().isBefore(to)
+              && occurrence.getEndDateTime().isAfter(from)) {
+        expected.add(occurrence.getStartDateTime());
+      }
+    }
+    List<ZonedDateTime> actual = new ArrayList<>();
+    for (SingleEvent occurrence : small.occurrencesBetween(from, to, "s")) {
+      actual.add(occurrence.getStartDateTime());
+    }
+    assertEquals(expected, actual);
+    assertNull(new RecurringEvent("None", from, to, "XYZ", 3, null, "", "", true, false)
+            .getRule());
+  }
+
+  @Test
+  public void testChecksLongSeriesAgainstEventsInItsWindow() {
+    CalendarModel calendar = new CalendarModel("Work", UTC);
+    calendar.addEvent(new SingleEvent("Offsite", at(2060, 3, 15, 17), at(2060, 3, 15, 20),
+            "", "", true, false, null), false);
+    RecurringEvent dinner = new RecurringEvent("Dinner", at(2025, 1, 15, 19),
+            at(2025, 1, 15, 21), RecurrenceRule.monthlyOnDay(1, 0), 0, at(2100, 1, 1, 0), "",
+            "", true, false);
+
+    assertFalse(calendar.addRecurringEvent(dinner, false));
+    assertTrue(calendar.addRecurringEvent(new RecurringEvent("Lunch", at(2025, 1, 15, 12),
+            at(2025, 1, 15, 13), RecurrenceRule.monthlyOnDay(1, 0), 0, at(2100, 1, 1, 0), "",
+            "", true, false), false));
+    assertEquals(901, calendar.getEvents().size());
+    assertEquals(2, calendar.getEventsBetween(at(2060, 3, 15, 0), at(2060, 3, 16, 0)).size());
+
+    try {
+      calendar.addRecurringEvent(new RecurringEvent("Offsite", at(2060, 3, 15, 17),
+              at(2060, 3, 15, 20), "M", 2, null, "", "", true, false), false);
+      fail("Expected a duplicate to be rejected");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Duplicate event in recurring series.", e.getMessage());
+    }
+    assertTrue(calendar.editRecurringEvent("Lunch", "repeattimes", "12"));
+    assertEquals(13, calendar.getEvents().size());
+  }
+
+  @Test
+  public void testCreatesRulesFromCommands() {
+    CalendarManager manager = new CalendarManager();
+    manager.addCalendar("Work", UTC);
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    run(controller, "use calendar --name Work");
+
+    assertTrue(run(controller, "create event Review from 2025-01-14T10:00 to "
+            + "2025-01-14T11:00 repeats monthly on second tuesday for 3 times"));
+    assertTrue(run(controller, "create event Sync from 2025-01-06T09:00 to "
+            + "2025-01-06T09:30 repeats every 2 weeks on MR until 2025-02-01"));
+    assertTrue(run(controller, "create event Rent on 2025-01-31 repeats monthly for 3 times"));
+    assertTrue(run(controller, "create event Audit on 2025-03-03 repeats every 2 years "
+            + "for 2 times"));
+    assertFalse(run(controller, "create event Bad from 2025-01-14T10:00 to "
+            + "2025-01-14T11:00 repeats monthly on fifth friday for 3 times"));
+    assertFalse(run(controller, "create event Bad from 2025-01-14T10:00 to "
+            + "2025-01-14T11:00 repeats every 0 weeks for 3 times"));
+
+    List<String> starts = new ArrayList<>();
+    for (ReadOnlyCalendarEvent event : manager.getCalendar("Work").getEvents()) {
+      starts.add(event.getSubject() + " " + event.getStartDateTime().toLocalDateTime());
+    }
+    starts.sort(null);
+    assertEquals(Arrays.asList("Audit 2025-03-03T00:00", "Audit 2027-03-03T00:00",
+            "Rent 2025-01-31T00:00", "Rent 2025-02-28T00:00", "Rent 2025-03-31T00:00",
+            "Review 2025-01-14T10:00", "Review 2025-02-11T10:00", "Review 2025-03-11T10:00",
+            "Sync 2025-01-06T09:00", "Sync 2025-01-09T09:00", "Sync 2025-01-20T09:00",
+            "Sync 2025-01-23T09:00"), starts);
+  }
+
+  private static boolean run(CalendarController controller, String command) {
+    return controller.processCommandAsync(command).join().isSuccess();
+  }
+
+  private static long monthsFrom(LocalDate first, LocalDate date) {
+    return ChronoUnit.MONTHS.between(YearMonth.from(first), YearMonth.from(date));
+  }
+
+  private static ZonedDateTime at(int year, int month, int day, int hour) {
+    return ZonedDateTime.of(year, month, day, hour, 0, 0, 0, UTC);
+  }
+
+  private static ZonedDateTime at(int year, int month, int day, int hour, int minute) {
+    return ZonedDateTime.of(year, month, day, hour, minute, 0, 0, UTC);
+  }
+}
@@ -4,9 +4,6 @@ import calendarapp.model.event.SingleEvent;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.time.DayOfWeek;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -14,7 +11,6 @@ import java.util.List;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
-import static org.junit.Assert.fail;
 import static org.junit.Assert.assertNull;
 
 /**
@@ -44,44 +40,6 @@ public class RecurringEventTest {
     assertEquals(baseEvent.getStartDateTime(), updated.getStartDateTime());
   }
 
-  @Test
-  public void testGetDayCharThrowsOnNull() throws Exception {
-    Method method = RecurringEvent.class.getDeclaredMethod("getDayChar", DayOfWeek.class);
-    method.setAccessible(true);
-
-    RecurringEvent dummy = new RecurringEvent("Dummy",
-            ZonedDateTime.now(), ZonedDateTime.now().plusHours(1),
-            "MW", 1, null, "desc",
-            "loc", true, false);
-
-    try {
-      method.invoke(dummy, new Object[]{null});
-      fail("Expected InvocationTargetException");
-    } catch (InvocationTargetException e) {
-      Throwable cause = e.getCause();
-      assertTrue(cause instanceof NullPointerException);
-    }
-  }
-
-  @Test
-  public void testGetDayCharThrowsOnNullnew() throws Exception {
-    Method method = RecurringEvent.class.getDeclaredMethod("getDayChar", DayOfWeek.class);
-    method.setAccessible(true);
-
-    RecurringEvent dummy = new RecurringEvent("Dummy",
-            ZonedDateTime.now(), ZonedDateTime.now().plusHours(1),
-            "MW", 1, null, "desc", "loc",
-            true, false);
-
-    try {
-      method.invoke(dummy, new Object[]{null});
-      fail("Expected InvocationTargetException caused by IllegalArgumentException");
-    } catch (InvocationTargetException e) {
-      Throwable cause = e.getCause();
-      assertTrue(cause instanceof NullPointerException);
-    }
-  }
-
   @Test(expected = IllegalArgumentException.class)
   public void testWithUpdatedPropertyInvalidRepeatTimesThrows() {
     RecurringEvent dummy = new RecurringEvent("Dummy",
@@ -330,25 +288,6 @@ public class RecurringEventTest {
     assertEquals(start.plusDays(6), occurrences.get(0).getStartDateTime());
   }
 
-  @Test
-  public void testGetDayChar() throws Exception {
-    Method method = RecurringEvent.class.getDeclaredMethod("getDayChar", DayOfWeek.class);
-    method.setAccessible(true);
-
-    RecurringEvent dummy = new RecurringEvent("dummy",
-            ZonedDateTime.now(zone), ZonedDateTime.now(zone),
-            "MTWRFSU", 1, null, "", "",
-            true, false);
-
-    assertEquals('M', method.invoke(dummy, DayOfWeek.MONDAY));
-    assertEquals('T', method.invoke(dummy, DayOfWeek.TUESDAY));
-    assertEquals('W', method.invoke(dummy, DayOfWeek.WEDNESDAY));
-    assertEquals('R', method.invoke(dummy, DayOfWeek.THURSDAY));
-    assertEquals('F', method.invoke(dummy, DayOfWeek.FRIDAY));
-    assertEquals('S', method.invoke(dummy, DayOfWeek.SATURDAY));
-    assertEquals('U', method.invoke(dummy, DayOfWeek.SUNDAY));
-  }
-
   @Test
   public void testGenerateOccurrencesEmptyWeekdaysReturnsEmptyList() {
     RecurringEvent event = new RecurringEvent("Test",
@@ -487,26 +426,6 @@ public class RecurringEventTest {
             occurrences.size());
   }
 
-  @Test
-  public void testGetDayCharNull() throws Exception {
-    Method method = RecurringEvent.class.getDeclaredMethod("getDayChar",
-            DayOfWeek.class);
-    method.setAccessible(true);
-
-    RecurringEvent dummy = new RecurringEvent("dummy",
-            ZonedDateTime.now(zone), ZonedDateTime.now(zone),
-            "MTWRFSU", 1, null, "", "",
-            true, false);
-
-    try {
-      method.invoke(dummy, (Object) null);
-      fail("Expected InvocationTargetException caused by IllegalArgumentException");
-    } catch (InvocationTargetException e) {
-      Throwable cause = e.getCause();
-      assertTrue(cause instanceof NullPointerException);
-    }
-  }
-
   @Test
   public void testGenerateOccurrencesWithEmptyWeekdays() {
     ZonedDateTime start = ZonedDateTime.parse("2025-04-01T09:00:00+00:00");
@@ -573,29 +492,6 @@ public class RecurringEventTest {
     assertEquals(1, event.generateOccurrences("series-5").size());
   }
 
-  @Test
-  public void testGetDayCharThrowsOnNull2() throws Exception {
-    ZonedDateTime start = ZonedDateTime.parse("2025-04-01T10:00:00Z");
-    ZonedDateTime end = start.plusHours(1);
-
-    RecurringEvent event = new RecurringEvent(
-            "Test", start, end, "M", 1, null,
-            "desc", "loc", true, false);
-
-    Method method = RecurringEvent.class.getDeclaredMethod("getDayChar",
-            java.time.DayOfWeek.class);
-    method.setAccessible(true);
-
-    try {
-      method.invoke(event, new Object[]{null});
-      fail("Expected IllegalArgumentException to be thrown");
-    } catch (java.lang.reflect.InvocationTargetException e) {
-      Throwable cause = e.getCause();
-      assertEquals(NullPointerException.class, cause.getClass());
-
-    }
-  }
-
   @Test
   public void testGenerateOccurrencesWhenWeekdaysIsEmpty() {
     ZonedDateTime start = ZonedDateTime.parse("2025-04-01T10:00:00Z");
@@ -0,0 +1,208 @@
+import calendarapp.controller.CalendarController;
+import calendarapp.controller.CommandParser;
+import calendarapp.controller.CommandResult;
+import calendarapp.model.CalendarManager;
+import calendarapp.model.CalendarModel;
+import calendarapp.model.TaskScheduler;
+import calendarapp.model.TimeSlot;
+import calendarapp.model.event.ReadOnlyCalendarEvent;
+import calendarapp.model.event.SingleEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test class for TaskScheduler and the schedule tasks command.
+ */
+public class TaskSchedulerTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+  private static final Set<DayOfWeek> EVERY_DAY = EnumSet.allOf(DayOfWeek.class);
+
+  private CalendarModel calendar;
+
+  @Before
+  public void setUp() {
+    calendar = new CalendarModel("Work", UTC);
+  }
+
+  @Test
+  public void testPlacesTaskInFirstGapLongEnough() {
+    calendar.addEvent(event("Standup", at(5, 9, 0), at(5, 9, 30)), false);
+    calendar.addEvent(event("Review", at(5, 10, 0), at(5, 12, 0)), false);
+
+    TaskScheduler.Schedule schedule = TaskScheduler.plan(calendar, Arrays.asList(
+            task("Report", 60, at(5, 9, 0), at(5, 17, 0), 0, EVERY_DAY)));
+
+    assertEquals(1, schedule.getPlacements().size());
+    assertEquals(new TimeSlot(at(5, 12, 0), at(5, 13, 0)),
+            schedule.getPlacements().get(0).getSlot());
+    assertTrue(schedule.getUnscheduled().isEmpty());
+  }
+
+  @Test
+  public void testHonoursAllowedWeekdays() {
+    TaskScheduler.Schedule schedule = TaskScheduler.plan(calendar, Arrays.asList(
+            task("Laundry", 90, at(5, 8, 0), at(12, 0, 0), 0, EnumSet.of(DayOfWeek.SATURDAY))));
+
+    assertEquals(new TimeSlot(at(10, 0, 0), at(10, 1, 30)),
+            schedule.getPlacements().get(0).getSlot());
+  }
+
+  @Test
+  public void testTaskThatCannotFitIsUnscheduled() {
+    calendar.addEvent(event("Busy", at(5, 9, 0), at(5, 17, 0)), false);
+
+    TaskScheduler.Task tooLate = task("Late", 30, at(5, 9, 0), at(5, 17, 0), 5, EVERY_DAY);
+    TaskScheduler.Schedule schedule = TaskScheduler.plan(calendar, Arrays.asList(tooLate));
+
+    assertTrue(schedule.getPlacements().isEmpty());
+    assertEquals(Arrays.asList(tooLate), schedule.getUnscheduled());
+  }
+
+  @Test
+  public void testMoreImportantTasksArePlacedFirst() {
+    calendar.addEvent(event("Busy", at(5, 10, 0), at(5, 23, 0)), false);
+
+    TaskScheduler.Schedule schedule = TaskScheduler.plan(calendar, Arrays.asList(
+            task("Minor", 60, at(5, 9, 0), at(5, 12, 0), 1, EVERY_DAY),
+            task("Major", 60, at(5, 9, 0), at(5, 12, 0), 3, EVERY_DAY)));
+
+    assertEquals(1, schedule.getPlacements().size());
+    assertEquals("Major", schedule.getPlacements().get(0).getTask().getSubject());
+    assertEquals("Minor", schedule.getUnscheduled().get(0).getSubject());
+  }
+
+  @Test
+  public void testRepairMovesPlacedTaskToMakeRoom() {
+    calendar.addEvent(event("Before", at(5, 0, 0), at(5, 9, 0)), false);
+    calendar.addEvent(event("After", at(5, 12, 0), at(5, 23, 59)), false);
+
+    TaskScheduler.Schedule schedule = TaskScheduler.plan(calendar, Arrays.asList(
+            task("Flexible", 60, at(5, 9, 0), at(5, 12, 0), 2, EVERY_DAY),
+            task("Long", 120, at(5, 9, 0), at(5, 11, 0), 1, EVERY_DAY)));
+
+    assertTrue(schedule.getUnscheduled().isEmpty());
+    assertEquals("Long", schedule.getPlacements().get(0).getTask().getSubject());
+    assertEquals(new TimeSlot(at(5, 9, 0), at(5, 11, 0)),
+            schedule.getPlacements().get(0).getSlot());
+    assertEquals(new TimeSlot(at(5, 11, 0), at(5, 12, 0)),
+            schedule.getPlacements().get(1).getSlot());
+  }
+
+  @Test
+  public void testThousandsOfTasksOverAQuarterNeverOverlap() {
+    Random random = new Random(7);
+    ZonedDateTime origin = at(5, 0, 0);
+    calendar.beginBatch();
+    for (int day = 0; day < 91; day++) {
+      for (int hour = 9; hour < 17; hour += 2) {
+        ZonedDateTime start = origin.plusDays(day).withHour(hour)
+                .plusMinutes(random.nextInt(60));
+        calendar.addEvent(event("Meeting", start, start.plusMinutes(30 + random.nextInt(30))),
+                false);
+      }
+    }
+    assertTrue(calendar.commitBatch());
+    List<TaskScheduler.Task> tasks = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      ZonedDateTime earliest = origin.plusDays(random.nextInt(85)).withHour(8);
+      tasks.add(task("Task " + i, 15 + random.nextInt(120), earliest,
+              earliest.plusDays(1 + random.nextInt(6)), random.nextInt(4),
+              EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                      DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)));
+    }
+
+    TaskScheduler.Schedule schedule = TaskScheduler.plan(calendar, tasks);
+
+    assertEquals(3000, schedule.getPlacements().size() + schedule.getUnscheduled().size());
+    List<TimeSlot> busy = new ArrayList<>();
+    for (ReadOnlyCalendarEvent event : calendar.getEvents()) {
+      busy.add(new TimeSlot(event.getStartDateTime(), event.getEndDateTime()));
+    }
+    for (TaskScheduler.Placement placement : schedule.getPlacements()) {
+      TimeSlot slot = placement.getSlot();
+      TaskScheduler.Task task = placement.getTask();
+      assertFalse(slot.getStart().isBefore(task.getEarliestStart()));
+      assertFalse(slot.getEnd().isAfter(task.getDeadline()));
+      assertTrue(task.getDays().contains(slot.getStart().getDayOfWeek()));
+      assertEquals(slot.getStart().toLocalDate(), slot.getEnd().minusNanos(1).toLocalDate());
+      busy.add(slot);
+    }
+    busy.sort(Comparator.comparing(TimeSlot::getStart));
+    for (int i = 1; i < busy.size(); i++) {
+      assertFalse(busy.get(i).getStart().isBefore(busy.get(i - 1).getEnd()));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDeadlineMustFollowEarliestStart() {
+    task("Backwards", 30, at(5, 10, 0), at(5, 9, 0), 0, EVERY_DAY);
+  }
+
+  @Test
+  public void testScheduleTasksCommand() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.addCalendar("Work", UTC);
+    manager.getCalendar("Work").addEvent(event("Review", at(5, 9, 0), at(5, 10, 0)), false);
+    CalendarController controller = new CalendarController(manager, new CommandParser(manager));
+    Path file = Files.createTempFile("tasks", ".csv");
+    try {
+      Files.write(file, Arrays.asList(
+              "Subject,Duration,Earliest Start,Deadline,Priority,Days",
+              "Write report,1h30m,2025-05-05T09:00,2025-05-09T17:00,2,MTWRF",
+              "Impossible,2h,2025-05-05T09:00,2025-05-05T10:00,,"));
+      assertTrue(controller.processCommandAsync("use calendar --name Work").join()
+              .isSuccess());
+
+      CommandResult result = controller.processCommandAsync("schedule tasks " + file).join();
+
+      assertTrue(result.isSuccess());
+      assertEquals(Arrays.asList("Scheduled 1 of 2 tasks from " + file,
+              "Not scheduled: Impossible (due 2025-05-05T10:00)"), result.getMessages());
+      assertTrue(manager.getCalendar("Work").isBusyBetween(at(5, 10, 0), at(5, 11, 30)));
+      assertEquals(2, manager.getCalendar("Work").getEvents().size());
+
+      Files.write(file, Arrays.asList("Subject,Duration,Earliest Start,Deadline,Priority,Days",
+              "Bad,1h,2025-05-05T09:00,2025-05-06T09:00,1,MXF"));
+      result = controller.processCommandAsync("schedule tasks " + file).join();
+      assertFalse(result.isSuccess());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static TaskScheduler.Task task(String subject, int minutes, ZonedDateTime earliest,
+                                         ZonedDateTime deadline, int priority,
+                                         Set<DayOfWeek> days) {
+    return new TaskScheduler.Task(subject, Duration.ofMinutes(minutes), earliest, deadline,
+            priority, days);
+  }
+
+  private static ZonedDateTime at(int day, int hour, int minute) {
+    return ZonedDateTime.of(2025, 5, day, hour, minute, 0, 0, UTC);
+  }
+
+  private static SingleEvent event(String subject, ZonedDateTime start, ZonedDateTime end) {
+    return new SingleEvent(subject, start, end, "", "", true, false, null);
+  }
+}